@@ -33,14 +33,26 @@ import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
  *
+ * <p>Agent state is checked with exponential backoff, the delay between checks starts from
+ * {@link #MIN_PING_DELAY_MS} and is doubled up to the configured ping delay.
+ * Each output of the agent process is a hint that the agent state is changed,
+ * so the agent state is checked right after the output, but not more frequently
+ * than once per the min delay.
+ *
+ * <p>The script is run under the package lock of the machine until the agent is launched,
+ * see {@link MachinePackageLocks}.
+ *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
  * @see AgentLaunchingChecker#DEFAULT
@@ -48,6 +60,8 @@ import static java.lang.String.format;
  * @author Anatolii Bazko
  */
 public abstract class AbstractAgentLauncher implements AgentLauncher {
+    static final long MIN_PING_DELAY_MS = 100;
+
     private static final Logger          LOG      = LoggerFactory.getLogger(AbstractAgentLauncher.class);
     private static final ExecutorService executor =
             Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLauncher-%d")
@@ -73,24 +87,54 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
         if (isNullOrEmpty(agent.getScript())) {
             return;
         }
+        final Lock packagesLock = MachinePackageLocks.get(machine);
+        try {
+            packagesLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
+        }
+        try {
+            // script installs packages before the agent is run
+            launchAndWait(machine, agent);
+        } finally {
+            packagesLock.unlock();
+        }
+    }
+
+    private void launchAndWait(Instance machine, Agent agent) throws ServerException {
         ListLineConsumer agentLogger = new ListLineConsumer();
+        Semaphore outputSignal = new Semaphore(0);
         LineConsumer lineConsumer = new AbstractLineConsumer() {
             @Override
             public void writeLine(String line) throws IOException {
                 machine.getLogger().writeLine(line);
                 agentLogger.writeLine(line);
+                outputSignal.release();
             }
         };
         try {
             final InstanceProcess process = start(machine, agent, lineConsumer);
             LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
 
+            final long minPingDelayMs = Math.min(MIN_PING_DELAY_MS, agentPingDelayMs);
             final long pingStartTimestamp = System.currentTimeMillis();
+            long pingDelayMs = minPingDelayMs;
             while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
+                final long checkTimestamp = System.currentTimeMillis();
                 if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
                     return;
+                }
+                if (outputSignal.tryAcquire(pingDelayMs, MILLISECONDS)) {
+                    // agent produced output, check its state sooner and start backoff again
+                    outputSignal.drainPermits();
+                    pingDelayMs = minPingDelayMs;
+                    final long sinceCheckMs = System.currentTimeMillis() - checkTimestamp;
+                    if (sinceCheckMs < minPingDelayMs) {
+                        Thread.sleep(minPingDelayMs - sinceCheckMs);
+                    }
                 } else {
-                    Thread.sleep(agentPingDelayMs);
+                    pingDelayMs = Math.min(pingDelayMs * 2, agentPingDelayMs);
                 }
             }
 
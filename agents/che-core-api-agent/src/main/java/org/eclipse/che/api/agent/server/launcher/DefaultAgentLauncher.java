@@ -24,6 +24,7 @@ import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 
 import java.io.IOException;
+import java.util.concurrent.locks.Lock;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -33,6 +34,7 @@ import static java.lang.String.format;
  *
  * This agents is suited only for those types of agents that install software
  * and finish working without launching any processes at the end.
+ * The script is run under the package lock of the machine, see {@link MachinePackageLocks}.
  *
  * @author Anatolii Bazko
  */
@@ -55,8 +57,17 @@ public class DefaultAgentLauncher implements AgentLauncher {
             }
         };
 
+        final Lock packagesLock = MachinePackageLocks.get(machine);
         try {
-            process.start(lineConsumer);
+            packagesLock.lockInterruptibly();
+            try {
+                process.start(lineConsumer);
+            } finally {
+                packagesLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
         } catch (ConflictException e) {
             try {
                 machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import com.google.common.util.concurrent.Striped;
+
+import org.eclipse.che.api.machine.server.spi.Instance;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Locks which serialize installation of packages by scripts of agents in a machine.
+ *
+ * <p>Scripts of agents install packages with the package manager of the machine
+ * (apt-get, yum, dnf, zypper, apk) which fails if another installation is in progress.
+ * Agents of a machine are launched concurrently, so a launcher holds the lock
+ * of the machine while the script of the agent may install packages,
+ * which is until the agent is launched as the script doesn't report the end of installation.
+ * Locks of different machines are striped, so agents of different machines rarely block each other.
+ */
+public final class MachinePackageLocks {
+
+    private static final Striped<Lock> LOCKS = Striped.lazyWeakLock(1024);
+
+    /**
+     * Returns the lock which guards the package manager of the given machine.
+     */
+    public static Lock get(Instance machine) {
+        return LOCKS.get(machine.getWorkspaceId() + '/' + machine.getId());
+    }
+
+    private MachinePackageLocks() {}
+}
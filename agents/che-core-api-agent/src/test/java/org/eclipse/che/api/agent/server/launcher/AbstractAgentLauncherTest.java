@@ -25,13 +25,20 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -39,6 +46,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -185,6 +193,87 @@ public class AbstractAgentLauncherTest {
         }
     }
 
+    @Test
+    public void shouldIncreaseDelayBetweenChecksUpToAgentCheckDelay() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(5000, 400, agentChecker));
+        doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        ArrayList<Long> checkTimestamps = new ArrayList<>(5);
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenAnswer(invocationOnMock -> {
+            checkTimestamps.add(System.currentTimeMillis());
+            return checkTimestamps.size() == 5;
+        });
+
+        // when
+        launcher.launch(machine, agent);
+
+        // then
+        // delays are 100, 200, 400, 400
+        assertTrue(checkTimestamps.get(1) - checkTimestamps.get(0) < 400);
+        assertTrue(checkTimestamps.get(4) - checkTimestamps.get(0) >= 100 + 200 + 400 + 400);
+    }
+
+    @Test
+    public void shouldCheckAgentStateRightAfterAgentOutput() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(10_000, 5000, agentChecker));
+        doAnswer(invocationOnMock -> {
+            LineConsumer lineConsumer = (LineConsumer)invocationOnMock.getArguments()[2];
+            Thread output = new Thread(() -> {
+                try {
+                    Thread.sleep(500);
+                    lineConsumer.writeLine("agent is started");
+                } catch (Exception ignored) {
+                }
+            });
+            output.setDaemon(true);
+            output.start();
+            return process;
+        }).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        when(machine.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenReturn(false)
+                                                          .thenReturn(false)
+                                                          .thenReturn(false)
+                                                          .thenReturn(false)
+                                                          .thenReturn(true);
+
+        // when
+        long start = System.currentTimeMillis();
+        launcher.launch(machine, agent);
+
+        // then
+        // without output signal the fifth check happens after 100 + 200 + 400 + 800 ms
+        assertTrue(System.currentTimeMillis() - start < 1500);
+    }
+
+    @Test
+    public void shouldHoldPackageLockOfMachineUntilAgentIsLaunched() throws Exception {
+        // given
+        Instance anotherMachine = mock(Instance.class);
+        when(machine.getId()).thenReturn("machine1");
+        when(anotherMachine.getId()).thenReturn("machine2");
+        List<Boolean> lockable = new ArrayList<>();
+        when(agentChecker.isLaunched(any(Agent.class),
+                                     any(InstanceProcess.class),
+                                     any(Instance.class))).thenAnswer(invocationOnMock -> {
+            lockable.add(isLockableByAnotherThread(machine));
+            lockable.add(isLockableByAnotherThread(anotherMachine));
+            return true;
+        });
+
+        // when
+        launcher.launch(machine, agent);
+
+        // then
+        // scripts of other agents of the machine wait while this agent is launching
+        assertEquals(lockable, Arrays.asList(false, true));
+        assertTrue(isLockableByAnotherThread(machine));
+    }
+
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "agent launcher test exception")
     public void shouldThrowServerExceptionIfMachineExceptionIsThrownByAgentCheck() throws Exception {
         // given
@@ -301,6 +390,22 @@ public class AbstractAgentLauncherTest {
         verify(launcher).logAsErrorAgentStartLogs(anyString(), anyString());
     }
 
+    private static boolean isLockableByAnotherThread(Instance machine) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                Lock lock = MachinePackageLocks.get(machine);
+                if (lock.tryLock()) {
+                    lock.unlock();
+                    return true;
+                }
+                return false;
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private static class TestAgentLauncher extends AbstractAgentLauncher {
         public TestAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
@@ -48,8 +48,14 @@ public class JsonRpcEntityQualifier {
         checkArgument(!message.isEmpty(), "Message must not be empty");
         LOG.debug("Qualifying message: " + message);
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
-        LOG.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        return qualify(jsonParser.parse(message).getAsJsonObject());
+    }
+
+    public JsonRpcEntityType qualify(JsonObject jsonObject) {
+        checkNotNull(jsonObject, "Json object must not be null");
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Json keys: " + jsonObject.entrySet().stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+        }
 
         if (jsonObject.has("method")) {
             LOG.debug("Qualified to request");
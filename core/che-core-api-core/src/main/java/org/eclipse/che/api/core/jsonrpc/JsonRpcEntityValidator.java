@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 
@@ -26,7 +27,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Simple class to validate if we're dealing with a properly constructed
  * json represented by a string. We use {@link JsonParser} to parse string
- * message and to rise exception if json is incorrect.
+ * message and to rise exception if json is incorrect. The parsed tree is
+ * returned by {@link #parse(String)} so that the rest of processing does not
+ * need to parse the message again.
  */
 @Singleton
 public class JsonRpcEntityValidator {
@@ -40,15 +43,32 @@ public class JsonRpcEntityValidator {
     }
 
     public void validate(String message) throws JsonRpcException {
+        parse(message);
+    }
+
+    /**
+     * Validates message and returns its json representation
+     *
+     * @param message
+     *         stringified json
+     *
+     * @return parsed json
+     *
+     * @throws JsonRpcException
+     *         if message is not a valid json
+     */
+    public JsonElement parse(String message) throws JsonRpcException {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
         LOG.debug("Validating message: {}", message);
 
         try {
-            jsonParser.parse(message);
+            final JsonElement jsonElement = jsonParser.parse(message);
 
             LOG.debug("Validation successful");
+
+            return jsonElement;
         } catch (JsonParseException e) {
             LOG.debug("Validation failed: {}", e.getMessage(), e);
 
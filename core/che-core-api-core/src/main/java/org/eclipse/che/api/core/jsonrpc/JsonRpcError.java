@@ -36,19 +36,22 @@ public class JsonRpcError {
 
     @AssistedInject
     public JsonRpcError(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
-
-        this.code = getCode(message, jsonParser);
-        this.message = getMessage(message, jsonParser);
+        this(parse(message, jsonParser));
     }
 
-    private static String getMessage(String message, JsonParser jsonParser) {
-        return jsonParser.parse(message).getAsJsonObject().get("message").getAsString();
+    /** Creates error out of already parsed json, used when the whole response is parsed at once. */
+    public JsonRpcError(JsonObject error) {
+        checkNotNull(error, "Error must not be null");
+
+        this.code = error.get("code").getAsInt();
+        this.message = error.get("message").getAsString();
     }
 
-    private static int getCode(String message, JsonParser jsonParser) {
-        return jsonParser.parse(message).getAsJsonObject().get("code").getAsInt();
+    private static JsonObject parse(String message, JsonParser jsonParser) {
+        checkNotNull(message, "Message must not be null");
+        checkArgument(!message.isEmpty(), "Message must not be empty");
+
+        return jsonParser.parse(message).getAsJsonObject();
     }
 
     public JsonObject toJsonObject() {
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+
 import org.eclipse.che.api.core.jsonrpc.JsonRpcEntityQualifier.JsonRpcEntityType;
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
 import org.slf4j.Logger;
@@ -17,18 +19,18 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static org.eclipse.che.api.core.jsonrpc.JsonRpcList.isArray;
 
 /**
  * Receives and process messages coming from web socket service. Basically
  * it validates, qualifies and transforms a raw web socket message to a JSON
  * RPC known structure and pass it further to appropriate dispatchers. In case
  * of any {@link JsonRpcException} happens during request/response processing
- * this class is also responsible for an error transmission.
+ * this class is also responsible for an error transmission. A message is
+ * parsed only once, validation, qualification and creation of JSON RPC
+ * entities are all done over the same parsed tree.
  */
 @Singleton
 public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
@@ -63,40 +65,41 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
-        LOG.debug("Receiving message: " + message + ", from endpoint: " + endpointId);
+        LOG.debug("Receiving message: {}, from endpoint: {}", message, endpointId);
         try {
-            entityValidator.validate(message);
+            JsonElement json = entityValidator.parse(message);
 
-            if (isArray(message)) {
+            if (json.isJsonArray()) {
                 LOG.debug("Message is an array, processing an array");
 
-                JsonRpcList list = jsonRpcFactory.createList(message);
-                List<String> messages = list.toStringifiedList();
-                for (String listMessage : messages) {
-                    processObject(endpointId, listMessage);
+                if (json.getAsJsonArray().size() == 0) {
+                    throw new JsonRpcException(-32600, "The JSON sent is an empty array");
+                }
+                for (JsonElement item : json.getAsJsonArray()) {
+                    processObject(endpointId, item);
                 }
             } else {
                 LOG.debug("Message is not an array");
 
-                processObject(endpointId, message);
+                processObject(endpointId, json);
             }
         } catch (JsonRpcException e) {
             errorTransmitter.transmit(endpointId, e);
         }
     }
 
-    private void processObject(String endpointId, String message) throws JsonRpcException {
-        LOG.debug("Processing end object: " + message);
+    private void processObject(String endpointId, JsonElement json) throws JsonRpcException {
+        LOG.debug("Processing end object: {}", json);
 
-        JsonRpcEntityType type = entityQualifier.qualify(message);
+        JsonRpcEntityType type = json.isJsonObject() ? entityQualifier.qualify(json.getAsJsonObject()) : JsonRpcEntityType.UNDEFINED;
 
         switch (type) {
             case REQUEST:
-                JsonRpcRequest request = jsonRpcFactory.createRequest(message);
+                JsonRpcRequest request = jsonRpcFactory.createRequest(json.getAsJsonObject());
                 requestDispatcher.dispatch(endpointId, request);
                 break;
             case RESPONSE:
-                JsonRpcResponse response = jsonRpcFactory.createResponse(message);
+                JsonRpcResponse response = jsonRpcFactory.createResponse(json.getAsJsonObject());
                 responseDispatcher.dispatch(endpointId, response);
                 break;
             case UNDEFINED:
@@ -42,16 +42,19 @@ public class JsonRpcParams {
 
     @AssistedInject
     public JsonRpcParams(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(parse(message, jsonParser));
+    }
+
+    @AssistedInject
+    public JsonRpcParams(@Assisted("jsonElement") JsonElement jsonElement) {
+        checkNotNull(jsonElement, "Params must not be null");
 
-        JsonElement jsonElement = jsonParser.parse(message);
         if (jsonElement.isJsonArray()) {
-            JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
+            JsonArray jsonArray = jsonElement.getAsJsonArray();
             paramsList = new ArrayList<>(jsonArray.size());
             jsonArray.forEach(it -> paramsList.add(it));
         } else {
-            params = jsonParser.parse(message);
+            params = jsonElement;
         }
     }
 
@@ -69,6 +72,13 @@ public class JsonRpcParams {
         }
     }
 
+    private static JsonElement parse(String message, JsonParser jsonParser) {
+        checkNotNull(message, "Message must not be null");
+        checkArgument(!message.isEmpty(), "Message must not be empty");
+
+        return jsonParser.parse(message);
+    }
+
     public boolean emptyOrAbsent() {
         return (paramsList == null || paramsList.isEmpty()) && (params == null || EMPTY_OBJECT.equals(params));
     }
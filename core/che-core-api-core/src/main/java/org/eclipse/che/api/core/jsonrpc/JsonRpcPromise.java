@@ -21,8 +21,9 @@ import java.util.function.BiConsumer;
  *         type of second argument of binary consumer
  */
 public class JsonRpcPromise<R> {
-    private BiConsumer<String, R> successConsumer;
-    private BiConsumer<String, R> failureConsumer;
+    private volatile BiConsumer<String, R> successConsumer;
+    private volatile BiConsumer<String, R> failureConsumer;
+    private volatile Runnable              cancellation;
 
     BiConsumer<String, R> getSuccessConsumer() {
         return successConsumer;
@@ -32,6 +33,10 @@ public class JsonRpcPromise<R> {
         return failureConsumer;
     }
 
+    void setCancellation(Runnable cancellation) {
+        this.cancellation = cancellation;
+    }
+
     public JsonRpcPromise<R> onSuccess(BiConsumer<String, R> successConsumer) {
         this.successConsumer = successConsumer;
         return this;
@@ -41,4 +46,14 @@ public class JsonRpcPromise<R> {
         this.failureConsumer = failureConsumer;
         return this;
     }
+
+    /**
+     * Cancels the request of this promise if it is still waiting for
+     * a response, neither success nor failure consumer is called after that.
+     */
+    public void cancel() {
+        if (cancellation != null) {
+            cancellation.run();
+        }
+    }
 }
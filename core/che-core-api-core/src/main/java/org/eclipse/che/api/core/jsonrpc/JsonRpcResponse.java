@@ -32,21 +32,23 @@ public class JsonRpcResponse {
 
     @AssistedInject
     public JsonRpcResponse(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(parse(message, jsonParser));
+    }
 
-        JsonObject response = jsonParser.parse(message).getAsJsonObject();
+    @AssistedInject
+    public JsonRpcResponse(@Assisted("response") JsonObject response) {
+        checkNotNull(response, "Response object must not be null");
 
         this.id = response.has("id")
                   ? response.get("id").getAsString()
                   : null;
 
         this.result = response.has("result")
-                      ? new JsonRpcResult(response.get("result").toString(), jsonParser)
+                      ? new JsonRpcResult(response.get("result"))
                       : null;
 
         this.error = response.has("error")
-                     ? new JsonRpcError(response.get("error").toString(), jsonParser)
+                     ? new JsonRpcError(response.get("error").getAsJsonObject())
                      : null;
     }
 
@@ -70,6 +72,13 @@ public class JsonRpcResponse {
         this.id = null;
     }
 
+    private static JsonObject parse(String message, JsonParser jsonParser) {
+        checkNotNull(message, "Message must not be null");
+        checkArgument(!message.isEmpty(), "Message must not be empty");
+
+        return jsonParser.parse(message).getAsJsonObject();
+    }
+
     public boolean hasError() {
         return error != null;
     }
@@ -43,16 +43,19 @@ public class JsonRpcResult {
 
     @AssistedInject
     public JsonRpcResult(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(parse(message, jsonParser));
+    }
+
+    /** Creates result out of already parsed json, used when the whole response is parsed at once. */
+    public JsonRpcResult(JsonElement result) {
+        checkNotNull(result, "Result must not be null");
 
-        JsonElement result = jsonParser.parse(message);
         if (result.isJsonArray()) {
             JsonArray jsonArray = result.getAsJsonArray();
             this.resultList = new ArrayList<>(jsonArray.size());
             jsonArray.forEach(it -> this.resultList.add(it));
         } else {
-            this.result = jsonParser.parse(message);
+            this.result = result;
         }
     }
 
@@ -70,6 +73,13 @@ public class JsonRpcResult {
         }
     }
 
+    private static JsonElement parse(String message, JsonParser jsonParser) {
+        checkNotNull(message, "Message must not be null");
+        checkArgument(!message.isEmpty(), "Message must not be empty");
+
+        return jsonParser.parse(message);
+    }
+
     public boolean isEmptyOrAbsent() {
         return (result == null || EMPTY_OBJECT.equals(result)) && (resultList == null || resultList.isEmpty());
     }
@@ -10,20 +10,36 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.CANCEL_REQUEST_METHOD;
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.REQUEST_CANCELLED_ERROR_CODE;
 
 /**
  * Dispatches incoming JSON RPC requests and notifications. If during
  * dispatching happens any kind of error related to JSON RPC it throws
  * appropriate exception {@link JsonRpcException}.
+ *
+ * <p>Handlers are run by {@link RequestProcessor}, not in the thread that
+ * received the message. Errors that happen inside of a handler are sent
+ * back to the endpoint by {@link JsonRpcErrorTransmitter}. Requests of
+ * methods that are registered as ordered are handled one by one for each
+ * endpoint.
+ *
+ * <p>Notification {@value ResponseDispatcher#CANCEL_REQUEST_METHOD} cancels
+ * a request of the endpoint that is not started yet, such request is
+ * answered with an error instead of being handled.
  */
 @Singleton
 public class RequestDispatcher {
@@ -32,12 +48,22 @@ public class RequestDispatcher {
     private final RequestHandlerRegistry      registry;
     private final JsonRpcFactory              factory;
     private final WebSocketMessageTransmitter transmitter;
+    private final JsonRpcErrorTransmitter     errorTransmitter;
+    private final RequestProcessor            processor;
+    private final Map<String, Boolean>        cancellations;
 
     @Inject
-    public RequestDispatcher(RequestHandlerRegistry registry, WebSocketMessageTransmitter transmitter, JsonRpcFactory factory) {
+    public RequestDispatcher(RequestHandlerRegistry registry,
+                             WebSocketMessageTransmitter transmitter,
+                             JsonRpcFactory factory,
+                             JsonRpcErrorTransmitter errorTransmitter,
+                             RequestProcessor processor) {
         this.registry = registry;
         this.transmitter = transmitter;
         this.factory = factory;
+        this.errorTransmitter = errorTransmitter;
+        this.processor = processor;
+        this.cancellations = new ConcurrentHashMap<>();
     }
 
     public void dispatch(String endpointId, JsonRpcRequest request) throws JsonRpcException {
@@ -50,23 +76,72 @@ public class RequestDispatcher {
         String method = request.getMethod();
         JsonRpcParams params = request.getParams();
 
+        if (CANCEL_REQUEST_METHOD.equals(method) && !request.hasId()) {
+            cancel(endpointId, params);
+            return;
+        }
+
         if (request.hasId()) {
             LOG.debug("Request has ID");
 
             String id = request.getId();
             RequestHandler handler = registry.getRequestHandler(method);
             checkHandler(method, handler, id);
-            JsonRpcResult result = handler.handle(endpointId, params);
-            JsonRpcResponse response = factory.createResponse(id, result, null);
+            String key = endpointId + '@' + id;
+            cancellations.put(key, false);
+            process(endpointId, method, id, () -> {
+                if (Boolean.TRUE.equals(cancellations.remove(key))) {
+                    throw new JsonRpcException(REQUEST_CANCELLED_ERROR_CODE, "Request cancelled", id);
+                }
+                JsonRpcResult result = handler.handle(endpointId, params);
+                JsonRpcResponse response = factory.createResponse(id, result, null);
 
-            LOG.debug("Transmitting back a response: {}", response);
-            transmitter.transmit(endpointId, response.toString());
+                LOG.debug("Transmitting back a response: {}", response);
+                transmitter.transmit(endpointId, response.toString());
+            });
         } else {
             LOG.debug("Request has no ID -> it is a notification");
 
             NotificationHandler handler = registry.getNotificationHandler(method);
             checkHandler(method, handler, null);
-            handler.handle(endpointId, params);
+            process(endpointId, method, null, () -> handler.handle(endpointId, params));
+        }
+    }
+
+    private void cancel(String endpointId, JsonRpcParams params) {
+        JsonElement json = params.emptyOrAbsent() ? null : params.toJsonElement();
+        JsonElement id = json != null && json.isJsonObject() ? json.getAsJsonObject().get("id") : null;
+        if (id == null || !id.isJsonPrimitive()) {
+            LOG.warn("Received cancellation without request ID from endpoint: {}", endpointId);
+            return;
+        }
+        LOG.debug("Cancelling request: {}, endpoint: {}", id, endpointId);
+        cancellations.computeIfPresent(endpointId + '@' + id.getAsString(), (key, cancelled) -> true);
+    }
+
+    private void process(String endpointId, String method, String id, Handling handling) {
+        final Runnable task = () -> {
+            try {
+                handling.run();
+            } catch (JsonRpcException e) {
+                if (e.getId() == null && id != null) {
+                    // Handler doesn't know ID of request, so error is bound to the request here
+                    errorTransmitter.transmit(endpointId, new JsonRpcException(e.getCode(), e.getMessage(), id));
+                } else {
+                    errorTransmitter.transmit(endpointId, e);
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Error while handling method '{}'", method, e);
+                if (id != null) {
+                    errorTransmitter.transmit(endpointId, new JsonRpcException(-32603, "Internal error: " + e.getMessage(), id));
+                }
+            }
+        };
+
+        if (registry.isOrdered(method)) {
+            processor.process(endpointId + '@' + method, task);
+        } else {
+            processor.process(task);
         }
     }
 
@@ -76,4 +151,8 @@ public class RequestDispatcher {
             throw new JsonRpcException(-32601, "Method '" + method + "' not registered", id);
         }
     }
+
+    private interface Handling {
+        void run() throws JsonRpcException;
+    }
 }
@@ -12,6 +12,7 @@ package org.eclipse.che.api.core.jsonrpc;
 
 import javax.inject.Singleton;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -19,13 +20,16 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Registry to store request and notification handlers associated with a
- * specific method names
+ * specific method names. Method may be marked as ordered, then requests of
+ * the method coming from an endpoint are handled one by one in the order
+ * they are received.
  */
 @Singleton
 public class RequestHandlerRegistry {
 
     private final Map<String, RequestHandler>      requestHandlers      = new ConcurrentHashMap<>();
     private final Map<String, NotificationHandler> notificationHandlers = new ConcurrentHashMap<>();
+    private final Set<String>                      orderedMethods       = ConcurrentHashMap.newKeySet();
 
     public void register(String method, RequestHandler handler) {
         checkNotNull(method, "Method name must not be null");
@@ -43,6 +47,17 @@ public class RequestHandlerRegistry {
         notificationHandlers.put(method, handler);
     }
 
+    public void setOrdered(String method, boolean ordered) {
+        checkNotNull(method, "Method name must not be null");
+        checkArgument(!method.isEmpty(), "Method name must not be empty");
+
+        if (ordered) {
+            orderedMethods.add(method);
+        } else {
+            orderedMethods.remove(method);
+        }
+    }
+
     public void unregisterRequestHandler(String method) {
         checkNotNull(method, "Method name must not be null");
         checkArgument(!method.isEmpty(), "Method name must not be empty");
@@ -57,6 +72,10 @@ public class RequestHandlerRegistry {
         notificationHandlers.remove(method);
     }
 
+    boolean isOrdered(String method) {
+        return orderedMethods.contains(method);
+    }
+
     RequestHandler getRequestHandler(String method) {
         checkNotNull(method, "Method name must not be null");
         checkArgument(!method.isEmpty(), "Method name must not be empty");
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Runs JSON RPC request and notification handlers out of web socket container
+ * threads, so a slow handler does not hold up the rest of traffic of an
+ * endpoint. Handlers are run by a bounded pool, if both the pool and its queue
+ * are full the receiving thread runs the handler itself, this slows down
+ * reading of new messages instead of dropping them.
+ *
+ * <p>Tasks that are submitted with the same key are run one by one in the
+ * order of submission, tasks with different keys run concurrently.
+ */
+@Singleton
+public class RequestProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestProcessor.class);
+
+    private final ThreadPoolExecutor           executor;
+    private final Map<String, Deque<Runnable>> serialTasks;
+
+    @Inject
+    public RequestProcessor(@Named("che.core.jsonrpc.processor_core_pool_size") int corePoolSize,
+                            @Named("che.core.jsonrpc.processor_max_pool_size") int maxPoolSize,
+                            @Named("che.core.jsonrpc.processor_queue_capacity") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(corePoolSize,
+                                               maxPoolSize,
+                                               60,
+                                               SECONDS,
+                                               new LinkedBlockingQueue<>(queueCapacity),
+                                               new ThreadFactoryBuilder().setNameFormat("JsonRpcRequestProcessor-%d")
+                                                                         .setUncaughtExceptionHandler(
+                                                                                 LoggingUncaughtExceptionHandler.getInstance())
+                                                                         .setDaemon(true)
+                                                                         .build(),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+        this.serialTasks = new ConcurrentHashMap<>();
+    }
+
+    /** Runs task as soon as there is a free thread */
+    public void process(Runnable task) {
+        executor.execute(() -> run(task));
+    }
+
+    /** Runs task after all tasks that are previously submitted with the same key are completed */
+    public void process(String key, Runnable task) {
+        final boolean[] idle = new boolean[1];
+        serialTasks.compute(key, (k, tasks) -> {
+            if (tasks == null) {
+                tasks = new ArrayDeque<>();
+                idle[0] = true;
+            }
+            tasks.addLast(task);
+            return tasks;
+        });
+        if (idle[0]) {
+            executor.execute(() -> drain(key));
+        }
+    }
+
+    /** Number of tasks that wait for a free thread */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /** Number of threads that are running tasks at the moment */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs tasks of the key until there are no more of them. The key is
+     * present in the map while its tasks are being drained, so only one
+     * thread drains tasks of a key at a time.
+     */
+    private void drain(String key) {
+        for (; ; ) {
+            final Runnable[] next = new Runnable[1];
+            serialTasks.computeIfPresent(key, (k, tasks) -> {
+                next[0] = tasks.pollFirst();
+                return next[0] == null ? null : tasks;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            run(next[0]);
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOG.error("Error while processing JSON RPC request", e);
+        }
+    }
+}
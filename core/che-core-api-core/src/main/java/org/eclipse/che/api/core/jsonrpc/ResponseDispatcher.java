@@ -10,28 +10,119 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
-import org.eclipse.che.api.core.jsonrpc.transmission.MethodNameConfigurator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonObject;
+
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Dispatches JSON RPC responses
+ *
+ * <p>Each request that waits for a response is kept in the table of pending
+ * requests until the response comes or until its deadline. Pending requests
+ * of an endpoint are failed as soon as the session of the endpoint is closed.
+ * If the table is full the new request is failed on the next tick of the
+ * timeout wheel, so callers always have a chance to set up their consumers.
+ * A pending request can be cancelled by {@link JsonRpcPromise#cancel()},
+ * then the endpoint is notified with {@value #CANCEL_REQUEST_METHOD}.
  */
 @Singleton
 public class ResponseDispatcher {
-    private static final Logger LOG = LoggerFactory.getLogger(MethodNameConfigurator.class);
+    private static final Logger LOG = LoggerFactory.getLogger(ResponseDispatcher.class);
+
+    public static final String CANCEL_REQUEST_METHOD = "$/cancelRequest";
+
+    public static final int REQUEST_TIMED_OUT_ERROR_CODE = -32001;
+    public static final int SESSION_CLOSED_ERROR_CODE    = -32002;
+    public static final int TOO_MANY_REQUESTS_ERROR_CODE = -32003;
+    public static final int REQUEST_CANCELLED_ERROR_CODE = -32800;
+
+    static final long TICK_MS    = 100;
+    static final int  WHEEL_SIZE = 1024;
+
+    private final WebSocketMessageTransmitter transmitter;
+    private final WebSocketSessionRegistry    sessionRegistry;
+    private final long                        requestTimeout;
+    private final int                         maxPendingRequests;
+
+    private final Map<String, PendingRequest> pendingRequests;
+    private final TimeoutWheel                timeouts;
+    private final AtomicLong                  timedOutRequests;
+    private final AtomicLong                  cancelledRequests;
+    private final AtomicLong                  evictedRequests;
+    private final AtomicLong                  rejectedRequests;
+
+    private ScheduledExecutorService executor;
+
+    @Inject
+    public ResponseDispatcher(WebSocketMessageTransmitter transmitter,
+                              WebSocketSessionRegistry sessionRegistry,
+                              @Named("che.core.jsonrpc.request_timeout_ms") long requestTimeout,
+                              @Named("che.core.jsonrpc.max_pending_requests") int maxPendingRequests) {
+        checkArgument(requestTimeout > 0, "Request timeout must be positive");
+        checkArgument(maxPendingRequests > 0, "Max number of pending requests must be positive");
+
+        this.transmitter = transmitter;
+        this.sessionRegistry = sessionRegistry;
+        this.requestTimeout = requestTimeout;
+        this.maxPendingRequests = maxPendingRequests;
+        this.pendingRequests = new ConcurrentHashMap<>();
+        this.timeouts = new TimeoutWheel(TICK_MS, WHEEL_SIZE);
+        this.timedOutRequests = new AtomicLong();
+        this.cancelledRequests = new AtomicLong();
+        this.evictedRequests = new AtomicLong();
+        this.rejectedRequests = new AtomicLong();
+    }
+
+    @PostConstruct
+    void start() {
+        sessionRegistry.addRemovalListener(this::evict);
 
-    private final Map<String, JsonRpcPromise> promises = new HashMap<>();
-    private final Map<String, Class<?>>       rClasses = new HashMap<>();
+        executor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("JsonRpcResponseTimeouts")
+                                                                              .setUncaughtExceptionHandler(
+                                                                                      LoggingUncaughtExceptionHandler.getInstance())
+                                                                              .setDaemon(true)
+                                                                              .build());
+        executor.scheduleAtFixedRate(this::expire, TICK_MS, TICK_MS, MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
 
     private static void checkArguments(String endpointId, String requestId, Class<?> rClass, JsonRpcPromise success) {
         checkNotNull(endpointId, "Endpoint ID must not be null");
@@ -83,23 +174,26 @@ public class ResponseDispatcher {
         String key = combine(endpointId, responseId);
         LOG.debug("Generating key: {}", key);
 
-        Class<?> rClass = rClasses.get(key);
-        LOG.debug("Fetching result class: {}", rClass);
+        PendingRequest request = pendingRequests.remove(key);
+        if (request == null) {
+            LOG.warn("Received response to unknown, expired or cancelled request: {}", key);
+            return;
+        }
+        timeouts.cancel(key, request.deadline);
 
         if (response.hasResult()) {
-            processResult(endpointId, response, key, rClass);
+            processResult(endpointId, response, request);
         } else if (response.hasError()) {
-            processError(endpointId, response, key);
+            fail(endpointId, request, response.getError());
         } else {
             LOG.error("Received incorrect response: no error, no result");
         }
     }
 
-    private void processError(String endpointId, JsonRpcResponse response, String key) {
+    private void fail(String endpointId, PendingRequest request, JsonRpcError error) {
         LOG.debug("Response has error. Proceeding...");
 
-        JsonRpcError error = response.getError();
-        BiConsumer<String, JsonRpcError> consumer = cast(promises.get(key).getFailureConsumer());
+        BiConsumer<String, JsonRpcError> consumer = cast(request.promise.getFailureConsumer());
         if (consumer != null) {
             LOG.debug("Failure consumer is found, accepting...");
             consumer.accept(endpointId, error);
@@ -108,14 +202,20 @@ public class ResponseDispatcher {
         }
     }
 
-    private void processResult(String endpointId, JsonRpcResponse response, String key, Class<?> rClass) {
+    private void processResult(String endpointId, JsonRpcResponse response, PendingRequest request) {
         LOG.debug("Response has result. Proceeding...");
 
+        BiConsumer<String, ?> consumer = cast(request.promise.getSuccessConsumer());
+        if (consumer == null) {
+            LOG.debug("Success consumer is not found, skipping");
+            return;
+        }
+
         JsonRpcResult result = response.getResult();
         if (result.isArray()) {
-            processMany(endpointId, response, rClass, cast(promises.get(key).getSuccessConsumer()));
+            processMany(endpointId, response, request.rClass, cast(consumer));
         } else {
-            processOne(endpointId, response, rClass, cast(promises.get(key).getSuccessConsumer()));
+            processOne(endpointId, response, request.rClass, cast(consumer));
         }
     }
 
@@ -133,9 +233,113 @@ public class ResponseDispatcher {
 
         String key = combine(endpointId, requestId);
 
-        promises.put(key, promise);
-        rClasses.put(key, rClass);
+        boolean rejected = pendingRequests.size() >= maxPendingRequests;
+        long deadline = timeouts.schedule(key, rejected ? 0 : requestTimeout);
+        pendingRequests.put(key, new PendingRequest(endpointId, promise, rClass, deadline, rejected));
+        promise.setCancellation(() -> cancel(endpointId, requestId));
+
+        if (rejected) {
+            LOG.warn("Too many pending requests: {}, request {} is rejected", maxPendingRequests, key);
+        }
 
         return promise;
     }
+
+    /**
+     * Cancels the pending request and notifies the endpoint about it.
+     * Consumers of the request are not called.
+     *
+     * @return {@code true} if the request was pending, {@code false} otherwise
+     */
+    public boolean cancel(String endpointId, String requestId) {
+        String key = combine(endpointId, requestId);
+        PendingRequest request = pendingRequests.remove(key);
+        if (request == null) {
+            return false;
+        }
+        timeouts.cancel(key, request.deadline);
+        cancelledRequests.incrementAndGet();
+
+        JsonObject params = new JsonObject();
+        params.addProperty("id", requestId);
+        JsonObject notification = new JsonObject();
+        notification.addProperty("jsonrpc", "2.0");
+        notification.addProperty("method", CANCEL_REQUEST_METHOD);
+        notification.add("params", params);
+
+        LOG.debug("Cancelling request: {}", key);
+        transmitter.transmit(endpointId, notification.toString());
+        return true;
+    }
+
+    /** Fails all pending requests of the endpoint, called when the session of the endpoint is closed. */
+    void evict(String endpointId) {
+        pendingRequests.forEach((key, request) -> {
+            if (request.endpointId.equals(endpointId) && pendingRequests.remove(key, request)) {
+                timeouts.cancel(key, request.deadline);
+                evictedRequests.incrementAndGet();
+                fail(endpointId, request, new JsonRpcError(SESSION_CLOSED_ERROR_CODE, "Session of endpoint is closed"));
+            }
+        });
+    }
+
+    /** Fails requests whose deadline has come, called once a tick of the timeout wheel. */
+    void expire() {
+        for (String key : timeouts.advance()) {
+            PendingRequest request = pendingRequests.remove(key);
+            if (request == null) {
+                continue;
+            }
+            if (request.rejected) {
+                rejectedRequests.incrementAndGet();
+                fail(request.endpointId, request, new JsonRpcError(TOO_MANY_REQUESTS_ERROR_CODE, "Too many pending requests"));
+            } else {
+                LOG.debug("Request timed out: {}", key);
+                timedOutRequests.incrementAndGet();
+                fail(request.endpointId, request,
+                     new JsonRpcError(REQUEST_TIMED_OUT_ERROR_CODE, "Request timed out after " + requestTimeout + " ms"));
+            }
+        }
+    }
+
+    /** Number of requests that wait for a response. */
+    public int getPendingRequests() {
+        return pendingRequests.size();
+    }
+
+    /** Total number of requests that were not answered in time. */
+    public long getTimedOutRequests() {
+        return timedOutRequests.get();
+    }
+
+    /** Total number of requests that were cancelled by the caller. */
+    public long getCancelledRequests() {
+        return cancelledRequests.get();
+    }
+
+    /** Total number of requests that were failed because the session of endpoint was closed. */
+    public long getEvictedRequests() {
+        return evictedRequests.get();
+    }
+
+    /** Total number of requests that were failed because the table of pending requests was full. */
+    public long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    private static class PendingRequest {
+        private final String         endpointId;
+        private final JsonRpcPromise promise;
+        private final Class<?>       rClass;
+        private final long           deadline;
+        private final boolean        rejected;
+
+        private PendingRequest(String endpointId, JsonRpcPromise promise, Class<?> rClass, long deadline, boolean rejected) {
+            this.endpointId = endpointId;
+            this.promise = promise;
+            this.rClass = rClass;
+            this.deadline = deadline;
+            this.rejected = rejected;
+        }
+    }
 }
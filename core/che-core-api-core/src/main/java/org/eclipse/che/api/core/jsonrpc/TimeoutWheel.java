@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Hashed wheel of timeouts. Time is divided into ticks and each key is put
+ * into the bucket of the tick when its deadline comes, so scheduling and
+ * cancelling take constant time and each tick looks only through keys of
+ * a single bucket. Deadlines that are further than one turn of the wheel
+ * stay in their bucket until the wheel comes to them again.
+ *
+ * <p>Keys may be scheduled and cancelled from any thread, while
+ * {@link #advance()} is expected to be called by one thread once a tick.
+ * Scheduling and advancing are done under the monitor of the wheel, so a
+ * key is never put into the bucket of the tick that is already looked
+ * through, which would make it expire one turn of the wheel later.
+ */
+class TimeoutWheel {
+    private final long                tickMs;
+    private final Map<String, Long>[] buckets;
+
+    /** Guarded by this. */
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    TimeoutWheel(long tickMs, int size) {
+        checkArgument(tickMs > 0, "Tick duration must be positive");
+        checkArgument(size > 0, "Wheel size must be positive");
+
+        this.tickMs = tickMs;
+        this.buckets = new Map[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    long getTickMs() {
+        return tickMs;
+    }
+
+    /**
+     * Schedules timeout of the key, the key is expired not earlier than
+     * in one tick.
+     *
+     * @return deadline tick that is needed to cancel the timeout
+     */
+    synchronized long schedule(String key, long timeoutMs) {
+        final long deadline = tick + Math.max(1, (timeoutMs + tickMs - 1) / tickMs);
+        bucket(deadline).put(key, deadline);
+        return deadline;
+    }
+
+    void cancel(String key, long deadline) {
+        bucket(deadline).remove(key);
+    }
+
+    /** Moves the wheel to the next tick and returns keys whose deadline has come. */
+    synchronized List<String> advance() {
+        final long current = ++tick;
+        final Map<String, Long> bucket = bucket(current);
+        final List<String> expired = new ArrayList<>();
+        bucket.forEach((key, deadline) -> {
+            if (deadline <= current && bucket.remove(key, deadline)) {
+                expired.add(key);
+            }
+        });
+        return expired;
+    }
+
+    private Map<String, Long> bucket(long tick) {
+        return buckets[(int)(tick % buckets.length)];
+    }
+}
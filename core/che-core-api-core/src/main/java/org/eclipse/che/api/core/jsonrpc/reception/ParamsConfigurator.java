@@ -36,6 +36,17 @@ public class ParamsConfigurator {
         this.method = method;
     }
 
+    /**
+     * Requests of the method from an endpoint are to be handled one by one in
+     * the order they are received, by default requests are handled concurrently.
+     */
+    public ParamsConfigurator ordered() {
+        LOG.debug("Configuring incoming request ordering: method: " + method);
+
+        registry.setOrdered(method, true);
+        return this;
+    }
+
     public <P> ResultConfiguratorFromMany<P> paramsAsListOfDto(Class<P> pClass) {
         checkNotNull(pClass, "Params class must not be null");
 
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.che.api.core.notification.EventOverflowPolicy.BLOCK;
+import static org.eclipse.che.api.core.notification.EventOverflowPolicy.DROP_NEWEST;
+
+/**
+ * Delivers events to the wrapped subscriber in the thread of {@link EventService}
+ * pool instead of the publishing thread. Events are queued in a bounded queue of
+ * the subscriber and delivered one by one in the order of publication, when the
+ * queue is full {@link EventOverflowPolicy} is applied. Each subscriber is
+ * drained by at most one thread at a time, after a batch of events the thread
+ * is given back to the pool so one busy subscriber does not starve the others.
+ *
+ * <p>Instances are created by {@link EventService#subscribeAsync} and
+ * expose metrics of the delivery.
+ */
+public final class AsyncEventSubscriber implements EventSubscriber<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+    static final int BATCH_SIZE = 100;
+
+    private final EventSubscriber<Object> subscriber;
+    private final Executor                executor;
+    private final int                     capacity;
+    private final EventOverflowPolicy     policy;
+    private final Deque<QueuedEvent>      queue;
+    private final AtomicLong              deliveredEvents;
+    private final AtomicLong              droppedEvents;
+
+    private boolean       draining;
+    private volatile long lastDeliveryLag;
+    private volatile long maxDeliveryLag;
+
+    @SuppressWarnings("unchecked")
+    AsyncEventSubscriber(EventSubscriber<?> subscriber, Executor executor, int capacity, EventOverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Null overflow policy.");
+        }
+        this.subscriber = (EventSubscriber<Object>)subscriber;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.queue = new ArrayDeque<>(Math.min(capacity, BATCH_SIZE));
+        this.deliveredEvents = new AtomicLong();
+        this.droppedEvents = new AtomicLong();
+    }
+
+    @Override
+    public void onEvent(Object event) {
+        synchronized (this) {
+            while (queue.size() >= capacity) {
+                if (policy == BLOCK) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop(event);
+                        return;
+                    }
+                } else if (policy == DROP_NEWEST) {
+                    drop(event);
+                    return;
+                } else {
+                    drop(queue.poll().event);
+                }
+            }
+            queue.add(new QueuedEvent(event, System.nanoTime()));
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        schedule();
+    }
+
+    /** Subscriber which receives events. */
+    public EventSubscriber<?> getSubscriber() {
+        return subscriber;
+    }
+
+    /** Number of events that wait for delivery. */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /** Total number of events that are delivered to subscriber. */
+    public long getDeliveredEvents() {
+        return deliveredEvents.get();
+    }
+
+    /** Total number of events that are dropped because of queue overflow. */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /** Time in milliseconds between publication and delivery of the last delivered event. */
+    public long getLastDeliveryLag() {
+        return lastDeliveryLag;
+    }
+
+    /** The longest time in milliseconds between publication and delivery of an event. */
+    public long getMaxDeliveryLag() {
+        return maxDeliveryLag;
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable to deliver events to {}, event service is stopped", subscriber);
+            synchronized (this) {
+                draining = false;
+            }
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final QueuedEvent queued;
+            synchronized (this) {
+                queued = queue.poll();
+                if (queued == null) {
+                    draining = false;
+                    return;
+                }
+                if (policy == BLOCK) {
+                    notifyAll();
+                }
+            }
+
+            final long lag = NANOSECONDS.toMillis(System.nanoTime() - queued.time);
+            lastDeliveryLag = lag;
+            if (lag > maxDeliveryLag) {
+                maxDeliveryLag = lag;
+            }
+            try {
+                LOG.debug("Deliver event {} to {}", queued.event, subscriber);
+                subscriber.onEvent(queued.event);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+            deliveredEvents.incrementAndGet();
+        }
+        schedule();
+    }
+
+    private void drop(Object event) {
+        LOG.debug("Queue of {} is full, drop event {}", subscriber, event);
+        droppedEvents.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventSubscriber{subscriber=" + subscriber + ", policy=" + policy + '}';
+    }
+
+    private static class QueuedEvent {
+        private final Object event;
+        private final long   time;
+
+        private QueuedEvent(Object event, long time) {
+            this.event = event;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Defines what happens to an event published for an asynchronous subscriber
+ * when the queue of the subscriber is full.
+ *
+ * @see EventService#subscribeAsync(EventSubscriber, int, EventOverflowPolicy)
+ */
+public enum EventOverflowPolicy {
+    /** The oldest queued event is dropped to make room for the new one. */
+    DROP_OLDEST,
+
+    /** The new event is dropped. */
+    DROP_NEWEST,
+
+    /**
+     * The publishing thread waits until there is room in the queue, so
+     * no events are lost. Subscriber must not publish events that it
+     * receives itself, otherwise it may wait for its own queue forever.
+     */
+    BLOCK
+}
@@ -13,10 +13,13 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -27,6 +30,10 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +47,9 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * By default subscribers are called in the publishing thread. Subscribers which are
+ * slow, e.g. make remote calls, may be registered with {@link #subscribeAsync}, then
+ * events are delivered to them by a separate pool of threads, see {@link AsyncEventSubscriber}.
  *
  * @author andrew00x
  */
@@ -54,6 +64,8 @@ public class EventService {
     private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
     private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
 
+    private volatile ExecutorService asyncExecutor;
+
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
@@ -136,6 +148,74 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener which receives events asynchronously. The event to subscribe to is inferred by
+     * checking the generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param queueCapacity
+     *         max number of events that wait for delivery to the subscriber
+     * @param overflowPolicy
+     *         what to do with events when the queue is full
+     * @return wrapper which delivers events to the subscriber and provides metrics of delivery
+     */
+    public AsyncEventSubscriber subscribeAsync(EventSubscriber<?> subscriber, int queueCapacity, EventOverflowPolicy overflowPolicy) {
+        final Class<?> eventType = getEventType(subscriber);
+        final AsyncEventSubscriber asyncSubscriber = new AsyncEventSubscriber(subscriber, getAsyncExecutor(), queueCapacity, overflowPolicy);
+        doSubscribe(asyncSubscriber, eventType);
+        return asyncSubscriber;
+    }
+
+    /**
+     * Subscribe to an event, the given subscriber receives events asynchronously.
+     *
+     * @see #subscribeAsync(EventSubscriber, int, EventOverflowPolicy)
+     */
+    public <T> AsyncEventSubscriber subscribeAsync(EventSubscriber<? extends T> subscriber,
+                                                   Class<T> eventType,
+                                                   int queueCapacity,
+                                                   EventOverflowPolicy overflowPolicy) {
+        final AsyncEventSubscriber asyncSubscriber = new AsyncEventSubscriber(subscriber, getAsyncExecutor(), queueCapacity, overflowPolicy);
+        doSubscribe(asyncSubscriber, eventType);
+        return asyncSubscriber;
+    }
+
+    @PreDestroy
+    void stop() {
+        final ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService getAsyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                                       .setUncaughtExceptionHandler(
+                                                                                               LoggingUncaughtExceptionHandler.getInstance())
+                                                                                       .setDaemon(true)
+                                                                                       .build());
+                    asyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -149,7 +229,7 @@ public class EventService {
     }
 
     /**
-     * Unsubscribe event listener.
+     * Unsubscribe event listener, either synchronous or asynchronous one.
      *
      * @param subscriber
      *         event subscriber
@@ -166,7 +246,9 @@ public class EventService {
     private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+            boolean changed = entries.removeIf(entry -> subscriber.equals(entry)
+                                                        || entry instanceof AsyncEventSubscriber
+                                                           && subscriber.equals(((AsyncEventSubscriber)entry).getSubscriber()));
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
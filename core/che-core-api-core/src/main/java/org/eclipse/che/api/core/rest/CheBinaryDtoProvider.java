@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.dto.server.BinaryJson;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.shared.DTO;
+
+import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of {@link MessageBodyReader} and {@link MessageBodyWriter} for DTOs and lists of DTOs in compact binary format,
+ * see {@link BinaryJson}. The format is used by Che servers when they talk to each other, clients choose it with
+ * {@code Accept} and {@code Content-Type} headers. Methods that support binary format should list it after
+ * {@link MediaType#APPLICATION_JSON} so JSON remains the default one.
+ *
+ * @see CheJsonProvider
+ * @see HttpJsonRequest#useBinaryFormat()
+ */
+@Singleton
+@Provider
+@Produces({CheBinaryDtoProvider.APPLICATION_BINARY_DTO})
+@Consumes({CheBinaryDtoProvider.APPLICATION_BINARY_DTO})
+public class CheBinaryDtoProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+    public static final String    APPLICATION_BINARY_DTO      = "application/vnd.che.dto+binary";
+    public static final MediaType APPLICATION_BINARY_DTO_TYPE = MediaType.valueOf(APPLICATION_BINARY_DTO);
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return JsonSerializable.class.isAssignableFrom(type)
+               || type.isAnnotationPresent(DTO.class)
+               || Collection.class.isAssignableFrom(type) && getDtoElementType(genericType) != null;
+    }
+
+    @Override
+    public long getSize(T t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(T t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+        // Add Cache-Control before start write body.
+        httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
+        DtoFactory.getInstance().toBinary(t, entityStream);
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type.isAnnotationPresent(DTO.class) || type.isAssignableFrom(List.class) && getDtoElementType(genericType) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T readFrom(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                      MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
+        if (type.isAnnotationPresent(DTO.class)) {
+            return DtoFactory.getInstance().createDtoFromBinary(entityStream, type);
+        }
+        return (T)DtoFactory.getInstance().createListDtoFromBinary(entityStream, getDtoElementType(genericType));
+    }
+
+    private static Class<?> getDtoElementType(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type elementType = ((ParameterizedType)genericType).getActualTypeArguments()[0];
+            if (elementType instanceof Class && ((Class<?>)elementType).isAnnotationPresent(DTO.class)) {
+                return (Class<?>)elementType;
+            }
+        }
+        return null;
+    }
+}
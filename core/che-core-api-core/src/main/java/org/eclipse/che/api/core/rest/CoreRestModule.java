@@ -21,8 +21,10 @@ public class CoreRestModule extends AbstractModule {
     @Override
     protected void configure() {
         bind(CheJsonProvider.class);
+        bind(CheBinaryDtoProvider.class);
         bind(ApiExceptionMapper.class);
         bind(RuntimeExceptionMapper.class);
+        bind(HttpJsonRequestFactory.class).to(PooledHttpJsonRequestFactory.class);
         Multibinder.newSetBinder(binder(), Class.class, Names.named("che.json.ignored_classes"));
     }
 }
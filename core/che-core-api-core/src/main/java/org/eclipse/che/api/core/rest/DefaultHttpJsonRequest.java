@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
 
 import org.eclipse.che.api.core.BadRequestException;
@@ -23,6 +24,7 @@ import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.dto.server.BinaryJson;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
@@ -39,7 +41,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
@@ -47,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -64,6 +69,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
 
     private static final int      DEFAULT_QUERY_PARAMS_LIST_SIZE = 5;
     private static final Object[] EMPTY_ARRAY                    = new Object[0];
+    private static final String   BINARY_OR_JSON                 = CheBinaryDtoProvider.APPLICATION_BINARY_DTO + ", " +
+                                                                   MediaType.APPLICATION_JSON + ";q=0.9";
 
     private final String url;
 
@@ -72,6 +79,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     private Object                body;
     private List<Pair<String, ?>> queryParams;
     private String                authorizationHeaderValue;
+    private boolean               binaryFormat;
+    private boolean               streamResponse;
 
     protected DefaultHttpJsonRequest(String url, String method) {
         this.url = requireNonNull(url, "Required non-null url");
@@ -134,6 +143,12 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         return this;
     }
 
+    @Override
+    public HttpJsonRequest useBinaryFormat() {
+        this.binaryFormat = true;
+        return this;
+    }
+
     @Override
     public String getUrl() {
         final UriBuilder ub = UriBuilder.fromUri(url);
@@ -159,11 +174,28 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue);
     }
 
+    @Override
+    public HttpJsonResponse requestStream() throws IOException,
+                                                   ServerException,
+                                                   UnauthorizedException,
+                                                   ForbiddenException,
+                                                   NotFoundException,
+                                                   ConflictException,
+                                                   BadRequestException {
+        streamResponse = true;
+        try {
+            return request();
+        } finally {
+            streamResponse = false;
+        }
+    }
+
     /**
      * Makes this request using {@link HttpURLConnection}.
      *
      * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
-     * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value.
+     * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value,
+     * binary format of DTOs is preferred when it is {@link #useBinaryFormat() requested}.
      * <br>Encodes query parameters in "UTF-8".
      *
      * @param timeout
@@ -220,20 +252,22 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
             }
             url = ub.build().toString();
         }
-        final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
-        conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
-        conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+        final HttpURLConnection conn = openConnection(url, timeout);
+        boolean bodyIsStreamed = false;
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
-            conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            conn.addRequestProperty(HttpHeaders.ACCEPT, binaryFormat ? BINARY_OR_JSON : MediaType.APPLICATION_JSON);
             if (!isNullOrEmpty(authorizationHeaderValue)) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
             } else if (authToken != null) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authToken);
             }
             if (body != null) {
-                conn.addRequestProperty(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+                // Maps are always sent as JSON as there is no binary reader for them
+                final boolean binaryBody = binaryFormat && !(body instanceof JsonStringMapImpl);
+                conn.addRequestProperty(HttpHeaders.CONTENT_TYPE,
+                                        binaryBody ? CheBinaryDtoProvider.APPLICATION_BINARY_DTO : MediaType.APPLICATION_JSON);
                 conn.setDoOutput(true);
 
                 if (HttpMethod.DELETE.equals(method)) { //to avoid jdk bug described here http://bugs.java.com/view_bug.do?bug_id=7157360
@@ -241,8 +275,15 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                     conn.setRequestProperty("X-HTTP-Method-Override", HttpMethod.DELETE);
                 }
 
+                prepareBodyStreaming(conn);
                 try (OutputStream output = conn.getOutputStream()) {
-                    output.write(DtoFactory.getInstance().toJson(body).getBytes());
+                    if (binaryBody) {
+                        DtoFactory.getInstance().toBinary(body, output);
+                    } else {
+                        final Writer writer = new OutputStreamWriter(output, UTF_8);
+                        ((JsonSerializable)body).toJson(writer);
+                        writer.flush();
+                    }
                 }
             }
 
@@ -281,18 +322,64 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                                                     UriBuilder.fromUri(url).replaceQuery("token").build(), method, responseCode, str));
             }
             final String contentType = conn.getContentType();
+            if (contentType != null && contentType.startsWith(CheBinaryDtoProvider.APPLICATION_BINARY_DTO)) {
+                try (InputStream in = conn.getInputStream()) {
+                    return new DefaultHttpJsonResponse(BinaryJson.read(in), responseCode);
+                }
+            }
             if (contentType != null && !contentType.startsWith(MediaType.APPLICATION_JSON)) {
                 throw new IOException(conn.getResponseMessage());
             }
 
-            try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+            if (streamResponse) {
+                final DefaultHttpJsonResponse response = new DefaultHttpJsonResponse(conn.getInputStream(),
+                                                                                     responseCode,
+                                                                                     () -> releaseConnection(conn));
+                bodyIsStreamed = true;
+                return response;
+            }
+            try (InputStream in = conn.getInputStream()) {
+                return new DefaultHttpJsonResponse(ByteStreams.toByteArray(in), responseCode);
             }
         } finally {
-            conn.disconnect();
+            if (!bodyIsStreamed) {
+                releaseConnection(conn);
+            }
         }
     }
 
+    /**
+     * Opens connection for this request.
+     *
+     * @param url
+     *         request url with query parameters
+     * @param timeout
+     *         request timeout, used only if it is greater than 0
+     */
+    protected HttpURLConnection openConnection(String url, int timeout) throws IOException {
+        final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
+        conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
+        conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+        return conn;
+    }
+
+    /**
+     * Called before request body is written to the connection, requests without body don't call it.
+     * Default implementation doesn't change streaming mode, so the body is buffered by the connection
+     * and the request can be retried on authentication challenge or redirect.
+     */
+    protected void prepareBodyStreaming(HttpURLConnection conn) {
+    }
+
+    /**
+     * Releases connection when request is completed. Response body is already read and closed at this point,
+     * for {@link #requestStream() streamed} responses it is called when response body is read or response is closed.
+     * Default implementation closes the connection, so it is not reused by the next requests.
+     */
+    protected void releaseConnection(HttpURLConnection conn) {
+        conn.disconnect();
+    }
+
     @Override
     public String toString() {
         return "DefaultHttpJsonRequest{" +
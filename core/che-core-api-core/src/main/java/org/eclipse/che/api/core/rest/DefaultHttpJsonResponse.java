@@ -10,17 +10,31 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.eclipse.che.commons.json.JsonHelper;
 import org.eclipse.che.commons.json.JsonParseException;
 import org.eclipse.che.dto.server.DtoFactory;
 
+import com.google.common.io.ByteStreams;
+import com.google.gson.JsonElement;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -32,29 +46,108 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
 
     private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
-    private final String responseBody;
-    private final int responseCode;
+    private final JsonElement responseTree;
+    private final int         responseCode;
+
+    private byte[]      responseBytes;
+    private String      responseBody;
+    private InputStream responseStream;
+    private Runnable    releaseAction;
+    private boolean     streamConsumed;
 
     protected DefaultHttpJsonResponse(String response, int responseCode) {
         this.responseBody = response;
+        this.responseBytes = null;
+        this.responseTree = null;
+        this.responseCode = responseCode;
+    }
+
+    /**
+     * Creates response from UTF-8 encoded JSON. DTOs are parsed directly from the bytes,
+     * string is created only when it is requested.
+     */
+    protected DefaultHttpJsonResponse(byte[] response, int responseCode) {
+        this.responseBytes = requireNonNull(response, "Required non-null response");
+        this.responseTree = null;
+        this.responseCode = responseCode;
+    }
+
+    /**
+     * Creates response which UTF-8 encoded JSON body is read from the given stream when the response is consumed.
+     * The stream is closed and {@code releaseAction} is run once the body is read or the response is closed.
+     */
+    protected DefaultHttpJsonResponse(InputStream response, int responseCode, Runnable releaseAction) {
+        this.responseStream = requireNonNull(response, "Required non-null response");
+        this.releaseAction = requireNonNull(releaseAction, "Required non-null release action");
+        this.responseTree = null;
+        this.responseCode = responseCode;
+    }
+
+    /**
+     * Creates response which body is already parsed, e.g. when response is received in binary format.
+     * JSON string is created only when it is requested.
+     */
+    protected DefaultHttpJsonResponse(JsonElement response, int responseCode) {
+        this.responseTree = requireNonNull(response, "Required non-null response");
+        this.responseBytes = null;
         this.responseCode = responseCode;
     }
 
     @Override
     public String asString() {
+        readStream();
+        if (responseBody == null) {
+            responseBody = responseTree != null ? responseTree.toString() : new String(responseBytes, UTF_8);
+        }
         return responseBody;
     }
 
     @Override
     public <T> T asDto(Class<T> dtoInterface) {
         requireNonNull(dtoInterface, "Required non-null dto interface");
-        return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
+        if (responseTree != null) {
+            return DtoFactory.getInstance().createDtoFromJson(responseTree, dtoInterface);
+        }
+        readStream();
+        try (Reader reader = newReader()) {
+            return DtoFactory.getInstance().createDtoFromJson(reader, dtoInterface);
+        } catch (IOException x) {
+            throw new UncheckedIOException(x); // won't happen, body is in memory
+        }
     }
 
     @Override
     public <T> List<T> asList(Class<T> dtoInterface) {
         requireNonNull(dtoInterface, "Required non-null dto interface");
-        return DtoFactory.getInstance().createListDtoFromJson(responseBody, dtoInterface);
+        if (responseTree != null) {
+            final List<T> list = new ArrayList<>();
+            for (JsonElement element : responseTree.getAsJsonArray()) {
+                list.add(element.isJsonNull() ? null : DtoFactory.getInstance().createDtoFromJson(element, dtoInterface));
+            }
+            return list;
+        }
+        readStream();
+        try (Reader reader = newReader()) {
+            return DtoFactory.getInstance().createListDtoFromJson(reader, dtoInterface);
+        } catch (IOException x) {
+            throw new UncheckedIOException(x); // won't happen, body is in memory
+        }
+    }
+
+    @Override
+    public <T> Iterable<T> asIterable(Class<T> dtoInterface) {
+        requireNonNull(dtoInterface, "Required non-null dto interface");
+        if (responseTree != null) {
+            return asList(dtoInterface);
+        }
+        if (responseStream != null || streamConsumed) {
+            return () -> {
+                checkStreamNotConsumed();
+                streamConsumed = true;
+                return new DtoIterator<>(new JsonReader(new InputStreamReader(responseStream, UTF_8)), dtoInterface, this::close);
+            };
+        }
+        return () -> new DtoIterator<>(new JsonReader(newReader()), dtoInterface, null);
     }
 
     @Override
@@ -67,7 +160,7 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
     public <T> T as(Class<T> clazz, Type genericType) throws IOException {
         requireNonNull(clazz, "Required non-null class");
         try {
-            return JsonHelper.fromJson(responseBody, clazz, genericType);
+            return JsonHelper.fromJson(asString(), clazz, genericType);
         } catch (JsonParseException jsonEx) {
             throw new IOException(jsonEx.getLocalizedMessage(), jsonEx);
         }
@@ -77,5 +170,141 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
     public int getResponseCode() {
         return responseCode;
     }
-}
 
+    @Override
+    public void close() {
+        if (responseStream != null) {
+            try {
+                responseStream.close();
+            } catch (IOException ignored) {
+            }
+            responseStream = null;
+            streamConsumed = true;
+        }
+        if (releaseAction != null) {
+            final Runnable action = releaseAction;
+            releaseAction = null;
+            action.run();
+        }
+    }
+
+    /** Returns {@code true} if body of this response is not read from the connection yet. */
+    boolean isStreamed() {
+        return responseStream != null;
+    }
+
+    /** Adds action that is run after connection of streamed response is released. */
+    void addReleaseAction(Runnable action) {
+        final Runnable previous = requireNonNull(releaseAction, "Response is not streamed");
+        releaseAction = () -> {
+            try {
+                previous.run();
+            } finally {
+                action.run();
+            }
+        };
+    }
+
+    /** Reads body of streamed response, so it can be consumed any number of times. */
+    private void readStream() {
+        checkStreamNotConsumed();
+        if (responseStream == null) {
+            return;
+        }
+        try {
+            responseBytes = ByteStreams.toByteArray(responseStream);
+        } catch (IOException x) {
+            close();
+            throw new UncheckedIOException(x);
+        }
+        close();
+        // body is in memory now
+        streamConsumed = false;
+    }
+
+    private void checkStreamNotConsumed() {
+        if (streamConsumed) {
+            throw new IllegalStateException("Body of streamed response is already read or closed");
+        }
+    }
+
+    private Reader newReader() {
+        if (responseBytes != null) {
+            return new InputStreamReader(new ByteArrayInputStream(responseBytes), UTF_8);
+        }
+        return new StringReader(responseBody);
+    }
+
+    /** Parses elements of JSON array one by one when they are requested. */
+    private static class DtoIterator<T> implements Iterator<T> {
+        private final JsonReader reader;
+        private final Class<T>   dtoInterface;
+        private final Runnable   onFinish;
+
+        private boolean started;
+        private boolean finished;
+
+        DtoIterator(JsonReader reader, Class<T> dtoInterface, Runnable onFinish) {
+            this.reader = reader;
+            this.dtoInterface = dtoInterface;
+            this.onFinish = onFinish;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+            try {
+                if (!started) {
+                    reader.beginArray();
+                    started = true;
+                }
+                if (reader.hasNext()) {
+                    return true;
+                }
+                reader.endArray();
+                finish();
+                return false;
+            } catch (IOException x) {
+                finish();
+                throw new UncheckedIOException(x);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    return null;
+                }
+                return DtoFactory.getInstance().getGson().fromJson(reader, dtoInterface);
+            } catch (IOException x) {
+                finish();
+                throw new UncheckedIOException(x);
+            } catch (RuntimeException x) {
+                finish();
+                throw x;
+            }
+        }
+
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+            } finally {
+                if (onFinish != null) {
+                    onFinish.run();
+                }
+            }
+        }
+    }
+}
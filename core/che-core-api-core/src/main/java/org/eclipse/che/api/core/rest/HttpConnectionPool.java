@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits and measures HTTP connections that are used by {@link PooledHttpJsonRequestFactory}.
+ *
+ * <p>Connections themselves are kept alive and reused by the keep-alive cache of {@link java.net.HttpURLConnection}
+ * when response body is completely read and connection is not disconnected. This pool bounds number of connections
+ * that are used at the same time for each host, requests that exceed the limit wait for a free connection.
+ * Number of idle connections per host kept by the keep-alive cache is configured with "http.maxConnections"
+ * JVM option (5 by default), it is read once when the cache is loaded, so it has to be passed on the command line,
+ * e.g. {@code -Dhttp.maxConnections=20}, to keep all the released connections for reuse.
+ *
+ * <p>Metrics of each host are available with {@link #getMetrics()}.
+ */
+@Singleton
+public class HttpConnectionPool {
+    private final int                         maxConnectionsPerHost;
+    private final long                        acquireTimeoutMs;
+    private final int                         requestTimeoutMs;
+    private final ConcurrentMap<String, Host> hosts;
+
+    @Inject
+    public HttpConnectionPool(@Named("che.core.http.max_connections_per_host") int maxConnectionsPerHost,
+                              @Named("che.core.http.connection_acquire_timeout_ms") long acquireTimeoutMs,
+                              @Named("che.core.http.request_timeout_ms") int requestTimeoutMs) {
+        if (maxConnectionsPerHost <= 0) {
+            throw new IllegalArgumentException("Max number of connections per host must be greater than 0");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.hosts = new ConcurrentHashMap<>();
+    }
+
+    /** Default timeout of requests in milliseconds, used when request doesn't set its own timeout. */
+    public int getRequestTimeout() {
+        return requestTimeoutMs;
+    }
+
+    /**
+     * Waits for free connection to the host of the given url.
+     *
+     * @return lease that must be released when request is completed
+     * @throws IOException
+     *         when url is malformed or there is no free connection during configured timeout
+     */
+    public Lease acquire(String url) throws IOException {
+        final URL parsed = new URL(url);
+        final String key = parsed.getHost() + ':' + (parsed.getPort() == -1 ? parsed.getDefaultPort() : parsed.getPort());
+        final Host host = hosts.computeIfAbsent(key, k -> new Host(maxConnectionsPerHost));
+        host.waiting.incrementAndGet();
+        try {
+            if (!host.permits.tryAcquire(acquireTimeoutMs, MILLISECONDS)) {
+                host.rejected.incrementAndGet();
+                throw new IOException(String.format("No free connection to '%s' during %d ms, %d connections are in use",
+                                                    key, acquireTimeoutMs, maxConnectionsPerHost));
+            }
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for connection to " + key, x);
+        } finally {
+            host.waiting.decrementAndGet();
+        }
+        host.requests.incrementAndGet();
+        return new Lease(host);
+    }
+
+    /** Returns snapshot of metrics of all hosts which were requested, sorted by host. */
+    public Map<String, HostMetrics> getMetrics() {
+        final Map<String, HostMetrics> metrics = new TreeMap<>();
+        hosts.forEach((key, host) -> metrics.put(key, new HostMetrics(host)));
+        return metrics;
+    }
+
+    /** Connection that is taken from the pool. */
+    public static class Lease {
+        private final Host host;
+        private final long startTime;
+
+        private boolean failed;
+        private boolean released;
+
+        private Lease(Host host) {
+            this.host = host;
+            this.startTime = System.nanoTime();
+        }
+
+        /** Marks request as failed because of i/o or other unexpected error. */
+        public void fail() {
+            failed = true;
+        }
+
+        /** Returns connection to the pool, calls after the first one are ignored. */
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (failed) {
+                host.failures.incrementAndGet();
+            }
+            host.totalTimeNanos.addAndGet(System.nanoTime() - startTime);
+            host.permits.release();
+        }
+    }
+
+    /** Metrics of connections to single host. */
+    public static class HostMetrics {
+        private final int  activeConnections;
+        private final int  waitingRequests;
+        private final long requests;
+        private final long failures;
+        private final long rejected;
+        private final long totalTimeMs;
+
+        private HostMetrics(Host host) {
+            this.activeConnections = host.maxConnections - host.permits.availablePermits();
+            this.waitingRequests = host.waiting.get();
+            this.requests = host.requests.get();
+            this.failures = host.failures.get();
+            this.rejected = host.rejected.get();
+            this.totalTimeMs = NANOSECONDS.toMillis(host.totalTimeNanos.get());
+        }
+
+        /** Number of connections that are used at the moment. */
+        public int getActiveConnections() {
+            return activeConnections;
+        }
+
+        /** Number of requests that wait for free connection at the moment. */
+        public int getWaitingRequests() {
+            return waitingRequests;
+        }
+
+        /** Total number of requests that got connection. */
+        public long getRequests() {
+            return requests;
+        }
+
+        /** Number of requests that failed because of i/o or other unexpected errors. */
+        public long getFailures() {
+            return failures;
+        }
+
+        /** Number of requests that didn't get connection during configured timeout. */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /** Total time of completed requests in milliseconds. */
+        public long getTotalTimeMs() {
+            return totalTimeMs;
+        }
+
+        @Override
+        public String toString() {
+            return "HostMetrics{" +
+                   "activeConnections=" + activeConnections +
+                   ", waitingRequests=" + waitingRequests +
+                   ", requests=" + requests +
+                   ", failures=" + failures +
+                   ", rejected=" + rejected +
+                   ", totalTimeMs=" + totalTimeMs +
+                   '}';
+        }
+    }
+
+    private static class Host {
+        final int           maxConnections;
+        final Semaphore     permits;
+        final AtomicInteger waiting;
+        final AtomicLong    requests;
+        final AtomicLong    failures;
+        final AtomicLong    rejected;
+        final AtomicLong    totalTimeNanos;
+
+        Host(int maxConnections) {
+            this.maxConnections = maxConnections;
+            this.permits = new Semaphore(maxConnections, true);
+            this.waiting = new AtomicInteger();
+            this.requests = new AtomicLong();
+            this.failures = new AtomicLong();
+            this.rejected = new AtomicLong();
+            this.totalTimeNanos = new AtomicLong();
+        }
+    }
+}
@@ -141,6 +141,17 @@ public interface HttpJsonRequest {
      */
     HttpJsonRequest setTimeout(int timeoutMs);
 
+    /**
+     * Asks to exchange DTOs in compact binary format instead of JSON, see {@link CheBinaryDtoProvider}.
+     * Server may still respond with JSON, response is read in the same way regardless of its format.
+     * Implementations that don't support binary format keep using JSON.
+     *
+     * @return this request instance
+     */
+    default HttpJsonRequest useBinaryFormat() {
+        return this;
+    }
+
     /**
      * Returns HTTP URL built from source URL
      * and query parameters added to this request.
@@ -177,6 +188,34 @@ public interface HttpJsonRequest {
                                       ConflictException,
                                       BadRequestException;
 
+    /**
+     * Makes the same request as {@link #request()} but doesn't read response body,
+     * the body is read from the connection when the response is consumed, e.g. elements of
+     * {@link HttpJsonResponse#asIterable(Class)} are parsed while the response is received.
+     * Connection is released when the body is read completely or the response is closed,
+     * so the response must be consumed or closed:
+     * <pre>{@code
+     *     try (HttpJsonResponse response = requestFactory.fromUrl(url).useGetMethod().requestStream()) {
+     *         for (ItemReference item : response.asIterable(ItemReference.class)) {
+     *             ...
+     *         }
+     *     }
+     * }</pre>
+     * Implementations that don't support streaming read the body before returning the response.
+     *
+     * @return {@link HttpJsonResponse} instance which represents response of this request
+     * @see #request()
+     */
+    default HttpJsonResponse requestStream() throws IOException,
+                                                    ServerException,
+                                                    UnauthorizedException,
+                                                    ForbiddenException,
+                                                    NotFoundException,
+                                                    ConflictException,
+                                                    BadRequestException {
+        return request();
+    }
+
     /**
      * Uses {@link HttpMethod#GET} as a request method.
      *
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.List;
@@ -27,7 +28,7 @@ import org.eclipse.che.dto.shared.DTO;
  * @author Yevhenii Voevodin
  */
 @Beta
-public interface HttpJsonResponse {
+public interface HttpJsonResponse extends Closeable {
 
     /**
      * Returns a response code.
@@ -78,6 +79,38 @@ public interface HttpJsonResponse {
      */
     <T> List<T> asList(@NotNull Class<T> dtoInterface);
 
+    /**
+     * Returns result as {@link DTO} objects which are parsed one by one while iterating,
+     * so the whole list is not kept in memory. Prefer it over {@link #asList(Class)} for large responses
+     * which are processed sequentially. If response is {@link HttpJsonRequest#requestStream() streamed}
+     * elements are parsed right from the connection, such response can be iterated only once.
+     *
+     * <p>Example:
+     * <pre>{@code
+     *      for (ItemReference item : requestFactory.fromUrl(apiEndpoint + "/project/children/path")
+     *                                              .useGetMethod()
+     *                                              .request()
+     *                                              .asIterable(ItemReference.class)) {
+     *          ...
+     *      }
+     * }</pre>
+     *
+     * @param dtoInterface
+     *         dto interface class
+     * @return response as iterable dto instances
+     */
+    default <T> Iterable<T> asIterable(@NotNull Class<T> dtoInterface) {
+        return asList(dtoInterface);
+    }
+
+    /**
+     * Releases connection of response which body is read while it is consumed, see {@link HttpJsonRequest#requestStream()}.
+     * Does nothing if response body is already read.
+     */
+    @Override
+    default void close() {
+    }
+
     /**
      * Returns response body as a string map.
      * 
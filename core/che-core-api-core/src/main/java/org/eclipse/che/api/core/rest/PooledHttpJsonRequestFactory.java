@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.Pair;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.List;
+
+/**
+ * Creates requests which reuse keep-alive connections of {@link HttpConnectionPool}.
+ * Request bodies are streamed to the connection in chunks instead of being buffered before sending,
+ * requests without body are sent as is, so they are retried on authentication challenges and redirects.
+ *
+ * @see DefaultHttpJsonRequestFactory
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+    private final HttpConnectionPool pool;
+
+    @Inject
+    public PooledHttpJsonRequestFactory(HttpConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public HttpJsonRequest fromUrl(@NotNull String url) {
+        return new PooledHttpJsonRequest(pool, url);
+    }
+
+    @Override
+    public HttpJsonRequest fromLink(@NotNull Link link) {
+        return new PooledHttpJsonRequest(pool, link);
+    }
+
+    static class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+        private final HttpConnectionPool pool;
+
+        private HttpURLConnection connection;
+
+        PooledHttpJsonRequest(HttpConnectionPool pool, String url) {
+            super(url);
+            this.pool = pool;
+        }
+
+        PooledHttpJsonRequest(HttpConnectionPool pool, Link link) {
+            super(link);
+            this.pool = pool;
+        }
+
+        @Override
+        protected DefaultHttpJsonResponse doRequest(int timeout,
+                                                    String url,
+                                                    String method,
+                                                    Object body,
+                                                    List<Pair<String, ?>> parameters,
+                                                    String authorizationHeaderValue) throws IOException,
+                                                                                            ServerException,
+                                                                                            ForbiddenException,
+                                                                                            NotFoundException,
+                                                                                            UnauthorizedException,
+                                                                                            ConflictException,
+                                                                                            BadRequestException {
+            final HttpConnectionPool.Lease lease = pool.acquire(url);
+            boolean leaseIsHeldByResponse = false;
+            try {
+                final DefaultHttpJsonResponse response = super.doRequest(timeout > 0 ? timeout : pool.getRequestTimeout(),
+                                                                         url,
+                                                                         method,
+                                                                         body,
+                                                                         parameters,
+                                                                         authorizationHeaderValue);
+                if (response.isStreamed()) {
+                    // Connection is in use until the response body is read or the response is closed
+                    response.addReleaseAction(lease::release);
+                    leaseIsHeldByResponse = true;
+                }
+                return response;
+            } catch (IOException | RuntimeException x) {
+                lease.fail();
+                // Response is not read completely, so the connection can't be reused
+                if (connection != null) {
+                    connection.disconnect();
+                }
+                throw x;
+            } finally {
+                connection = null;
+                if (!leaseIsHeldByResponse) {
+                    lease.release();
+                }
+            }
+        }
+
+        @Override
+        protected HttpURLConnection openConnection(String url, int timeout) throws IOException {
+            connection = super.openConnection(url, timeout);
+            return connection;
+        }
+
+        @Override
+        protected void prepareBodyStreaming(HttpURLConnection conn) {
+            // Length of serialized body isn't known before it is written, so it is sent in chunks
+            conn.setChunkedStreamingMode(0);
+        }
+
+        @Override
+        protected void releaseConnection(HttpURLConnection conn) {
+            // Connection is returned to the keep-alive cache when response body is read and closed
+        }
+    }
+}
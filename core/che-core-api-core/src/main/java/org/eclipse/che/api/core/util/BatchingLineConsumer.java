@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.lineconsumer.ConsumerAlreadyClosedException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Line consumer that collects lines and passes them to the delegate as one multi-line batch, lines of the batch
+ * are separated with {@code '\n'}. Batch is passed to the delegate when its size reaches the limit, when the time
+ * window which is started by the first line of the batch is over or when this consumer is closed.
+ * <br/>
+ * Is used for decreasing number of websocket messages and file flushes when output is produced line by line
+ * at high rate, e.g. output of a build. Note that consumers of the delegate output must be ready to get
+ * several lines in one message.
+ * <br/>
+ * This class is thread safe.
+ */
+public class BatchingLineConsumer implements LineConsumer {
+    private static final Logger LOG = getLogger(BatchingLineConsumer.class);
+
+    public static final int  DEFAULT_MAX_BATCH_SIZE = 64 * 1024;
+    public static final long DEFAULT_MAX_DELAY_MS   = 50;
+
+    private static final ScheduledExecutorService FLUSHER =
+            newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("BatchingLineConsumerFlusher")
+                                                                       .setUncaughtExceptionHandler(
+                                                                               LoggingUncaughtExceptionHandler.getInstance())
+                                                                       .setDaemon(true)
+                                                                       .build());
+
+    private final LineConsumer  delegate;
+    private final int           maxBatchSize;
+    private final long          maxDelayMs;
+    private final StringBuilder batch;
+
+    private int                lines;
+    private boolean            isOpen;
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingLineConsumer(LineConsumer delegate) {
+        this(delegate, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MS);
+    }
+
+    /**
+     * @param delegate
+     *         consumer of the batches
+     * @param maxBatchSize
+     *         number of characters after which batch is passed to the delegate without waiting for the end of time window
+     * @param maxDelayMs
+     *         max time in milliseconds during which line may stay in this consumer
+     */
+    public BatchingLineConsumer(LineConsumer delegate, int maxBatchSize, long maxDelayMs) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMs = maxDelayMs;
+        this.batch = new StringBuilder();
+        this.isOpen = true;
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (!isOpen) {
+            return;
+        }
+        if (lines > 0) {
+            batch.append('\n');
+        }
+        if (line != null) {
+            batch.append(line);
+        }
+        lines++;
+        if (batch.length() >= maxBatchSize) {
+            flush();
+        } else if (scheduledFlush == null) {
+            scheduledFlush = FLUSHER.schedule(this::flushScheduled, maxDelayMs, MILLISECONDS);
+        }
+    }
+
+    /** Passes collected lines to the delegate. */
+    public synchronized void flush() throws IOException {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (lines == 0) {
+            return;
+        }
+        final String text = batch.toString();
+        batch.setLength(0);
+        lines = 0;
+        delegate.writeLine(text);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isOpen) {
+            isOpen = false;
+            try {
+                flush();
+            } finally {
+                delegate.close();
+            }
+        }
+    }
+
+    private synchronized void flushScheduled() {
+        try {
+            flush();
+        } catch (ConsumerAlreadyClosedException e) {
+            isOpen = false;
+        } catch (IOException e) {
+            LOG.error(String.format("An error occurred while writing lines to the line consumer %s", delegate), e);
+        }
+    }
+}
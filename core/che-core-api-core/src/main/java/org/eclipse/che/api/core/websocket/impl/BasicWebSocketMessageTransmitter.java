@@ -14,10 +14,12 @@ import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -26,55 +28,110 @@ import static org.slf4j.LoggerFactory.getLogger;
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
  * them when session will be opened again.
  *
+ * <p>Each session has its own bounded {@link WebSocketOutboundQueue} drained by
+ * asynchronous remote, so transmitting never waits for the network and a slow
+ * client affects only its own session. When a queue overflows the configured
+ * {@link SlowConsumerPolicy} is applied. Queue is dropped as soon as the
+ * session is removed from the registry, messages which are not sent yet are
+ * passed to re-sender.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
     private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
-    private final WebSocketSessionRegistry registry;
-    private final MessagesReSender         reSender;
+    private final WebSocketSessionRegistry            registry;
+    private final MessagesReSender                    reSender;
+    private final int                                 queueSize;
+    private final SlowConsumerPolicy                  policy;
+    private final Map<String, WebSocketOutboundQueue> queues;
 
     @Inject
-    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry, MessagesReSender reSender) {
+    public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                            MessagesReSender reSender,
+                                            @Named("che.websocket.outbound_queue_size") int queueSize,
+                                            @Named("che.websocket.slow_consumer_policy") String policy) {
         this.registry = registry;
         this.reSender = reSender;
+        this.queueSize = queueSize;
+        this.policy = SlowConsumerPolicy.valueOf(policy.trim().toUpperCase());
+        this.queues = new ConcurrentHashMap<>();
+        registry.addRemovalListener(this::dropQueue);
     }
 
     @Override
-    public synchronized void transmit(String endpointId, String message) {
+    public void transmit(String endpointId, String message) {
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
-        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
+        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen() || !enqueue(endpointId, sessionOptional.get(), message)) {
             LOG.debug("Session is not registered or closed, adding message to pending");
 
             reSender.add(endpointId, message);
         } else {
-            LOG.debug("Session registered and open, sending message");
-
-            try {
-                sessionOptional.get().getBasicRemote().sendText(message);
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-            }
+            LOG.debug("Session registered and open, message is queued");
         }
     }
 
     @Override
-    public synchronized void transmit(String message) {
-        LOG.debug("Broadcasting a web socket transmission: ", message);
-
-        registry.getSessions()
-                .stream()
-                .filter(Session::isOpen)
-                .map(Session::getBasicRemote)
-                .forEach(it -> {
-                    try {
-                        it.sendText(message);
-                    } catch (IOException e) {
-                        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-                    }
-                });
+    public void transmit(String message) {
+        LOG.debug("Broadcasting a web socket transmission: {}", message);
+
+        // The same message instance is shared by all the queues
+        for (String endpointId : registry.getEndpointIds()) {
+            registry.get(endpointId)
+                    .filter(Session::isOpen)
+                    .ifPresent(session -> enqueue(endpointId, session, message));
+        }
+    }
+
+    /** Returns number of messages waiting to be sent to the endpoint. */
+    public int getQueueDepth(String endpointId) {
+        final WebSocketOutboundQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.getDepth();
+    }
+
+    /** Returns average time in milliseconds of writing a message to the endpoint. */
+    public long getAverageSendLatency(String endpointId) {
+        final WebSocketOutboundQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.getAverageSendLatency();
+    }
+
+    /** Returns max time in milliseconds of writing a message to the endpoint. */
+    public long getMaxSendLatency(String endpointId) {
+        final WebSocketOutboundQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.getMaxSendLatency();
+    }
+
+    /** Returns number of messages dropped because the endpoint could not keep up. */
+    public long getDroppedMessages(String endpointId) {
+        final WebSocketOutboundQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.getDroppedMessages();
+    }
+
+    /** Drops queue of the endpoint unless it belongs to a session that is registered again. */
+    private void dropQueue(String endpointId) {
+        final WebSocketOutboundQueue queue = queues.get(endpointId);
+        if (queue == null || registry.get(endpointId).filter(session -> session == queue.getSession()).isPresent()) {
+            return;
+        }
+        if (queues.remove(endpointId, queue)) {
+            queue.close().forEach(message -> reSender.add(endpointId, message));
+        }
     }
 
+    private boolean enqueue(String endpointId, Session session, String message) {
+        // Queue is bound to the session, reconnected endpoint gets a new one
+        final WebSocketOutboundQueue queue = queues.compute(endpointId, (id, current) -> {
+            if (current == null || current.getSession() != session) {
+                return new WebSocketOutboundQueue(id, session, queueSize, policy, reSender);
+            }
+            return current;
+        });
+        if (queue.offer(message)) {
+            return true;
+        }
+        queues.remove(endpointId, queue);
+        return false;
+    }
 }
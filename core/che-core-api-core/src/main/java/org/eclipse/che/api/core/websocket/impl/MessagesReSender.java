@@ -10,76 +10,124 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.slf4j.Logger;
+
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
- * when WEB SOCKET session was closed. If session is closed during re-send process it
- * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * when WEB SOCKET session was closed. Messages are re-sent through the transmitter, so
+ * they go to the outbound queue of the session and never overlap with other writes to
+ * the session. If session is closed during re-send process left messages are passed
+ * back to re-sender and will be re-sent as WEB SOCKET session becomes open again.
+ *
+ * <p>Number of kept messages is limited both for each endpoint and for all endpoints
+ * together, messages that do not fit into the limits are dropped.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final Logger LOG = getLogger(MessagesReSender.class);
 
-    private final WebSocketSessionRegistry registry;
+    private final WebSocketSessionRegistry                   registry;
+    private final Provider<BasicWebSocketMessageTransmitter> transmitter;
+    private final int                                        maxMessagesPerEndpoint;
+    private final int                                        maxMessages;
 
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private final Map<String, Deque<String>> messagesMap     = new ConcurrentHashMap<>();
+    private final AtomicInteger              messagesCount   = new AtomicInteger();
+    private final AtomicLong                 droppedMessages = new AtomicLong();
 
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
+    public MessagesReSender(WebSocketSessionRegistry registry,
+                            Provider<BasicWebSocketMessageTransmitter> transmitter,
+                            @Named("che.websocket.resend.max_messages_per_endpoint") int maxMessagesPerEndpoint,
+                            @Named("che.websocket.resend.max_messages") int maxMessages) {
+        checkArgument(maxMessagesPerEndpoint > 0, "Max number of messages per endpoint must be positive");
+        checkArgument(maxMessages > 0, "Max number of messages must be positive");
+
         this.registry = registry;
+        this.transmitter = transmitter;
+        this.maxMessagesPerEndpoint = maxMessagesPerEndpoint;
+        this.maxMessages = maxMessages;
     }
 
     public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+        messagesMap.compute(endpointId, (id, messages) -> {
+            if (messages == null) {
+                messages = new ArrayDeque<>();
+            }
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
+            if (messages.size() < maxMessagesPerEndpoint && reserve()) {
+                messages.add(message);
+            } else {
+                LOG.debug("Too many messages to re-send, dropping message for endpoint {}", endpointId);
+                droppedMessages.incrementAndGet();
+            }
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+            return messages.isEmpty() ? null : messages;
+        });
     }
 
     public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+        final Deque<String> messages = messagesMap.remove(endpointId);
 
         if (messages == null || messages.isEmpty()) {
             return;
         }
 
+        messagesCount.addAndGet(-messages.size());
+
         final Optional<Session> sessionOptional = registry.get(endpointId);
 
-        if (!sessionOptional.isPresent()) {
+        if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
+            messages.forEach(message -> add(endpointId, message));
             return;
         }
 
-        final Session session = sessionOptional.get();
+        // transmitter passes messages back if session is closed meanwhile
+        messages.forEach(message -> transmitter.get().transmit(endpointId, message));
+    }
 
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+    /** Number of messages that wait for re-sending to all endpoints. */
+    public int getPendingMessages() {
+        return messagesCount.get();
+    }
 
-        for (String message : backing) {
+    /** Number of messages that wait for re-sending to the endpoint. */
+    public int getPendingMessages(String endpointId) {
+        final Deque<String> messages = messagesMap.get(endpointId);
+        return messages == null ? 0 : messages.size();
+    }
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
-            } else {
-                messages.add(message);
-            }
-        }
+    /** Total number of messages that were dropped because limits were exceeded. */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
 
-        messagesMap.put(endpointId, messages);
+    private boolean reserve() {
+        int count;
+        do {
+            count = messagesCount.get();
+            if (count >= maxMessages) {
+                return false;
+            }
+        } while (!messagesCount.compareAndSet(count, count + 1));
+        return true;
     }
 }
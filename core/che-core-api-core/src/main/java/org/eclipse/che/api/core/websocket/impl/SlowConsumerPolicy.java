@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+/**
+ * Defines what happens when outbound queue of a WEB SOCKET session is full,
+ * that is when the remote side consumes messages slower than they are produced.
+ */
+public enum SlowConsumerPolicy {
+    /** The oldest pending message is dropped to free room for the new one */
+    DROP_OLDEST,
+
+    /**
+     * Pending messages that are equal to the new one are replaced by it, so
+     * repeated notifications are delivered once. If nothing can be coalesced
+     * the oldest pending message is dropped.
+     */
+    COALESCE,
+
+    /**
+     * The session is closed, pending messages are handed over to
+     * {@link MessagesReSender} to be delivered after the client reconnects.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.slf4j.Logger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded queue of outbound messages of a single WEB SOCKET session. Messages
+ * are sent with asynchronous remote one by one, the next message is sent as
+ * soon as the previous one is written, so a slow client never blocks the
+ * producing thread. If the client can't keep up and the queue is full the
+ * configured {@link SlowConsumerPolicy} is applied. Messages which fail to be
+ * sent are passed to re-sender.
+ */
+class WebSocketOutboundQueue {
+    private static final Logger LOG = getLogger(WebSocketOutboundQueue.class);
+
+    private final String             endpointId;
+    private final Session            session;
+    private final int                capacity;
+    private final SlowConsumerPolicy policy;
+    private final MessagesReSender   reSender;
+    private final Deque<String>      pending;
+
+    private boolean sending;
+    private boolean closed;
+    private long    sentMessages;
+    private long    droppedMessages;
+    private long    sendLatencyNanos;
+    private long    maxSendLatencyNanos;
+
+    WebSocketOutboundQueue(String endpointId, Session session, int capacity, SlowConsumerPolicy policy, MessagesReSender reSender) {
+        this.endpointId = endpointId;
+        this.session = session;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.reSender = reSender;
+        this.pending = new ArrayDeque<>();
+    }
+
+    Session getSession() {
+        return session;
+    }
+
+    /**
+     * Adds message to the queue and starts sending if nothing is being sent at
+     * the moment.
+     *
+     * @return {@code false} if message is not accepted because the queue is
+     * closed, caller should take care of message in this case
+     */
+    boolean offer(String message) {
+        List<String> overflow = null;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (pending.size() >= capacity) {
+                switch (policy) {
+                    case COALESCE:
+                        if (!pending.removeIf(message::equals)) {
+                            dropOldest();
+                        }
+                        break;
+                    case DISCONNECT:
+                        closed = true;
+                        overflow = new ArrayList<>(pending);
+                        overflow.add(message);
+                        pending.clear();
+                        break;
+                    default:
+                        dropOldest();
+                }
+            }
+            if (overflow == null) {
+                pending.addLast(message);
+                if (sending) {
+                    return true;
+                }
+                sending = true;
+            }
+        }
+        if (overflow != null) {
+            disconnect(overflow);
+        } else {
+            drain();
+        }
+        return true;
+    }
+
+    /**
+     * Closes the queue, messages that are offered afterwards are not accepted.
+     *
+     * @return messages that are not sent yet
+     */
+    synchronized List<String> close() {
+        closed = true;
+        final List<String> unsent = new ArrayList<>(pending);
+        pending.clear();
+        return unsent;
+    }
+
+    synchronized int getDepth() {
+        return pending.size();
+    }
+
+    synchronized long getSentMessages() {
+        return sentMessages;
+    }
+
+    synchronized long getDroppedMessages() {
+        return droppedMessages;
+    }
+
+    /** Average time in milliseconds that takes writing of a single message to the remote endpoint */
+    synchronized long getAverageSendLatency() {
+        return sentMessages == 0 ? 0 : sendLatencyNanos / sentMessages / 1_000_000;
+    }
+
+    /** Max time in milliseconds that took writing of a single message to the remote endpoint */
+    synchronized long getMaxSendLatency() {
+        return maxSendLatencyNanos / 1_000_000;
+    }
+
+    private void dropOldest() {
+        pending.pollFirst();
+        droppedMessages++;
+        LOG.debug("Outbound queue of endpoint {} is full, dropping the oldest message", endpointId);
+    }
+
+    /**
+     * Sends pending messages one by one. Completion of a send may be reported
+     * before {@code sendText} returns, in this case the loop continues with the
+     * next message, otherwise the completion handler resumes draining. Thus
+     * there is always no more than one message in flight.
+     */
+    private void drain() {
+        for (; ; ) {
+            final String message;
+            synchronized (this) {
+                message = pending.pollFirst();
+                if (message == null) {
+                    sending = false;
+                    return;
+                }
+            }
+
+            final Send send = new Send(message);
+            try {
+                session.getAsyncRemote().sendText(message, result -> onSent(send, result));
+            } catch (RuntimeException e) {
+                LOG.error("Error while trying to send a message to an async websocket remote endpoint", e);
+                reSender.add(endpointId, message);
+                synchronized (this) {
+                    send.completed = true;
+                }
+            }
+
+            synchronized (this) {
+                send.returned = true;
+                if (!send.completed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void onSent(Send send, SendResult result) {
+        final long latency = System.nanoTime() - send.startTime;
+        final boolean sent = result.isOK();
+        if (!sent) {
+            LOG.error("Error while trying to send a message to an async websocket remote endpoint", result.getException());
+            reSender.add(endpointId, send.message);
+        }
+        final boolean resume;
+        synchronized (this) {
+            if (sent) {
+                sentMessages++;
+                sendLatencyNanos += latency;
+                maxSendLatencyNanos = Math.max(maxSendLatencyNanos, latency);
+            }
+            send.completed = true;
+            resume = send.returned;
+        }
+        if (resume) {
+            drain();
+        }
+    }
+
+    private void disconnect(List<String> overflow) {
+        LOG.warn("Outbound queue of endpoint {} is full, closing slow session", endpointId);
+
+        overflow.forEach(message -> reSender.add(endpointId, message));
+        try {
+            session.close(new CloseReason(TRY_AGAIN_LATER, "Outbound queue is full"));
+        } catch (IOException e) {
+            LOG.error("Error while trying to close a slow websocket session", e);
+        }
+    }
+
+    private static class Send {
+        final long   startTime = System.nanoTime();
+        final String message;
+
+        boolean returned;
+        boolean completed;
+
+        Send(String message) {
+            this.message = message;
+        }
+    }
+}
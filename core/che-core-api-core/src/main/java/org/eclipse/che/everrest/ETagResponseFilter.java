@@ -10,12 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
-import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
 
-import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
 import org.everrest.core.GenericContainerResponse;
@@ -23,32 +21,40 @@ import org.everrest.core.ResponseFilter;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.nio.charset.Charset;
 import java.util.List;
-
-import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.JSON_SERIALIZABLE;
-import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.STRING;
-import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
+import java.util.Map;
 
 /**
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
  * It is applying on GET method and JSON content type only.
+ * <p/>
+ * Resources that know version of the entity may set ETag themselves, e.g. with {@link Response.ResponseBuilder#tag(EntityTag)},
+ * then the filter only checks preconditions with the given tag. Resources may also evaluate preconditions on their own
+ * to avoid building the entity at all when it is not modified.
+ * <p/>
+ * Otherwise entity is written by its {@link MessageBodyWriter} once, the written bytes are hashed on the fly and then sent
+ * as the response body, so the entity is not serialized twice.
  *
  * @author Florent Benoit
  */
 @Filter
 public class ETagResponseFilter implements ResponseFilter {
 
-    public enum EntityType {
-        JSON_SERIALIZABLE,
-        STRING,
-        UNKNOWN
-    }
+    private static final HashFunction HASH_FUNCTION  = Hashing.md5();
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
 
     /**
      * Filter the given container response
@@ -80,112 +86,89 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
-        // calculate hash with MD5
-        HashFunction hashFunction = Hashing.md5();
-        Hasher hasher = hashFunction.newHasher();
-        boolean hashingSuccess = true;
-
-        // Manage a list
-        if (entity instanceof List) {
-            List<?> entities = (List)entity;
-            for (Object simpleEntity : entities) {
-                hashingSuccess = addHash(simpleEntity, hasher);
-                if (!hashingSuccess) {
-                    break;
-                }
-            }
-        } else {
-            hashingSuccess = addHash(entity, hasher);
-        }
-
-        // if we're able to handle the hash
-        if (hashingSuccess) {
-
-            // get result of the hash
-            HashCode hashCode = hasher.hash();
-
-            // Create the entity tag
-            EntityTag entityTag = new EntityTag(hashCode.toString());
-
-            // Check the etag
+        // version of the entity is provided by resource
+        Object existingTag = containerResponse.getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        if (existingTag != null) {
+            EntityTag entityTag = existingTag instanceof EntityTag ? (EntityTag)existingTag : EntityTag.valueOf(existingTag.toString());
             Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
-
-            // not modified ?
             if (builder != null) {
                 containerResponse.setResponse(builder.tag(entityTag).build());
-            } else {
-                // it has been changed, so send response with new ETag and entity
-                Response.ResponseBuilder responseBuilder = Response.fromResponse(containerResponse.getResponse()).tag(entityTag);
-                containerResponse.setResponse(responseBuilder.build());
             }
+            return;
         }
 
-    }
+        if (entity instanceof String) {
+            // already serialized, just hash it
+            EntityTag entityTag = new EntityTag(HASH_FUNCTION.hashString((String)entity, Charset.defaultCharset()).toString());
+            setTag(containerResponse, request, entityTag, null, null);
+            return;
+        }
 
-    /**
-     * Helper method to add entity to hash. If there is an invalid entity type it will return false
-     *
-     * @param entity
-     *         the entity object to analyze and extract JSON for hashing it
-     * @param hasher
-     *         the hasher used to add the hashes
-     */
-    protected boolean addHash(Object entity, Hasher hasher) {
-        // get entity type
-        EntityType entityType = getElementType(entity);
-
-        // check
-        if (entityType == UNKNOWN) {
-            // unknown entity type, cannot perform hash
-            return false;
+        // write entity once, calculating its hash on the fly
+        MessageBodyWriter<Object> writer = getWriter(applicationContext, entity, containerResponse.getContentType());
+        if (writer == null) {
+            return;
         }
-        // add hash if all is OK
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        HashingOutputStream hashingStream = new HashingOutputStream(HASH_FUNCTION, body);
+        MultivaluedMap<String, Object> writerHeaders = new MultivaluedHashMap<>();
         try {
-            hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
-        } catch (RuntimeException e) {
-            return false;
+            writer.writeTo(entity,
+                           entity.getClass(),
+                           entity.getClass(),
+                           NO_ANNOTATIONS,
+                           containerResponse.getContentType(),
+                           writerHeaders,
+                           hashingStream);
+            hashingStream.flush();
+        } catch (IOException | RuntimeException e) {
+            // entity will be written as usual without ETag
+            return;
         }
-        return true;
+        setTag(containerResponse, request, new EntityTag(hashingStream.hash().toString()), body.toByteArray(), writerHeaders);
     }
 
-
     /**
-     * Helper method to retrieving the JSON content based on the entity type
+     * Checks preconditions with the given tag, responds with not modified status if they are met
+     * or adds tag to the response otherwise.
      *
-     * @param entity
-     *         the object to analyze
-     * @return the JSON string or null if it's an unknown type
+     * @param body
+     *         already written entity that replaces the original one, or null if the original entity should be kept
+     * @param writerHeaders
+     *         headers added by the writer of the body, may be null
      */
-    protected String getJson(Object entity, EntityType entityType) {
-        switch (entityType) {
-            case JSON_SERIALIZABLE:
-                return ((JsonSerializable)entity).toJson();
-            case STRING:
-                return (String)entity;
-            default:
-                return null;
-        }
-    }
-
-
-    /**
-     * Helper method for getting the type of the JSON entity
-     *
-     * @param entity
-     *         the entity object
-     * @return the type of the element
-     */
-    protected EntityType getElementType(Object entity) {
-        if (JsonSerializable.class.isAssignableFrom(entity.getClass())) {
-            return JSON_SERIALIZABLE;
+    private void setTag(GenericContainerResponse containerResponse,
+                        Request request,
+                        EntityTag entityTag,
+                        byte[] body,
+                        MultivaluedMap<String, Object> writerHeaders) {
+        // Check the etag
+        Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+
+        // not modified ?
+        if (builder != null) {
+            containerResponse.setResponse(builder.tag(entityTag).build());
+            return;
         }
-
-        if (String.class.isAssignableFrom(entity.getClass())) {
-            return STRING;
+        // it has been changed, so send response with new ETag and entity
+        Response response = containerResponse.getResponse();
+        Response.ResponseBuilder responseBuilder = Response.fromResponse(response).tag(entityTag);
+        if (body != null) {
+            responseBuilder.entity(body);
+            for (Map.Entry<String, List<Object>> header : writerHeaders.entrySet()) {
+                if (!response.getMetadata().containsKey(header.getKey())) {
+                    for (Object value : header.getValue()) {
+                        responseBuilder.header(header.getKey(), value);
+                    }
+                }
+            }
         }
+        containerResponse.setResponse(responseBuilder.build());
+    }
 
-        return UNKNOWN;
-
+    @SuppressWarnings("unchecked")
+    private MessageBodyWriter<Object> getWriter(ApplicationContext applicationContext, Object entity, MediaType contentType) {
+        Class<Object> type = (Class<Object>)entity.getClass();
+        return applicationContext.getProviders().getMessageBodyWriter(type, type, NO_ANNOTATIONS, contentType);
     }
 }
-
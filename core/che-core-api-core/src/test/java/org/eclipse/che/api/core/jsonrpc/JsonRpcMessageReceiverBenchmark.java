@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.gson.JsonParser;
+import com.google.inject.Guice;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures how many JSON RPC messages per second {@link JsonRpcMessageReceiver}
+ * takes in, from the raw web socket text to the handler call. Handlers do
+ * nothing but read their params, so the result shows the cost of parsing and
+ * dispatching.
+ * <p>
+ * Benchmark is not run with tests, run {@link #main(String[])} with test classpath to get results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JsonRpcMessageReceiverBenchmark {
+    private static final String ENDPOINT_ID  = "benchmark";
+    private static final int    BATCH_SIZE   = 10;
+    private static final String PARAMS       = "{\"path\":\"/project/src/main/java/Main.java\",\"type\":\"START\",\"oldPath\":\"\"}";
+    private static final String NOTIFICATION = "{\"jsonrpc\":\"2.0\",\"method\":\"benchmark/notify\",\"params\":" + PARAMS + "}";
+    private static final String REQUEST      = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"benchmark/echo\",\"params\":" + PARAMS + "}";
+
+    private final AtomicLong handled = new AtomicLong();
+
+    private JsonRpcMessageReceiver receiver;
+    private RequestProcessor       processor;
+    private String                 batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final JsonParser jsonParser = new JsonParser();
+        final JsonRpcFactory factory = Guice.createInjector(binder -> binder.install(new FactoryModuleBuilder().build(JsonRpcFactory.class)))
+                                            .getInstance(JsonRpcFactory.class);
+        final WebSocketMessageTransmitter transmitter = new WebSocketMessageTransmitter() {
+            @Override
+            public void transmit(String endpointId, String message) {
+                handled.incrementAndGet();
+            }
+
+            @Override
+            public void transmit(String message) {
+            }
+        };
+
+        final RequestHandlerRegistry registry = new RequestHandlerRegistry();
+        registry.register("benchmark/notify", (NotificationHandler)(endpointId, params) -> {
+            params.toJsonElement().getAsJsonObject().get("path").getAsString();
+            handled.incrementAndGet();
+        });
+        registry.register("benchmark/echo", (RequestHandler)(endpointId, params) -> factory.createResult(params));
+
+        processor = new RequestProcessor(4, 4, 10_000);
+        final JsonRpcErrorTransmitter errorTransmitter = new JsonRpcErrorTransmitter(transmitter, factory);
+        receiver = new JsonRpcMessageReceiver(new RequestDispatcher(registry, transmitter, factory, errorTransmitter, processor),
+                                              new ResponseDispatcher(),
+                                              new JsonRpcEntityQualifier(jsonParser),
+                                              new JsonRpcEntityValidator(jsonParser),
+                                              errorTransmitter,
+                                              factory);
+
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            sb.append(i == 0 ? "" : ",").append(NOTIFICATION);
+        }
+        batch = sb.append(']').toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processor.shutdown();
+    }
+
+    @Benchmark
+    public void notification() {
+        receiver.receive(ENDPOINT_ID, NOTIFICATION);
+    }
+
+    @Benchmark
+    public void request() {
+        receiver.receive(ENDPOINT_ID, REQUEST);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batch() {
+        receiver.receive(ENDPOINT_ID, batch);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JsonRpcMessageReceiverBenchmark.class.getSimpleName()).build()).run();
+    }
+}
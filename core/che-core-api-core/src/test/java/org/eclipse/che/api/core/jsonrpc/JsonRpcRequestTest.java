@@ -20,7 +20,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
@@ -45,7 +45,7 @@ public class JsonRpcRequestTest {
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(jsonRpcFactory.createParams(anyString())).thenReturn(params);
+        when(jsonRpcFactory.createParams(any(JsonElement.class))).thenReturn(params);
 
         JsonObject params = new JsonObject();
         params.addProperty("parameter", "value");
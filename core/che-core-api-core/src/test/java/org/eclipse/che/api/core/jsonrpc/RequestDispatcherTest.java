@@ -10,7 +10,10 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonObject;
+
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -19,9 +22,18 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.CANCEL_REQUEST_METHOD;
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.REQUEST_CANCELLED_ERROR_CODE;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Tests for {@link RequestDispatcher}
@@ -39,6 +51,10 @@ public class RequestDispatcherTest {
     JsonRpcFactory              jsonRpcFactory;
     @Mock
     WebSocketMessageTransmitter transmitter;
+    @Mock
+    JsonRpcErrorTransmitter     errorTransmitter;
+    @Mock
+    RequestProcessor            processor;
     @InjectMocks
     RequestDispatcher           requestDispatcher;
 
@@ -54,6 +70,10 @@ public class RequestDispatcherTest {
     NotificationHandler notificationHandler;
     @Mock
     JsonRpcResult       result;
+    @Mock
+    JsonRpcRequest      cancellation;
+    @Mock
+    JsonRpcParams       cancellationParams;
 
     @BeforeMethod
     public void setUp() throws Exception {
@@ -70,6 +90,15 @@ public class RequestDispatcherTest {
 
         when(requestHandlerRegistry.getRequestHandler("method")).thenReturn(requestHandler);
         when(requestHandlerRegistry.getNotificationHandler("method")).thenReturn(notificationHandler);
+
+        doAnswer(invocation -> {
+            ((Runnable)invocation.getArguments()[0]).run();
+            return null;
+        }).when(processor).process(any(Runnable.class));
+        doAnswer(invocation -> {
+            ((Runnable)invocation.getArguments()[1]).run();
+            return null;
+        }).when(processor).process(anyString(), any(Runnable.class));
     }
 
     @Test
@@ -137,4 +166,81 @@ public class RequestDispatcherTest {
 
         requestDispatcher.dispatch(ENDPOINT_ID, request);
     }
+
+    @Test
+    public void shouldProcessUnorderedRequestConcurrently() throws Exception {
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        verify(processor).process(any(Runnable.class));
+        verify(processor, never()).process(anyString(), any(Runnable.class));
+    }
+
+    @Test
+    public void shouldProcessOrderedRequestInOrderOfEndpointAndMethod() throws Exception {
+        when(requestHandlerRegistry.isOrdered(METHOD_NAME)).thenReturn(true);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        verify(processor).process(eq(ENDPOINT_ID + '@' + METHOD_NAME), any(Runnable.class));
+        verify(requestHandler).handle(ENDPOINT_ID, params);
+    }
+
+    @Test
+    public void shouldTransmitErrorIfHandlerFails() throws Exception {
+        JsonRpcException exception = new JsonRpcException(-32000, "error", REQUEST_ID);
+        doThrow(exception).when(requestHandler).handle(ENDPOINT_ID, params);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        verify(errorTransmitter).transmit(ENDPOINT_ID, exception);
+        verify(transmitter, never()).transmit(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldTransmitErrorWithIdOfRequestIfHandlerFailsWithoutIt() throws Exception {
+        doThrow(new JsonRpcException(-32602, "error")).when(requestHandler).handle(ENDPOINT_ID, params);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        ArgumentCaptor<JsonRpcException> error = ArgumentCaptor.forClass(JsonRpcException.class);
+        verify(errorTransmitter).transmit(eq(ENDPOINT_ID), error.capture());
+        assertEquals(error.getValue().getCode(), -32602);
+        assertEquals(error.getValue().getId(), REQUEST_ID);
+    }
+
+    @Test
+    public void shouldNotHandleRequestThatIsCancelledBeforeStart() throws Exception {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doNothing().when(processor).process(any(Runnable.class));
+        mockCancellationOf(REQUEST_ID);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+        requestDispatcher.dispatch(ENDPOINT_ID, cancellation);
+        verify(processor).process(task.capture());
+        task.getValue().run();
+
+        ArgumentCaptor<JsonRpcException> error = ArgumentCaptor.forClass(JsonRpcException.class);
+        verify(errorTransmitter).transmit(eq(ENDPOINT_ID), error.capture());
+        assertEquals(error.getValue().getCode(), REQUEST_CANCELLED_ERROR_CODE);
+        verify(requestHandler, never()).handle(anyString(), any(JsonRpcParams.class));
+    }
+
+    @Test
+    public void shouldIgnoreCancellationOfUnknownRequest() throws Exception {
+        mockCancellationOf("1");
+
+        requestDispatcher.dispatch(ENDPOINT_ID, cancellation);
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        verify(requestHandler).handle(ENDPOINT_ID, params);
+        verify(requestHandlerRegistry, never()).getNotificationHandler(CANCEL_REQUEST_METHOD);
+    }
+
+    private void mockCancellationOf(String requestId) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", requestId);
+        when(cancellation.getMethod()).thenReturn(CANCEL_REQUEST_METHOD);
+        when(cancellation.getParams()).thenReturn(cancellationParams);
+        when(cancellationParams.toJsonElement()).thenReturn(json);
+    }
 }
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link RequestProcessor}
+ */
+public class RequestProcessorTest {
+    private RequestProcessor processor;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        processor = new RequestProcessor(4, 4, 100);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        processor.shutdown();
+    }
+
+    @Test
+    public void shouldRunTasksOfTheSameKeyInOrder() throws Exception {
+        List<Integer> processed = synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            final int n = i;
+            processor.process("key", () -> {
+                processed.add(n);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals((int)processed.get(i), i);
+        }
+    }
+
+    @Test
+    public void shouldNotBlockOtherTasksBySlowTask() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        processor.process("slow", () -> {
+            try {
+                release.await(10, SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        processor.process(done::countDown);
+
+        assertTrue(done.await(10, SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void shouldContinueProcessingAfterFailedTask() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+
+        processor.process("key", () -> {
+            throw new IllegalStateException("failure");
+        });
+        processor.process("key", done::countDown);
+
+        assertTrue(done.await(10, SECONDS));
+    }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.REQUEST_TIMED_OUT_ERROR_CODE;
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.SESSION_CLOSED_ERROR_CODE;
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.TICK_MS;
+import static org.eclipse.che.api.core.jsonrpc.ResponseDispatcher.TOO_MANY_REQUESTS_ERROR_CODE;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ResponseDispatcher}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ResponseDispatcherTest {
+    static final String ENDPOINT_ID = "endpointId";
+    static final String REQUEST_ID  = "0";
+    static final String RESULT      = "result";
+
+    @Mock
+    WebSocketMessageTransmitter transmitter;
+    @Mock
+    WebSocketSessionRegistry    sessionRegistry;
+
+    @Mock
+    JsonRpcResponse response;
+    @Mock
+    JsonRpcResult   result;
+
+    ResponseDispatcher dispatcher;
+    List<Object>       successes;
+    List<Object>       failures;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dispatcher = new ResponseDispatcher(transmitter, sessionRegistry, TICK_MS * 3, 2);
+        successes = new ArrayList<>();
+        failures = new ArrayList<>();
+
+        when(response.getId()).thenReturn(REQUEST_ID);
+        when(response.hasResult()).thenReturn(true);
+        when(response.getResult()).thenReturn(result);
+        when(result.getAs(Object.class)).thenReturn(RESULT);
+    }
+
+    @Test
+    public void shouldPassResultToSuccessConsumer() throws Exception {
+        register(REQUEST_ID);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        assertEquals(successes.size(), 1);
+        assertEquals(successes.get(0), RESULT);
+        assertEquals(dispatcher.getPendingRequests(), 0);
+    }
+
+    @Test
+    public void shouldIgnoreResponseToUnknownRequest() throws Exception {
+        register("1");
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        assertTrue(successes.isEmpty());
+        assertEquals(dispatcher.getPendingRequests(), 1);
+    }
+
+    @Test
+    public void shouldFailRequestWhenDeadlineComes() throws Exception {
+        register(REQUEST_ID);
+
+        dispatcher.expire();
+        dispatcher.expire();
+        assertTrue(failures.isEmpty());
+
+        dispatcher.expire();
+        assertEquals(failures.size(), 1);
+        assertEquals(((JsonRpcError)failures.get(0)).getCode(), REQUEST_TIMED_OUT_ERROR_CODE);
+        assertEquals(dispatcher.getTimedOutRequests(), 1);
+        assertEquals(dispatcher.getPendingRequests(), 0);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+        assertTrue(successes.isEmpty());
+    }
+
+    @Test
+    public void shouldNotFailRequestWhenResponseComesInTime() throws Exception {
+        register(REQUEST_ID);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+        for (int i = 0; i < 5; i++) {
+            dispatcher.expire();
+        }
+
+        assertEquals(successes.size(), 1);
+        assertTrue(failures.isEmpty());
+        assertEquals(dispatcher.getTimedOutRequests(), 0);
+    }
+
+    @Test
+    public void shouldCancelRequestAndNotifyEndpoint() throws Exception {
+        JsonRpcPromise<Object> promise = register(REQUEST_ID);
+
+        promise.cancel();
+
+        verify(transmitter).transmit(eq(ENDPOINT_ID), contains(ResponseDispatcher.CANCEL_REQUEST_METHOD));
+        assertEquals(dispatcher.getCancelledRequests(), 1);
+        assertEquals(dispatcher.getPendingRequests(), 0);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+        for (int i = 0; i < 5; i++) {
+            dispatcher.expire();
+        }
+        assertTrue(successes.isEmpty());
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    public void shouldNotNotifyEndpointWhenCancelledRequestIsNotPending() throws Exception {
+        register(REQUEST_ID);
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        assertFalse(dispatcher.cancel(ENDPOINT_ID, REQUEST_ID));
+
+        verify(transmitter, never()).transmit(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldFailRequestsOfEndpointWhenSessionIsClosed() throws Exception {
+        register(REQUEST_ID);
+        dispatcher.registerPromiseOfOne("anotherEndpoint", REQUEST_ID, Object.class, new JsonRpcPromise<>());
+
+        dispatcher.evict(ENDPOINT_ID);
+
+        assertEquals(failures.size(), 1);
+        assertEquals(((JsonRpcError)failures.get(0)).getCode(), SESSION_CLOSED_ERROR_CODE);
+        assertEquals(dispatcher.getEvictedRequests(), 1);
+        assertEquals(dispatcher.getPendingRequests(), 1);
+    }
+
+    @Test
+    public void shouldRejectRequestsWhenTooManyArePending() throws Exception {
+        register("1");
+        register("2");
+        register("3");
+
+        dispatcher.expire();
+
+        assertEquals(failures.size(), 1);
+        assertEquals(((JsonRpcError)failures.get(0)).getCode(), TOO_MANY_REQUESTS_ERROR_CODE);
+        assertEquals(dispatcher.getRejectedRequests(), 1);
+        assertEquals(dispatcher.getPendingRequests(), 2);
+    }
+
+    private JsonRpcPromise<Object> register(String requestId) {
+        return dispatcher.registerPromiseOfOne(ENDPOINT_ID, requestId, Object.class, new JsonRpcPromise<>())
+                         .onSuccess((endpointId, value) -> successes.add(value))
+                         .onFailure((endpointId, error) -> failures.add(error));
+    }
+}
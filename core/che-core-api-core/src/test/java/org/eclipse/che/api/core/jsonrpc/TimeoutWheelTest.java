@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link TimeoutWheel}
+ */
+public class TimeoutWheelTest {
+    static final int WHEEL_SIZE = 8;
+
+    @Test
+    public void shouldExpireKeyAtItsDeadlineTick() {
+        TimeoutWheel wheel = new TimeoutWheel(100, WHEEL_SIZE);
+
+        long deadline = wheel.schedule("key", 250);
+
+        assertEquals(deadline, 3);
+        assertTrue(wheel.advance().isEmpty());
+        assertTrue(wheel.advance().isEmpty());
+        assertEquals(wheel.advance().get(0), "key");
+    }
+
+    @Test
+    public void shouldNotExpireCancelledKey() {
+        TimeoutWheel wheel = new TimeoutWheel(100, WHEEL_SIZE);
+
+        wheel.cancel("key", wheel.schedule("key", 100));
+
+        assertTrue(wheel.advance().isEmpty());
+    }
+
+    @Test
+    public void shouldNotMissDeadlineOfKeyScheduledWhileWheelIsAdvanced() throws Exception {
+        TimeoutWheel wheel = new TimeoutWheel(1, WHEEL_SIZE);
+        Map<String, Long> deadlines = new ConcurrentHashMap<>();
+        Map<String, Long> expirations = new ConcurrentHashMap<>();
+        AtomicBoolean scheduling = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch schedulers = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            String prefix = "scheduler-" + i + '-';
+            executor.execute(() -> {
+                for (int n = 0; n < 20_000; n++) {
+                    String key = prefix + n;
+                    deadlines.put(key, wheel.schedule(key, 1));
+                }
+                schedulers.countDown();
+            });
+        }
+        executor.execute(() -> {
+            long tick = 0;
+            while (scheduling.get()) {
+                tick++;
+                for (String key : wheel.advance()) {
+                    expirations.put(key, tick);
+                }
+            }
+            // all keys are scheduled at most one tick ahead
+            tick++;
+            for (String key : wheel.advance()) {
+                expirations.put(key, tick);
+            }
+        });
+
+        schedulers.await();
+        scheduling.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(expirations, deadlines);
+    }
+}
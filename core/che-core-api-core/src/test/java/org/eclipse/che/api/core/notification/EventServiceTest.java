@@ -11,12 +11,21 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.core.notification.EventOverflowPolicy.BLOCK;
+import static org.eclipse.che.api.core.notification.EventOverflowPolicy.DROP_NEWEST;
+import static org.eclipse.che.api.core.notification.EventOverflowPolicy.DROP_OLDEST;
 
 /**
  * @author andrew00x
@@ -29,6 +38,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -218,4 +232,131 @@ public class EventServiceTest {
             super("message");
         }
     }
+
+    @Test
+    public void shouldDeliverEventsToAsyncSubscriberInOrder() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final List<String> expected = new ArrayList<>();
+        final AsyncEventSubscriber subscriber = bus.subscribeAsync((EventSubscriber<Event>)event -> events.add(event.data),
+                                                                   Event.class, 10, BLOCK);
+
+        for (int i = 0; i < 1000; i++) {
+            expected.add(Integer.toString(i));
+            bus.publish(new Event(Integer.toString(i)));
+        }
+
+        awaitDelivered(subscriber, 1000);
+        Assert.assertEquals(events, expected);
+        Assert.assertEquals(subscriber.getDroppedEvents(), 0);
+        Assert.assertEquals(subscriber.getQueueDepth(), 0);
+    }
+
+    @Test
+    public void shouldNotWaitForAsyncSubscriber() throws Exception {
+        final BlockingSubscriber blocking = new BlockingSubscriber();
+        final AsyncEventSubscriber subscriber = bus.subscribeAsync(blocking, 10, BLOCK);
+        final List<String> syncEvents = new ArrayList<>();
+        bus.subscribe((EventSubscriber<Event>)event -> syncEvents.add(event.data), Event.class);
+
+        bus.publish(new Event("first"));
+        bus.publish(new Event("second"));
+
+        Assert.assertEquals(syncEvents, asList("first", "second"));
+        Assert.assertTrue(blocking.entered.await(5, SECONDS));
+        Assert.assertEquals(subscriber.getQueueDepth(), 1);
+
+        blocking.release.countDown();
+        awaitDelivered(subscriber, 2);
+        Assert.assertEquals(blocking.events, asList("first", "second"));
+    }
+
+    @Test
+    public void shouldDropOldestEventsWhenAsyncQueueIsFull() throws Exception {
+        final BlockingSubscriber blocking = new BlockingSubscriber();
+        final AsyncEventSubscriber subscriber = bus.subscribeAsync(blocking, 2, DROP_OLDEST);
+
+        bus.publish(new Event("0"));
+        Assert.assertTrue(blocking.entered.await(5, SECONDS));
+        bus.publish(new Event("1"));
+        bus.publish(new Event("2"));
+        bus.publish(new Event("3"));
+        blocking.release.countDown();
+
+        awaitDelivered(subscriber, 3);
+        Assert.assertEquals(blocking.events, asList("0", "2", "3"));
+        Assert.assertEquals(subscriber.getDroppedEvents(), 1);
+    }
+
+    @Test
+    public void shouldDropNewestEventsWhenAsyncQueueIsFull() throws Exception {
+        final BlockingSubscriber blocking = new BlockingSubscriber();
+        final AsyncEventSubscriber subscriber = bus.subscribeAsync(blocking, 2, DROP_NEWEST);
+
+        bus.publish(new Event("0"));
+        Assert.assertTrue(blocking.entered.await(5, SECONDS));
+        bus.publish(new Event("1"));
+        bus.publish(new Event("2"));
+        bus.publish(new Event("3"));
+        blocking.release.countDown();
+
+        awaitDelivered(subscriber, 3);
+        Assert.assertEquals(blocking.events, asList("0", "1", "2"));
+        Assert.assertEquals(subscriber.getDroppedEvents(), 1);
+    }
+
+    @Test
+    public void shouldMeasureDeliveryLagOfAsyncSubscriber() throws Exception {
+        final BlockingSubscriber blocking = new BlockingSubscriber();
+        final AsyncEventSubscriber subscriber = bus.subscribeAsync(blocking, 10, BLOCK);
+
+        bus.publish(new Event("0"));
+        bus.publish(new Event("1"));
+        Assert.assertTrue(blocking.entered.await(5, SECONDS));
+        Thread.sleep(50);
+        blocking.release.countDown();
+
+        awaitDelivered(subscriber, 2);
+        Assert.assertTrue(subscriber.getMaxDeliveryLag() >= 50);
+        Assert.assertTrue(subscriber.getLastDeliveryLag() >= 50);
+    }
+
+    @Test
+    public void shouldUnsubscribeAsyncSubscriber() throws Exception {
+        final BlockingSubscriber blocking = new BlockingSubscriber();
+        blocking.release.countDown();
+        final AsyncEventSubscriber subscriber = bus.subscribeAsync(blocking, 10, BLOCK);
+
+        bus.publish(new Event("0"));
+        awaitDelivered(subscriber, 1);
+        bus.unsubscribe(blocking);
+        bus.publish(new Event("1"));
+
+        Assert.assertEquals(blocking.events, asList("0"));
+        Assert.assertEquals(subscriber.getQueueDepth(), 0);
+    }
+
+    private static void awaitDelivered(AsyncEventSubscriber subscriber, long events) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (subscriber.getDeliveredEvents() < events && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(subscriber.getDeliveredEvents(), events);
+    }
+
+    static class BlockingSubscriber implements EventSubscriber<Event> {
+        final List<String>   events  = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(Event event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event.data);
+        }
+    }
 }
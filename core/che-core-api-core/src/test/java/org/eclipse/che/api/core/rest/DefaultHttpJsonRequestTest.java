@@ -41,12 +41,14 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.MediaType;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -71,13 +73,15 @@ import static org.testng.Assert.assertTrue;
 public class DefaultHttpJsonRequestTest {
 
     @SuppressWarnings("unused") // used by EverrestJetty
-    private static final EnvironmentFilter  FILTER           = new EnvironmentFilter();
+    private static final EnvironmentFilter    FILTER           = new EnvironmentFilter();
     @SuppressWarnings("unused") // used by EverrestJetty
-    private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+    private static final ApiExceptionMapper   EXCEPTION_MAPPER = new ApiExceptionMapper();
     @SuppressWarnings("unused") // used by EverrestJetty
-    private static final TestService        TEST_SERVICE     = new TestService();
-    private static final Subject            TEST_SUBJECT     = new SubjectImpl("name", "id", "token", false);
-    private static final String             DEFAULT_URL      = "http://localhost:8080";
+    private static final TestService          TEST_SERVICE     = new TestService();
+    @SuppressWarnings("unused") // used by EverrestJetty
+    private static final CheBinaryDtoProvider BINARY_PROVIDER  = new CheBinaryDtoProvider();
+    private static final Subject              TEST_SUBJECT     = new SubjectImpl("name", "id", "token", false);
+    private static final String               DEFAULT_URL      = "http://localhost:8080";
 
     @Captor
     private ArgumentCaptor<Map<String, String>> mapCaptor;
@@ -288,6 +292,110 @@ public class DefaultHttpJsonRequestTest {
         assertEquals(links, Collections.singletonList(link));
     }
 
+    @Test
+    public void shouldIterateOverListResponse(ITestContext ctx) throws Exception {
+        final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json");
+
+        final List<Link> links = asList(LinksHelper.createLink("GET", "localhost:8080/first", "first"),
+                                        LinksHelper.createLink("GET", "localhost:8080/second", "second"));
+        final List<Link> iterated = new ArrayList<>();
+        for (Link link : request.usePostMethod().setBody(links).request().asIterable(Link.class)) {
+            iterated.add(link);
+        }
+
+        assertEquals(iterated, links);
+    }
+
+    @Test
+    public void shouldReuseConnectionsOfThePool(ITestContext ctx) throws Exception {
+        final HttpConnectionPool pool = new HttpConnectionPool(1, 1000, 10_000);
+        final HttpJsonRequestFactory factory = new PooledHttpJsonRequestFactory(pool);
+        final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+
+        for (int i = 0; i < 3; i++) {
+            final List<Link> links = factory.fromUrl(getUrl(ctx) + "/application-json")
+                                            .usePostMethod()
+                                            .setBody(singletonList(link))
+                                            .request()
+                                            .asList(Link.class);
+            assertEquals(links, singletonList(link));
+        }
+
+        final HttpConnectionPool.HostMetrics metrics = pool.getMetrics().values().iterator().next();
+        assertEquals(metrics.getRequests(), 3);
+        assertEquals(metrics.getFailures(), 0);
+        assertEquals(metrics.getActiveConnections(), 0);
+    }
+
+    @Test
+    public void shouldHoldConnectionOfStreamedResponseUntilBodyIsRead(ITestContext ctx) throws Exception {
+        final HttpConnectionPool pool = new HttpConnectionPool(1, 1000, 10_000);
+        final HttpJsonRequestFactory factory = new PooledHttpJsonRequestFactory(pool);
+        final List<Link> links = asList(LinksHelper.createLink("GET", "localhost:8080/first", "first"),
+                                        LinksHelper.createLink("GET", "localhost:8080/second", "second"));
+
+        final List<Link> iterated = new ArrayList<>();
+        try (HttpJsonResponse response = factory.fromUrl(getUrl(ctx) + "/application-json")
+                                                .usePostMethod()
+                                                .setBody(links)
+                                                .requestStream()) {
+            for (Link link : response.asIterable(Link.class)) {
+                assertEquals(pool.getMetrics().values().iterator().next().getActiveConnections(), 1);
+                iterated.add(link);
+            }
+            assertEquals(pool.getMetrics().values().iterator().next().getActiveConnections(), 0);
+        }
+
+        assertEquals(iterated, links);
+        final HttpConnectionPool.HostMetrics metrics = pool.getMetrics().values().iterator().next();
+        assertEquals(metrics.getRequests(), 1);
+        assertEquals(metrics.getActiveConnections(), 0);
+    }
+
+    @Test
+    public void shouldReleaseConnectionWhenStreamedResponseIsClosed(ITestContext ctx) throws Exception {
+        final HttpConnectionPool pool = new HttpConnectionPool(1, 1000, 10_000);
+        final HttpJsonRequestFactory factory = new PooledHttpJsonRequestFactory(pool);
+        final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+
+        factory.fromUrl(getUrl(ctx) + "/application-json").usePostMethod().setBody(singletonList(link)).requestStream().close();
+        final List<Link> links = factory.fromUrl(getUrl(ctx) + "/application-json")
+                                        .usePostMethod()
+                                        .setBody(singletonList(link))
+                                        .requestStream()
+                                        .asList(Link.class);
+
+        assertEquals(links, singletonList(link));
+        assertEquals(pool.getMetrics().values().iterator().next().getActiveConnections(), 0);
+    }
+
+    @Test
+    public void shouldSendAndReceiveBodyInBinaryFormat(ITestContext ctx) throws Exception {
+        final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/binary");
+
+        final Link link = LinksHelper.createLink("GET", "localhost:8080/binary", "rel");
+        final List<Link> links = request.usePostMethod()
+                                        .useBinaryFormat()
+                                        .setBody(Collections.singletonList(link))
+                                        .request()
+                                        .asList(Link.class);
+
+        assertEquals(links, Collections.singletonList(link.withRel(CheBinaryDtoProvider.APPLICATION_BINARY_DTO)));
+    }
+
+    @Test
+    public void shouldUseJsonFormatByDefault(ITestContext ctx) throws Exception {
+        final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/binary");
+
+        final Link link = LinksHelper.createLink("GET", "localhost:8080/binary", "rel");
+        final List<Link> links = request.usePostMethod()
+                                        .setBody(Collections.singletonList(link))
+                                        .request()
+                                        .asList(Link.class);
+
+        assertEquals(links, Collections.singletonList(link.withRel(MediaType.APPLICATION_JSON)));
+    }
+
     @Test
     public void shouldSendQueryParameters(ITestContext ctx) throws Exception {
         final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/query-parameters");
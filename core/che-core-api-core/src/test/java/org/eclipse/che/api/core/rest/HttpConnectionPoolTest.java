@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.rest.HttpConnectionPool.HostMetrics;
+import org.eclipse.che.api.core.rest.HttpConnectionPool.Lease;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests of {@link HttpConnectionPool}.
+ */
+public class HttpConnectionPoolTest {
+
+    private HttpConnectionPool pool;
+
+    @BeforeMethod
+    public void setUp() {
+        pool = new HttpConnectionPool(2, 100, 1000);
+    }
+
+    @Test
+    public void shouldLimitConnectionsPerHost() throws Exception {
+        pool.acquire("http://localhost:8080/api/workspace");
+        pool.acquire("http://localhost:8080/api/project");
+        // The other host has its own limit
+        pool.acquire("http://localhost:8081/api/workspace");
+
+        try {
+            pool.acquire("http://localhost:8080/api/user");
+            fail("Connection must not be acquired when all connections to the host are in use");
+        } catch (IOException ignored) {
+        }
+
+        final HostMetrics metrics = pool.getMetrics().get("localhost:8080");
+        assertEquals(metrics.getActiveConnections(), 2);
+        assertEquals(metrics.getRequests(), 2);
+        assertEquals(metrics.getRejected(), 1);
+        assertEquals(pool.getMetrics().get("localhost:8081").getActiveConnections(), 1);
+    }
+
+    @Test
+    public void shouldGiveReleasedConnectionToWaitingRequest() throws Exception {
+        final HttpConnectionPool pool = new HttpConnectionPool(1, 10_000, 1000);
+        final Lease busy = pool.acquire("http://localhost/busy");
+
+        final CompletableFuture<Lease> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.acquire("http://localhost/waiting");
+            } catch (IOException x) {
+                throw new RuntimeException(x);
+            }
+        });
+        assertFalse(waiting.isDone());
+        busy.release();
+        waiting.get(5, TimeUnit.SECONDS).release();
+
+        final HostMetrics metrics = pool.getMetrics().get("localhost:80");
+        assertEquals(metrics.getRequests(), 2);
+        assertEquals(metrics.getActiveConnections(), 0);
+    }
+
+    @Test
+    public void shouldCountFailuresAndIgnoreRepeatedRelease() throws Exception {
+        final Lease lease = pool.acquire("https://che.host/api");
+        lease.fail();
+        lease.release();
+        lease.release();
+
+        final HostMetrics metrics = pool.getMetrics().get("che.host:443");
+        assertEquals(metrics.getFailures(), 1);
+        assertEquals(metrics.getActiveConnections(), 0);
+    }
+}
@@ -18,6 +18,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
@@ -40,6 +41,7 @@ import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static org.eclipse.che.api.core.rest.CheBinaryDtoProvider.APPLICATION_BINARY_DTO;
 
 /**
  * Test service class, used in {@link DefaultHttpJsonRequestTest}.
@@ -80,6 +82,17 @@ public class TestService extends Service {
         return elements;
     }
 
+    @POST
+    @Path("/binary")
+    @Consumes({APPLICATION_JSON, APPLICATION_BINARY_DTO})
+    @Produces({APPLICATION_JSON, APPLICATION_BINARY_DTO})
+    public List<Link> receiveBinaryObject(List<Link> elements, @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType) {
+        for (Link element : elements) {
+            element.setRel(contentType);
+        }
+        return elements;
+    }
+
     @PUT
     @Path("/query-parameters")
     @Produces(APPLICATION_JSON)
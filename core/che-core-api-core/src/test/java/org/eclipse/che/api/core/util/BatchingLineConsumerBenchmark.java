@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares lines per second that are written to process output consumer directly and through {@link BatchingLineConsumer}.
+ * Delegate is set up as process logger of machine: file consumer that flushes on each write together with consumer that
+ * serializes each write into JSON message, as it is done for websocket output. Number of lines per delegate write is printed
+ * at the end of each trial.
+ * <p>
+ * Benchmark is not run with tests, run {@link #main(String[])} with test classpath to get results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class BatchingLineConsumerBenchmark {
+    private static final String LINE = "[INFO] Compiling 128 source files to /projects/console-java-simple/target/classes";
+
+    @Param({"direct", "batched"})
+    String consumer;
+
+    private final AtomicLong lines          = new AtomicLong();
+    private final AtomicLong delegateWrites = new AtomicLong();
+
+    private File         logFile;
+    private LineConsumer lineConsumer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("process", ".log").toFile();
+        final Gson gson = new Gson();
+        final LineConsumer messages = new AbstractLineConsumer() {
+            @Override
+            public void writeLine(String line) {
+                gson.toJson(singletonMap("body", line));
+                delegateWrites.incrementAndGet();
+            }
+        };
+        final LineConsumer delegate = new CompositeLineConsumer(new FileLineConsumer(logFile), messages);
+        lineConsumer = "batched".equals(consumer) ? new BatchingLineConsumer(delegate) : delegate;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        lineConsumer.close();
+        System.out.println(String.format("%n%s: %d lines, %d delegate writes", consumer, lines.get(), delegateWrites.get()));
+        Files.delete(logFile.toPath());
+    }
+
+    @Benchmark
+    public void writeLine() throws IOException {
+        lineConsumer.writeLine(LINE);
+        lines.incrementAndGet();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(BatchingLineConsumerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
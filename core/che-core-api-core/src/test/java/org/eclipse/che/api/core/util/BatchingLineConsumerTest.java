@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BatchingLineConsumer}.
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class BatchingLineConsumerTest {
+    private static final long NEVER_MS = MINUTES.toMillis(10);
+
+    @Mock
+    private LineConsumer delegate;
+
+    @Test
+    public void shouldPassLinesAsOneBatchWhenTimeWindowIsOver() throws Exception {
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, 1024, 10);
+
+        consumer.writeLine("first");
+        consumer.writeLine("second");
+
+        verify(delegate, timeout(1000)).writeLine("first\nsecond");
+    }
+
+    @Test
+    public void shouldPassBatchWhenItsSizeLimitIsReached() throws Exception {
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, 10, NEVER_MS);
+
+        consumer.writeLine("first");
+        consumer.writeLine("second");
+        consumer.writeLine("third");
+
+        verify(delegate).writeLine("first\nsecond");
+        verify(delegate, never()).writeLine("third");
+    }
+
+    @Test
+    public void shouldKeepEmptyLines() throws Exception {
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, 1024, NEVER_MS);
+
+        consumer.writeLine("");
+        consumer.writeLine(null);
+        consumer.writeLine("line");
+        consumer.flush();
+
+        verify(delegate).writeLine("\n\nline");
+    }
+
+    @Test
+    public void shouldPassCollectedLinesAndCloseDelegateOnClose() throws Exception {
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, 1024, NEVER_MS);
+
+        consumer.writeLine("line");
+        consumer.close();
+
+        final InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).writeLine("line");
+        inOrder.verify(delegate).close();
+    }
+
+    @Test
+    public void shouldNotPassLinesAfterClose() throws Exception {
+        final BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, 1024, NEVER_MS);
+
+        consumer.close();
+        consumer.writeLine("line");
+        consumer.flush();
+
+        verify(delegate, never()).writeLine(anyString());
+    }
+}
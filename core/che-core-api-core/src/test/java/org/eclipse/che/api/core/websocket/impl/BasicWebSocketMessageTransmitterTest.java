@@ -10,7 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -18,18 +19,22 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
 import javax.websocket.Session;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Test for {@link BasicWebSocketMessageTransmitter}
@@ -42,44 +47,59 @@ public class BasicWebSocketMessageTransmitterTest {
     private static final String ENDPOINT_ID = "id";
 
     @Mock
-    private WebSocketSessionRegistry         registry;
+    private WebSocketSessionRegistry registry;
     @Mock
-    private MessagesReSender                 reSender;
-    @InjectMocks
+    private MessagesReSender         reSender;
+
     private BasicWebSocketMessageTransmitter transmitter;
 
     @Mock
     private Session              session;
     @Mock
-    private RemoteEndpoint.Basic remote;
+    private RemoteEndpoint.Async remote;
+    @Captor
+    private ArgumentCaptor<Consumer<String>> removalListenerCaptor;
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(session.getBasicRemote()).thenReturn(remote);
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 10, "drop_oldest");
+        verify(registry).addRemovalListener(removalListenerCaptor.capture());
+
+        when(session.getAsyncRemote()).thenReturn(remote);
         when(session.isOpen()).thenReturn(true);
 
         when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
-        when(registry.getSessions()).thenReturn(emptySet());
+        when(registry.getEndpointIds()).thenReturn(emptySet());
     }
 
     @Test
     public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session).getBasicRemote();
-        verify(remote).sendText(MESSAGE);
+        verify(session).getAsyncRemote();
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
         verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
     }
 
     @Test
-    public void shouldSendBroadcastingMessageIfSessionIsOpen() throws IOException {
+    public void shouldNotSendBroadcastingMessageIfThereAreNoEndpoints() throws IOException {
         transmitter.transmit(MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
         verify(reSender, never()).add(any(), anyString());
 
-        verify(registry).getSessions();
+        verify(registry).getEndpointIds();
+    }
+
+    @Test
+    public void shouldSendBroadcastingMessageIfSessionIsOpen() throws IOException {
+        when(registry.getEndpointIds()).thenReturn(singleton(ENDPOINT_ID));
+
+        transmitter.transmit(MESSAGE);
+
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(reSender, never()).add(any(), anyString());
     }
 
     @Test
@@ -88,8 +108,40 @@ public class BasicWebSocketMessageTransmitterTest {
 
         transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(MESSAGE);
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
         verify(reSender).add(ENDPOINT_ID, MESSAGE);
     }
+
+    @Test
+    public void shouldNotBlockWhileMessageIsBeingSent() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 1);
+    }
+
+    @Test
+    public void shouldDropQueueAndResendUnsentMessagesWhenSessionIsRemoved() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        when(registry.get(ENDPOINT_ID)).thenReturn(Optional.empty());
+
+        removalListenerCaptor.getValue().accept(ENDPOINT_ID);
+
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 0);
+        verify(reSender).add(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldKeepQueueOfSessionThatIsRegisteredAgain() throws IOException {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        removalListenerCaptor.getValue().accept(ENDPOINT_ID);
+
+        assertEquals(transmitter.getQueueDepth(ENDPOINT_ID), 1);
+        verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
+    }
 }
@@ -10,14 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 
 import java.util.Optional;
@@ -29,6 +27,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Tests for {@link MessagesReSender}
@@ -42,24 +41,22 @@ public class MessagesReSenderTest {
 
     @Mock
     private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
     private MessagesReSender         reSender;
 
     @Mock
-    private Session               session;
+    private Session                          session;
     @Mock
-    private RemoteEndpoint.Async  endpoint;
+    private BasicWebSocketMessageTransmitter transmitter;
 
     @BeforeMethod
     public void beforeMethod() {
         when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-        when(session.getAsyncRemote()).thenReturn(endpoint);
         when(session.isOpen()).thenReturn(true);
     }
 
     @BeforeMethod
     public void before() {
-        reSender = new MessagesReSender(sessionRegistry);
+        reSender = new MessagesReSender(sessionRegistry, () -> transmitter, 2, 3);
     }
 
     @Test
@@ -71,8 +68,7 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(transmitter, never()).transmit(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -82,14 +78,12 @@ public class MessagesReSenderTest {
         when(session.isOpen()).thenReturn(false);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(MESSAGE);
+        verify(transmitter, never()).transmit(ENDPOINT_ID, MESSAGE);
 
         when(session.isOpen()).thenReturn(true);
         reSender.resend(ENDPOINT_ID);
 
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -99,8 +93,7 @@ public class MessagesReSenderTest {
         reSender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -113,8 +106,8 @@ public class MessagesReSenderTest {
 
         verify(sessionRegistry).get(ENDPOINT_ID);
         verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+        verify(transmitter).transmit("1", MESSAGE);
     }
 
     @Test
@@ -123,13 +116,11 @@ public class MessagesReSenderTest {
 
         reSender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(ENDPOINT_ID);
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
     }
 
     @Test
@@ -142,15 +133,58 @@ public class MessagesReSenderTest {
 
         verify(sessionRegistry).get(ENDPOINT_ID);
         verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+        verify(transmitter).transmit("1", MESSAGE);
 
         reSender.resend(ENDPOINT_ID);
         reSender.resend("1");
 
         verify(sessionRegistry).get(ENDPOINT_ID);
         verify(sessionRegistry).get("1");
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(MESSAGE);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+        verify(transmitter).transmit("1", MESSAGE);
+    }
+
+    @Test
+    public void shouldDropMessagesOverEndpointLimit() {
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+
+        assertEquals(reSender.getPendingMessages(ENDPOINT_ID), 2);
+        assertEquals(reSender.getDroppedMessages(), 1);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(transmitter, times(2)).transmit(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldDropMessagesOverGlobalLimit() {
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add("1", MESSAGE);
+        reSender.add("1", MESSAGE);
+
+        assertEquals(reSender.getPendingMessages(), 3);
+        assertEquals(reSender.getPendingMessages("1"), 1);
+        assertEquals(reSender.getDroppedMessages(), 1);
+
+        reSender.resend(ENDPOINT_ID);
+        reSender.add("1", MESSAGE);
+
+        assertEquals(reSender.getPendingMessages(), 2);
+        assertEquals(reSender.getPendingMessages("1"), 2);
+    }
+
+    @Test
+    public void shouldKeepMessagesIfSessionIsNotRegistered() {
+        when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
+        reSender.add(ENDPOINT_ID, MESSAGE);
+
+        reSender.resend(ENDPOINT_ID);
+
+        assertEquals(reSender.getPendingMessages(ENDPOINT_ID), 1);
+        assertEquals(reSender.getPendingMessages(), 1);
     }
 }
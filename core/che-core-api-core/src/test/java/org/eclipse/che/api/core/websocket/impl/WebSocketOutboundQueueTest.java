@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+import java.io.IOException;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link WebSocketOutboundQueue}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketOutboundQueueTest {
+    private static final String ENDPOINT_ID = "id";
+
+    @Mock
+    private MessagesReSender     reSender;
+    @Mock
+    private Session              session;
+    @Mock
+    private RemoteEndpoint.Async remote;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(session.getAsyncRemote()).thenReturn(remote);
+        when(session.isOpen()).thenReturn(true);
+    }
+
+    @Test
+    public void shouldSendNextMessageOnlyAfterPreviousIsWritten() throws Exception {
+        WebSocketOutboundQueue queue = new WebSocketOutboundQueue(ENDPOINT_ID, session, 10, SlowConsumerPolicy.DROP_OLDEST, reSender);
+
+        queue.offer("first");
+        queue.offer("second");
+
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), handler.capture());
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getDepth(), 1);
+
+        handler.getValue().onResult(new SendResult());
+
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getDepth(), 0);
+        assertEquals(queue.getSentMessages(), 1);
+    }
+
+    @Test
+    public void shouldSendAllMessagesWhenWritesCompleteImmediately() throws Exception {
+        doAnswer(invocation -> {
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+        WebSocketOutboundQueue queue = new WebSocketOutboundQueue(ENDPOINT_ID, session, 10, SlowConsumerPolicy.DROP_OLDEST, reSender);
+
+        queue.offer("first");
+        queue.offer("second");
+        queue.offer("third");
+
+        verify(remote, times(3)).sendText(anyString(), any(SendHandler.class));
+        assertEquals(queue.getSentMessages(), 3);
+        assertEquals(queue.getDepth(), 0);
+    }
+
+    @Test
+    public void shouldDropOldestMessageWhenQueueIsFull() throws Exception {
+        WebSocketOutboundQueue queue = new WebSocketOutboundQueue(ENDPOINT_ID, session, 2, SlowConsumerPolicy.DROP_OLDEST, reSender);
+
+        queue.offer("in-flight");
+        queue.offer("first");
+        queue.offer("second");
+        queue.offer("third");
+
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("in-flight"), handler.capture());
+        handler.getValue().onResult(new SendResult());
+
+        verify(remote, never()).sendText(eq("first"), any(SendHandler.class));
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getDroppedMessages(), 1);
+    }
+
+    @Test
+    public void shouldCoalesceEqualMessagesWhenQueueIsFull() throws Exception {
+        WebSocketOutboundQueue queue = new WebSocketOutboundQueue(ENDPOINT_ID, session, 2, SlowConsumerPolicy.COALESCE, reSender);
+
+        queue.offer("in-flight");
+        queue.offer("first");
+        queue.offer("second");
+        queue.offer("first");
+
+        assertEquals(queue.getDepth(), 2);
+        assertEquals(queue.getDroppedMessages(), 0);
+
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("in-flight"), handler.capture());
+        handler.getValue().onResult(new SendResult());
+
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldDisconnectSlowConsumerAndKeepPendingMessages() throws Exception {
+        WebSocketOutboundQueue queue = new WebSocketOutboundQueue(ENDPOINT_ID, session, 1, SlowConsumerPolicy.DISCONNECT, reSender);
+
+        queue.offer("in-flight");
+        queue.offer("first");
+        assertTrue(queue.offer("second"));
+
+        verify(session).close(any(CloseReason.class));
+        verify(reSender).add(ENDPOINT_ID, "first");
+        verify(reSender).add(ENDPOINT_ID, "second");
+        assertFalse(queue.offer("third"));
+    }
+
+    @Test
+    public void shouldPassMessageWhichFailedToBeSentToReSender() throws Exception {
+        WebSocketOutboundQueue queue = new WebSocketOutboundQueue(ENDPOINT_ID, session, 10, SlowConsumerPolicy.DROP_OLDEST, reSender);
+
+        queue.offer("first");
+        queue.offer("second");
+
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("first"), handler.capture());
+        handler.getValue().onResult(new SendResult(new IOException("Connection reset")));
+
+        verify(reSender).add(ENDPOINT_ID, "first");
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getSentMessages(), 0);
+    }
+}
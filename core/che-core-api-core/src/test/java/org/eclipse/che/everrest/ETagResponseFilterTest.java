@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.impl.ApplicationProviderBinder;
@@ -40,6 +43,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.OK;
@@ -76,6 +80,15 @@ public class ETagResponseFilterTest {
             return Arrays.asList("a", "b", "c");
         }
 
+        @GET
+        @Path("/versioned")
+        @Produces(APPLICATION_JSON)
+        public Response getVersionedMembers() {
+            return Response.ok(Arrays.asList("a", "b", "c"))
+                           .tag(new EntityTag("version-1", true))
+                           .build();
+        }
+
         @GET
         @Path("/single")
         @Produces(APPLICATION_JSON)
@@ -135,13 +148,43 @@ public class ETagResponseFilterTest {
 
         final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/list", BASE_URI, null, null, null);
         assertEquals(response.getStatus(), OK.getStatusCode());
-        // check entity
-        Assert.assertEquals(response.getEntity(), Arrays.asList("a", "b", "c"));
-        // Check etag
+        // check entity, it is already written by JSON provider
+        final byte[] body = (byte[])response.getEntity();
+        Assert.assertEquals(new Gson().fromJson(new String(body, UTF_8), List.class), Arrays.asList("a", "b", "c"));
+        // Check etag is hash of written entity
         List<Object> headerTags = response.getHttpHeaders().get("ETag");
         Assert.assertNotNull(headerTags);
         Assert.assertEquals(headerTags.size(), 1);
-        Assert.assertEquals(headerTags.get(0), new EntityTag("900150983cd24fb0d6963f7d28e17f72"));
+        Assert.assertEquals(headerTags.get(0), new EntityTag(Hashing.md5().hashBytes(body).toString()));
+    }
+
+    /**
+     * Check that ETag provided by resource is used as is
+     */
+    @Test
+    public void useResourceProvidedETag() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        // entity is not touched by filter
+        Assert.assertEquals(response.getEntity(), Arrays.asList("a", "b", "c"));
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("version-1", true));
+    }
+
+    /**
+     * Check if ETag provided by resource is redirecting to NOT_MODIFIED
+     */
+    @Test
+    public void filterResourceProvidedETagWithEtag() throws Exception {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("version-1", true).toString()));
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, headers, null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        Assert.assertNull(response.getEntity());
     }
 
     /**
@@ -196,8 +239,11 @@ public class ETagResponseFilterTest {
     @Test
     public void filterListEntityTestWithEtag() throws Exception {
 
+        final ContainerResponse first = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/list", BASE_URI, null, null, null);
+        final Object entityTag = first.getHttpHeaders().getFirst("ETag");
+
         Map<String, List<String>> headers = new HashMap<>();
-        headers.put("If-None-Match", Collections.singletonList(new EntityTag("900150983cd24fb0d6963f7d28e17f72").toString()));
+        headers.put("If-None-Match", Collections.singletonList(entityTag.toString()));
 
 
         final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/list", BASE_URI, headers, null, null);
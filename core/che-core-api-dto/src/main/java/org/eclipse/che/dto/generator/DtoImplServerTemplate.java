@@ -11,6 +11,7 @@
 
 package org.eclipse.che.dto.generator;
 
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -40,6 +41,10 @@ public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
+    private static final String JSON_ADAPTER      = "JsonAdapter";
+    private static final String DTO_TYPE_ADAPTER  = DtoTypeAdapter.class.getCanonicalName();
+    private static final String JSON_WRITER       = "com.google.gson.stream.JsonWriter";
+    private static final String JSON_READER       = "com.google.gson.stream.JsonReader";
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
         super(template, superInterface);
@@ -79,6 +84,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         emitDelegateMethods(builder);
         // "builder" method, it is method that set field and return "this" instance
         emitWithMethods(getters, dtoInterfaceName, builder);
+        if (hasJsonAdapter()) {
+            emitJsonAdapter(getters, superGetterNames, builder);
+        }
         // Implement withXXX methods that are declared directly in this DTO even if there are no any getter for the fields.
         // Need that to override methods from super DTO and return correct type for with method.
         // @DTO
@@ -356,6 +364,164 @@ public class DtoImplServerTemplate extends DtoImpl {
         emitDefaultConstructor(builder);
     }
 
+    /**
+     * Checks whether streaming type adapter is generated for this DTO. Adapter of DTO that extends another DTO delegates to the
+     * adapter of super DTO implementation, so the super implementation must have adapter too.
+     */
+    boolean hasJsonAdapter() {
+        final Class<?> superType = getSuperDtoInterface(getDtoInterface());
+        if (superType == null || superType == JsonSerializable.class) {
+            return true;
+        }
+        final Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+        if (superTypeImpl != null) {
+            for (Class<?> nested : superTypeImpl.getDeclaredClasses()) {
+                if (JSON_ADAPTER.equals(nested.getSimpleName()) && DtoTypeAdapter.class.isAssignableFrom(nested)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (DtoImpl dto : getEnclosingTemplate().getDtoInterfaces()) {
+            if (dto.getDtoInterface().equals(superType)) {
+                return dto instanceof DtoImplServerTemplate && ((DtoImplServerTemplate)dto).hasJsonAdapter();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Emits streaming type adapter that reads and writes fields declared in this implementation and delegates to the adapter of
+     * super implementation for inherited fields. Fields are written in the order Gson's reflective adapter writes them.
+     */
+    private void emitJsonAdapter(List<Method> getters, Set<String> superGetterNames, StringBuilder builder) {
+        final String implClassName = getImplClassName();
+        final List<Method> fields = new ArrayList<>();
+        for (Method getter : getters) {
+            if (!superGetterNames.contains(getter.getName())) {
+                fields.add(getter);
+            }
+        }
+        final Class<?> superType = getSuperDtoInterface(getDtoInterface());
+        final boolean hasSuperAdapter = superType != null && superType != JsonSerializable.class;
+        builder.append("    public static class ").append(JSON_ADAPTER).append(" extends ");
+        if (hasSuperAdapter) {
+            final Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+            builder.append(superTypeImpl == null ? superType.getSimpleName() + "Impl" : superTypeImpl.getCanonicalName());
+            builder.append('.').append(JSON_ADAPTER);
+        } else {
+            builder.append(DTO_TYPE_ADAPTER);
+        }
+        builder.append(" {\n");
+        for (Method getter : fields) {
+            if (getter.getReturnType() != String.class) {
+                final String fieldName = getJavaFieldName(getter.getName());
+                builder.append("      private final java.lang.reflect.Type ").append(fieldName).append("Type;\n");
+                builder.append("      private final com.google.gson.TypeAdapter<?> ").append(fieldName).append("Adapter;\n");
+            }
+        }
+        builder.append("\n");
+        builder.append("      public ").append(JSON_ADAPTER).append("(Gson gson) {\n");
+        builder.append("        super(gson);\n");
+        for (Method getter : fields) {
+            if (getter.getReturnType() != String.class) {
+                final String fieldName = getJavaFieldName(getter.getName());
+                builder.append("        ").append(fieldName).append("Type = getFieldType(").append(implClassName).append(".class, \"")
+                       .append(fieldName).append("\");\n");
+                builder.append("        ").append(fieldName).append("Adapter = getAdapter(").append(fieldName).append("Type);\n");
+            }
+        }
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      protected Object newInstance() {\n");
+        builder.append("        return new ").append(implClassName).append("();\n");
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      protected void writeFields(").append(JSON_WRITER).append(" out, Object value) throws java.io.IOException {\n");
+        if (!fields.isEmpty()) {
+            builder.append("        ").append(implClassName).append(" dto = (").append(implClassName).append(")value;\n");
+        }
+        for (Method getter : fields) {
+            emitWriteField(getter, builder);
+        }
+        if (hasSuperAdapter) {
+            builder.append("        super.writeFields(out, value);\n");
+        }
+        builder.append("      }\n\n");
+
+        final String readSuperField = hasSuperAdapter ? "super.readField(name, in, value)" : "false";
+        builder.append("      @Override\n");
+        builder.append("      protected boolean readField(String name, ").append(JSON_READER)
+               .append(" in, Object value) throws java.io.IOException {\n");
+        if (fields.isEmpty()) {
+            builder.append("        return ").append(readSuperField).append(";\n");
+        } else {
+            builder.append("        ").append(implClassName).append(" dto = (").append(implClassName).append(")value;\n");
+            builder.append("        switch (name) {\n");
+            for (Method getter : fields) {
+                emitReadField(getter, builder);
+            }
+            builder.append("          default:\n");
+            builder.append("            return ").append(readSuperField).append(";\n");
+            builder.append("        }\n");
+        }
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+    }
+
+    private void emitWriteField(Method getter, StringBuilder builder) {
+        final String fieldName = getJavaFieldName(getter.getName());
+        final Class<?> type = getter.getReturnType();
+        builder.append("        out.name(\"").append(getJsonFieldName(getter)).append("\");\n");
+        if (type == Boolean.class) {
+            builder.append("        if (dto.").append(fieldName).append(" == null) {\n");
+            builder.append("          out.nullValue();\n");
+            builder.append("        } else {\n");
+            builder.append("          out.value(dto.").append(fieldName).append(".booleanValue());\n");
+            builder.append("        }\n");
+        } else if (isStreamedDirectly(type)) {
+            // JsonWriter writes null String or Number as null value
+            builder.append("        out.value(dto.").append(fieldName).append(");\n");
+        } else {
+            builder.append("        writeValue(out, ").append(fieldName).append("Adapter, ").append(fieldName).append("Type, dto.")
+                   .append(fieldName).append(");\n");
+        }
+    }
+
+    private void emitReadField(Method getter, StringBuilder builder) {
+        final String fieldName = getJavaFieldName(getter.getName());
+        final Class<?> type = getter.getReturnType();
+        builder.append("          case \"").append(getJsonFieldName(getter)).append("\":\n");
+        if (type == String.class) {
+            builder.append("            dto.").append(fieldName).append(" = readString(in);\n");
+        } else if (type.isPrimitive()) {
+            // Gson keeps default value of primitive field when JSON value is null
+            builder.append("            {\n");
+            builder.append("              Object v = ").append(fieldName).append("Adapter.read(in);\n");
+            builder.append("              if (v != null) {\n");
+            builder.append("                dto.").append(fieldName).append(" = (").append(Primitives.wrap(type).getCanonicalName())
+                   .append(")v;\n");
+            builder.append("              }\n");
+            builder.append("            }\n");
+        } else {
+            builder.append("            dto.").append(fieldName).append(" = (").append(getImplName(getter.getGenericReturnType(), false))
+                   .append(")").append(fieldName).append("Adapter.read(in);\n");
+        }
+        builder.append("            return true;\n");
+    }
+
+    /**
+     * Checks whether values of the type are written with JsonWriter directly. Such values are always of the declared type, so
+     * there is no need to look for adapter of the runtime type.
+     */
+    private static boolean isStreamedDirectly(Class<?> type) {
+        return type == String.class
+               || type == int.class || type == long.class || type == short.class || type == byte.class || type == boolean.class
+               || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class || type == Boolean.class;
+    }
+
     private void emitPostamble(StringBuilder builder) {
         builder.append("  }\n\n");
     }
@@ -251,6 +251,12 @@ public class DtoTemplate {
                 builder.append("        public ").append(dtoInterface).append(" clone(").append(dtoInterface).append(" origin) {\n")
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
                 builder.append("        }\n");
+                if (dto instanceof DtoImplServerTemplate && ((DtoImplServerTemplate)dto).hasJsonAdapter()) {
+                    builder.append("\n");
+                    builder.append("        public com.google.gson.TypeAdapter<?> getTypeAdapter(Gson gson) {\n")
+                           .append("            return new ").append(dto.getImplClassName()).append(".JsonAdapter(gson);\n");
+                    builder.append("        }\n");
+                }
                 builder.append("    });\n");
             }
             builder.append("  }\n\n");
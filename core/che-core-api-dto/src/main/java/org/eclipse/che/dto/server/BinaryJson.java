@@ -0,0 +1,437 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compact binary representation of JSON documents used for DTOs on internal server to server channels.
+ * <p/>
+ * Document starts with format version byte followed by the single value:
+ * <pre>
+ * value  := NULL | FALSE | TRUE | LONG zigzag-varint | DOUBLE 8 bytes | STRING string | NUMBER string
+ *         | ARRAY value* END | OBJECT (name value)* 0
+ * name   := varint index of already written name + 2 | 1 string
+ * string := varint length of UTF-8 bytes, UTF-8 bytes
+ * </pre>
+ * Names of object members are written once per document and then referenced by index, so arrays of DTOs
+ * don't repeat names of their fields. Numbers that can't be represented as long or double without losing
+ * precision are written in their decimal form.
+ * <p/>
+ * Writer is a {@link JsonWriter}, so the same type adapters, including generated adapters of DTO implementations,
+ * are used for both JSON and binary output.
+ *
+ * @see DtoFactory#toBinary(Object, OutputStream)
+ * @see DtoFactory#createDtoFromBinary(InputStream, Class)
+ */
+public final class BinaryJson {
+    static final int VERSION = 1;
+
+    static final int NULL   = 0;
+    static final int FALSE  = 1;
+    static final int TRUE   = 2;
+    static final int LONG   = 3;
+    static final int DOUBLE = 4;
+    static final int STRING = 5;
+    static final int NUMBER = 6;
+    static final int ARRAY  = 7;
+    static final int OBJECT = 8;
+    static final int END    = 9;
+
+    /** Name references, index of already written name is shifted by 2. */
+    static final int END_OF_OBJECT = 0;
+    static final int NEW_NAME      = 1;
+
+    /** Creates writer of binary document to the given stream. Writer must be flushed or closed when value is written. */
+    public static JsonWriter newWriter(OutputStream out) throws IOException {
+        return new BinaryJsonWriter(out);
+    }
+
+    /** Reads binary document from the given stream. */
+    public static JsonElement read(InputStream in) throws IOException {
+        return new BinaryJsonReader(in).readDocument();
+    }
+
+    private BinaryJson() {
+    }
+
+    private static class BinaryJsonWriter extends JsonWriter {
+        private static final Writer UNUSED = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        private final OutputStream         out;
+        private final byte[]               buffer;
+        private final Map<String, Integer> names;
+
+        private int    position;
+        private String deferredName;
+
+        BinaryJsonWriter(OutputStream out) throws IOException {
+            super(UNUSED);
+            this.out = out;
+            this.buffer = new byte[8192];
+            this.names = new HashMap<>();
+            // The same default as Gson uses for DTOs
+            setSerializeNulls(false);
+            writeByte(VERSION);
+        }
+
+        @Override
+        public JsonWriter beginArray() throws IOException {
+            writeDeferredName();
+            writeByte(ARRAY);
+            return this;
+        }
+
+        @Override
+        public JsonWriter endArray() throws IOException {
+            writeByte(END);
+            return this;
+        }
+
+        @Override
+        public JsonWriter beginObject() throws IOException {
+            writeDeferredName();
+            writeByte(OBJECT);
+            return this;
+        }
+
+        @Override
+        public JsonWriter endObject() throws IOException {
+            if (deferredName != null) {
+                throw new IllegalStateException("Value of '" + deferredName + "' is not written");
+            }
+            writeByte(END_OF_OBJECT);
+            return this;
+        }
+
+        @Override
+        public JsonWriter name(String name) throws IOException {
+            if (name == null) {
+                throw new NullPointerException("name == null");
+            }
+            if (deferredName != null) {
+                throw new IllegalStateException("Value of '" + deferredName + "' is not written");
+            }
+            deferredName = name;
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(String value) throws IOException {
+            if (value == null) {
+                return nullValue();
+            }
+            writeDeferredName();
+            writeByte(STRING);
+            writeString(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter nullValue() throws IOException {
+            if (deferredName != null) {
+                if (!getSerializeNulls()) {
+                    deferredName = null;
+                    return this;
+                }
+                writeDeferredName();
+            }
+            writeByte(NULL);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(boolean value) throws IOException {
+            writeDeferredName();
+            writeByte(value ? TRUE : FALSE);
+            return this;
+        }
+
+        // Not annotated with @Override as it's absent in older versions of Gson
+        public JsonWriter value(Boolean value) throws IOException {
+            return value == null ? nullValue() : value(value.booleanValue());
+        }
+
+        @Override
+        public JsonWriter value(double value) throws IOException {
+            if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+                throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+            }
+            writeDeferredName();
+            writeByte(DOUBLE);
+            writeLong(Double.doubleToLongBits(value));
+            return this;
+        }
+
+        // Not annotated with @Override as it's absent in older versions of Gson
+        public JsonWriter value(float value) throws IOException {
+            return value((Float)value);
+        }
+
+        @Override
+        public JsonWriter value(long value) throws IOException {
+            writeDeferredName();
+            writeByte(LONG);
+            writeVarLong((value << 1) ^ (value >> 63));
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(Number value) throws IOException {
+            if (value == null) {
+                return nullValue();
+            }
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                return value(value.longValue());
+            }
+            if (value instanceof Double) {
+                return value(value.doubleValue());
+            }
+            final String string = value.toString();
+            if (!isLenient() && (string.equals("NaN") || string.equals("Infinity") || string.equals("-Infinity"))) {
+                throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+            }
+            writeDeferredName();
+            writeByte(NUMBER);
+            writeString(string);
+            return this;
+        }
+
+        // Not annotated with @Override as it's absent in older versions of Gson
+        public JsonWriter jsonValue(String value) throws IOException {
+            throw new UnsupportedOperationException("Raw JSON values can't be written in binary format");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            out.close();
+        }
+
+        private void writeDeferredName() throws IOException {
+            if (deferredName == null) {
+                return;
+            }
+            final Integer index = names.get(deferredName);
+            if (index == null) {
+                names.put(deferredName, names.size());
+                writeVarLong(NEW_NAME);
+                writeString(deferredName);
+            } else {
+                writeVarLong(index + 2L);
+            }
+            deferredName = null;
+        }
+
+        private void writeString(String value) throws IOException {
+            final byte[] bytes = value.getBytes(UTF_8);
+            writeVarLong(bytes.length);
+            if (bytes.length > buffer.length - position) {
+                out.write(buffer, 0, position);
+                position = 0;
+                if (bytes.length > buffer.length) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int)((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int)value);
+        }
+
+        private void writeLong(long value) throws IOException {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int)(value >>> shift));
+            }
+        }
+
+        private void writeByte(int value) throws IOException {
+            if (position == buffer.length) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+            buffer[position++] = (byte)value;
+        }
+    }
+
+    private static class BinaryJsonReader {
+        private final InputStream  in;
+        private final byte[]       buffer;
+        private final List<String> names;
+
+        private int position;
+        private int limit;
+
+        BinaryJsonReader(InputStream in) {
+            this.in = in;
+            this.buffer = new byte[8192];
+            this.names = new ArrayList<>();
+        }
+
+        JsonElement readDocument() throws IOException {
+            final int version = readByte();
+            if (version != VERSION) {
+                throw new JsonSyntaxException("Unsupported version of binary format " + version);
+            }
+            return readValue(readByte());
+        }
+
+        private JsonElement readValue(int tag) throws IOException {
+            switch (tag) {
+                case NULL:
+                    return JsonNull.INSTANCE;
+                case FALSE:
+                    return new JsonPrimitive(false);
+                case TRUE:
+                    return new JsonPrimitive(true);
+                case LONG:
+                    final long zigzag = readVarLong();
+                    return new JsonPrimitive((zigzag >>> 1) ^ -(zigzag & 1));
+                case DOUBLE:
+                    return new JsonPrimitive(Double.longBitsToDouble(readLong()));
+                case STRING:
+                    return new JsonPrimitive(readString());
+                case NUMBER:
+                    return new JsonPrimitive(new BigDecimal(readString()));
+                case ARRAY:
+                    final JsonArray array = new JsonArray();
+                    for (int next = readByte(); next != END; next = readByte()) {
+                        array.add(readValue(next));
+                    }
+                    return array;
+                case OBJECT:
+                    final JsonObject object = new JsonObject();
+                    for (int next = readByte(); next != END_OF_OBJECT; next = readByte()) {
+                        final String name = readName(next);
+                        object.add(name, readValue(readByte()));
+                    }
+                    return object;
+                default:
+                    throw new JsonSyntaxException("Unexpected tag " + tag);
+            }
+        }
+
+        /** Reads name of object member, the first byte of name is already read. */
+        private String readName(int first) throws IOException {
+            final long index = (first & 0x80) == 0 ? first : (first & 0x7F) | readVarLong() << 7;
+            if (index == NEW_NAME) {
+                final String name = readString();
+                names.add(name);
+                return name;
+            }
+            if (index - 2 >= names.size()) {
+                throw new JsonSyntaxException("Unknown name reference " + index);
+            }
+            return names.get((int)(index - 2));
+        }
+
+        private String readString() throws IOException {
+            final long length = readVarLong();
+            if (length > Integer.MAX_VALUE) {
+                throw new JsonSyntaxException("String is too long " + length);
+            }
+            final byte[] bytes = new byte[(int)length];
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (position == limit) {
+                    fill();
+                }
+                final int count = Math.min(limit - position, bytes.length - offset);
+                System.arraycopy(buffer, position, bytes, offset, count);
+                position += count;
+                offset += count;
+            }
+            return new String(bytes, UTF_8);
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final int b = readByte();
+                value |= (long)(b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new JsonSyntaxException("Malformed variable length number");
+        }
+
+        private long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | readByte();
+            }
+            return value;
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit) {
+                fill();
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private void fill() throws IOException {
+            limit = in.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new EOFException("Unexpected end of binary document");
+            }
+        }
+    }
+}
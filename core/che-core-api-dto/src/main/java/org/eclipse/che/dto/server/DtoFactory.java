@@ -15,6 +15,7 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
@@ -31,6 +32,7 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.lang.reflect.ParameterizedType;
@@ -65,7 +67,13 @@ public final class DtoFactory {
                 }
             });
 
-    private static final DtoFactory INSTANCE = new DtoFactory();
+    /**
+     * Generated streaming adapters of DTO implementations are used unless this system property is set to {@code false},
+     * then DTOs are serialized by Gson reflectively. JSON is the same in both cases.
+     */
+    private static final boolean USE_GENERATED_ADAPTERS = Boolean.parseBoolean(System.getProperty("che.dto.generated_adapters", "true"));
+
+    private static final DtoFactory INSTANCE = new DtoFactory(USE_GENERATED_ADAPTERS);
 
     public static DtoFactory getInstance() {
         return INSTANCE;
@@ -96,10 +104,18 @@ public final class DtoFactory {
     // Additional mapping for implementation of DTO interfaces.
     // It helps avoid reflection when need create copy of exited DTO instance.
     private final Map<Class<?>, DtoProvider<?>> dtoImpl2Providers      = new ConcurrentHashMap<>();
-    private final Gson dtoGson = new GsonBuilder()
-            .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
-            .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
-            .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
+    private final Gson dtoGson;
+
+    DtoFactory(boolean useGeneratedAdapters) {
+        final GsonBuilder builder = new GsonBuilder();
+        if (useGeneratedAdapters) {
+            builder.registerTypeAdapterFactory(new DtoImplTAF());
+        }
+        dtoGson = builder.registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
+                         .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
+                         .registerTypeAdapterFactory(new DtoInterfaceTAF())
+                         .create();
+    }
 
     /**
      * Created deep copy of DTO object.
@@ -382,6 +398,66 @@ public final class DtoFactory {
 
     //
 
+    /**
+     * Writes DTO, list or map of DTOs to the specified stream in compact binary format, see {@link BinaryJson}.
+     * Stream is flushed but not closed.
+     *
+     * @param value
+     *         DTO, list or map of DTOs
+     * @param out
+     *         output stream
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public void toBinary(Object value, OutputStream out) throws IOException {
+        final JsonWriter writer = BinaryJson.newWriter(out);
+        try {
+            dtoGson.toJson(value, value == null ? Object.class : value.getClass(), writer);
+        } catch (JsonIOException e) {
+            throw e.getCause() instanceof IOException ? (IOException)e.getCause() : new IOException(e.getMessage(), e);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Creates new instance of class which implements specified DTO interface, reads data in binary format from the specified
+     * stream and uses it for initializing fields of DTO object.
+     *
+     * @param in
+     *         data in binary format, see {@link #toBinary(Object, OutputStream)}
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> T createDtoFromBinary(InputStream in, Class<T> dtoInterface) throws IOException {
+        getDtoProvider(dtoInterface);
+        return dtoGson.fromJson(BinaryJson.read(in), dtoInterface);
+    }
+
+    /**
+     * Reads list of DTOs in binary format from the specified stream.
+     *
+     * @param in
+     *         data in binary format, see {@link #toBinary(Object, OutputStream)}
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> JsonArray<T> createListDtoFromBinary(InputStream in, Class<T> dtoInterface) throws IOException {
+        getDtoProvider(dtoInterface);
+        final List<T> list = dtoGson.fromJson(BinaryJson.read(in), listTypeCache.getUnchecked(dtoInterface));
+        return new JsonArrayImpl<>(list);
+    }
+
+    //
+
     @SuppressWarnings("unchecked")
     private <T> DtoProvider<T> getDtoProvider(Class<T> dtoInterface) {
         DtoProvider<?> dtoProvider = dtoInterface2Providers.get(dtoInterface);
@@ -441,6 +517,22 @@ public final class DtoFactory {
         }
     }
 
+    /**
+     * Provides generated streaming adapters for DTO implementation classes, see {@link DtoTypeAdapter}.
+     * Implementation classes that don't have generated adapter are serialized by Gson reflectively.
+     */
+    private class DtoImplTAF implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
+            if (prov != null) {
+                return (TypeAdapter<T>)prov.getTypeAdapter(gson);
+            }
+            return null;
+        }
+    }
+
     /**
      * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty instead.
      * 
@@ -481,7 +573,4 @@ public final class DtoFactory {
             visitor.accept(INSTANCE);
         }
     }
-
-    private DtoFactory() {
-    }
 }
@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.dto.server;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
 
 /**
  * Provides implementation of DTO interface.
@@ -27,4 +29,15 @@ public interface DtoProvider<DTO> {
     DTO newInstance();
 
     DTO clone(DTO origin);
+
+    /**
+     * Gets streaming type adapter of DTO implementation class.
+     *
+     * @param gson
+     *         Gson which uses adapter, it provides adapters for types of DTO fields
+     * @return adapter or {@code null} if implementation class must be serialized by Gson reflectively
+     */
+    default TypeAdapter<?> getTypeAdapter(Gson gson) {
+        return null;
+    }
 }
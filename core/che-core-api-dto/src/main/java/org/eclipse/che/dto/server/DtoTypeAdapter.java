@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+
+/**
+ * Base class for streaming type adapters that DTO generator emits for server implementations of DTO interfaces.
+ * Generated adapters read and write fields of DTO implementation directly, without reflection and intermediate
+ * JSON trees, and produce exactly the same JSON as Gson's {@link ReflectiveTypeAdapterFactory} does:
+ * fields of implementation class go first, then fields of its super classes, null values are written as
+ * JSON nulls and adapters of the runtime types are preferred over declared ones in the same way.
+ * <p/>
+ * Adapters are provided by {@link DtoProvider#getTypeAdapter(Gson)} and are registered in {@link DtoFactory} automatically.
+ */
+public abstract class DtoTypeAdapter extends TypeAdapter<Object> {
+    protected final Gson gson;
+
+    protected DtoTypeAdapter(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public void write(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    @Override
+    public Object read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        final Object dto = newInstance();
+        try {
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!readField(in.nextName(), in, dto)) {
+                    in.skipValue();
+                }
+            }
+        } catch (IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+        in.endObject();
+        return dto;
+    }
+
+    /** Creates new instance of DTO implementation. */
+    protected abstract Object newInstance();
+
+    /** Writes name and value of each field of the given DTO. */
+    protected abstract void writeFields(JsonWriter out, Object dto) throws IOException;
+
+    /**
+     * Reads value of the field with the given JSON name into DTO.
+     *
+     * @return {@code false} if DTO doesn't have such field and value must be skipped
+     */
+    protected abstract boolean readField(String name, JsonReader in, Object dto) throws IOException;
+
+    /** Gets adapter for the declared type of the field, the same adapter is used by Gson for reflective (de)serialization. */
+    protected TypeAdapter<?> getAdapter(Type fieldType) {
+        return gson.getAdapter(TypeToken.get(fieldType));
+    }
+
+    /** Writes value of the field with either adapter of its declared type or adapter of its runtime type as Gson does. */
+    @SuppressWarnings("unchecked")
+    protected void writeValue(JsonWriter out, TypeAdapter<?> declaredAdapter, Type declaredType, Object value) throws IOException {
+        TypeAdapter<Object> adapter = (TypeAdapter<Object>)declaredAdapter;
+        if (value != null
+            && value.getClass() != declaredType
+            && (declaredType == Object.class || declaredType instanceof TypeVariable || declaredType instanceof Class)) {
+            final TypeAdapter<Object> runtimeAdapter = (TypeAdapter<Object>)gson.getAdapter(value.getClass());
+            if (!(runtimeAdapter instanceof ReflectiveTypeAdapterFactory.Adapter)
+                || declaredAdapter instanceof ReflectiveTypeAdapterFactory.Adapter) {
+                adapter = runtimeAdapter;
+            }
+        }
+        adapter.write(out, value);
+    }
+
+    /** Reads string value in the same lenient way as Gson's built-in string adapter does. */
+    protected static String readString(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /** Gets generic type of the declared field, fails if there is no such field. */
+    protected static Type getFieldType(Class<?> implClass, String fieldName) {
+        try {
+            return implClass.getDeclaredField(fieldName).getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
+
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.definitions.ComplicatedDto.SimpleEnum.ONE;
+import static org.eclipse.che.dto.definitions.ComplicatedDto.SimpleEnum.TWO;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link BinaryJson} and binary serialization of DTOs in {@link DtoFactory}.
+ */
+public class BinaryJsonTest {
+
+    private DtoFactory dtoFactory;
+    private Gson       gson;
+
+    @BeforeClass
+    public void setUp() {
+        dtoFactory = DtoFactory.getInstance();
+        gson = dtoFactory.getGson();
+    }
+
+    @Test
+    public void shouldWriteAndReadJsonTree() throws Exception {
+        final JsonObject object = new JsonObject();
+        object.add("true", new JsonPrimitive(true));
+        object.add("false", new JsonPrimitive(false));
+        object.add("string", new JsonPrimitive("\u00e9\u4e2d \"quoted\"\n"));
+        object.add("empty", new JsonPrimitive(""));
+        final JsonArray numbers = new JsonArray();
+        for (long number : new long[] {0, 1, -1, 63, -64, 64, 300, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            numbers.add(new JsonPrimitive(number));
+        }
+        numbers.add(new JsonPrimitive(2.5D));
+        numbers.add(new JsonPrimitive(-0.1D));
+        numbers.add(new JsonPrimitive(new BigDecimal("12345678901234567890.123456789")));
+        object.add("numbers", numbers);
+        final JsonArray nulls = new JsonArray();
+        nulls.add(JsonNull.INSTANCE);
+        object.add("nulls", nulls);
+        object.add("emptyObject", new JsonObject());
+        object.add("emptyArray", new JsonArray());
+
+        final JsonElement read = BinaryJson.read(new ByteArrayInputStream(write(object)));
+
+        assertEquals(read.getAsJsonObject().get("string"), object.get("string"));
+        assertEquals(read.getAsJsonObject().getAsJsonArray("nulls").get(0), JsonNull.INSTANCE);
+        final JsonArray readNumbers = read.getAsJsonObject().getAsJsonArray("numbers");
+        for (int i = 0; i < numbers.size(); i++) {
+            assertEquals(new BigDecimal(readNumbers.get(i).getAsString()), new BigDecimal(numbers.get(i).getAsString()));
+        }
+        assertEquals(read.toString(), object.toString());
+    }
+
+    @Test
+    public void shouldReferenceRepeatedNames() throws Exception {
+        final JsonArray array = new JsonArray();
+        for (int i = 0; i < 200; i++) {
+            final JsonObject object = new JsonObject();
+            // More names than fits into one byte of reference
+            for (int j = 0; j < 200; j++) {
+                object.add("name" + j, new JsonPrimitive(i));
+            }
+            array.add(object);
+        }
+
+        final byte[] binary = write(array);
+
+        assertEquals(BinaryJson.read(new ByteArrayInputStream(binary)), array);
+        assertTrue(binary.length < array.toString().getBytes(UTF_8).length / 3);
+    }
+
+    @Test
+    public void shouldWriteAndReadDto() throws Exception {
+        final Map<String, SimpleDto> map = new HashMap<>();
+        map.put("first", simpleDto(1, "first"));
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("a", "b"))
+                                             .withSimpleEnum(TWO)
+                                             .withMap(map)
+                                             .withSimpleDtos(asList(simpleDto(2, "second"), simpleDto(-3, null)))
+                                             .withArrayOfArrayOfEnum(asList(asList(ONE, TWO), new ArrayList<>()));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dtoFactory.toBinary(dto, out);
+        final ComplicatedDto read = dtoFactory.createDtoFromBinary(new ByteArrayInputStream(out.toByteArray()), ComplicatedDto.class);
+
+        assertEquals(read, dto);
+        assertEquals(dtoFactory.toJson(read), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void shouldWriteAndReadListOfDtosMoreCompactThanJson() throws Exception {
+        final List<SimpleDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            dtos.add(simpleDto(i, "name-" + i));
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dtoFactory.toBinary(dtos, out);
+        final List<SimpleDto> read = dtoFactory.createListDtoFromBinary(new ByteArrayInputStream(out.toByteArray()), SimpleDto.class);
+
+        assertEquals(read, dtos);
+        assertTrue(out.size() < gson.toJson(dtos).getBytes(UTF_8).length);
+    }
+
+    @Test(expectedExceptions = EOFException.class)
+    public void shouldFailOnTruncatedData() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dtoFactory.toBinary(simpleDto(1, "name"), out);
+        final byte[] binary = out.toByteArray();
+
+        dtoFactory.createDtoFromBinary(new ByteArrayInputStream(Arrays.copyOf(binary, binary.length - 1)), SimpleDto.class);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldFailOnJsonData() throws Exception {
+        dtoFactory.createDtoFromBinary(new ByteArrayInputStream("{\"id\":1}".getBytes(UTF_8)), SimpleDto.class);
+    }
+
+    private byte[] write(JsonElement element) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final JsonWriter writer = BinaryJson.newWriter(out);
+        gson.toJson(element, writer);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    private SimpleDto simpleDto(int id, String name) {
+        return dtoFactory.createDto(SimpleDto.class).withId(id).withName(name);
+    }
+}
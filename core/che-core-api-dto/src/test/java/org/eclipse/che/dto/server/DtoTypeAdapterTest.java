@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.DTOHierarchy.GrandchildDto;
+import org.eclipse.che.dto.definitions.DtoWithAny;
+import org.eclipse.che.dto.definitions.DtoWithFieldNames;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.eclipse.che.dto.definitions.model.ModelComponentDto;
+import org.eclipse.che.dto.definitions.model.ModelDto;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.definitions.ComplicatedDto.SimpleEnum.ONE;
+import static org.eclipse.che.dto.definitions.ComplicatedDto.SimpleEnum.THREE;
+import static org.eclipse.che.dto.definitions.ComplicatedDto.SimpleEnum.TWO;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that generated streaming adapters of DTO implementations produce and consume
+ * the same JSON as Gson's reflective serialization does.
+ */
+public class DtoTypeAdapterTest {
+
+    private DtoFactory dtoFactory;
+    private Gson       generated;
+    private Gson       reflective;
+
+    @BeforeClass
+    public void setUp() {
+        dtoFactory = DtoFactory.getInstance();
+        generated = dtoFactory.getGson();
+        final DtoFactory reflectiveFactory = new DtoFactory(false);
+        for (DtoFactoryVisitor visitor : ServiceLoader.load(DtoFactoryVisitor.class)) {
+            visitor.accept(reflectiveFactory);
+        }
+        reflective = reflectiveFactory.getGson();
+    }
+
+    @DataProvider(name = "dtos")
+    public Object[][] dtos() {
+        final Map<String, SimpleDto> map = new HashMap<>();
+        map.put("first", simpleDto(1, "first", null));
+        map.put("second", null);
+
+        final JsonObject stuff = new JsonObject();
+        stuff.add("field", new JsonPrimitive("value"));
+        final GrandchildDto grandchild = dtoFactory.createDto(GrandchildDto.class);
+        grandchild.setShadowedField(dtoFactory.createDto(GrandchildDto.class));
+        grandchild.setParentField("parent");
+        grandchild.setDtoField("dto");
+
+        return new Object[][] {
+                {simpleDto(0, null, null)},
+                {simpleDto(-42, "name \"quoted\"\n", "default")},
+                {dtoFactory.createDto(ComplicatedDto.class)},
+                {dtoFactory.createDto(ComplicatedDto.class)
+                           .withStrings(asList("a", null, "\u00e9"))
+                           .withSimpleEnum(TWO)
+                           .withMap(map)
+                           .withSimpleDtos(asList(simpleDto(2, "second", "x"), null))
+                           .withArrayOfArrayOfEnum(asList(asList(ONE, THREE), new ArrayList<>()))},
+                {dtoFactory.createDto(DtoWithAny.class)
+                           .withStuff(stuff)
+                           .withObjects(asList("string", 1, 2.5, true, null, stuff, singletonList("nested")))},
+                {dtoFactory.createDto(DtoWithAny.class).withStuff(simpleDto(3, "any", null))},
+                {dtoFactory.createDto(DtoWithFieldNames.class).withTheName("the name").withTheDefault("the default")},
+                {dtoFactory.createDto(ModelDto.class)
+                           .withPrimary(dtoFactory.createDto(ModelComponentDto.class).withName("primary"))
+                           .withComponents(asList(dtoFactory.createDto(ModelComponentDto.class).withName("component"),
+                                                  dtoFactory.createDto(ModelComponentDto.class)))},
+                {grandchild}
+        };
+    }
+
+    @Test
+    public void shouldUseGeneratedAdapterForDtoImplementation() throws Exception {
+        final Class<?> simpleDtoImpl = dtoFactory.createDto(SimpleDto.class).getClass();
+        final Class<?> grandchildDtoImpl = dtoFactory.createDto(GrandchildDto.class).getClass();
+
+        assertTrue(generated.getAdapter(simpleDtoImpl) instanceof DtoTypeAdapter);
+        assertTrue(generated.getAdapter(grandchildDtoImpl) instanceof DtoTypeAdapter);
+    }
+
+    @Test(dataProvider = "dtos")
+    public void shouldWriteTheSameJsonAsReflectiveSerialization(Object dto) throws Exception {
+        assertEquals(generated.toJson(dto), reflective.toJson(dto));
+        assertEquals(generated.toJsonTree(dto), reflective.toJsonTree(dto));
+    }
+
+    @Test(dataProvider = "dtos")
+    public void shouldReadTheSameDtoAsReflectiveDeserialization(Object dto) throws Exception {
+        final String json = reflective.toJson(dto);
+
+        final Object fromGenerated = generated.fromJson(json, dto.getClass());
+        final Object fromReflective = reflective.fromJson(json, dto.getClass());
+
+        assertEquals(fromGenerated, fromReflective);
+        assertEquals(reflective.toJson(fromGenerated), reflective.toJson(fromReflective));
+    }
+
+    @Test
+    public void shouldSkipUnknownFieldsAndKeepDefaultsOfPrimitivesOnNull() throws Exception {
+        final String json = "{\"unknown\":{\"a\":[1,2]},\"id\":null,\"name\":true,\"default\":\"value\"}";
+
+        final SimpleDto dto = dtoFactory.createDtoFromJson(json, SimpleDto.class);
+
+        assertEquals(dto.getId(), 0);
+        assertEquals(dto.getName(), "true");
+        assertEquals(dto.getDefault(), "value");
+        assertEquals(generated.toJson(dto), reflective.toJson(reflective.fromJson(json, dto.getClass())));
+    }
+
+    private SimpleDto simpleDto(int id, String name, String defaultValue) {
+        return dtoFactory.createDto(SimpleDto.class).withId(id).withName(name).withDefault(defaultValue);
+    }
+}
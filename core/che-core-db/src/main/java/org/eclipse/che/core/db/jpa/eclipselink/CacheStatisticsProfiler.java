@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight EclipseLink profiler which only counts shared cache hits and misses
+ * per entity class and the number of executed SQL statements.
+ * All the other profiling events are ignored, so it is cheap enough to be always on.
+ *
+ * @see EntityCacheConfigurator
+ */
+@Singleton
+public class CacheStatisticsProfiler extends SessionProfilerAdapter {
+
+    private final Map<String, LongAdder> hits       = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> misses     = new ConcurrentHashMap<>();
+    private final LongAdder              statements = new LongAdder();
+
+    @Override
+    public int getProfileWeight() {
+        return SessionProfiler.ALL;
+    }
+
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        if (query == null || query.getReferenceClassName() == null) {
+            return;
+        }
+        if (SessionProfiler.CacheHits.equals(operationName)) {
+            hits.computeIfAbsent(query.getReferenceClassName(), name -> new LongAdder()).increment();
+        } else if (SessionProfiler.CacheMisses.equals(operationName)) {
+            misses.computeIfAbsent(query.getReferenceClassName(), name -> new LongAdder()).increment();
+        }
+    }
+
+    @Override
+    public void startOperationProfile(String operationName, DatabaseQuery query, int weight) {
+        if (SessionProfiler.StatementExecute.equals(operationName)) {
+            statements.increment();
+        }
+    }
+
+    /** Returns the number of reads of the given entity which were served by the cache. */
+    public long getHits(Class<?> entityClass) {
+        return count(hits, entityClass);
+    }
+
+    /** Returns the number of reads of the given entity which missed the cache. */
+    public long getMisses(Class<?> entityClass) {
+        return count(misses, entityClass);
+    }
+
+    /**
+     * Returns the ratio of cache hits to all the cache lookups of the given entity,
+     * or 0 if there were no lookups yet.
+     */
+    public double getHitRatio(Class<?> entityClass) {
+        final long hits = getHits(entityClass);
+        final long total = hits + getMisses(entityClass);
+        return total == 0 ? 0 : (double)hits / total;
+    }
+
+    /** Returns the number of SQL statements executed so far. */
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    /** Resets all the counters. */
+    public void reset() {
+        hits.clear();
+        misses.clear();
+        statements.reset();
+    }
+
+    private static long count(Map<String, LongAdder> counters, Class<?> entityClass) {
+        final LongAdder counter = counters.get(entityClass.getName());
+        return counter == null ? 0 : counter.sum();
+    }
+}
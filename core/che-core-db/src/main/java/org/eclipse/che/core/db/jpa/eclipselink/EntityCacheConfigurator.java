@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.invalidation.CacheInvalidationPolicy;
+import org.eclipse.persistence.descriptors.invalidation.NoExpiryCacheInvalidationPolicy;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.queries.QueryResultsCachePolicy;
+import org.eclipse.persistence.queries.ReadQuery;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configures EclipseLink shared cache for frequently read entities.
+ *
+ * <p>Each of the configured entities keeps at most {@code db.cache.size} recently used
+ * instances strongly reachable, the rest of the cached instances are weakly reachable and
+ * may be collected at any time. Cached instances are invalidated after {@code db.cache.ttl_ms}
+ * milliseconds (0 means never), this bounds the staleness of the rows which are modified
+ * bypassing the persistence unit. Changes committed through the persistence unit are merged
+ * into the cache on commit, so no extra invalidation is needed for them.
+ *
+ * <p>Results of the configured named queries are cached as well, the results of a query are
+ * invalidated as soon as any instance of the query entity is changed through the persistence unit.
+ *
+ * <p>If the cache is disabled all the reads of the configured entities go to the database.
+ * Cache statistics are collected by {@link CacheStatisticsProfiler} in both cases.
+ *
+ * <p>Should be bound as eager singleton.
+ */
+@Singleton
+public class EntityCacheConfigurator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheConfigurator.class);
+
+    private final CacheStatisticsProfiler profiler;
+    private final List<Class<?>>          cachedClasses;
+
+    @Inject
+    public EntityCacheConfigurator(@SuppressWarnings("unused") DBInitializer dbInitializer,
+                                   EntityManagerFactory emFactory,
+                                   CacheStatisticsProfiler profiler,
+                                   @Named("db.cache.enabled") boolean enabled,
+                                   @Named("db.cache.entities") String[] entities,
+                                   @Named("db.cache.queries") String[] queries,
+                                   @Named("db.cache.size") int size,
+                                   @Named("db.cache.ttl_ms") long ttlMs) {
+        this.profiler = profiler;
+        this.cachedClasses = new ArrayList<>();
+        final ServerSession session = emFactory.unwrap(ServerSession.class);
+        session.setProfiler(profiler);
+        for (String entity : entities) {
+            if (entity.trim().isEmpty()) {
+                continue;
+            }
+            final ClassDescriptor descriptor = session.getDescriptorForAlias(entity.trim());
+            if (descriptor == null) {
+                LOG.warn("Entity '{}' is not a part of the persistence unit, its cache is not configured", entity);
+                continue;
+            }
+            if (enabled) {
+                descriptor.setIdentityMapSize(size);
+                descriptor.setCacheInvalidationPolicy(newInvalidationPolicy(ttlMs));
+            } else {
+                descriptor.alwaysRefreshCache();
+                descriptor.disableCacheHits();
+            }
+            // drop the instances which might be cached with the previous settings
+            session.getIdentityMapAccessor().initializeIdentityMap(descriptor.getJavaClass());
+            cachedClasses.add(descriptor.getJavaClass());
+        }
+        if (enabled) {
+            for (String name : queries) {
+                if (name.trim().isEmpty()) {
+                    continue;
+                }
+                final DatabaseQuery query = session.getQuery(name.trim());
+                if (!(query instanceof ReadQuery)) {
+                    LOG.warn("Named query '{}' is not a read query of the persistence unit, its results are not cached", name);
+                    continue;
+                }
+                ((ReadQuery)query).setQueryResultsCachePolicy(new QueryResultsCachePolicy(newInvalidationPolicy(ttlMs), size));
+            }
+        }
+        LOG.info("Entity cache is {} for {}", enabled ? "enabled" : "disabled", cachedClasses);
+    }
+
+    @PreDestroy
+    public void logStatistics() {
+        for (Class<?> cachedClass : cachedClasses) {
+            LOG.info("Cache statistics of {}: {} hits, {} misses, hit ratio {}",
+                     cachedClass.getSimpleName(),
+                     profiler.getHits(cachedClass),
+                     profiler.getMisses(cachedClass),
+                     String.format("%.2f", profiler.getHitRatio(cachedClass)));
+        }
+    }
+
+    private static CacheInvalidationPolicy newInvalidationPolicy(long ttlMs) {
+        return ttlMs > 0 ? new TimeToLiveCacheInvalidationPolicy(ttlMs) : new NoExpiryCacheInvalidationPolicy();
+    }
+}
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.lang.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.lang.String.format;
+
+/**
+ * Runs a task for each node of a dependency graph, the task of a node is started
+ * only after the tasks of all the node dependencies successfully finished.
+ * Tasks of independent nodes run concurrently, but not more than {@code parallelism} at once.
+ * If there are several nodes ready to run, they are started in the iteration order of the graph.
+ *
+ * <p>If a task fails, the tasks of the dependent nodes are not started and all the running
+ * tasks are interrupted. {@link #run(Map, NodeTask)} returns only when all started tasks are finished.
+ *
+ * <p>Example:
+ * <pre>{@code
+ *  Map<String, Set<String>> graph = new LinkedHashMap<>();
+ *  graph.put("db", emptySet());
+ *  graph.put("cache", emptySet());
+ *  graph.put("app", ImmutableSet.of("db", "cache"));
+ *
+ *  // db and cache are started concurrently, app is started when both of them are started
+ *  new DependencyGraphRunner<String>(executor, 4).run(graph, this::start);
+ * }</pre>
+ *
+ * @param <N>
+ *         the type of graph nodes
+ */
+public class DependencyGraphRunner<N> {
+
+    /** Task which is run for each node of the graph. */
+    @FunctionalInterface
+    public interface NodeTask<N> {
+        void run(N node) throws Exception;
+    }
+
+    private final Executor executor;
+    private final int      parallelism;
+
+    /**
+     * @param executor
+     *         executor which runs the tasks, it should not queue tasks,
+     *         otherwise the actual parallelism may be lower than configured one
+     * @param parallelism
+     *         max number of tasks that are run at once
+     */
+    public DependencyGraphRunner(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, but it is " + parallelism);
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the task for each node of the graph.
+     *
+     * @param dependencies
+     *         mapping of each graph node to the nodes it depends on
+     * @param task
+     *         task to run for each node
+     * @throws IllegalArgumentException
+     *         when a node depends on a node which is not in the graph, or the graph contains cycles
+     * @throws ExecutionException
+     *         when the task of any node fails, the cause is the first occurred failure
+     * @throws InterruptedException
+     *         when the calling thread is interrupted, running tasks are interrupted too
+     *         and the exception is thrown after they are finished
+     */
+    public void run(Map<N, ? extends Collection<N>> dependencies, NodeTask<N> task) throws ExecutionException,
+                                                                                          InterruptedException {
+        final Map<N, Set<N>> waiting = new LinkedHashMap<>();
+        for (Map.Entry<N, ? extends Collection<N>> entry : dependencies.entrySet()) {
+            for (N dependency : entry.getValue()) {
+                if (!dependencies.containsKey(dependency)) {
+                    throw new IllegalArgumentException(format("Node '%s' depends on unknown node '%s'", entry.getKey(), dependency));
+                }
+            }
+            waiting.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+
+        final BlockingQueue<NodeRun> finished = new LinkedBlockingQueue<>();
+        final List<NodeRun> running = new ArrayList<>();
+        Throwable failure = null;
+        try {
+            while (!running.isEmpty() || (failure == null && !waiting.isEmpty())) {
+                if (failure == null) {
+                    failure = startReady(waiting, running, finished, task);
+                    if (failure != null) {
+                        running.forEach(NodeRun::interrupt);
+                    } else if (running.isEmpty()) {
+                        throw new IllegalArgumentException(format("Nodes '%s' have circular dependencies", waiting.keySet()));
+                    }
+                }
+                if (running.isEmpty()) {
+                    break;
+                }
+                final NodeRun done = finished.take();
+                running.remove(done);
+                if (done.error != null) {
+                    if (failure == null) {
+                        failure = done.error;
+                        running.forEach(NodeRun::interrupt);
+                    }
+                } else {
+                    waiting.values().forEach(nodeDependencies -> nodeDependencies.remove(done.node));
+                }
+            }
+        } catch (InterruptedException x) {
+            running.forEach(NodeRun::interrupt);
+            awaitFinish(running, finished);
+            throw x;
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure.getMessage(), failure);
+        }
+    }
+
+    private Throwable startReady(Map<N, Set<N>> waiting, List<NodeRun> running, BlockingQueue<NodeRun> finished, NodeTask<N> task) {
+        final Iterator<Map.Entry<N, Set<N>>> it = waiting.entrySet().iterator();
+        while (it.hasNext() && running.size() < parallelism) {
+            final Map.Entry<N, Set<N>> entry = it.next();
+            if (entry.getValue().isEmpty()) {
+                it.remove();
+                final NodeRun nodeRun = new NodeRun(entry.getKey(), task, finished);
+                try {
+                    executor.execute(nodeRun);
+                } catch (RejectedExecutionException x) {
+                    return x;
+                }
+                running.add(nodeRun);
+            }
+        }
+        return null;
+    }
+
+    private void awaitFinish(List<NodeRun> running, BlockingQueue<NodeRun> finished) {
+        boolean interrupted = false;
+        while (!running.isEmpty()) {
+            try {
+                running.remove(finished.take());
+            } catch (InterruptedException x) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class NodeRun implements Runnable {
+        final N                       node;
+        final NodeTask<N>             task;
+        final BlockingQueue<NodeRun>  finished;
+
+        Thread    thread;
+        boolean   interrupted;
+        Throwable error;
+
+        NodeRun(N node, NodeTask<N> task, BlockingQueue<NodeRun> finished) {
+            this.node = node;
+            this.task = task;
+            this.finished = finished;
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (interrupted) {
+                        throw new InterruptedException(format("Task of node '%s' is interrupted before start", node));
+                    }
+                    thread = Thread.currentThread();
+                }
+                try {
+                    task.run(node);
+                } finally {
+                    synchronized (this) {
+                        thread = null;
+                        // the interruption is addressed to this task only
+                        Thread.interrupted();
+                    }
+                }
+            } catch (Exception | Error x) {
+                error = x;
+            } finally {
+                finished.add(this);
+            }
+        }
+
+        synchronized void interrupt() {
+            interrupted = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.lang.concurrent;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link DependencyGraphRunner}.
+ */
+public class DependencyGraphRunnerTest {
+
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void runsNodesAfterTheirDependencies() throws Exception {
+        final Map<String, Set<String>> graph = new LinkedHashMap<>();
+        graph.put("a", Collections.emptySet());
+        graph.put("b", Collections.singleton("a"));
+        graph.put("c", Collections.singleton("a"));
+        graph.put("d", new HashSet<>(asList("b", "c")));
+        final List<String> completed = Collections.synchronizedList(new ArrayList<>());
+
+        new DependencyGraphRunner<String>(executor, 4).run(graph, node -> {
+            for (String dependency : graph.get(node)) {
+                assertTrue(completed.contains(dependency), node + " is started before " + dependency);
+            }
+            completed.add(node);
+        });
+
+        assertEquals(completed.size(), 4);
+        assertEquals(completed.get(0), "a");
+        assertEquals(completed.get(3), "d");
+    }
+
+    @Test
+    public void runsIndependentNodesConcurrently() throws Exception {
+        final Map<String, Set<String>> graph = new LinkedHashMap<>();
+        graph.put("a", Collections.emptySet());
+        graph.put("b", Collections.emptySet());
+        graph.put("c", Collections.emptySet());
+        final CountDownLatch allStarted = new CountDownLatch(3);
+
+        new DependencyGraphRunner<String>(executor, 3).run(graph, node -> {
+            allStarted.countDown();
+            // fails if nodes are run one by one
+            assertTrue(allStarted.await(10, SECONDS));
+        });
+    }
+
+    @Test
+    public void respectsParallelismLimit() throws Exception {
+        final Map<Integer, Set<Integer>> graph = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            graph.put(i, Collections.emptySet());
+        }
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        new DependencyGraphRunner<Integer>(executor, 2).run(graph, node -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+        });
+
+        assertTrue(maxRunning.get() <= 2, "Max running tasks " + maxRunning.get());
+    }
+
+    @Test
+    public void runsNodesInGraphOrderWhenParallelismIsOne() throws Exception {
+        final Map<String, Set<String>> graph = new LinkedHashMap<>();
+        graph.put("c", Collections.emptySet());
+        graph.put("a", Collections.emptySet());
+        graph.put("b", Collections.emptySet());
+        final List<String> completed = Collections.synchronizedList(new ArrayList<>());
+
+        new DependencyGraphRunner<String>(executor, 1).run(graph, completed::add);
+
+        assertEquals(completed, asList("c", "a", "b"));
+    }
+
+    @Test
+    public void doesNotRunDependentsAndInterruptsRunningTasksOnFailure() throws Exception {
+        final Map<String, Set<String>> graph = new LinkedHashMap<>();
+        graph.put("slow", Collections.emptySet());
+        graph.put("failing", Collections.emptySet());
+        graph.put("dependent", Collections.singleton("failing"));
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger interrupted = new AtomicInteger();
+
+        try {
+            new DependencyGraphRunner<String>(executor, 2).run(graph, node -> {
+                switch (node) {
+                    case "slow":
+                        slowStarted.countDown();
+                        try {
+                            Thread.sleep(SECONDS.toMillis(30));
+                        } catch (InterruptedException x) {
+                            interrupted.incrementAndGet();
+                            throw x;
+                        }
+                        break;
+                    case "failing":
+                        slowStarted.await();
+                        throw new IllegalStateException("failed");
+                }
+                completed.add(node);
+            });
+            fail("Execution exception expected");
+        } catch (ExecutionException x) {
+            assertTrue(x.getCause() instanceof IllegalStateException);
+        }
+
+        assertTrue(completed.isEmpty());
+        assertEquals(interrupted.get(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void failsWhenGraphHasCycle() throws Exception {
+        final Map<String, Set<String>> graph = new LinkedHashMap<>();
+        graph.put("a", Collections.singleton("b"));
+        graph.put("b", Collections.singleton("a"));
+
+        new DependencyGraphRunner<String>(executor, 2).run(graph, node -> {});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void failsWhenNodeDependsOnUnknownNode() throws Exception {
+        final Map<String, Set<String>> graph = new LinkedHashMap<>();
+        graph.put("a", Collections.singleton("b"));
+
+        new DependencyGraphRunner<String>(executor, 2).run(graph, node -> {});
+    }
+
+    @Test
+    public void interruptsTasksWhenCallerIsInterrupted() throws Exception {
+        final Map<String, Set<String>> graph = new LinkedHashMap<>();
+        graph.put("a", Collections.emptySet());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch taskInterrupted = new CountDownLatch(1);
+        final Thread caller = Thread.currentThread();
+
+        executor.execute(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException ignored) {
+            }
+            caller.interrupt();
+        });
+        try {
+            new DependencyGraphRunner<String>(executor, 1).run(graph, node -> {
+                started.countDown();
+                try {
+                    Thread.sleep(SECONDS.toMillis(30));
+                } catch (InterruptedException x) {
+                    taskInterrupted.countDown();
+                }
+            });
+            fail("Interrupted exception expected");
+        } catch (InterruptedException ignored) {
+        }
+
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(taskInterrupted.getCount(), 0);
+    }
+}
@@ -147,9 +147,9 @@ call_catalina () {
 
   ### Initialize default JVM arguments to run che
   if [[ "${CHE_BLOCKING_ENTROPY}" == true ]]; then
-    [ -z "${JAVA_OPTS}" ] && JAVA_OPTS="-Xms256m -Xmx1024m"
+    [ -z "${JAVA_OPTS}" ] && JAVA_OPTS="-Xms256m -Xmx1024m -Dhttp.maxConnections=20"
   else
-    [ -z "${JAVA_OPTS}" ] && JAVA_OPTS="-Xms256m -Xmx1024m -Djava.security.egd=file:/dev/./urandom"
+    [ -z "${JAVA_OPTS}" ] && JAVA_OPTS="-Xms256m -Xmx1024m -Djava.security.egd=file:/dev/./urandom -Dhttp.maxConnections=20"
   fi
 
   ### Cannot add this in setenv.sh.
@@ -29,13 +29,23 @@ public class CommandOutputMessageUnmarshaller implements Unmarshallable<String>
 
     @Override
     public void unmarshal(Message message) {
-        payload = message.getBody();
-
-        if (payload.startsWith("[STDOUT]")) {
-            payload = payload.substring(9);
-        } else if (payload.startsWith("[STDERR]")) {
-            payload = payload.replace("[STDERR]", "[" + machineName + "]");
+        // message may contain several lines if server sends output in batches
+        final String[] lines = message.getBody().split("\n", -1);
+        final StringBuilder output = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0) {
+                output.append('\n');
+            }
+            final String line = lines[i];
+            if (line.startsWith("[STDOUT]")) {
+                output.append(line.substring(9));
+            } else if (line.startsWith("[STDERR]")) {
+                output.append(line.replace("[STDERR]", "[" + machineName + "]"));
+            } else {
+                output.append(line);
+            }
         }
+        payload = output.toString();
     }
 
     @Override
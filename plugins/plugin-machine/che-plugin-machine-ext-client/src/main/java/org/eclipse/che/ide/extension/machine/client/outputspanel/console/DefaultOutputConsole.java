@@ -66,20 +66,18 @@ public class DefaultOutputConsole implements OutputConsole, OutputConsoleView.Ac
 
     /**
      * Print text in the console.
+     * Text may contain several lines, each of them is printed separately.
      *
      * @param text
      *         text to be printed
      */
     public void printText(String text) {
-        view.print(text, text.endsWith("\r"));
-
-        for (ActionDelegate actionDelegate : actionDelegates) {
-            actionDelegate.onConsoleOutput(this);
-        }
+        printText(text, null);
     }
 
     /**
      * Print colored text in the console.
+     * Text may contain several lines, each of them is printed separately.
      *
      * @param text
      *         text to be printed
@@ -87,7 +85,9 @@ public class DefaultOutputConsole implements OutputConsole, OutputConsoleView.Ac
      *         color of the text or NULL
      */
     public void printText(String text, String color) {
-        view.print(text, text.endsWith("\r"), color);
+        for (String line : text.split("\n", -1)) {
+            view.print(line, line.endsWith("\r"), color);
+        }
 
         for (ActionDelegate actionDelegate : actionDelegates) {
             actionDelegate.onConsoleOutput(this);
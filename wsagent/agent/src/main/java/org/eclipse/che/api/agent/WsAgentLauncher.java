@@ -12,6 +12,7 @@ package org.eclipse.che.api.agent;
 
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.MachinePackageLocks;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
@@ -33,6 +34,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.concurrent.locks.Lock;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static org.eclipse.che.api.workspace.shared.Constants.WS_AGENT_PROCESS_NAME;
@@ -94,29 +96,36 @@ public class WsAgentLauncher implements AgentLauncher {
         String script = agent.getScript() + "\n" + firstNonNull(wsAgentRunCommand, DEFAULT_WS_AGENT_RUN_COMMAND);
 
         final String wsAgentPingUrl = wsAgentPingRequest.getUrl();
+        // script installs packages before ws agent is run, so other agents of the machine wait until it is launched
+        final Lock packagesLock = MachinePackageLocks.get(machine);
         try {
-            // for server side type of command mean nothing
-            // but we will use it as marker on
-            // client side for track this command
-            CommandImpl command = new CommandImpl(getAgentId(), script, WS_AGENT_PROCESS_NAME);
-
-            machineProcessManagerProvider.get().exec(machine.getWorkspaceId(),
-                                                     machine.getId(),
-                                                     command,
-                                                     getWsAgentProcessOutputChannel(machine.getWorkspaceId()));
-
-            final long pingStartTimestamp = System.currentTimeMillis();
-            LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
-                      machine.getWorkspaceId(),
-                      wsAgentPingUrl,
-                      pingStartTimestamp);
-
-            while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-                if (pingWsAgent(wsAgentPingRequest)) {
-                    return;
-                } else {
-                    Thread.sleep(wsAgentPingDelayMs);
+            packagesLock.lockInterruptibly();
+            try {
+                // for server side type of command mean nothing
+                // but we will use it as marker on
+                // client side for track this command
+                CommandImpl command = new CommandImpl(getAgentId(), script, WS_AGENT_PROCESS_NAME);
+
+                machineProcessManagerProvider.get().exec(machine.getWorkspaceId(),
+                                                         machine.getId(),
+                                                         command,
+                                                         getWsAgentProcessOutputChannel(machine.getWorkspaceId()));
+
+                final long pingStartTimestamp = System.currentTimeMillis();
+                LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
+                          machine.getWorkspaceId(),
+                          wsAgentPingUrl,
+                          pingStartTimestamp);
+
+                while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
+                    if (pingWsAgent(wsAgentPingRequest)) {
+                        return;
+                    } else {
+                        Thread.sleep(wsAgentPingDelayMs);
+                    }
                 }
+            } finally {
+                packagesLock.unlock();
             }
         } catch (BadRequestException | ServerException | NotFoundException e) {
             throw new ServerException(e.getServiceError());
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.search;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Parameters of search request.
+ */
+@DTO
+public interface ProjectSearchRequestDto {
+    /** Identifier of request, it is sent back with each found file so client is able to match results with request. */
+    String getRequestId();
+
+    ProjectSearchRequestDto withRequestId(String requestId);
+
+    /** Path to resource where to search. */
+    String getPath();
+
+    ProjectSearchRequestDto withPath(String path);
+
+    /** Optional name of file. */
+    String getName();
+
+    ProjectSearchRequestDto withName(String name);
+
+    /** Optional text to search. */
+    String getText();
+
+    ProjectSearchRequestDto withText(String text);
+
+    /** Max number of files in result. */
+    int getMaxItems();
+
+    ProjectSearchRequestDto withMaxItems(int maxItems);
+
+    /** Number of files that were already received, it should be specified together with page cursor for retrieving of next page. */
+    int getSkipCount();
+
+    ProjectSearchRequestDto withSkipCount(int skipCount);
+
+    /** Cursor of next page from previous response or {@code null} for the first page. */
+    String getPageCursor();
+
+    ProjectSearchRequestDto withPageCursor(String pageCursor);
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.search;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Result of search request. Found files are sent before this response with separate notifications, see {@link SearchResultDto}.
+ */
+@DTO
+public interface ProjectSearchResponseDto {
+    String getRequestId();
+
+    ProjectSearchResponseDto withRequestId(String requestId);
+
+    /** Total number of files that match search criteria. */
+    int getTotalHits();
+
+    ProjectSearchResponseDto withTotalHits(int totalHits);
+
+    /** Number of files sent for this request. */
+    int getItemsCount();
+
+    ProjectSearchResponseDto withItemsCount(int itemsCount);
+
+    /** Cursor for retrieving of next page or {@code null} if there are no more files. */
+    String getNextPageCursor();
+
+    ProjectSearchResponseDto withNextPageCursor(String nextPageCursor);
+
+    /** Skip count for retrieving of next page. */
+    int getNextSkipCount();
+
+    ProjectSearchResponseDto withNextSkipCount(int nextSkipCount);
+}
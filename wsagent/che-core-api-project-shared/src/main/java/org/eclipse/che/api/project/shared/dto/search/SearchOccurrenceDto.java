@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.search;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Occurrence of searched text in file.
+ */
+@DTO
+public interface SearchOccurrenceDto {
+    String getPhrase();
+
+    SearchOccurrenceDto withPhrase(String phrase);
+
+    int getStartOffset();
+
+    SearchOccurrenceDto withStartOffset(int startOffset);
+
+    int getEndOffset();
+
+    SearchOccurrenceDto withEndOffset(int endOffset);
+
+    int getLineNumber();
+
+    SearchOccurrenceDto withLineNumber(int lineNumber);
+
+    String getLineContent();
+
+    SearchOccurrenceDto withLineContent(String lineContent);
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.search;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * File that matches search criteria, it is sent to client as soon as it is found.
+ */
+@DTO
+public interface SearchResultDto {
+    /** Identifier of search request specified by client. */
+    String getRequestId();
+
+    SearchResultDto withRequestId(String requestId);
+
+    String getPath();
+
+    SearchResultDto withPath(String path);
+
+    List<SearchOccurrenceDto> getOccurrences();
+
+    SearchResultDto withOccurrences(List<SearchOccurrenceDto> occurrences);
+}
@@ -21,9 +21,11 @@ import org.eclipse.che.api.project.server.handlers.CreateBaseProjectTypeHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectHandler;
 import org.eclipse.che.api.project.server.importer.ProjectImporter;
 import org.eclipse.che.api.project.server.importer.ProjectImportersService;
+import org.eclipse.che.api.project.server.notification.VfsWatchBroadcaster;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.InitBaseProjectTypeHandler;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.vfs.ContentHashCache;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
@@ -34,6 +36,7 @@ import org.eclipse.che.api.vfs.impl.file.event.detectors.ProjectTreeTracker;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
+import org.eclipse.che.api.vfs.watcher.FileChangeListener;
 import org.eclipse.che.api.vfs.watcher.FileTreeWalker;
 import org.eclipse.che.api.vfs.watcher.FileWatcherByPathMatcher;
 import org.eclipse.che.api.vfs.watcher.IndexedFileCreateConsumer;
@@ -119,9 +122,14 @@ public class ProjectApiModule extends AbstractModule {
         Multibinder<PathMatcher> fileExcludes =
                 newSetBinder(binder(), new TypeLiteral<PathMatcher>(){}, Names.named("che.fs.file.excludes"));
 
-        fileCreateConsumers.addBinding().to(IndexedFileCreateConsumer.class);
-        fileUpdateConsumers.addBinding().to(IndexedFileUpdateConsumer.class);
-        fileDeleteConsumers.addBinding().to(IndexedFileDeleteConsumer.class);
+        Multibinder<FileChangeListener> changeListeners =
+                newSetBinder(binder(), FileChangeListener.class, Names.named("che.fs.change.listeners"));
+
+        changeListeners.addBinding().to(IndexedFileCreateConsumer.class);
+        changeListeners.addBinding().to(IndexedFileUpdateConsumer.class);
+        changeListeners.addBinding().to(IndexedFileDeleteConsumer.class);
+        changeListeners.addBinding().to(VfsWatchBroadcaster.class);
+        changeListeners.addBinding().to(ContentHashCache.class);
 
         fileCreateConsumers.addBinding().to(FileWatcherByPathMatcher.class);
         fileDeleteConsumers.addBinding().to(FileWatcherByPathMatcher.class);
@@ -148,6 +156,7 @@ public class ProjectApiModule extends AbstractModule {
     private void configureVfsEvent() {
         bind(EditorFileTracker.class).asEagerSingleton();
         bind(ProjectTreeTracker.class).asEagerSingleton();
+        bind(ProjectSearchRequestHandler.class).asEagerSingleton();
     }
 
     @Provides
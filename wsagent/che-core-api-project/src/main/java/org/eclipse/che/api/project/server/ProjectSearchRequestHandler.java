@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.JsonRpcFactory;
+import org.eclipse.che.api.core.jsonrpc.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.JsonRpcResult;
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerRegistry;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.project.shared.dto.search.ProjectSearchRequestDto;
+import org.eclipse.che.api.project.shared.dto.search.ProjectSearchResponseDto;
+import org.eclipse.che.api.project.shared.dto.search.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.search.SearchResultDto;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.SearchResultEntry;
+import org.eclipse.che.api.vfs.search.Searcher;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Handles search requests sent over JSON-RPC. Unlike {@link ProjectService#search} found files are not collected into single
+ * response: each file is sent to the client with {@value #RESULT_METHOD} notification as soon as it is found, together with
+ * occurrences of searched text. When search is completed, response with total number of hits and cursor of the next page is sent.
+ * If search fails, JSON-RPC error is sent instead of response, malformed page cursor is reported as invalid params.
+ */
+@Singleton
+public class ProjectSearchRequestHandler {
+    private static final Logger LOG = getLogger(ProjectSearchRequestHandler.class);
+
+    private static final String INCOMING_METHOD = "project/search";
+    private static final String RESULT_METHOD   = "project/search/result";
+
+    private static final int INVALID_PARAMS_ERROR_CODE = -32602;
+    private static final int INTERNAL_ERROR_CODE       = -32603;
+
+    private final ProjectManager     projectManager;
+    private final RequestTransmitter transmitter;
+    private final JsonRpcFactory     jsonRpcFactory;
+
+    @Inject
+    public ProjectSearchRequestHandler(ProjectManager projectManager, RequestTransmitter transmitter, JsonRpcFactory jsonRpcFactory) {
+        this.projectManager = projectManager;
+        this.transmitter = transmitter;
+        this.jsonRpcFactory = jsonRpcFactory;
+    }
+
+    /**
+     * Handler is registered directly rather than configured with a function, since function can't fail with JSON-RPC error.
+     */
+    @Inject
+    public void configureHandler(RequestHandlerRegistry registry) {
+        registry.register(INCOMING_METHOD, this::search);
+    }
+
+    private JsonRpcResult search(String endpointId, JsonRpcParams params) throws JsonRpcException {
+        final ProjectSearchRequestDto request = params.getAs(ProjectSearchRequestDto.class);
+        final ProjectSearchResponseDto response = newDto(ProjectSearchResponseDto.class).withRequestId(request.getRequestId());
+        final String path = request.getPath() == null ? "/" : request.getPath();
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(request.getName())
+                .setText(request.getText())
+                .setMaxItems(request.getMaxItems() == 0 ? -1 : request.getMaxItems())
+                .setSkipCount(Math.max(0, request.getSkipCount()))
+                .setPageCursor(request.getPageCursor());
+        try {
+            final Searcher searcher = projectManager.getSearcher();
+            final int[] itemsCount = new int[1];
+            final SearchResult result = searcher.search(expr, entry -> {
+                transmitter.transmitOneToNone(endpointId, RESULT_METHOD, asDto(request.getRequestId(), entry));
+                itemsCount[0]++;
+            });
+            response.withTotalHits(result.getTotalHits())
+                    .withItemsCount(itemsCount[0]);
+            if (result.getNextPageQueryExpression().isPresent()) {
+                final QueryExpression next = result.getNextPageQueryExpression().get();
+                response.withNextPageCursor(next.getPageCursor())
+                        .withNextSkipCount(next.getSkipCount());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new JsonRpcException(INVALID_PARAMS_ERROR_CODE, e.getMessage());
+        } catch (NotFoundException | ServerException e) {
+            LOG.error("Search request {} from {} failed: {}", request.getRequestId(), endpointId, e.getMessage());
+            throw new JsonRpcException(INTERNAL_ERROR_CODE, "Search failed: " + e.getMessage());
+        }
+        return jsonRpcFactory.createResult(response);
+    }
+
+    private static SearchResultDto asDto(String requestId, SearchResultEntry entry) {
+        return newDto(SearchResultDto.class).withRequestId(requestId)
+                                            .withPath(entry.getFilePath())
+                                            .withOccurrences(entry.getOccurrences()
+                                                                  .stream()
+                                                                  .map(ProjectSearchRequestHandler::asDto)
+                                                                  .collect(toList()));
+    }
+
+    private static SearchOccurrenceDto asDto(SearchOccurrence occurrence) {
+        return newDto(SearchOccurrenceDto.class).withPhrase(occurrence.getPhrase())
+                                                .withStartOffset(occurrence.getStartOffset())
+                                                .withEndOffset(occurrence.getEndOffset())
+                                                .withLineNumber(occurrence.getLineNumber())
+                                                .withLineContent(occurrence.getLineContent());
+    }
+}
@@ -39,6 +39,7 @@ import org.eclipse.che.api.project.shared.dto.MoveOptions;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileContent;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
@@ -59,6 +60,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -70,6 +72,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.io.InputStream;
@@ -105,6 +108,12 @@ public class ProjectService extends Service {
     private static final Logger LOG  = LoggerFactory.getLogger(ProjectService.class);
     private static final Tika   TIKA = new Tika();
 
+    private static final String RANGE         = "Range";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+
+    static final long[] UNSATISFIABLE_RANGE = new long[0];
+
     private final ProjectManager              projectManager;
     private final EventService                eventService;
     private final ProjectServiceLinksInjector projectServiceLinksInjector;
@@ -487,12 +496,14 @@ public class ProjectService extends Service {
     @GET
     @Path("/file/{path:.*}")
     public Response getFile(@ApiParam(value = "Path to a file", required = true)
-                            @PathParam("path") String path) throws IOException, NotFoundException, ForbiddenException, ServerException {
+                            @PathParam("path") String path,
+                            @ApiParam(value = "Single byte range of the file content, e.g. bytes=0-1023")
+                            @HeaderParam(RANGE) String range) throws IOException, NotFoundException, ForbiddenException, ServerException {
         final FileEntry file = projectManager.asFile(path);
         if (file == null) {
             throw new NotFoundException("File not found for " + path);
         }
-        return Response.ok().entity(file.getInputStream()).type(TIKA.detect(file.getName())).build();
+        return fileContent(file.getVirtualFile(), range).type(TIKA.detect(file.getName())).build();
     }
 
     @PUT
@@ -722,8 +733,8 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public InputStream exportZip(@ApiParam(value = "Path to resource to be exported")
-                                 @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportZip(@ApiParam(value = "Path to resource to be exported")
+                              @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
 
         final FolderEntry folder = projectManager.asFolder(path);
 
@@ -731,14 +742,25 @@ public class ProjectService extends Service {
             throw new NotFoundException("Folder not found " + path);
         }
 
-        return folder.getVirtualFile().zip();
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        // Archive is written straight to the response, it is never spooled to temporary file
+        final StreamingOutput zip = output -> {
+            try {
+                virtualFile.zip(output);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return Response.ok(zip, ExtMediaType.APPLICATION_ZIP).build();
     }
 
     @GET
     @Path("/export/file/{path:.*}")
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     public Response exportFile(@ApiParam(value = "Path to resource to be imported")
-                               @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+                               @PathParam("path") String path,
+                               @ApiParam(value = "Single byte range of the file content, e.g. bytes=0-1023")
+                               @HeaderParam(RANGE) String range) throws NotFoundException, ForbiddenException, ServerException {
 
         final FileEntry file = projectManager.asFile(path);
 
@@ -748,11 +770,88 @@ public class ProjectService extends Service {
 
         final VirtualFile virtualFile = file.getVirtualFile();
 
-        return Response.ok(virtualFile.getContent(), TIKA.detect(virtualFile.getName()))
-                       .lastModified(new Date(virtualFile.getLastModificationDate()))
-                       .header(HttpHeaders.CONTENT_LENGTH, Long.toString(virtualFile.getLength()))
-                       .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + virtualFile.getName() + '"')
-                       .build();
+        return fileContent(virtualFile, range).type(TIKA.detect(virtualFile.getName()))
+                                              .lastModified(new Date(virtualFile.getLastModificationDate()))
+                                              .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                      "attachment; filename=\"" + virtualFile.getName() + '"')
+                                              .build();
+    }
+
+    /**
+     * Prepares response that streams content of the file without buffering it. If {@code range} contains single byte range then
+     * only requested part of content is sent with status 206, other forms of range (multiple ranges, unknown units, malformed
+     * value) are ignored and the whole content is sent. Content is opened only when response is written, so nothing stays open
+     * if response is never written (e.g. HEAD request or client that goes away). If file is truncated in the meantime and fewer
+     * bytes than declared in headers can be sent, writing fails so that client does not take partial content as a complete one.
+     */
+    private static Response.ResponseBuilder fileContent(VirtualFile virtualFile, String range) throws ForbiddenException,
+                                                                                                     ServerException {
+        final long length = virtualFile.getLength();
+        final long[] bounds = range == null ? null : parseRange(range, length);
+        if (bounds == UNSATISFIABLE_RANGE) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                           .header(CONTENT_RANGE, "bytes */" + length);
+        }
+
+        final long offset = bounds == null ? 0 : bounds[0];
+        final long count = bounds == null ? length : bounds[1] - bounds[0] + 1;
+        final StreamingOutput content = output -> {
+            try (VirtualFileContent opened = virtualFile.openContent()) {
+                final long transferred = opened.transferTo(output, offset, count);
+                if (transferred < count) {
+                    throw new IOException(String.format("File '%s' is changed while it is sent, %d of %d bytes are sent",
+                                                        virtualFile.getPath(), transferred, count));
+                }
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        final Response.ResponseBuilder builder = bounds == null
+                                                 ? Response.ok(content)
+                                                 : Response.status(Response.Status.PARTIAL_CONTENT)
+                                                           .entity(content)
+                                                           .header(CONTENT_RANGE, "bytes " + bounds[0] + '-' + bounds[1] + '/' + length);
+        return builder.header(ACCEPT_RANGES, "bytes")
+                      .header(HttpHeaders.CONTENT_LENGTH, Long.toString(count));
+    }
+
+    /**
+     * Parses value of {@code Range} header.
+     *
+     * @return first and last (inclusive) positions of requested range, {@code null} if header should be ignored or
+     * {@link #UNSATISFIABLE_RANGE} if requested range is out of content
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=")) {
+            return null;
+        }
+        final String spec = range.substring("bytes=".length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                // Suffix range, e.g. bytes=-500 means the last 500 bytes
+                final long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE_RANGE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            final long first = Long.parseLong(spec.substring(0, dash));
+            final String lastSpec = spec.substring(dash + 1);
+            final long last = lastSpec.isEmpty() ? length - 1 : Long.parseLong(lastSpec);
+            if (first < 0 || last < first) {
+                return null;
+            }
+            if (first >= length) {
+                return UNSATISFIABLE_RANGE;
+            }
+            return new long[]{first, Math.min(last, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     @GET
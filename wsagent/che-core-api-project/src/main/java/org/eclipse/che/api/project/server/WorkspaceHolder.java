@@ -97,7 +97,7 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
             builder.queryParam("token", userToken);
         final String href = builder.build(workspaceId).toString();
         try {
-            httpJsonRequestFactory.fromUrl(href).usePostMethod().setBody(asDto(project)).request();
+            httpJsonRequestFactory.fromUrl(href).usePostMethod().useBinaryFormat().setBody(asDto(project)).request();
         } catch (IOException | ApiException e) {
             throw new ServerException(e.getMessage());
         }
@@ -120,7 +120,7 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
             builder.queryParam("token", userToken);
         final String href = builder.build(new String[]{workspaceId, project.getPath()}, false).toString();
         try {
-            httpJsonRequestFactory.fromUrl(href).usePutMethod().setBody(asDto(project)).request();
+            httpJsonRequestFactory.fromUrl(href).usePutMethod().useBinaryFormat().setBody(asDto(project)).request();
         } catch (IOException | ApiException e) {
             throw new ServerException(e.getMessage());
         }
@@ -154,7 +154,7 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
             builder.queryParam("token", userToken);
         final String href = builder.build(workspaceId).toString();
         try {
-            return httpJsonRequestFactory.fromUrl(href).useGetMethod().request().asDto(WorkspaceDto.class);
+            return httpJsonRequestFactory.fromUrl(href).useGetMethod().useBinaryFormat().request().asDto(WorkspaceDto.class);
         } catch (IOException | ApiException e) {
             throw new ServerException(e);
         }
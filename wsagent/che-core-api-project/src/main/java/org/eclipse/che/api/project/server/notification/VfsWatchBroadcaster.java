@@ -13,6 +13,8 @@ package org.eclipse.che.api.project.server.notification;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.shared.dto.event.VfsWatchEvent;
+import org.eclipse.che.api.vfs.watcher.FileChangeEvent;
+import org.eclipse.che.api.vfs.watcher.FileChangeListener;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
@@ -22,21 +24,48 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toInternalPath;
 
 /**
  *
- * Subscribes on VFS Watcher events and broadcasts them with websockets
+ * Subscribes on VFS Watcher events and broadcasts them with websockets.
+ * Changes from {@link org.eclipse.che.api.vfs.watcher.FileChangeEventBus} are received in compacted batches,
+ * so burst of changes under one directory is broadcast as single event of the directory.
  * @author gazarenkov
  */
-public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent> {
+@Singleton
+public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent>, FileChangeListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(VfsWatchBroadcaster.class);
 
     private final EventService eventService;
+    private final Path         root;
 
     @Inject
-    public VfsWatchBroadcaster(EventService eventService) {
+    public VfsWatchBroadcaster(EventService eventService, @Named("che.user.workspaces.storage") File root) {
         this.eventService = eventService;
+        this.root = root.toPath();
+    }
+
+    @Override
+    public void onChanges(List<FileChangeEvent> changes) {
+        for (FileChangeEvent change : changes) {
+            onEvent(DtoFactory.newDto(VfsWatchEvent.class)
+                              .withPath(toInternalPath(root, change.getPath()))
+                              .withType(change.getType())
+                              .withFile(!change.isDirectory()));
+        }
+    }
+
+    @Override
+    public boolean acceptsSubtreeEvents() {
+        return true;
     }
 
     @Override
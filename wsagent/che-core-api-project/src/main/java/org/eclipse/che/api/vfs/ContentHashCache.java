@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.io.CharStreams;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.watcher.FileChangeEvent;
+import org.eclipse.che.api.vfs.watcher.FileChangeListener;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.hash.Funnels.asOutputStream;
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAttributes;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toInternalPath;
+
+/**
+ * Cache of hash sums of file content. Hash sum is kept together with size, last modification time and identifier (inode) of the
+ * file that are read before hashing, so cached hash sum is used only while these attributes are not changed. In addition entries are
+ * invalidated on file changes received from {@link org.eclipse.che.api.vfs.watcher.FileChangeEventBus}. Keys of cached entries are
+ * also kept sorted by path, so entries of changed item and all items under it are found with range lookup.
+ * <p>
+ * Content of file is streamed through reusable per-thread buffer, so hashing of file doesn't load whole file in memory.
+ */
+@Singleton
+public class ContentHashCache implements FileChangeListener {
+    static final int MAX_SIZE    = 10_000;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private final java.nio.file.Path     root;
+    private final Cache<Key, CachedHash> cache;
+    private final NavigableSet<Key>      index;
+    private final AtomicLong             hits;
+    private final AtomicLong             misses;
+
+    @Inject
+    public ContentHashCache(@Named("che.user.workspaces.storage") File root) {
+        this.root = root.toPath().toAbsolutePath();
+        this.index = new ConcurrentSkipListSet<>();
+        this.cache = CacheBuilder.newBuilder()
+                                 .concurrencyLevel(8)
+                                 .maximumSize(MAX_SIZE)
+                                 .removalListener(this::unindex)
+                                 .build();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Gets hash sum of file content, file is read only if there is no valid cached hash sum.
+     *
+     * @param file
+     *         file to hash
+     * @param hashFunction
+     *         hash function
+     * @return hash sum represented as HEX string
+     */
+    public String getHash(VirtualFile file, HashFunction hashFunction) throws ServerException, ForbiddenException {
+        return getHash(file, new Key(file.getPath().toString(), hashFunction.toString()), () -> hash(file, hashFunction));
+    }
+
+    /**
+     * Gets hash sum of file content as it is seen by the editor, file is read only if there is no valid cached hash sum. Content is
+     * decoded with the default charset, as {@link VirtualFile#getContentAsString()} does, and hash sum is calculated over UTF-8
+     * bytes of the decoded text. That matches hash sums calculated by the IDE over editor text, so files which are not valid in
+     * the default charset have the same hash sum on both sides.
+     *
+     * @param file
+     *         file to hash
+     * @param hashFunction
+     *         hash function
+     * @return hash sum represented as HEX string
+     */
+    public String getTextHash(VirtualFile file, HashFunction hashFunction) throws ServerException, ForbiddenException {
+        return getHash(file, new Key(file.getPath().toString(), hashFunction.toString() + "/text"), () -> hashText(file, hashFunction));
+    }
+
+    private String getHash(VirtualFile file, Key key, HashCalculator calculator) throws ServerException, ForbiddenException {
+        final CachedHash current = readAttributesOf(file);
+        final CachedHash cached = cache.getIfPresent(key);
+        if (cached != null && cached.isValidFor(current)) {
+            hits.incrementAndGet();
+            return cached.hash;
+        }
+        misses.incrementAndGet();
+        final String hash = calculator.calculate();
+        if (current != null) {
+            cache.put(key, current.withHash(hash));
+            index.add(key);
+        }
+        return hash;
+    }
+
+    /** Removes cached hash sums of item with specified path and all items under it. */
+    public void invalidate(Path path) {
+        final String invalidated = path.toString();
+        if (!path.isRoot()) {
+            invalidateRange(invalidated, invalidated + '\0');
+        }
+        final String prefix = path.isRoot() ? invalidated : invalidated + '/';
+        // all paths that start with prefix are ordered after it and before prefix with the last char incremented
+        invalidateRange(prefix, prefix.substring(0, prefix.length() - 1) + (char)(prefix.charAt(prefix.length() - 1) + 1));
+    }
+
+    private void invalidateRange(String fromPath, String toPath) {
+        for (Key key : index.subSet(new Key(fromPath, ""), new Key(toPath, ""))) {
+            index.remove(key);
+            cache.invalidate(key);
+        }
+    }
+
+    /** Removes key of evicted or invalidated entry from index unless the entry was put to cache again in the meantime. */
+    private void unindex(RemovalNotification<Key, CachedHash> notification) {
+        if (notification.getCause() != RemovalCause.REPLACED) {
+            final Key key = notification.getKey();
+            index.remove(key);
+            if (cache.asMap().containsKey(key)) {
+                index.add(key);
+            }
+        }
+    }
+
+    /** Number of requests that are served from cache. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Number of requests that required reading of file. */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public void onChanges(List<FileChangeEvent> changes) {
+        for (FileChangeEvent change : changes) {
+            if (change.getPath().startsWith(root)) {
+                invalidate(Path.of(toInternalPath(root, change.getPath())));
+            }
+        }
+    }
+
+    @Override
+    public boolean acceptsSubtreeEvents() {
+        return true;
+    }
+
+    /** Calculates hash sum of file content without caching. */
+    public static String hash(VirtualFile file, HashFunction hashFunction) throws ServerException, ForbiddenException {
+        final byte[] buffer = BUFFER.get();
+        final Hasher hasher = hashFunction.newHasher();
+        try (InputStream in = file.getContent()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                hasher.putBytes(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new ServerException(e);
+        }
+        return hasher.hash().toString();
+    }
+
+    /** Calculates hash sum of UTF-8 bytes of file content decoded with the default charset without caching. */
+    public static String hashText(VirtualFile file, HashFunction hashFunction) throws ServerException, ForbiddenException {
+        final Hasher hasher = hashFunction.newHasher();
+        try (Reader reader = new InputStreamReader(file.getContent(), defaultCharset());
+             Writer writer = new OutputStreamWriter(asOutputStream(hasher), UTF_8)) {
+            CharStreams.copy(reader, writer);
+        } catch (IOException e) {
+            throw new ServerException(e);
+        }
+        return hasher.hash().toString();
+    }
+
+    /** Returns attributes of file or {@code null} if they can't be read, in this case hash sum isn't cached. */
+    private static CachedHash readAttributesOf(VirtualFile file) throws ServerException {
+        final File ioFile = file.toIoFile();
+        if (ioFile == null) {
+            return new CachedHash(file.getLength(), file.getLastModificationDate(), null, null);
+        }
+        try {
+            final BasicFileAttributes attributes = readAttributes(ioFile.toPath(), BasicFileAttributes.class);
+            return new CachedHash(attributes.size(), attributes.lastModifiedTime().toMillis(), attributes.fileKey(), null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface HashCalculator {
+        String calculate() throws ServerException, ForbiddenException;
+    }
+
+    private static final class Key implements Comparable<Key> {
+        final String path;
+        final String algorithm;
+
+        Key(String path, String algorithm) {
+            this.path = path;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return path.equals(other.path) && algorithm.equals(other.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, algorithm);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            final int byPath = path.compareTo(other.path);
+            return byPath != 0 ? byPath : algorithm.compareTo(other.algorithm);
+        }
+    }
+
+    private static final class CachedHash {
+        final long   size;
+        final long   lastModified;
+        final Object fileKey;
+        final String hash;
+
+        CachedHash(long size, long lastModified, Object fileKey, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+            this.hash = hash;
+        }
+
+        CachedHash withHash(String hash) {
+            return new CachedHash(size, lastModified, fileKey, hash);
+        }
+
+        boolean isValidFor(CachedHash attributes) {
+            return attributes != null
+                   && size == attributes.size
+                   && lastModified == attributes.lastModified
+                   && Objects.equals(fileKey, attributes.fileKey);
+        }
+    }
+}
@@ -11,33 +11,35 @@
 package org.eclipse.che.api.vfs;
 
 import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hasher;
-import com.google.common.io.ByteStreams;
 
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.hash.Funnels.asOutputStream;
 
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
- * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ * Algorithm specified by {@code hashFunction} is used for calculating hash sum. If {@link ContentHashCache} is given then hash sums
+ * of files that are not changed since previous calculation are taken from the cache.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
     private final VirtualFile                folder;
     private final HashFunction               hashFunction;
     private final List<Pair<String, String>> hashSums;
+    private final ContentHashCache           hashCache;
 
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null);
+    }
+
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, ContentHashCache hashCache) {
         this.folder = folder;
         this.hashFunction = hashFunction;
+        this.hashCache = hashCache;
         hashSums = newArrayList();
     }
 
@@ -57,13 +59,10 @@ public class HashSumsCounter implements VirtualFileVisitor {
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
-                final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
+            try {
+                final String hexHash = hashCache == null ? ContentHashCache.hash(virtualFile, hashFunction)
+                                                         : hashCache.getHash(virtualFile, hashFunction);
                 hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-            } catch (IOException e) {
-                throw new ServerException(e);
             } catch (ForbiddenException e) {
                 throw new ServerException(e.getServiceError());
             }
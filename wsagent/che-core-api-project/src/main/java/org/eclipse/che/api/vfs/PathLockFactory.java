@@ -10,6 +10,15 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -30,15 +39,31 @@ package org.eclipse.che.api.vfs;
  *         }
  *      }
  * </pre>
+ * Lock of path conflicts with locks of the same path, its parents and its children that are held by other threads if at least one
+ * of the locks is exclusive. Thread that already holds lock of path gets it again without waiting. Lock must be released by the
+ * thread that acquired it.
+ * <p/>
+ * State of locks is kept in table of reference counted entries, one entry per path. Entry exists while path or one of its children
+ * is locked or somebody waits for its lock. Entries are referenced and released with CAS on their counters and holders of path
+ * and locks of its children are kept in concurrent maps, so locks of paths that have common parents, e.g. the root, are acquired
+ * and released without taking any monitor shared with other paths. Only threads that acquire lock of the same path are serialized
+ * with the monitor of its entry.
+ * <p/>
+ * Lock of path is acquired in two steps. At first thread counts lock of child in each parent and checks that parents aren't
+ * locked by other threads. Then it adds itself as pending holder of the path and checks that children of the path aren't locked
+ * by other threads. Each thread publishes own lock before it checks locks of others, so out of two threads that acquire conflicting
+ * locks of parent and child at least one sees the other one. Thread that locks parent withdraws its pending lock if it sees lock
+ * of child, and thread that locks child waits until pending lock of parent is either confirmed or withdrawn, so one of them always
+ * makes progress. Waiting threads are woken up only when state of entries they wait for is changed.
  *
  * @author andrew00x>
  */
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int                        maxThreads;
+    /** Entries of locked paths and their parents. */
+    private final ConcurrentMap<Path, Entry> entries;
 
     /**
      * @param maxThreads
@@ -50,135 +75,351 @@ public final class PathLockFactory {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        this.entries = new ConcurrentHashMap<>();
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
         return new PathLock(path, exclusive ? maxThreads : 1);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * Acquires lock of the path.
+     *
+     * @param timeoutMilliseconds
+     *         max time to wait for lock, negative value means wait without timeout
+     */
+    private void acquire(Path path, int permits, long timeoutMilliseconds) {
+        final boolean exclusive = permits == maxThreads;
+        final Thread current = Thread.currentThread();
+        final Entry[] chain = pin(path);
+        final Attempt attempt = new Attempt();
+        boolean acquired = false;
+        try {
+            final Entry entry = chain[chain.length - 1];
+            final Hold hold = entry.holders.get(current);
+            if (hold != null) {
+                // Current thread already has direct lock for this path
+                if (hold.depth > MAX_RECURSIVE_LOCKS) {
+                    throw new Error("Max number of recursive locks exceeded. ");
+                }
+                ++hold.depth;
+                acquired = true;
+                return;
+            }
+            final long endTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds);
+            while (!tryAcquire(chain, current, exclusive, attempt)) {
+                long waitNanos = -1;
+                if (timeoutMilliseconds >= 0) {
+                    waitNanos = endTime - System.nanoTime();
+                    if (waitNanos <= 0) {
+                        throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                    }
+                }
+                attempt.blocker.await(attempt.version, waitNanos);
+            }
+            acquired = true;
+        } finally {
+            if (!acquired) {
+                if (attempt.childLocksAdded) {
+                    removeChildLocks(chain, current, exclusive);
+                }
+                unpin(chain);
             }
         }
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * Tries to acquire lock. If lock can't be acquired then {@code attempt} receives entry that prevents acquiring of lock and its
+     * version that is expected to change when acquiring should be retried.
+     *
+     * @param chain
+     *         entries of the root, all parents of the path and the path
+     * @return {@code true} if lock is acquired
+     */
+    private boolean tryAcquire(Entry[] chain, Thread current, boolean exclusive, Attempt attempt) {
+        if (!attempt.childLocksAdded) {
+            addChildLocks(chain, current, exclusive);
+            attempt.childLocksAdded = true;
+        }
+        for (int i = 0; i < chain.length - 1; i++) {
+            final Entry parent = chain[i];
+            final long version = parent.version.get();
+            final Hold conflicting = parent.findConflictingHolder(current, exclusive);
+            if (conflicting != null) {
+                attempt.blocker = parent;
+                if (conflicting.pending) {
+                    // Other thread is about to lock the parent, it sees lock of child and withdraws, or confirms its lock.
+                    // Lock of child is kept, so waiting for such short-lived state can't be infinite.
+                    attempt.version = version;
+                } else {
+                    // Parent of the path is locked by other thread, removing of child lock changes the parent once
+                    removeChildLocks(chain, current, exclusive);
+                    attempt.childLocksAdded = false;
+                    attempt.version = version + 1;
+                }
+                return false;
+            }
+        }
+        final Entry entry = chain[chain.length - 1];
+        entry.lock.lock();
+        try {
+            final long version = entry.version.get();
+            if (entry.findConflictingHolder(current, exclusive) != null
+                || !exclusive && entry.holders.size() >= maxThreads - 1) {
+                removeChildLocks(chain, current, exclusive);
+                attempt.childLocksAdded = false;
+                attempt.blocker = entry;
+                attempt.version = version;
+                return false;
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            final Hold hold = new Hold(exclusive);
+            entry.holders.put(current, hold);
+            if (entry.hasChildLocksOfOther(current, exclusive)) {
+                // Child of the path is locked or is being locked by other thread, removing of pending lock changes the entry once
+                entry.holders.remove(current);
+                entry.changed();
+                removeChildLocks(chain, current, exclusive);
+                attempt.childLocksAdded = false;
+                attempt.blocker = entry;
+                attempt.version = version + 1;
+                return false;
             }
-            waitTime = endTime - now;
+            hold.pending = false;
+            entry.changed();
+            return true;
+        } finally {
+            entry.lock.unlock();
         }
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
+    private void release(Path path) {
+        final Thread current = Thread.currentThread();
+        final Entry[] chain = new Entry[path.length() + 1];
+        Path currentPath = path;
+        for (int i = chain.length - 1; i >= 0; i--) {
+            chain[i] = entries.get(currentPath);
+            if (chain[i] == null) {
+                // Path isn't locked
+                return;
             }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
-                    }
-                } else {
-                    --prev.threadDeep;
+            currentPath = currentPath.getParent();
+        }
+        final Entry entry = chain[chain.length - 1];
+        final Hold hold = entry.holders.get(current);
+        if (hold == null) {
+            // Path isn't locked by current thread
+            return;
+        }
+        if (--hold.depth == 0) {
+            entry.holders.remove(current);
+            entry.changed();
+            removeChildLocks(chain, current, hold.exclusive);
+        }
+        unpin(chain);
+    }
+
+    private static void addChildLocks(Entry[] chain, Thread current, boolean exclusive) {
+        for (int i = 0; i < chain.length - 1; i++) {
+            chain[i].addChildLock(current, exclusive);
+        }
+    }
+
+    private static void removeChildLocks(Entry[] chain, Thread current, boolean exclusive) {
+        for (int i = 0; i < chain.length - 1; i++) {
+            chain[i].removeChildLock(current, exclusive);
+        }
+    }
+
+    /** Gets or creates entries of the root, all parents of the path and the path, each entry is referenced until it is unpinned. */
+    private Entry[] pin(Path path) {
+        final Entry[] chain = new Entry[path.length() + 1];
+        Path currentPath = path;
+        for (int i = chain.length - 1; i >= 0; i--) {
+            chain[i] = pinEntry(currentPath);
+            currentPath = currentPath.getParent();
+        }
+        return chain;
+    }
+
+    private Entry pinEntry(Path path) {
+        for (; ; ) {
+            Entry entry = entries.get(path);
+            if (entry == null) {
+                final Entry created = new Entry(path);
+                entry = entries.putIfAbsent(path, created);
+                if (entry == null) {
+                    return created;
                 }
             }
-            node = node.prev;
+            if (entry.reference()) {
+                return entry;
+            }
+            // Entry is released by the last thread that referenced it but isn't removed from table yet
+            entries.remove(path, entry);
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
-                }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
-                }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
-                }
+    private void unpin(Entry[] chain) {
+        for (Entry entry : chain) {
+            if (entry.references.decrementAndGet() == 0) {
+                entries.remove(entry.path, entry);
             }
-            node = node.prev;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    public void checkClean() {
+        assert isClean();
+    }
+
+    /** Returns {@code true} if there are neither held locks nor threads which wait for locks. */
+    public boolean isClean() {
+        return entries.isEmpty();
     }
 
    /* =============================================== */
 
-    private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+    /** State of one attempt to acquire lock that is kept between retries. */
+    private static class Attempt {
+        boolean childLocksAdded;
+        Entry   blocker;
+        long    version;
+    }
+
+    /** Lock of path held by thread. */
+    private static class Hold {
+        final boolean exclusive;
+        /** Depth of recursive locking, accessed only by thread that holds lock. */
+        int depth;
+        /** Lock is added but children of path aren't checked yet. */
+        volatile boolean pending;
+
+        Hold(boolean exclusive) {
+            this.exclusive = exclusive;
+            this.depth = 1;
+            this.pending = true;
+        }
+    }
+
+    /**
+     * Locks of path and its children. Holders and locks of children are read without locking, {@link #lock} serializes threads that
+     * acquire lock of this path and guards waiting for changes.
+     */
+    private static class Entry {
+        final Path                           path;
+        final ReentrantLock                  lock;
+        final Condition                      changed;
+        final ConcurrentMap<Thread, Hold>    holders;
+        /** Number of locks of children held by each thread. */
+        final ConcurrentMap<Thread, Integer> childLocks;
+        /** Number of exclusive locks of children held by each thread. */
+        final ConcurrentMap<Thread, Integer> childExclusiveLocks;
+        final AtomicLong                     version;
+        /** Number of threads which wait for change of this entry. */
+        final AtomicInteger                  waiters;
+        /** Number of threads which hold or wait for lock of this path or its children, entry is removed when it drops to zero. */
+        final AtomicInteger                  references;
 
-        Node(Path path, int permits, Node prev) {
+        Entry(Path path) {
             this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+            this.lock = new ReentrantLock();
+            this.changed = lock.newCondition();
+            this.holders = new ConcurrentHashMap<>(4);
+            this.childLocks = new ConcurrentHashMap<>(4);
+            this.childExclusiveLocks = new ConcurrentHashMap<>(4);
+            this.version = new AtomicLong();
+            this.waiters = new AtomicInteger();
+            this.references = new AtomicInteger(1);
         }
 
-        @Override
-        public String toString() {
-            return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
-                   '}';
+        /** Adds reference to entry, fails if entry is already released by the last thread that referenced it. */
+        boolean reference() {
+            for (; ; ) {
+                final int current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /** Returns lock of this path held or being acquired by other thread that conflicts with requested lock. */
+        Hold findConflictingHolder(Thread current, boolean exclusive) {
+            for (Map.Entry<Thread, Hold> holder : holders.entrySet()) {
+                if (holder.getKey() != current && (exclusive || holder.getValue().exclusive)) {
+                    return holder.getValue();
+                }
+            }
+            return null;
+        }
+
+        boolean hasChildLocksOfOther(Thread current, boolean exclusive) {
+            return hasOther(childExclusiveLocks, current) || exclusive && hasOther(childLocks, current);
+        }
+
+        void addChildLock(Thread current, boolean exclusive) {
+            childLocks.merge(current, 1, Integer::sum);
+            if (exclusive) {
+                childExclusiveLocks.merge(current, 1, Integer::sum);
+            }
+        }
+
+        void removeChildLock(Thread current, boolean exclusive) {
+            childLocks.computeIfPresent(current, (thread, count) -> count == 1 ? null : count - 1);
+            if (exclusive) {
+                childExclusiveLocks.computeIfPresent(current, (thread, count) -> count == 1 ? null : count - 1);
+            }
+            changed();
+        }
+
+        /** Wakes up threads which wait for this entry, monitor is taken only if there are such threads. */
+        void changed() {
+            version.incrementAndGet();
+            if (waiters.get() > 0) {
+                lock.lock();
+                try {
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Waits until state of entry is changed.
+         *
+         * @param expectedVersion
+         *         version of entry that is seen by caller, method returns immediately if entry is already changed
+         * @param waitNanos
+         *         max time to wait, negative value means wait without timeout
+         */
+        void await(long expectedVersion, long waitNanos) {
+            waiters.incrementAndGet();
+            lock.lock();
+            try {
+                if (version.get() == expectedVersion) {
+                    if (waitNanos < 0) {
+                        changed.await();
+                    } else {
+                        changed.awaitNanos(waitNanos);
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                lock.unlock();
+                waiters.decrementAndGet();
+            }
+        }
+
+        private static boolean hasOther(Map<Thread, ?> threads, Thread current) {
+            for (Thread thread : threads.keySet()) {
+                if (thread != current) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 
@@ -197,7 +438,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, permits, -1);
             return this;
         }
 
@@ -212,13 +453,13 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(path, permits, Math.max(timeoutMilliseconds, 0));
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
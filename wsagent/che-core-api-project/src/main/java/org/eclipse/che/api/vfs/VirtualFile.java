@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -115,6 +116,19 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream getContent() throws ForbiddenException, ServerException;
 
+    /**
+     * Opens content of the file for transfer. Size of opened content is fixed at the moment it is opened, so no more than that
+     * size is transferred from it even if the file grows afterwards. Returned content must be closed.
+     *
+     * @return opened content of the file
+     * @throws ForbiddenException
+     *         if this item is not a file
+     * @throws ServerException
+     *         if other error occurs
+     * @see #isFile()
+     */
+    VirtualFileContent openContent() throws ForbiddenException, ServerException;
+
     /**
      * Gets content of the file as bytes.
      *
@@ -507,6 +521,18 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream zip() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as zip archive to the specified stream.
+     *
+     * @param zipOutput
+     *         stream to write zip archive to
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void zip(OutputStream zipOutput) throws ForbiddenException, ServerException;
+
     /**
      * Extracts zip archive to the folder denoted by this VirtualFile.
      *
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Content of file opened for transfer. Size of content is fixed when it is opened, so it may be used for headers of response that
+ * is written afterwards, even if the file is replaced or removed in the meantime. Content must be closed after transfer.
+ *
+ * @see VirtualFile#openContent()
+ */
+public interface VirtualFileContent extends Closeable {
+    /** Gets size of content at the moment it was opened. */
+    long size();
+
+    /**
+     * Writes part of content to the specified stream.
+     *
+     * @param output
+     *         stream to write content to
+     * @param offset
+     *         position of the first byte to write
+     * @param length
+     *         max number of bytes to write
+     * @return number of bytes that are actually written, never more than {@link #size()} allows
+     * @throws IllegalArgumentException
+     *         if {@code offset} or {@code length} is negative
+     */
+    long transferTo(OutputStream output, long offset, long length) throws IOException;
+}
@@ -14,6 +14,9 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.watcher.FileChangeEvent;
+import org.eclipse.che.api.vfs.watcher.FileChangeEventBus;
+import org.eclipse.che.api.vfs.watcher.FileChangeListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +63,12 @@ import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Watches file tree and notifies {@link FileWatcherNotificationHandler} about changes.
+ * <p>
+ * If watcher is created with {@link FileChangeEventBus} it doesn't set up watches on its own but receives coalesced changes from the
+ * bus. Otherwise watcher sets up watch service for each directory of the tree and processes events in separate thread.
+ */
 @Singleton
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
@@ -73,13 +82,31 @@ public class FileTreeWatcher {
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
+    private final FileChangeEventBus             eventBus;
+    private final FileChangeListener             eventBusListener;
     private       WatchService                   watchService;
     private       WatchEvent.Modifier[]          watchEventModifiers;
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
                            @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                           FileChangeEventBus eventBus) {
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, eventBus, watchRoot.toPath().toAbsolutePath());
+    }
+
+    public FileTreeWatcher(File watchRoot,
+                           Set<PathMatcher> excludePatterns,
                            FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this(watchRoot, excludePatterns, fileWatcherNotificationHandler, null, null);
+    }
+
+    private FileTreeWatcher(File watchRoot,
+                            Set<PathMatcher> excludePatterns,
+                            FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                            FileChangeEventBus eventBus,
+                            Path eventBusRoot) {
+        this.eventBus = eventBus;
         watchEventModifiers = new WatchEvent.Modifier[0];
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
@@ -94,6 +121,13 @@ public class FileTreeWatcher {
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
         watchedDirectories = newHashMap();
+        eventBusListener = eventBus == null ? null : changes -> {
+            for (FileChangeEvent change : changes) {
+                if (running.get() && change.getPath().startsWith(eventBusRoot)) {
+                    fireRelativeWatchEvent(change.getType(), eventBusRoot.relativize(change.getPath()), change.isDirectory());
+                }
+            }
+        };
     }
 
     private static File toCanonicalFile(File file) {
@@ -105,6 +139,12 @@ public class FileTreeWatcher {
     }
 
     public void startup() throws IOException {
+        if (eventBus != null) {
+            running.set(true);
+            eventBus.subscribe(eventBusListener);
+            fileWatcherNotificationHandler.started(watchRoot);
+            return;
+        }
         watchService = FileSystems.getDefault().newWatchService();
         if (isPollingWatchService(watchService)) {
             watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
@@ -131,6 +171,12 @@ public class FileTreeWatcher {
     }
 
     public void shutdown() {
+        if (eventBus != null) {
+            running.set(false);
+            eventBus.unsubscribe(eventBusListener);
+            executor.shutdown();
+            return;
+        }
         boolean interrupted = false;
         executor.shutdown();
         try {
@@ -346,7 +392,10 @@ public class FileTreeWatcher {
     }
 
     private void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
-        Path relativePath = watchRootPath.relativize(eventPath);
+        fireRelativeWatchEvent(eventType, watchRootPath.relativize(eventPath), isDirectory);
+    }
+
+    private void fireRelativeWatchEvent(FileWatcherEventType eventType, Path relativePath, boolean isDirectory) {
         if (shouldNotify(relativePath)) {
             fileWatcherNotificationHandler.handleFileWatcherEvent(eventType, watchRoot, relativePath.toString(), isDirectory);
         }
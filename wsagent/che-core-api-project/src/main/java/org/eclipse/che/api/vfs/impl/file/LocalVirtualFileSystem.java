@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -25,11 +26,13 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.ContentHashCache;
 import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.PathLockFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileContent;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -52,7 +55,12 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -62,9 +70,13 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newLinkedHashMap;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
+import static java.util.Comparator.comparing;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
@@ -94,6 +106,25 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final FilenameFilter VFS_LOCK_FILTER =
             (dir, name) -> !(dir.getAbsolutePath().endsWith(FILE_LOCKS_DIR) || name.endsWith(LOCK_FILE_SUFFIX));
 
+    /**
+     * Listing of folder is cached only if folder isn't modified during this time. Resolution of modification time is coarse on some
+     * file systems, so changes that are made right after listing might not change modification time.
+     */
+    private static final long CHILDREN_CACHE_MIN_AGE = 2000;
+
+    /** Names and types of children of folder. Listing is valid while last modification time of folder is not changed. */
+    private static class FolderListing {
+        final long      lastModified;
+        final String[]  names;
+        final Boolean[] folders;
+
+        FolderListing(long lastModified, String[] names, Boolean[] folders) {
+            this.lastModified = lastModified;
+            this.names = names;
+            this.folders = folders;
+        }
+    }
+
     private class LockTokenCacheLoader extends CacheLoader<Path, FileLock> {
         @Override
         public FileLock load(Path path) throws Exception {
@@ -136,15 +167,34 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-    @SuppressWarnings("unchecked")
+    private final Cache<Path, FolderListing> childrenCache;
+    private final ContentHashCache           hashCache;
+
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
                                   SearcherProvider searcherProvider,
                                   AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+        this(ioRoot, archiverFactory, searcherProvider, closeCallback, 0, null);
+    }
+
+    /**
+     * @param childrenCacheSize
+     *         max number of folders which listings are cached, {@code 0} disables cache
+     * @param hashCache
+     *         cache of hash sums of files, may be {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public LocalVirtualFileSystem(File ioRoot,
+                                  ArchiverFactory archiverFactory,
+                                  SearcherProvider searcherProvider,
+                                  AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+                                  int childrenCacheSize,
+                                  ContentHashCache hashCache) {
         this.ioRoot = ioRoot;
         this.archiverFactory = archiverFactory;
         this.searcherProvider = searcherProvider;
         this.closeCallback = closeCallback;
+        this.hashCache = hashCache;
 
         root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
         pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
@@ -162,6 +212,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        childrenCache = childrenCacheSize > 0 ? CacheBuilder.newBuilder()
+                                                            .concurrencyLevel(8)
+                                                            .maximumSize(childrenCacheSize)
+                                                            .expireAfterAccess(10, MINUTES)
+                                                            .build()
+                                              : null;
     }
 
     @Override
@@ -208,6 +265,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        if (childrenCache != null) {
+            childrenCache.invalidateAll();
+        }
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -243,41 +303,110 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
-            return children;
+            return doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
         }
         return emptyList();
     }
 
 
+    /**
+     * Gets children sorted in the same order as {@link LocalVirtualFile#compareTo(VirtualFile)} does, folders first and then files.
+     * Types of children are taken from the listing of folder, so sorting doesn't read attributes of each item again. Types are not
+     * kept in created items since item may be removed or replaced after listing.
+     */
     private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
             throws ServerException {
         if (ioFileFilter == null) {
             ioFileFilter = IoUtil.ANY_FILTER;
         }
 
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
-        }
+        final FolderListing listing = getFolderListing(parent, ioFileFilter);
 
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
+        final List<VirtualFile> folders = newArrayList();
+        final List<VirtualFile> files = newArrayListWithCapacity(listing.names.length);
+        for (int i = 0; i < listing.names.length; i++) {
+            final Path childPath = parent.getPath().newPath(listing.names[i]);
             final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
             if (vfsFilter.accept(child)) {
-                children.add(child);
+                if (listing.folders[i] == null ? child.isFolder() : listing.folders[i]) {
+                    folders.add(child);
+                } else {
+                    files.add(child);
+                }
+            }
+        }
+        folders.sort(comparing(VirtualFile::getName));
+        files.sort(comparing(VirtualFile::getName));
+
+        folders.addAll(files);
+        return folders;
+    }
+
+    /**
+     * Gets listing of folder from cache if folder isn't modified since it was cached, otherwise reads listing from file system.
+     * Cache is used only with default filter of items, listings with other filters are always read from file system.
+     */
+    private FolderListing getFolderListing(LocalVirtualFile folder, FilenameFilter ioFileFilter) throws ServerException {
+        if (childrenCache == null || ioFileFilter != DOT_VFS_DIR_FILTER) {
+            return readFolderListing(folder, ioFileFilter);
+        }
+        final long lastModified = folder.toIoFile().lastModified();
+        final FolderListing cached = childrenCache.getIfPresent(folder.getPath());
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached;
+        }
+        final FolderListing listing = readFolderListing(folder, ioFileFilter);
+        if (System.currentTimeMillis() - listing.lastModified > CHILDREN_CACHE_MIN_AGE) {
+            childrenCache.put(folder.getPath(), listing);
+        } else {
+            childrenCache.invalidate(folder.getPath());
+        }
+        return listing;
+    }
+
+    /**
+     * Lists folder and reads attributes of its children in one pass, so type of items is known without extra calls to file
+     * system. Modification time of folder is read before listing, so if folder is modified during listing then listing is
+     * considered as outdated next time.
+     */
+    private FolderListing readFolderListing(LocalVirtualFile folder, FilenameFilter ioFileFilter) throws ServerException {
+        final File ioFolder = folder.toIoFile();
+        final long lastModified = ioFolder.lastModified();
+        final List<String> names = newArrayList();
+        final List<Boolean> folders = newArrayList();
+        try (DirectoryStream<java.nio.file.Path> stream = newDirectoryStream(ioFolder.toPath())) {
+            for (java.nio.file.Path child : stream) {
+                final String name = child.getFileName().toString();
+                if (!ioFileFilter.accept(ioFolder, name)) {
+                    continue;
+                }
+                names.add(name);
+                folders.add(readFolderAttribute(child));
             }
+        } catch (IOException e) {
+            throw new ServerException(String.format("Unable get children of '%s'", folder.getPath()), e);
         }
+        return new FolderListing(lastModified, names.toArray(new String[names.size()]), folders.toArray(new Boolean[folders.size()]));
+    }
 
-        return children;
+    /** Returns {@code true} for folder, {@code false} for regular file and {@code null} if type is unknown. */
+    private Boolean readFolderAttribute(java.nio.file.Path path) {
+        try {
+            final BasicFileAttributes attributes = readAttributes(path, BasicFileAttributes.class);
+            if (attributes.isDirectory()) {
+                return true;
+            }
+            return attributes.isRegularFile() ? false : null;
+        } catch (IOException e) {
+            // Item is removed after listing or it is broken link, let item check its type on demand
+            return null;
+        }
     }
 
 
@@ -518,6 +647,74 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    VirtualFileContent openContent(LocalVirtualFile virtualFile) throws ForbiddenException, ServerException {
+        if (!virtualFile.isFile()) {
+            throw new ForbiddenException(String.format("Unable get content. Item '%s' is not a file", virtualFile.getPath()));
+        }
+        // Lock is held only while file is opened, opened channel stays readable even if file is replaced or removed afterwards.
+        // Size is fixed at the same moment, so the client never gets more bytes than it was promised.
+        final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+        try {
+            final FileChannel channel = FileChannel.open(virtualFile.toIoFile().toPath(), READ);
+            try {
+                return new FileChannelContent(channel, channel.size());
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
+            LOG.error(errorMessage + "\n" + e.getMessage(), e);
+            throw new ServerException(errorMessage);
+        } finally {
+            lock.release();
+        }
+    }
+
+    /** Content of file that is transferred from opened channel directly to the output. */
+    private static class FileChannelContent implements VirtualFileContent {
+        private final FileChannel channel;
+        private final long        size;
+
+        FileChannelContent(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long transferTo(OutputStream output, long offset, long length) throws IOException {
+            if (offset < 0 || length < 0) {
+                throw new IllegalArgumentException(String.format("Invalid range, offset: %d, length: %d", offset, length));
+            }
+            if (offset >= size) {
+                return 0;
+            }
+            final long end = offset + Math.min(length, size - offset);
+            final WritableByteChannel target = Channels.newChannel(output);
+            long position = offset;
+            while (position < end) {
+                final long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    // File is truncated after opening
+                    break;
+                }
+                position += transferred;
+            }
+            return position - offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+
     void updateContent(LocalVirtualFile virtualFile, InputStream content, String lockToken)
             throws ForbiddenException, ServerException {
         if (virtualFile.isFile()) {
@@ -608,6 +805,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    void zip(LocalVirtualFile folder, OutputStream zipOutput) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "zip"), zipOutput);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
+
     void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -662,6 +871,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    /** Writes archive directly to the specified stream, nothing is spooled to temporary file. */
+    private void compress(Archiver archiver, OutputStream output) throws ForbiddenException, ServerException {
+        try {
+            archiver.compress(output, dotGitFilter());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
@@ -908,7 +1126,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return new HashSumsCounter(virtualFile, Hashing.md5(), hashCache).countHashSums();
     }
 
 
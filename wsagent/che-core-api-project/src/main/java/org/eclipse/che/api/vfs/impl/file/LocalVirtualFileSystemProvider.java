@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.ContentHashCache;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
@@ -27,17 +28,36 @@ import java.nio.file.Files;
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
     private final File             rootDirectory;
     private final SearcherProvider searcherProvider;
+    private final int              childrenCacheSize;
+    private final ContentHashCache hashCache;
 
+    /**
+     * @param childrenCacheSize
+     *         max number of folders which listings are cached, {@code 0} disables cache
+     */
     @Inject
     public LocalVirtualFileSystemProvider(@Named("che.user.workspaces.storage") File rootDirectory,
-                                          SearcherProvider searcherProvider) throws IOException {
+                                          SearcherProvider searcherProvider,
+                                          @Named("vfs.local.children_cache_size") int childrenCacheSize,
+                                          ContentHashCache hashCache) throws IOException {
         this.rootDirectory = rootDirectory;
         this.searcherProvider = searcherProvider;
+        this.childrenCacheSize = childrenCacheSize;
+        this.hashCache = hashCache;
         Files.createDirectories(rootDirectory.toPath());
     }
 
+    public LocalVirtualFileSystemProvider(File rootDirectory, SearcherProvider searcherProvider) throws IOException {
+        this(rootDirectory, searcherProvider, 0, null);
+    }
+
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory,
+                                          new ArchiverFactory(),
+                                          searcherProvider,
+                                          closeCallback,
+                                          childrenCacheSize,
+                                          hashCache);
     }
 }
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file.event.detectors;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Shared scheduler of delayed confirmations of file events, e.g. item is reported as deleted only if it is not
+ * created again during some time. All tasks are executed by the single thread.
+ *
+ * <p>Tasks are registered per path inside of a group, usually group identifies the tracker and the client endpoint.
+ * Inside of a group:
+ * <ul>
+ * <li>new task of a path replaces the pending one, so repeated events of the path result in a single check</li>
+ * <li>task of a directory absorbs pending tasks of the paths under it, and tasks of the paths under the directory which
+ * are scheduled while its task is pending are absorbed as well, so removal of a directory results in a single notification.
+ * If task of the directory is cancelled then absorbed tasks are scheduled again</li>
+ * </ul>
+ */
+@Singleton
+public class DelayedPathTaskScheduler {
+    private static final Logger LOG = getLogger(DelayedPathTaskScheduler.class);
+
+    private final Map<String, NavigableMap<String, PendingTask>> groups;
+    private final ScheduledThreadPoolExecutor                    executor;
+
+    public DelayedPathTaskScheduler() {
+        this.groups = new HashMap<>();
+        this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("DelayedPathTaskScheduler")
+                                                                                     .setUncaughtExceptionHandler(
+                                                                                             LoggingUncaughtExceptionHandler
+                                                                                                     .getInstance())
+                                                                                     .setDaemon(true)
+                                                                                     .build());
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Schedules task of the path.
+     *
+     * @param group
+     *         group of the task
+     * @param path
+     *         path separated with '/'
+     * @param delayMs
+     *         delay in milliseconds
+     * @param task
+     *         task to execute
+     */
+    public synchronized void schedule(String group, String path, long delayMs, Runnable task) {
+        final NavigableMap<String, PendingTask> tasks = groups.computeIfAbsent(group, key -> new TreeMap<>());
+        final PendingTask newTask = new PendingTask(group, path, delayMs, task);
+
+        final PendingTask ancestor = findAncestor(tasks, path);
+        if (ancestor != null) {
+            ancestor.absorbed.put(path, newTask);
+            return;
+        }
+
+        final PendingTask previous = tasks.remove(path);
+        if (previous != null) {
+            previous.future.cancel(false);
+            newTask.absorbed.putAll(previous.absorbed);
+        }
+        final NavigableMap<String, PendingTask> descendants = tasks.subMap(path + '/', true, path + "/\uffff", true);
+        for (PendingTask descendant : descendants.values()) {
+            descendant.future.cancel(false);
+            newTask.absorbed.put(descendant.path, descendant);
+            newTask.absorbed.putAll(descendant.absorbed);
+            descendant.absorbed.clear();
+        }
+        descendants.clear();
+
+        tasks.put(path, newTask);
+        newTask.future = executor.schedule(() -> execute(newTask), delayMs, MILLISECONDS);
+    }
+
+    /**
+     * Cancels pending task of the path, tasks absorbed by the cancelled one are scheduled again.
+     *
+     * @return {@code true} when task of the path was pending, {@code false} otherwise
+     */
+    public synchronized boolean cancel(String group, String path) {
+        final NavigableMap<String, PendingTask> tasks = groups.get(group);
+        if (tasks == null) {
+            return false;
+        }
+        final PendingTask pending = tasks.remove(path);
+        if (pending == null) {
+            final PendingTask ancestor = findAncestor(tasks, path);
+            return ancestor != null && ancestor.absorbed.remove(path) != null;
+        }
+        pending.future.cancel(false);
+        if (tasks.isEmpty()) {
+            groups.remove(group);
+        }
+        for (PendingTask absorbed : pending.absorbed.values()) {
+            schedule(absorbed.group, absorbed.path, absorbed.delayMs, absorbed.task);
+        }
+        return true;
+    }
+
+    /** Returns paths of the group which have pending tasks, including absorbed ones. */
+    @VisibleForTesting
+    synchronized Set<String> getPendingPaths(String group) {
+        final Set<String> paths = new TreeSet<>();
+        final NavigableMap<String, PendingTask> tasks = groups.get(group);
+        if (tasks != null) {
+            for (PendingTask pending : tasks.values()) {
+                paths.add(pending.path);
+                paths.addAll(pending.absorbed.keySet());
+            }
+        }
+        return paths;
+    }
+
+    private void execute(PendingTask pending) {
+        synchronized (this) {
+            final NavigableMap<String, PendingTask> tasks = groups.get(pending.group);
+            if (tasks == null || tasks.get(pending.path) != pending) {
+                // cancelled or replaced with another task
+                return;
+            }
+            tasks.remove(pending.path);
+            if (tasks.isEmpty()) {
+                groups.remove(pending.group);
+            }
+        }
+        try {
+            pending.task.run();
+        } catch (RuntimeException e) {
+            LOG.error(String.format("Error while executing delayed task of path '%s'", pending.path), e);
+        }
+    }
+
+    private static PendingTask findAncestor(NavigableMap<String, PendingTask> tasks, String path) {
+        for (int idx = path.lastIndexOf('/'); idx > 0; idx = path.lastIndexOf('/', idx - 1)) {
+            final PendingTask ancestor = tasks.get(path.substring(0, idx));
+            if (ancestor != null) {
+                return ancestor;
+            }
+        }
+        return null;
+    }
+
+    private static class PendingTask {
+        final String                   group;
+        final String                   path;
+        final long                     delayMs;
+        final Runnable                 task;
+        final Map<String, PendingTask> absorbed;
+
+        ScheduledFuture<?> future;
+
+        PendingTask(String group, String path, long delayMs, Runnable task) {
+            this.group = group;
+            this.path = path;
+            this.delayMs = delayMs;
+            this.task = task;
+            this.absorbed = new TreeMap<>();
+        }
+    }
+}
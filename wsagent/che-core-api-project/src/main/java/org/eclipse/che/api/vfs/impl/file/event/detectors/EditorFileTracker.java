@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
 import org.eclipse.che.api.project.shared.dto.event.FileStateUpdateDto;
 import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto;
 import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto.Type;
+import org.eclipse.che.api.vfs.ContentHashCache;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
@@ -31,18 +32,14 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.nio.file.Files;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
-import static java.nio.charset.Charset.defaultCharset;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
-import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -68,30 +65,39 @@ public class EditorFileTracker {
 
     private static final String OUTGOING_METHOD = "event:file-state-changed";
     private static final String INCOMING_METHOD = "track:editor-file";
+    private static final String EMPTY_HASH      = Hashing.md5().hashBytes(new byte[0]).toString();
+    private static final long   DELETE_DELAY_MS = 1_000L;
 
-    private final Map<String, String>  hashRegistry    = new HashMap<>();
-    private final Map<String, Integer> watchIdRegistry = new HashMap<>();
+    private final Map<String, String>  hashRegistry    = new ConcurrentHashMap<>();
+    private final Map<String, Integer> watchIdRegistry = new ConcurrentHashMap<>();
 
     private final RequestTransmitter        transmitter;
     private       File                      root;
     private final FileWatcherManager fileWatcherManager;
     private final VirtualFileSystemProvider vfsProvider;
+    private final ContentHashCache          hashCache;
+    private final DelayedPathTaskScheduler  scheduler;
 
 
     @Inject
     public EditorFileTracker(@Named("che.user.workspaces.storage") File root, FileWatcherManager fileWatcherManager,
                              RequestTransmitter transmitter,
-                             VirtualFileSystemProvider vfsProvider) {
+                             VirtualFileSystemProvider vfsProvider,
+                             ContentHashCache hashCache,
+                             DelayedPathTaskScheduler scheduler) {
         this.root = root;
         this.fileWatcherManager = fileWatcherManager;
         this.transmitter = transmitter;
         this.vfsProvider = vfsProvider;
+        this.hashCache = hashCache;
+        this.scheduler = scheduler;
     }
 
     @Inject
     public void configureHandler(RequestHandlerConfigurator configurator) {
         configurator.newConfiguration()
                     .methodName(INCOMING_METHOD)
+                    .ordered()
                     .paramsAsDto(FileTrackingOperationDto.class)
                     .noResult()
                     .withConsumer(getFileTrackingOperationConsumer());
@@ -165,7 +171,12 @@ public class EditorFileTracker {
     }
 
     private Consumer<String> getCreateConsumer(String endpointId, String path) {
-        return EMPTY_CONSUMER;
+        return it -> {
+            // file is replaced, e.g. saved via rename, check whether its content is changed
+            if (scheduler.cancel(getTaskGroup(endpointId), it)) {
+                getModifyConsumer(endpointId, path).accept(it);
+            }
+        };
     }
 
     private Consumer<String> getModifyConsumer(String endpointId, String path) {
@@ -177,7 +188,11 @@ public class EditorFileTracker {
                 return;
             }
 
-            hashRegistry.put(path + endpointId, newHash);
+            if (newHash == null) {
+                hashRegistry.remove(path + endpointId);
+            } else {
+                hashRegistry.put(path + endpointId, newHash);
+            }
 
             FileStateUpdateDto params = newDto(FileStateUpdateDto.class).withPath(path).withType(MODIFIED).withHashCode(newHash);
             transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
@@ -185,22 +200,22 @@ public class EditorFileTracker {
     }
 
     private Consumer<String> getDeleteConsumer(String endpointId, String path) {
-        return it -> new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (!Files.exists(FileWatcherUtils.toNormalPath(root.toPath(), it))) {
-                    FileStateUpdateDto params = newDto(FileStateUpdateDto.class).withPath(path).withType(DELETED);
-                    transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
-                }
-
+        return it -> scheduler.schedule(getTaskGroup(endpointId), it, DELETE_DELAY_MS, () -> {
+            if (!Files.exists(FileWatcherUtils.toNormalPath(root.toPath(), it))) {
+                FileStateUpdateDto params = newDto(FileStateUpdateDto.class).withPath(path).withType(DELETED);
+                transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
             }
-        }, 1_000L);
+        });
+    }
+
+    private static String getTaskGroup(String endpointId) {
+        return OUTGOING_METHOD + ':' + endpointId;
     }
 
     private String hashFile(String path) {
         try {
             VirtualFile file = vfsProvider.getVirtualFileSystem().getRoot().getChild(Path.of(path));
-            return Hashing.md5().hashString(file == null ? "" : file.getContentAsString(), defaultCharset()).toString();
+            return file == null ? EMPTY_HASH : hashCache.getTextHash(file, Hashing.md5());
         } catch (ServerException | ForbiddenException e) {
             LOG.error("Error trying to read {} file and broadcast it", path, e);
         }
@@ -20,17 +20,13 @@ import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
@@ -44,24 +40,29 @@ public class ProjectTreeTracker {
 
     private static final String OUTGOING_METHOD = "event:project-tree-state-changed";
     private static final String INCOMING_METHOD = "track:project-tree";
+    private static final long   DELETE_DELAY_MS = 1_000L;
 
-    private final Map<String, Integer> watchIdRegistry = new HashMap<>();
-    private final Set<String>          timers          = newConcurrentHashSet();
+    private final Map<String, Integer> watchIdRegistry = new ConcurrentHashMap<>();
 
 
-    private final RequestTransmitter transmitter;
-    private final FileWatcherManager fileWatcherManager;
+    private final RequestTransmitter       transmitter;
+    private final FileWatcherManager       fileWatcherManager;
+    private final DelayedPathTaskScheduler scheduler;
 
     @Inject
-    public ProjectTreeTracker(FileWatcherManager fileWatcherManager, RequestTransmitter transmitter) {
+    public ProjectTreeTracker(FileWatcherManager fileWatcherManager,
+                              RequestTransmitter transmitter,
+                              DelayedPathTaskScheduler scheduler) {
         this.fileWatcherManager = fileWatcherManager;
         this.transmitter = transmitter;
+        this.scheduler = scheduler;
     }
 
     @Inject
     public void configureHandler(RequestHandlerConfigurator configurator) {
         configurator.newConfiguration()
                     .methodName(INCOMING_METHOD)
+                    .ordered()
                     .paramsAsDto(ProjectTreeTrackingOperationDto.class)
                     .noResult()
                     .withConsumer(getProjectTreeTrackingOperationConsumer());
@@ -124,9 +125,8 @@ public class ProjectTreeTracker {
 
     private Consumer<String> getCreateOperation(String endpointId) {
         return it -> {
-            if (timers.contains(it)) {
-                timers.remove(it);
-            } else {
+            // item which is removed and created again is not reported
+            if (!scheduler.cancel(getTaskGroup(endpointId), it)) {
                 ProjectTreeStateUpdateDto params = newDto(ProjectTreeStateUpdateDto.class).withPath(it).withType(CREATED);
                 transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
             }
@@ -138,19 +138,13 @@ public class ProjectTreeTracker {
     }
 
     private Consumer<String> getDeleteOperation(String endpointId) {
-        return it -> {
-            timers.add(it);
-            new Timer().schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    if (timers.contains(it)) {
-                        timers.remove(it);
-                        ProjectTreeStateUpdateDto params = newDto(ProjectTreeStateUpdateDto.class).withPath(it).withType(DELETED);
-                        transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
-                    }
+        return it -> scheduler.schedule(getTaskGroup(endpointId), it, DELETE_DELAY_MS, () -> {
+            ProjectTreeStateUpdateDto params = newDto(ProjectTreeStateUpdateDto.class).withPath(it).withType(DELETED);
+            transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
+        });
+    }
 
-                }
-            }, 1_000L);
-        };
+    private static String getTaskGroup(String endpointId) {
+        return OUTGOING_METHOD + ':' + endpointId;
     }
 }
@@ -21,6 +21,7 @@ import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileContent;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.VirtualFileVisitor;
@@ -34,6 +35,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -302,6 +304,34 @@ public class MemoryVirtualFile implements VirtualFile {
         throw new ForbiddenException(String.format("We were unable to retrieve the content. Item '%s' is not a file", getPath()));
     }
 
+    @Override
+    public VirtualFileContent openContent() throws ForbiddenException, ServerException {
+        final byte[] bytes = getContentAsBytes();
+        return new VirtualFileContent() {
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public long transferTo(OutputStream output, long offset, long length) throws IOException {
+                if (offset < 0 || length < 0) {
+                    throw new IllegalArgumentException(String.format("Invalid range, offset: %d, length: %d", offset, length));
+                }
+                if (offset >= bytes.length) {
+                    return 0;
+                }
+                final int count = (int)Math.min(length, bytes.length - offset);
+                output.write(bytes, (int)offset, count);
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
     @Override
     public String getContentAsString() throws ForbiddenException {
         return new String(getContentAsBytes());
@@ -588,6 +618,17 @@ public class MemoryVirtualFile implements VirtualFile {
         }
     }
 
+    @Override
+    public void zip(OutputStream zipOutput) throws ForbiddenException, ServerException {
+        checkExistence();
+
+        if (isFolder()) {
+            compress(fileSystem.getArchiverFactory().createArchiver(this, "zip"), zipOutput);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", getPath()));
+        }
+    }
+
     @Override
     public void unzip(InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ServerException, ConflictException {
@@ -635,6 +676,14 @@ public class MemoryVirtualFile implements VirtualFile {
         }
     }
 
+    private void compress(Archiver archiver, OutputStream output) throws ForbiddenException, ServerException {
+        try {
+            archiver.compress(output);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
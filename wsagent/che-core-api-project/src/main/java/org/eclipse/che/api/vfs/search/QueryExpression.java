@@ -17,6 +17,7 @@ public class QueryExpression {
     private String text;
     private int    skipCount;
     private int    maxItems;
+    private String pageCursor;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -58,6 +59,20 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional position in search result after which items should be retrieved. Cursor is provided by Searcher in query expression
+     * for next page, see {@link SearchResult#getNextPageQueryExpression()}. If cursor is set then searcher doesn't need to go
+     * through all skipped items, so {@link #getSkipCount()} is used only for calculation of remaining items.
+     */
+    public String getPageCursor() {
+        return pageCursor;
+    }
+
+    public QueryExpression setPageCursor(String pageCursor) {
+        this.pageCursor = pageCursor;
+        return this;
+    }
+
     /** Max number of results that might be returned after executing this query. */
     public int getMaxItems() {
         return maxItems;
@@ -76,6 +91,7 @@ public class QueryExpression {
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", pageCursor='" + pageCursor + '\'' +
                '}';
     }
 }
@@ -14,6 +14,8 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
+import java.util.function.Consumer;
+
 /**
  * @deprecated VFS components are now considered deprecated and will be replaced by standard JDK routines.
  */
@@ -30,6 +32,26 @@ public interface Searcher {
      */
     SearchResult search(QueryExpression query) throws ServerException;
 
+    /**
+     * Return paths of matched items on virtual filesystem. Each item is passed to the consumer as soon as it is found, so caller may
+     * process first items before the whole result is ready.
+     *
+     * @param query
+     *         query expression
+     * @param entryConsumer
+     *         consumer of found items
+     * @return results of search
+     * @throws IllegalArgumentException
+     *         if page cursor of query is not valid
+     * @throws ServerException
+     *         if an error occurs
+     */
+    default SearchResult search(QueryExpression query, Consumer<SearchResultEntry> entryConsumer) throws ServerException {
+        final SearchResult result = search(query);
+        result.getResults().forEach(entryConsumer);
+        return result;
+    }
+
     /**
      * Add VirtualFile to index.
      *
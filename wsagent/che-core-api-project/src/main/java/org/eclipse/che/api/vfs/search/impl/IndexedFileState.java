@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of file at the moment of its indexing. It is used for finding files that were changed while index was not updated, e.g.
+ * when workspace agent was stopped.
+ */
+final class IndexedFileState {
+    private final long   size;
+    private final long   lastModificationDate;
+    private final byte[] contentHash;
+
+    IndexedFileState(long size, long lastModificationDate, byte[] contentHash) {
+        this.size = size;
+        this.lastModificationDate = lastModificationDate;
+        this.contentHash = contentHash;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getLastModificationDate() {
+        return lastModificationDate;
+    }
+
+    /** Hash of content of file or {@code null} if content of file is not indexed. */
+    byte[] getContentHash() {
+        return contentHash;
+    }
+
+    boolean hasSameContentHash(byte[] otherHash) {
+        return contentHash != null && Arrays.equals(contentHash, otherHash);
+    }
+
+    /**
+     * Reads states of all indexed files which paths start with specified prefix. All data is read from doc values, so stored fields
+     * are not loaded.
+     *
+     * @return map of path of file to its state
+     */
+    static Map<String, IndexedFileState> readAll(IndexReader reader,
+                                                 String pathPrefix,
+                                                 String pathField,
+                                                 String sizeField,
+                                                 String lastModificationDateField,
+                                                 String hashField) throws IOException {
+        final Map<String, IndexedFileState> states = new ConcurrentHashMap<>();
+        for (LeafReaderContext context : reader.leaves()) {
+            final LeafReader leafReader = context.reader();
+            final SortedDocValues paths = leafReader.getSortedDocValues(pathField);
+            final NumericDocValues sizes = leafReader.getNumericDocValues(sizeField);
+            final NumericDocValues lastModificationDates = leafReader.getNumericDocValues(lastModificationDateField);
+            if (paths == null || sizes == null || lastModificationDates == null) {
+                continue;
+            }
+            final BinaryDocValues hashes = leafReader.getBinaryDocValues(hashField);
+            final Bits docsWithHash = leafReader.getDocsWithField(hashField);
+            final Bits liveDocs = leafReader.getLiveDocs();
+            for (int doc = 0; doc < leafReader.maxDoc(); doc++) {
+                if (liveDocs != null && !liveDocs.get(doc)) {
+                    continue;
+                }
+                final String path = paths.get(doc).utf8ToString();
+                if (!path.startsWith(pathPrefix)) {
+                    continue;
+                }
+                byte[] hash = null;
+                if (hashes != null && docsWithHash != null && docsWithHash.get(doc)) {
+                    final BytesRef hashRef = hashes.get(doc);
+                    hash = Arrays.copyOfRange(hashRef.bytes, hashRef.offset, hashRef.offset + hashRef.length);
+                }
+                states.put(path, new IndexedFileState(sizes.get(doc), lastModificationDates.get(doc), hash));
+            }
+        }
+        return states;
+    }
+}
@@ -10,39 +10,58 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -50,15 +69,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
 
 /**
  * Lucene based searcher.
@@ -71,6 +99,42 @@ public abstract class LuceneSearcher implements Searcher {
     private static final String PATH_FIELD   = "path";
     private static final String NAME_FIELD   = "name";
     private static final String TEXT_FIELD   = "text";
+    private static final String NGRAM_FIELD  = "ngram";
+    private static final String SIZE_FIELD   = "size";
+    private static final String MTIME_FIELD  = "mtime";
+    private static final String HASH_FIELD   = "hash";
+
+    /**
+     * Version of index format. It is stored in commit data of index, index with other version is rebuilt from scratch. Must be
+     * changed with any incompatible change of fields of document.
+     */
+    private static final String INDEX_VERSION     = "1";
+    private static final String INDEX_VERSION_KEY = "che.index.version";
+
+    private static final int    INDEXING_THREADS         = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int    INDEXING_QUEUE_SIZE      = 1024;
+    private static final double INDEX_RAM_BUFFER_SIZE_MB = 64;
+
+    /**
+     * Content of files up to this size is read in memory once and used for content hash, text and ngram fields. Content of bigger files
+     * is streamed from file to text and ngram fields and is not hashed, so few indexing threads don't hold whole big files in memory.
+     */
+    private static final int MAX_BUFFERED_CONTENT_SIZE = 1024 * 1024;
+
+    private static final FieldType NGRAM_FIELD_TYPE = new FieldType();
+
+    /**
+     * Files are indexed in few threads so order of documents in index is not defined. Sort by path makes order of files with the same
+     * score stable.
+     */
+    private static final Sort RESULT_SORT = new Sort(SortField.FIELD_SCORE, new SortField(PATH_FIELD, SortField.Type.STRING));
+
+    static {
+        NGRAM_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+        NGRAM_FIELD_TYPE.setTokenized(true);
+        NGRAM_FIELD_TYPE.setOmitNorms(true);
+        NGRAM_FIELD_TYPE.freeze();
+    }
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
@@ -78,6 +142,9 @@ public abstract class LuceneSearcher implements Searcher {
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
 
+    /** Used for checking content of files found with trigram index. */
+    private volatile VirtualFileSystem virtualFileSystem;
+
     private boolean closed = true;
 
     protected LuceneSearcher() {
@@ -115,6 +182,9 @@ public abstract class LuceneSearcher implements Searcher {
             protected TokenStreamComponents createComponents(String fieldName) {
                 Tokenizer tokenizer = new WhitespaceTokenizer();
                 TokenStream filter = new LowerCaseFilter(tokenizer);
+                if (NGRAM_FIELD.equals(fieldName)) {
+                    filter = new NGramTokenFilter(filter, TrigramQueryPlanner.GRAM_SIZE, TrigramQueryPlanner.GRAM_SIZE);
+                }
                 return new TokenStreamComponents(tokenizer, filter);
             }
         };
@@ -122,8 +192,13 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected abstract Directory makeDirectory() throws ServerException;
 
+    protected IndexWriterConfig makeIndexWriterConfig() {
+        return new IndexWriterConfig(makeAnalyzer()).setRAMBufferSizeMB(INDEX_RAM_BUFFER_SIZE_MB);
+    }
+
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Init lucene index. Scan all files in virtual filesystem and add to index. If index directory is not clean then index is
+     * reconciled with files in virtual filesystem, only added, changed and removed files are updated in index.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -131,16 +206,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        indexTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -150,7 +227,18 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            final Directory directory = makeDirectory();
+            final IndexWriterConfig indexWriterConfig = makeIndexWriterConfig();
+            if (DirectoryReader.indexExists(directory)) {
+                final String indexVersion = SegmentInfos.readLatestCommit(directory).getUserData().get(INDEX_VERSION_KEY);
+                if (!INDEX_VERSION.equals(indexVersion)) {
+                    LOG.info("Index version {} is not compatible with current version {}, index is going to be rebuilt",
+                             indexVersion, INDEX_VERSION);
+                    indexWriterConfig.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+                }
+            }
+            luceneIndexWriter = new IndexWriter(directory, indexWriterConfig);
+            luceneIndexWriter.setCommitData(singletonMap(INDEX_VERSION_KEY, INDEX_VERSION));
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
             closed = false;
         } catch (IOException e) {
@@ -187,37 +275,60 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
+        return search(query, entry -> {});
+    }
+
+    @Override
+    public SearchResult search(QueryExpression query, Consumer<SearchResultEntry> entryConsumer) throws ServerException {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
 
-            Query luceneQuery = createLuceneQuery(query);
+            final TrigramQueryPlanner.Plan plan = virtualFileSystem == null ? null : TrigramQueryPlanner.plan(query.getText());
+            if (plan != null) {
+                return searchWithTrigrams(luceneSearcher, query, plan, entryConsumer, startTime);
+            }
+
+            final Query textQuery = query.getText() == null ? null : createTextQuery(query.getText());
+            final BooleanQuery luceneQuery = createPathAndNameQuery(query);
+            if (textQuery != null) {
+                luceneQuery.add(textQuery, BooleanClause.Occur.MUST);
+            }
+            final OccurrenceFinder occurrenceFinder = textQuery == null ? null : OccurrenceFinder.forQuery(textQuery, TEXT_FIELD);
 
             ScoreDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
+            if (query.getPageCursor() != null) {
+                after = fromPageCursor(query.getPageCursor());
+            } else if (numSkipDocs > 0) {
                 after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
-            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
+            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs, RESULT_SORT);
             final int totalHitsNum = topDocs.totalHits;
 
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
-                results.add(new SearchResultEntry(filePath));
+                SearchResultEntry entry = new SearchResultEntry(filePath, findOccurrences(filePath, occurrenceFinder));
+                results.add(entry);
+                entryConsumer.accept(entry);
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
-            if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            if (hasMoreToRetrieve && topDocs.scoreDocs.length > 0) {
+                final FieldDoc last = (FieldDoc)topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                nextPageQueryExpression = createNextPageQuery(query,
+                                                              numSkipDocs + topDocs.scoreDocs.length,
+                                                              toPageCursor((Float)last.fields[0],
+                                                                           ((BytesRef)last.fields[1]).utf8ToString()));
             }
 
             return SearchResult.aSearchResult()
@@ -237,11 +348,158 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    private Query createLuceneQuery(QueryExpression query) throws ParseException {
+    /**
+     * Executes query with trigram index. Trigram query returns candidates that are checked against content of files, so only files
+     * that really match the query are included in result. Candidates are checked in order of their paths until the page is filled,
+     * each match is passed to the consumer as soon as it is found. Page cursor keeps path of the last checked candidate, so the
+     * next page continues right after it without reading content of the previous candidates again.
+     * <p>
+     * Candidates after the page are not checked, so total number of hits is an upper bound: matches found so far plus candidates
+     * that are not checked yet. For the same reason the next page may turn out to be empty.
+     */
+    private SearchResult searchWithTrigrams(IndexSearcher luceneSearcher,
+                                            QueryExpression query,
+                                            TrigramQueryPlanner.Plan plan,
+                                            Consumer<SearchResultEntry> entryConsumer,
+                                            long startTime) throws IOException, ParseException, ServerException {
+        final BooleanQuery luceneQuery = createPathAndNameQuery(query);
+        luceneQuery.add(plan.toQuery(NGRAM_FIELD), BooleanClause.Occur.MUST);
+
+        final List<String> candidates = new ArrayList<>();
+        luceneSearcher.search(luceneQuery, new SimpleCollector() {
+            private LeafReaderContext context;
+
+            @Override
+            protected void doSetNextReader(LeafReaderContext context) throws IOException {
+                this.context = context;
+            }
+
+            @Override
+            public void collect(int doc) throws IOException {
+                candidates.add(context.reader().document(doc).getField(PATH_FIELD).stringValue());
+            }
+
+            @Override
+            public boolean needsScores() {
+                return false;
+            }
+        });
+
+        // All candidates have the same score
+        candidates.sort(null);
+
+        final int numSkipDocs = Math.max(0, query.getSkipCount());
+        final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+        int position = 0;
+        int skipped = 0;
+        if (query.getPageCursor() != null) {
+            // Matches before the cursor are counted by skip count of the page
+            final String afterPath = ((BytesRef)fromPageCursor(query.getPageCursor()).fields[1]).utf8ToString();
+            final int index = Collections.binarySearch(candidates, afterPath);
+            position = index >= 0 ? index + 1 : -index - 1;
+            skipped = numSkipDocs;
+        } else {
+            for (; position < candidates.size() && skipped < numSkipDocs; position++) {
+                if (contentMatches(candidates.get(position), plan)) {
+                    skipped++;
+                }
+            }
+        }
+
+        final OccurrenceFinder occurrenceFinder = OccurrenceFinder.forPattern(plan.getTokenPattern());
+        final List<SearchResultEntry> results = newArrayList();
+        while (position < candidates.size() && results.size() < numDocs) {
+            final String candidate = candidates.get(position++);
+            final List<SearchOccurrence> occurrences = findOccurrences(candidate, occurrenceFinder);
+            if (!occurrences.isEmpty()) {
+                final SearchResultEntry entry = new SearchResultEntry(candidate, occurrences);
+                results.add(entry);
+                entryConsumer.accept(entry);
+            }
+        }
+        final int uncheckedCandidates = candidates.size() - position;
+
+        final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
+
+        QueryExpression nextPageQueryExpression = null;
+        if (uncheckedCandidates > 0) {
+            nextPageQueryExpression = createNextPageQuery(query,
+                                                          skipped + results.size(),
+                                                          toPageCursor(0, candidates.get(position - 1)));
+        }
+
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(skipped + results.size() + uncheckedCandidates)
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(elapsedTimeMillis)
+                           .build();
+    }
+
+    private boolean contentMatches(String path, TrigramQueryPlanner.Plan plan) throws ServerException {
+        final VirtualFile file = virtualFileSystem.getRoot().getChild(Path.of(path));
+        if (file == null || !file.isFile()) {
+            return false;
+        }
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getContent()))) {
+            return plan.matches(reader);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    private List<SearchOccurrence> findOccurrences(String path, OccurrenceFinder occurrenceFinder) throws ServerException {
+        if (occurrenceFinder == null || virtualFileSystem == null) {
+            return emptyList();
+        }
+        final VirtualFile file = virtualFileSystem.getRoot().getChild(Path.of(path));
+        if (file == null || !file.isFile()) {
+            return emptyList();
+        }
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getContent()))) {
+            return occurrenceFinder.find(reader);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    /**
+     * Cursor keeps sort values of the last item on page, see {@link #RESULT_SORT}. Score is stored as hex representation of its
+     * bits, so it is restored without loss of precision.
+     */
+    static String toPageCursor(float score, String path) {
+        return Integer.toHexString(Float.floatToIntBits(score)) + ':' + path;
+    }
+
+    static FieldDoc fromPageCursor(String pageCursor) {
+        final int separator = pageCursor.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid page cursor: " + pageCursor);
+        }
+        final float score;
+        try {
+            score = Float.intBitsToFloat(Integer.parseUnsignedInt(pageCursor.substring(0, separator), 16));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + pageCursor);
+        }
+        // Path is unique so document id is not needed for resolving ties, max value means that document with the same path is skipped
+        return new FieldDoc(Integer.MAX_VALUE, score, new Object[]{score, new BytesRef(pageCursor.substring(separator + 1))});
+    }
+
+    private Query createTextQuery(String text) throws ParseException {
+        QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
+        qParser.setAllowLeadingWildcard(true);
+        return qParser.parse(text);
+    }
+
+    private BooleanQuery createPathAndNameQuery(QueryExpression query) throws ParseException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
         final String path = query.getPath();
-        final String text = query.getText();
         if (path != null) {
             luceneQuery.add(new PrefixQuery(new Term(PATH_FIELD, path)), BooleanClause.Occur.MUST);
         }
@@ -250,11 +508,6 @@ public abstract class LuceneSearcher implements Searcher {
             qParser.setAllowLeadingWildcard(true);
             luceneQuery.add(qParser.parse(name), BooleanClause.Occur.MUST);
         }
-        if (text != null) {
-            QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
-            qParser.setAllowLeadingWildcard(true);
-            luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-        }
         return luceneQuery;
     }
 
@@ -264,7 +517,7 @@ public abstract class LuceneSearcher implements Searcher {
         int retrievedDocs = 0;
         TopDocs topDocs;
         do {
-            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize);
+            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize, RESULT_SORT);
             if (topDocs.scoreDocs.length > 0) {
                 scoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
             }
@@ -279,12 +532,13 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String pageCursor) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setPageCursor(pageCursor);
     }
 
     @Override
@@ -322,24 +576,113 @@ public abstract class LuceneSearcher implements Searcher {
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
-    protected void addFile(VirtualFile virtualFile) throws ServerException {
-        if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter().updateDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
-                                                createDocument(virtualFile, fContentReader));
-            } catch (OutOfMemoryError oome) {
-                close();
-                throw oome;
+    /**
+     * Indexes whole tree with {@link ParallelTreeIndexer}. Unlike to {@link #addTree(VirtualFile)} folders are walked and files are
+     * indexed in few threads, so this method is preferable for indexing of big trees, e.g. on initialization of index.
+     */
+    protected void indexTree(VirtualFile tree) throws ServerException {
+        final ParallelTreeIndexer indexer = new ParallelTreeIndexer(INDEXING_THREADS, INDEXING_THREADS, INDEXING_QUEUE_SIZE);
+        if (getIndexWriter().numDocs() == 0) {
+            // Nothing to reconcile in empty index, but documents still replace existed ones by path
+            // as watcher may index files of the tree while it is indexed.
+            final ParallelTreeIndexer.Statistics statistics = indexer.index(tree, this::addFile);
+            LOG.info("Indexed files from {}, {}", tree.getPath(), statistics);
+        } else {
+            reconcileTree(tree, indexer);
+        }
+        commit();
+    }
+
+    /**
+     * Compares state of files saved in index with files in the tree. New and changed files are indexed, removed files are deleted
+     * from index. If size or modification date of file is changed but content is the same then only modification date is updated in
+     * index without re-indexing of content.
+     */
+    private void reconcileTree(VirtualFile tree, ParallelTreeIndexer indexer) throws ServerException {
+        final String pathPrefix = tree.isRoot() ? "/" : tree.getPath().toString() + '/';
+        final Map<String, IndexedFileState> indexedFiles = readIndexedFiles(pathPrefix);
+        final AtomicInteger added = new AtomicInteger();
+        final AtomicInteger changed = new AtomicInteger();
+        final AtomicInteger touched = new AtomicInteger();
+        final ParallelTreeIndexer.Statistics statistics = indexer.index(tree, file -> {
+            final IndexedFileState state = indexedFiles.remove(file.getPath().toString());
+            if (state == null) {
+                addFile(file);
+                added.incrementAndGet();
+            } else if (state.getSize() != file.getLength() || state.getLastModificationDate() != file.getLastModificationDate()) {
+                // Content is read once and used for both comparison with indexed hash and re-indexing.
+                final byte[] content = readBufferedContent(file);
+                if (content != null
+                    && state.getSize() == file.getLength()
+                    && state.getContentHash() != null
+                    && state.hasSameContentHash(contentHash(content))) {
+                    updateLastModificationDate(file);
+                    touched.incrementAndGet();
+                } else {
+                    writeDocument(new Term(PATH_FIELD, file.getPath().toString()), file, content);
+                    changed.incrementAndGet();
+                }
+            }
+        });
+        for (String removed : indexedFiles.keySet()) {
+            delete(removed, true);
+        }
+        LOG.info("Reconciled index with files from {}, {} added, {} changed, {} touched, {} removed; {}",
+                 tree.getPath(), added, changed, touched, indexedFiles.size(), statistics);
+    }
+
+    private Map<String, IndexedFileState> readIndexedFiles(String pathPrefix) throws ServerException {
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            return IndexedFileState.readAll(luceneSearcher.getIndexReader(),
+                                            pathPrefix,
+                                            PATH_FIELD,
+                                            SIZE_FIELD,
+                                            MTIME_FIELD,
+                                            HASH_FIELD);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
             } catch (IOException e) {
-                throw new ServerException(e.getMessage(), e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
+                LOG.error(e.getMessage());
             }
         }
     }
 
+    private void updateLastModificationDate(VirtualFile virtualFile) throws ServerException {
+        try {
+            getIndexWriter().updateNumericDocValue(new Term(PATH_FIELD, virtualFile.getPath().toString()),
+                                                   MTIME_FIELD,
+                                                   virtualFile.getLastModificationDate());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /** Commits all pending changes of index, so they are not lost if index is reopened. */
+    public void commit() throws ServerException {
+        try {
+            getIndexWriter().commit();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    protected void addFile(VirtualFile virtualFile) throws ServerException {
+        if (virtualFile.exists()) {
+            writeDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
+                          virtualFile,
+                          readBufferedContent(virtualFile));
+        }
+    }
+
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
         try {
@@ -364,30 +707,103 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        writeDocument(deleteTerm, virtualFile, readBufferedContent(virtualFile));
+    }
+
+    /**
+     * Replaces documents matched by {@code deleteTerm} with document for the file, or adds it if there are no such documents.
+     *
+     * @param deleteTerm
+     *         term of documents to replace
+     * @param virtualFile
+     *         file to index
+     * @param content
+     *         content of file, {@code null} if content should not be indexed or file is too big to buffer its content
+     */
+    private void writeDocument(Term deleteTerm, VirtualFile virtualFile, byte[] content) throws ServerException {
+        try {
+            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, content));
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
-        } catch (ForbiddenException e) {
-            throw new ServerException(e.getServiceError());
         }
     }
 
-    protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+    /**
+     * Creates document for the file. Content hash, text field and ngram field are all built from the same {@code content}, so file is
+     * read only once when it is indexed. If content of file is not buffered because file is too big, text and ngram fields read it
+     * from file while document is indexed.
+     */
+    protected Document createDocument(VirtualFile virtualFile, byte[] content) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(PATH_FIELD, new BytesRef(virtualFile.getPath().toString())));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
-        if (reader != null) {
-            doc.add(new TextField(TEXT_FIELD, reader));
+        doc.add(new NumericDocValuesField(SIZE_FIELD, virtualFile.getLength()));
+        doc.add(new NumericDocValuesField(MTIME_FIELD, virtualFile.getLastModificationDate()));
+        if (content != null) {
+            doc.add(new BinaryDocValuesField(HASH_FIELD, new BytesRef(contentHash(content))));
+            doc.add(new TextField(TEXT_FIELD, contentReader(content)));
+            // Reader is consumed by text field, so ngram field needs own one over the same bytes.
+            doc.add(new Field(NGRAM_FIELD, contentReader(content), NGRAM_FIELD_TYPE));
+        } else if (isTooBigToBuffer(virtualFile) && shouldIndexContent(virtualFile)) {
+            // Readers are closed by index writer when fields are indexed.
+            final Reader textReader = contentReader(virtualFile);
+            final Reader ngramReader;
+            try {
+                ngramReader = contentReader(virtualFile);
+            } catch (ServerException e) {
+                IOUtils.closeWhileHandlingException(textReader);
+                throw e;
+            }
+            doc.add(new TextField(TEXT_FIELD, textReader));
+            doc.add(new Field(NGRAM_FIELD, ngramReader, NGRAM_FIELD_TYPE));
         }
         return doc;
     }
 
+    /**
+     * Reads content of file to index it.
+     *
+     * @return content of file, or {@code null} if content should not be indexed or file is too big to buffer its content, see
+     * {@link #MAX_BUFFERED_CONTENT_SIZE}
+     */
+    private byte[] readBufferedContent(VirtualFile virtualFile) throws ServerException {
+        if (isTooBigToBuffer(virtualFile) || !shouldIndexContent(virtualFile)) {
+            return null;
+        }
+        // File may grow after its size is checked, the rest of content is indexed on next update of file
+        try (InputStream content = ByteStreams.limit(virtualFile.getContent(), MAX_BUFFERED_CONTENT_SIZE)) {
+            return ByteStreams.toByteArray(content);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    private boolean isTooBigToBuffer(VirtualFile virtualFile) throws ServerException {
+        return virtualFile.getLength() > MAX_BUFFERED_CONTENT_SIZE;
+    }
+
+    private Reader contentReader(VirtualFile virtualFile) throws ServerException {
+        try {
+            return new BufferedReader(new InputStreamReader(virtualFile.getContent()));
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    private Reader contentReader(byte[] content) {
+        return new InputStreamReader(new ByteArrayInputStream(content));
+    }
+
+    private byte[] contentHash(byte[] content) {
+        return Hashing.md5().hashBytes(content).asBytes();
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : excludeFileIndexFilters) {
             if (indexFilter.accept(virtualFile)) {
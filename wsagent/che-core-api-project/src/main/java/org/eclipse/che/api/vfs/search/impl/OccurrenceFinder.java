@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.RegexpQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.RegExp;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Finds occurrences of searched text in content of file. Content is split into tokens by whitespaces in the same way as it is done
+ * for indexing, each token is lowercased and checked with matcher that is built from query.
+ */
+final class OccurrenceFinder {
+    static final int MAX_OCCURRENCES = 100;
+    static final int MAX_LINE_LENGTH = 256;
+
+    private final Predicate<String> tokenMatcher;
+
+    private OccurrenceFinder(Predicate<String> tokenMatcher) {
+        this.tokenMatcher = tokenMatcher;
+    }
+
+    /**
+     * Creates finder for text query.
+     *
+     * @param textQuery
+     *         query over text field that is created by query parser
+     * @param field
+     *         name of text field
+     * @return finder or {@code null} if occurrences can't be found for the query, e.g. for fuzzy query
+     */
+    static OccurrenceFinder forQuery(Query textQuery, String field) {
+        final Predicate<String> tokenMatcher = createTokenMatcher(textQuery, field);
+        return tokenMatcher == null ? null : new OccurrenceFinder(tokenMatcher);
+    }
+
+    /** Creates finder that matches tokens with the pattern. */
+    static OccurrenceFinder forPattern(Pattern tokenPattern) {
+        return new OccurrenceFinder(token -> tokenPattern.matcher(token).matches());
+    }
+
+    private static Predicate<String> createTokenMatcher(Query query, String field) {
+        if (query instanceof TermQuery) {
+            final Term term = ((TermQuery)query).getTerm();
+            return field.equals(term.field()) ? term.text()::equals : null;
+        } else if (query instanceof PrefixQuery) {
+            final Term prefix = ((PrefixQuery)query).getPrefix();
+            return field.equals(prefix.field()) ? token -> token.startsWith(prefix.text()) : null;
+        } else if (query instanceof WildcardQuery) {
+            final Term term = ((WildcardQuery)query).getTerm();
+            if (!field.equals(term.field())) {
+                return null;
+            }
+            final CharacterRunAutomaton automaton = new CharacterRunAutomaton(WildcardQuery.toAutomaton(term));
+            return automaton::run;
+        } else if (query instanceof RegexpQuery) {
+            // RegexpQuery doesn't expose its expression, string representation for own field is /expression/
+            final String regexp = query.toString(field);
+            if (regexp.length() < 2 || regexp.charAt(0) != '/' || regexp.charAt(regexp.length() - 1) != '/') {
+                return null;
+            }
+            final CharacterRunAutomaton automaton = new CharacterRunAutomaton(new RegExp(regexp.substring(1, regexp.length() - 1))
+                                                                                      .toAutomaton());
+            return automaton::run;
+        } else if (query instanceof PhraseQuery) {
+            Predicate<String> matcher = null;
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                matcher = or(matcher, field.equals(term.field()) ? term.text()::equals : null);
+            }
+            return matcher;
+        } else if (query instanceof BooleanQuery) {
+            Predicate<String> matcher = null;
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    matcher = or(matcher, createTokenMatcher(clause.getQuery(), field));
+                }
+            }
+            return matcher;
+        }
+        return null;
+    }
+
+    private static Predicate<String> or(Predicate<String> first, Predicate<String> second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : first.or(second);
+    }
+
+    /**
+     * Finds occurrences in content. At most {@link #MAX_OCCURRENCES} occurrences are returned.
+     *
+     * @param content
+     *         content of file, reader is not closed by this method
+     */
+    List<SearchOccurrence> find(Reader content) throws IOException {
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        final StringBuilder line = new StringBuilder();
+        int lineNumber = 1;
+        int lineOffset = 0;
+        int c;
+        while (occurrences.size() < MAX_OCCURRENCES) {
+            c = content.read();
+            if (c == -1 || c == '\n') {
+                findInLine(line, lineNumber, lineOffset, occurrences);
+                if (c == -1) {
+                    break;
+                }
+                lineOffset += line.length() + 1;
+                lineNumber++;
+                line.setLength(0);
+            } else {
+                line.append((char)c);
+            }
+        }
+        return occurrences;
+    }
+
+    private void findInLine(StringBuilder line, int lineNumber, int lineOffset, List<SearchOccurrence> occurrences) {
+        String lineContent = null;
+        int tokenStart = -1;
+        for (int i = 0; i <= line.length() && occurrences.size() < MAX_OCCURRENCES; i++) {
+            if (i == line.length() || Character.isWhitespace(line.charAt(i))) {
+                if (tokenStart >= 0) {
+                    final String token = line.substring(tokenStart, i);
+                    if (tokenMatcher.test(token.toLowerCase(Locale.ROOT))) {
+                        if (lineContent == null) {
+                            lineContent = lineContent(line);
+                        }
+                        occurrences.add(new SearchOccurrence(token, lineOffset + tokenStart, lineOffset + i, lineNumber, lineContent));
+                    }
+                    tokenStart = -1;
+                }
+            } else if (tokenStart < 0) {
+                tokenStart = i;
+            }
+        }
+    }
+
+    private static String lineContent(StringBuilder line) {
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return line.substring(0, Math.min(end, MAX_LINE_LENGTH));
+    }
+}
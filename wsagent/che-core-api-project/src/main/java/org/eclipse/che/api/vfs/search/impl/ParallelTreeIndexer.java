@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Indexes tree of files with pipeline of two phases. Folders are walked in parallel by walker threads that put found files in the
+ * bounded queue. Indexer threads take files from the queue and pass them to {@link FileIndexer}. Bounded queue keeps walkers from
+ * going too far ahead of indexers, so number of files that are kept in memory doesn't depend on size of tree.
+ * <p>
+ * Instance of this class is intended for indexing of single tree, threads are released when indexing is done.
+ */
+final class ParallelTreeIndexer {
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    /** Does indexing of single file. Must be thread safe. */
+    interface FileIndexer {
+        void index(VirtualFile file) throws ServerException;
+    }
+
+    private final int                        walkerThreads;
+    private final int                        indexerThreads;
+    private final BlockingQueue<VirtualFile> filesQueue;
+    private final AtomicInteger              pendingFolders;
+    private final CountDownLatch             walkCompleted;
+    private final AtomicReference<Exception> failure;
+    private final Statistics                 statistics;
+
+    private ExecutorService walkers;
+
+    /**
+     * @param walkerThreads
+     *         number of threads that walk folders
+     * @param indexerThreads
+     *         number of threads that index files
+     * @param queueCapacity
+     *         max number of files that are found by walkers but are not indexed yet
+     */
+    ParallelTreeIndexer(int walkerThreads, int indexerThreads, int queueCapacity) {
+        this.walkerThreads = walkerThreads;
+        this.indexerThreads = indexerThreads;
+        this.filesQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.pendingFolders = new AtomicInteger();
+        this.walkCompleted = new CountDownLatch(1);
+        this.failure = new AtomicReference<>();
+        this.statistics = new Statistics();
+    }
+
+    /**
+     * Indexes all files in the tree. Method blocks until all files are indexed or any error occurs.
+     *
+     * @param tree
+     *         root folder of tree
+     * @param indexer
+     *         indexer of single file
+     * @return statistics of indexing
+     * @throws ServerException
+     *         if indexing of any file fails or current thread is interrupted
+     */
+    Statistics index(VirtualFile tree, FileIndexer indexer) throws ServerException {
+        walkers = Executors.newFixedThreadPool(walkerThreads, threadFactory("LuceneSearcherWalkerThread-%d"));
+        final ExecutorService indexers = Executors.newFixedThreadPool(indexerThreads, threadFactory("LuceneSearcherIndexerThread-%d"));
+        try {
+            statistics.start();
+            final List<Future<?>> indexerResults = new ArrayList<>(indexerThreads);
+            for (int i = 0; i < indexerThreads; i++) {
+                indexerResults.add(indexers.submit(() -> indexFiles(indexer)));
+            }
+            submitWalk(tree);
+            while (!walkCompleted.await(POLL_TIMEOUT_MS, MILLISECONDS)) {
+                if (failure.get() != null) {
+                    break;
+                }
+            }
+            statistics.walkCompleted();
+            for (Future<?> indexerResult : indexerResults) {
+                if (failure.get() != null) {
+                    break;
+                }
+                try {
+                    indexerResult.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error) {
+                        throw (Error)e.getCause();
+                    }
+                    fail(e);
+                }
+            }
+            statistics.indexCompleted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } finally {
+            walkers.shutdownNow();
+            indexers.shutdownNow();
+        }
+        final Exception error = failure.get();
+        if (error instanceof ServerException) {
+            throw (ServerException)error;
+        } else if (error != null) {
+            throw new ServerException(error.getMessage(), error);
+        }
+        return statistics;
+    }
+
+    private void submitWalk(VirtualFile folder) {
+        pendingFolders.incrementAndGet();
+        try {
+            walkers.execute(() -> walk(folder));
+        } catch (RejectedExecutionException e) {
+            // Walkers are stopped because of failure
+            pendingFolders.decrementAndGet();
+        }
+    }
+
+    private void walk(VirtualFile folder) {
+        try {
+            if (failure.get() == null && folder.exists()) {
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        submitWalk(child);
+                    } else {
+                        filesQueue.put(child);
+                        statistics.filesFound.incrementAndGet();
+                    }
+                }
+                statistics.foldersWalked.incrementAndGet();
+            }
+        } catch (ServerException e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (pendingFolders.decrementAndGet() == 0) {
+                walkCompleted.countDown();
+            }
+        }
+    }
+
+    private Void indexFiles(FileIndexer indexer) throws InterruptedException {
+        while (failure.get() == null) {
+            final VirtualFile file = filesQueue.poll(POLL_TIMEOUT_MS, MILLISECONDS);
+            if (file == null) {
+                if (walkCompleted.getCount() == 0 && filesQueue.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            try {
+                indexer.index(file);
+                statistics.filesIndexed.incrementAndGet();
+                statistics.bytesIndexed.addAndGet(lengthOf(file));
+            } catch (ServerException e) {
+                fail(e);
+            }
+        }
+        return null;
+    }
+
+    private static long lengthOf(VirtualFile file) {
+        try {
+            return file.getLength();
+        } catch (ServerException e) {
+            // File might be removed after indexing, it's not critical for statistics
+            return 0;
+        }
+    }
+
+    private void fail(Exception e) {
+        if (failure.compareAndSet(null, e)) {
+            // Unblock walkers that wait for free space in queue
+            walkers.shutdownNow();
+            filesQueue.clear();
+        }
+    }
+
+    private static ThreadFactory threadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder().setDaemon(true)
+                                         .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                         .setNameFormat(nameFormat)
+                                         .build();
+    }
+
+    /** Throughput counters of indexing phases. */
+    static final class Statistics {
+        private final AtomicLong foldersWalked = new AtomicLong();
+        private final AtomicLong filesFound    = new AtomicLong();
+        private final AtomicLong filesIndexed  = new AtomicLong();
+        private final AtomicLong bytesIndexed  = new AtomicLong();
+
+        private long startTime;
+        private long walkEndTime;
+        private long indexEndTime;
+
+        private void start() {
+            startTime = System.currentTimeMillis();
+        }
+
+        private void walkCompleted() {
+            walkEndTime = System.currentTimeMillis();
+        }
+
+        private void indexCompleted() {
+            indexEndTime = System.currentTimeMillis();
+        }
+
+        long getFoldersWalked() {
+            return foldersWalked.get();
+        }
+
+        long getFilesFound() {
+            return filesFound.get();
+        }
+
+        long getFilesIndexed() {
+            return filesIndexed.get();
+        }
+
+        long getBytesIndexed() {
+            return bytesIndexed.get();
+        }
+
+        /** Time of walking of tree. */
+        long getWalkTimeMillis() {
+            return walkEndTime - startTime;
+        }
+
+        /** Time from start of walking of tree to the moment when the last file is indexed. */
+        long getIndexTimeMillis() {
+            return indexEndTime - startTime;
+        }
+
+        /** Number of files found by walkers per second. */
+        long getWalkFilesPerSecond() {
+            return perSecond(getFilesFound(), getWalkTimeMillis());
+        }
+
+        /** Number of files indexed per second. */
+        long getIndexFilesPerSecond() {
+            return perSecond(getFilesIndexed(), getIndexTimeMillis());
+        }
+
+        /** Number of bytes indexed per second. */
+        long getIndexBytesPerSecond() {
+            return perSecond(getBytesIndexed(), getIndexTimeMillis());
+        }
+
+        private static long perSecond(long count, long timeMillis) {
+            return timeMillis > 0 ? count * 1000 / timeMillis : count;
+        }
+
+        @Override
+        public String toString() {
+            return "walk: " + getFoldersWalked() + " folders, " + getFilesFound() + " files, " + getWalkTimeMillis() + " ms, " +
+                   getWalkFilesPerSecond() + " files/sec; " +
+                   "index: " + getFilesIndexed() + " files, " + getBytesIndexed() + " bytes, " + getIndexTimeMillis() + " ms, " +
+                   getIndexFilesPerSecond() + " files/sec, " + getIndexBytesPerSecond() + " bytes/sec";
+        }
+    }
+}
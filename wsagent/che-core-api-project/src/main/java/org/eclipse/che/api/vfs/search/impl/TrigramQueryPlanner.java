@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Turns text queries that would otherwise be executed as a scan over the whole term dictionary (e.g. {@code *Handler*} or
+ * {@code /get.*name/}) into an intersection of trigrams of the literal parts of the query. Documents found by trigram query are only
+ * candidates, each of them must be checked with {@link Plan#matches(Reader)} against real content of file.
+ * <p>
+ * Planner supports only queries that consist of single term, it is either wildcard with {@code *} or simple regular expression
+ * (literals, {@code .}, character classes and {@code * + ?} quantifiers). All other queries are not planned and should be executed
+ * by {@link org.apache.lucene.queryparser.classic.QueryParser} as before.
+ */
+final class TrigramQueryPlanner {
+    static final int GRAM_SIZE = 3;
+
+    private static final String UNSUPPORTED_WILDCARD_CHARS = "+-!(){}[]^\"~?:\\/&|";
+    private static final String UNSUPPORTED_REGEXP_CHARS   = "|(){}~&@#<>\"";
+
+    private TrigramQueryPlanner() {
+    }
+
+    /**
+     * Creates plan for the text query.
+     *
+     * @param text
+     *         text query
+     * @return plan or {@code null} if query can't be executed with trigram index
+     */
+    static Plan plan(String text) {
+        if (text == null) {
+            return null;
+        }
+        final String term = text.trim();
+        if (term.isEmpty() || containsWhitespace(term)) {
+            return null;
+        }
+        if (term.length() > 2 && term.charAt(0) == '/' && term.charAt(term.length() - 1) == '/') {
+            return planRegexp(term.substring(1, term.length() - 1).toLowerCase(Locale.ROOT));
+        }
+        if (term.indexOf('*') >= 0) {
+            return planWildcard(term.toLowerCase(Locale.ROOT));
+        }
+        return null;
+    }
+
+    private static Plan planWildcard(String wildcard) {
+        for (int i = 0; i < wildcard.length(); i++) {
+            if (UNSUPPORTED_WILDCARD_CHARS.indexOf(wildcard.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        final List<String> literals = new ArrayList<>();
+        final StringBuilder pattern = new StringBuilder();
+        final String[] parts = wildcard.split("\\*", -1);
+        for (int i = 0; i < parts.length; i++) {
+            final String literal = parts[i];
+            if (i > 0) {
+                pattern.append(".*");
+            }
+            if (!literal.isEmpty()) {
+                literals.add(literal);
+                pattern.append(Pattern.quote(literal));
+            }
+        }
+        return createPlan(literals, pattern.toString());
+    }
+
+    private static Plan planRegexp(String regexp) {
+        final List<String> literals = new ArrayList<>();
+        final StringBuilder pattern = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < regexp.length()) {
+            final char c = regexp.charAt(i);
+            if (UNSUPPORTED_REGEXP_CHARS.indexOf(c) >= 0) {
+                return null;
+            }
+            if (c == '.') {
+                flushLiteral(literal, literals);
+                pattern.append('.');
+                i++;
+            } else if (c == '[') {
+                final int end = regexp.indexOf(']', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                final String charClass = regexp.substring(i + 1, end);
+                if (charClass.isEmpty() || charClass.indexOf('[') >= 0 || charClass.indexOf('\\') >= 0) {
+                    return null;
+                }
+                flushLiteral(literal, literals);
+                pattern.append('[').append(charClass).append(']');
+                i = end + 1;
+            } else if (c == '*' || c == '?' || c == '+') {
+                if (i == 0) {
+                    return null;
+                }
+                // Last char of literal is repeated or optional, so it can't be part of the required literal
+                if (literal.length() > 0) {
+                    final char last = literal.charAt(literal.length() - 1);
+                    literal.setLength(literal.length() - 1);
+                    flushLiteral(literal, literals);
+                    if (c == '+') {
+                        literal.append(last);
+                        flushLiteral(literal, literals);
+                    }
+                }
+                pattern.append(c);
+                i++;
+            } else {
+                char ch = c;
+                if (c == '\\') {
+                    if (i + 1 == regexp.length()) {
+                        return null;
+                    }
+                    ch = regexp.charAt(++i);
+                }
+                literal.append(ch);
+                pattern.append(Pattern.quote(String.valueOf(ch)));
+                i++;
+            }
+        }
+        flushLiteral(literal, literals);
+        return createPlan(literals, pattern.toString());
+    }
+
+    private static void flushLiteral(StringBuilder literal, List<String> literals) {
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    private static Plan createPlan(List<String> literals, String pattern) {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (String literal : literals) {
+            for (int i = 0; i + GRAM_SIZE <= literal.length(); i++) {
+                trigrams.add(literal.substring(i, i + GRAM_SIZE));
+            }
+        }
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+        try {
+            return new Plan(trigrams, Pattern.compile(pattern, Pattern.DOTALL));
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    private static boolean containsWhitespace(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.isWhitespace(str.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Result of query planning: set of trigrams that must present in file and pattern for checking of candidates. */
+    static final class Plan {
+        private final Set<String> trigrams;
+        private final Pattern     tokenPattern;
+
+        private Plan(Set<String> trigrams, Pattern tokenPattern) {
+            this.trigrams = trigrams;
+            this.tokenPattern = tokenPattern;
+        }
+
+        Set<String> getTrigrams() {
+            return trigrams;
+        }
+
+        /** Pattern for checking of lowercased tokens of file content. */
+        Pattern getTokenPattern() {
+            return tokenPattern;
+        }
+
+        /** Creates lucene query that matches all documents that contain all trigrams of the plan in specified field. */
+        Query toQuery(String field) {
+            final BooleanQuery query = new BooleanQuery();
+            for (String trigram : trigrams) {
+                query.add(new TermQuery(new Term(field, trigram)), BooleanClause.Occur.MUST);
+            }
+            return new ConstantScoreQuery(query);
+        }
+
+        /**
+         * Checks content of file. Content is split into tokens in the same way as {@link LuceneSearcher} does it for indexing, i.e.
+         * by whitespaces, and file matches if any of lowercased tokens matches the pattern.
+         */
+        boolean matches(Reader content) throws IOException {
+            final StringBuilder token = new StringBuilder();
+            int c;
+            while ((c = content.read()) != -1) {
+                if (Character.isWhitespace(c)) {
+                    if (matchesToken(token)) {
+                        return true;
+                    }
+                    token.setLength(0);
+                } else {
+                    token.append(Character.toLowerCase((char)c));
+                }
+            }
+            return matchesToken(token);
+        }
+
+        private boolean matchesToken(StringBuilder token) {
+            return token.length() > 0 && tokenPattern.matcher(token).matches();
+        }
+    }
+}
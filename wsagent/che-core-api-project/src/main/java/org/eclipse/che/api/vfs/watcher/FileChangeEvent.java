@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+
+/**
+ * Change of file system item that is published to {@link FileChangeEventBus}.
+ * <p>
+ * Subtree event is a replacement for many events under the same directory, it means that any item under the directory might be
+ * created, modified or removed, so consumer of the event should re-read the whole subtree.
+ */
+public final class FileChangeEvent {
+    private final Path                 path;
+    private final FileWatcherEventType type;
+    private final boolean              directory;
+    private final boolean              subtree;
+
+    public FileChangeEvent(Path path, FileWatcherEventType type, boolean directory) {
+        this(path, type, directory, false);
+    }
+
+    private FileChangeEvent(Path path, FileWatcherEventType type, boolean directory, boolean subtree) {
+        this.path = path;
+        this.type = type;
+        this.directory = directory;
+        this.subtree = subtree;
+    }
+
+    /** Creates event that replaces all events under the directory. */
+    static FileChangeEvent subtree(Path directory) {
+        return new FileChangeEvent(directory, MODIFIED, true, true);
+    }
+
+    /** Absolute path of item. */
+    public Path getPath() {
+        return path;
+    }
+
+    public FileWatcherEventType getType() {
+        return type;
+    }
+
+    public boolean isDirectory() {
+        return directory;
+    }
+
+    /** Returns {@code true} if this event replaces all events under the directory. */
+    public boolean isSubtree() {
+        return subtree;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FileChangeEvent)) {
+            return false;
+        }
+        final FileChangeEvent other = (FileChangeEvent)obj;
+        return directory == other.directory
+               && subtree == other.subtree
+               && Objects.equals(path, other.path)
+               && type == other.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, type, directory, subtree);
+    }
+
+    @Override
+    public String toString() {
+        return "FileChangeEvent{" +
+               "path=" + path +
+               ", type=" + type +
+               ", directory=" + directory +
+               ", subtree=" + subtree +
+               '}';
+    }
+}
@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+
+/**
+ * Single pipeline of file changes. Detectors of changes publish events to the bus, events are collected during time window and then
+ * dispatched to {@link FileChangeListener}s as one batch. Before dispatching events of the batch are coalesced:
+ * <ul>
+ * <li>repeated events of the same path are merged into one, e.g. created and then modified item is reported as created, item that
+ * is created and removed in the same window is not reported at all</li>
+ * <li>for listeners that accept subtree events, events under created or removed directory are dropped and burst of at least
+ * {@link #SUBTREE_THRESHOLD} events of direct children of one directory is replaced with single subtree event. Directories
+ * of projects and directories above them are never replaced, so unrelated changes spread over the workspace stay as is</li>
+ * </ul>
+ * Listeners are called sequentially in the single dispatcher thread.
+ */
+@Singleton
+public class FileChangeEventBus {
+    private static final Logger LOG = LoggerFactory.getLogger(FileChangeEventBus.class);
+
+    static final long WINDOW_MS         = 500;
+    static final int  SUBTREE_THRESHOLD = 100;
+
+    private final Path                           root;
+    private final BlockingQueue<FileChangeEvent> queue;
+    private final List<FileChangeListener>       listeners;
+    private final AtomicLong                     receivedEvents;
+    private final AtomicLong                     dispatchedEvents;
+    private final AtomicLong                     dispatchedBatches;
+
+    private volatile long eventRate;
+    private          long lastDispatchTime;
+    private          long lastReceivedEvents;
+
+    private ScheduledExecutorService executor;
+
+    @Inject
+    public FileChangeEventBus(@Named("che.user.workspaces.storage") File root,
+                              @Named("che.fs.change.listeners") Set<FileChangeListener> listeners) {
+        this.root = root.toPath().toAbsolutePath();
+        this.queue = new LinkedBlockingQueue<>();
+        this.listeners = new CopyOnWriteArrayList<>(listeners);
+        this.receivedEvents = new AtomicLong();
+        this.dispatchedEvents = new AtomicLong();
+        this.dispatchedBatches = new AtomicLong();
+        this.lastDispatchTime = System.currentTimeMillis();
+    }
+
+    @PostConstruct
+    void start() {
+        executor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("FileChangeEventBus")
+                                                                              .setUncaughtExceptionHandler(
+                                                                                      LoggingUncaughtExceptionHandler.getInstance())
+                                                                              .setDaemon(true)
+                                                                              .build());
+        executor.scheduleWithFixedDelay(this::dispatch, WINDOW_MS, WINDOW_MS, MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Publishes event, it is delivered to listeners with the next batch. */
+    public void publish(FileChangeEvent event) {
+        queue.add(event);
+        receivedEvents.incrementAndGet();
+    }
+
+    public void subscribe(FileChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(FileChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Number of events that are published but not dispatched yet. */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /** Total number of published events. */
+    public long getReceivedEvents() {
+        return receivedEvents.get();
+    }
+
+    /** Total number of events that are delivered to listeners after coalescing. */
+    public long getDispatchedEvents() {
+        return dispatchedEvents.get();
+    }
+
+    /** Total number of dispatched batches. */
+    public long getDispatchedBatches() {
+        return dispatchedBatches.get();
+    }
+
+    /** Number of events per second that are published during the last window. */
+    public long getEventRate() {
+        return eventRate;
+    }
+
+    /** Dispatches all events that are published so far. */
+    void dispatch() {
+        updateEventRate();
+        final List<FileChangeEvent> events = new ArrayList<>();
+        queue.drainTo(events);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final List<FileChangeEvent> coalesced = coalesce(events);
+        List<FileChangeEvent> compacted = null;
+        for (FileChangeListener listener : listeners) {
+            List<FileChangeEvent> batch = coalesced;
+            if (listener.acceptsSubtreeEvents()) {
+                if (compacted == null) {
+                    compacted = compact(coalesced, root);
+                }
+                batch = compacted;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                listener.onChanges(batch);
+            } catch (RuntimeException e) {
+                LOG.error("Error while dispatching file changes to " + listener, e);
+            }
+        }
+        dispatchedEvents.addAndGet(coalesced.size());
+        dispatchedBatches.incrementAndGet();
+        LOG.debug("Dispatched {} events, {} after coalescing, {} after compacting, queue depth: {}, rate: {} events/sec",
+                  events.size(), coalesced.size(), compacted == null ? coalesced.size() : compacted.size(), queue.size(), eventRate);
+    }
+
+    private void updateEventRate() {
+        final long now = System.currentTimeMillis();
+        final long received = receivedEvents.get();
+        if (now > lastDispatchTime) {
+            eventRate = (received - lastReceivedEvents) * 1000 / (now - lastDispatchTime);
+        }
+        lastDispatchTime = now;
+        lastReceivedEvents = received;
+    }
+
+    /** Merges events of the same path. Order of first appearance of paths is preserved. */
+    static List<FileChangeEvent> coalesce(List<FileChangeEvent> events) {
+        final Map<Path, FileChangeEvent> merged = new LinkedHashMap<>();
+        for (FileChangeEvent event : events) {
+            final FileChangeEvent previous = merged.get(event.getPath());
+            if (previous == null) {
+                merged.put(event.getPath(), event);
+                continue;
+            }
+            final FileChangeEvent result = merge(previous, event);
+            if (result == null) {
+                merged.remove(event.getPath());
+            } else {
+                merged.put(event.getPath(), result);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static FileChangeEvent merge(FileChangeEvent previous, FileChangeEvent next) {
+        if (previous.getType() == CREATED) {
+            if (next.getType() == DELETED) {
+                // Item lived only inside the window
+                return null;
+            }
+            if (next.getType() == MODIFIED) {
+                return new FileChangeEvent(next.getPath(), CREATED, next.isDirectory());
+            }
+        } else if (previous.getType() == DELETED && next.getType() == CREATED && previous.isDirectory() == next.isDirectory()) {
+            return new FileChangeEvent(next.getPath(), MODIFIED, next.isDirectory());
+        }
+        return next;
+    }
+
+    /**
+     * Drops events that are covered by events of created or removed directories and replaces bursts of events of direct children of
+     * one directory with subtree events. Only directories inside of projects, i.e. at least two levels below the {@code root}, may
+     * be replaced, if both a directory and its parent are dense the outermost one is chosen.
+     */
+    static List<FileChangeEvent> compact(List<FileChangeEvent> events, Path root) {
+        final Set<Path> coveringDirectories = new HashSet<>();
+        for (FileChangeEvent event : events) {
+            if (event.isDirectory() && event.getType() != MODIFIED) {
+                coveringDirectories.add(event.getPath());
+            }
+        }
+        final List<FileChangeEvent> uncovered = new ArrayList<>(events.size());
+        for (FileChangeEvent event : events) {
+            if (findAncestor(event.getPath().getParent(), coveringDirectories) == null) {
+                uncovered.add(event);
+            }
+        }
+        if (uncovered.size() < SUBTREE_THRESHOLD) {
+            return uncovered;
+        }
+
+        final Map<Path, Integer> childEvents = new HashMap<>();
+        for (FileChangeEvent event : uncovered) {
+            final Path parent = event.getPath().getParent();
+            if (parent != null && isInsideProject(parent, root)) {
+                childEvents.merge(parent, 1, Integer::sum);
+            }
+        }
+        final Set<Path> subtrees = new HashSet<>();
+        childEvents.forEach((dir, count) -> {
+            if (count >= SUBTREE_THRESHOLD) {
+                subtrees.add(dir);
+            }
+        });
+        if (subtrees.isEmpty()) {
+            return uncovered;
+        }
+
+        final List<FileChangeEvent> compacted = new ArrayList<>();
+        final Set<Path> addedSubtrees = new HashSet<>();
+        for (FileChangeEvent event : uncovered) {
+            final Path subtree = findOutermostAncestor(event.getPath(), subtrees);
+            if (subtree == null) {
+                compacted.add(event);
+            } else if (addedSubtrees.add(subtree)) {
+                compacted.add(FileChangeEvent.subtree(subtree));
+            }
+        }
+        return compacted;
+    }
+
+    /** Checks whether the directory is located inside of a project, projects are direct children of the {@code root}. */
+    private static boolean isInsideProject(Path dir, Path root) {
+        return dir.startsWith(root) && dir.getNameCount() > root.getNameCount() + 1;
+    }
+
+    private static Path findAncestor(Path path, Set<Path> candidates) {
+        for (Path current = path; current != null; current = current.getParent()) {
+            if (candidates.contains(current)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    private static Path findOutermostAncestor(Path path, Set<Path> candidates) {
+        Path outermost = null;
+        for (Path current = path; current != null; current = current.getParent()) {
+            if (candidates.contains(current)) {
+                outermost = current;
+            }
+        }
+        return outermost;
+    }
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Journal of paths that are reported as changed by {@link FileWatcherService}. Repeated changes of the same path are coalesced
+ * until the journal is drained by {@link FileTreeWalker}. If too many changes are accumulated or file watcher reports lost events,
+ * journal is marked as overflowed and its content is dropped, in this case consumer of the journal must do full check of the tree.
+ */
+@Singleton
+public class FileChangeJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(FileChangeJournal.class);
+
+    static final int MAX_SIZE = 10_000;
+
+    private final Set<Path>     changes    = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    /**
+     * Records change of file system item.
+     *
+     * @param path
+     *         absolute path of created, modified or removed item
+     */
+    void record(Path path) {
+        if (overflowed.get()) {
+            return;
+        }
+        changes.add(path);
+        if (changes.size() > MAX_SIZE) {
+            overflow();
+        }
+    }
+
+    /** Marks journal as overflowed, all recorded changes are dropped. */
+    void overflow() {
+        if (overflowed.compareAndSet(false, true)) {
+            LOG.debug("File change journal is overflowed, full tree check is required");
+        }
+        changes.clear();
+    }
+
+    /**
+     * Returns paths that are changed since previous call of this method and clears the journal.
+     *
+     * @return set of changed paths, empty set if there are no changes or journal is overflowed
+     */
+    Set<Path> drain() {
+        final Set<Path> drained = new HashSet<>();
+        for (Path path : changes) {
+            if (changes.remove(path)) {
+                drained.add(path);
+            }
+        }
+        return drained;
+    }
+
+    /** Checks whether journal is overflowed and resets overflow state. */
+    boolean resetOverflow() {
+        return overflowed.getAndSet(false);
+    }
+}
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.util.List;
+
+/**
+ * Receives batches of file changes from {@link FileChangeEventBus}.
+ */
+public interface FileChangeListener {
+    /**
+     * Handles batch of changes. Each path appears in the batch at most once.
+     *
+     * @param changes
+     *         changes in order of their first appearance
+     */
+    void onChanges(List<FileChangeEvent> changes);
+
+    /**
+     * Tells whether listener is able to handle subtree events. Listeners that handle subtree events receive compacted batches: burst
+     * of changes under one directory is replaced with single subtree event and events of created or removed directory cover all
+     * items under the directory, i.e. there are no separate events for them. Other listeners receive event for each changed path.
+     */
+    default boolean acceptsSubtreeEvents() {
+        return false;
+    }
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact in-memory copy of file system tree that keeps last modification time of each file and directory and length of each
+ * file. Entries are identified by integer indexes and stored in primitive arrays: index of parent entry and map of names of child
+ * entries to their indexes for directories make up the tree. Names are interned with weak interner, so each distinct path segment
+ * is kept in memory only once while there are entries with such name. {@link Path} objects are created only on demand.
+ * <p>
+ * Index {@code 0} is reserved for root of the tree. Indexes of removed entries are reused.
+ * <p>
+ * This class is not thread safe.
+ */
+final class FileTreeSnapshot {
+    /** Last modification time of entry that is added to snapshot but isn't visited yet. */
+    static final long UNKNOWN = -1;
+
+    private static final int ROOT           = 0;
+    private static final int NONE           = -1;
+    private static final int INITIAL_LENGTH = 1024;
+
+    private final Path             root;
+    private final Interner<String> segments;
+
+    private String[]               names;
+    private int[]                  parents;
+    private Map<String, Integer>[] children;
+    private long[]                 lastModified;
+    private long[]                 lengths;
+    private BitSet                 directories;
+    private BitSet                 unwatched;
+
+    private int length;
+    private int size;
+    private int firstFree;
+
+    @SuppressWarnings("unchecked")
+    FileTreeSnapshot(Path root) {
+        this.root = root;
+        this.segments = Interners.newWeakInterner();
+        this.names = new String[INITIAL_LENGTH];
+        this.parents = new int[INITIAL_LENGTH];
+        this.children = new Map[INITIAL_LENGTH];
+        this.lastModified = new long[INITIAL_LENGTH];
+        this.lengths = new long[INITIAL_LENGTH];
+        this.directories = new BitSet(INITIAL_LENGTH);
+        this.unwatched = new BitSet();
+        this.firstFree = NONE;
+
+        this.length = 1;
+        this.size = 1;
+        parents[ROOT] = NONE;
+        children[ROOT] = new HashMap<>();
+        lastModified[ROOT] = UNKNOWN;
+        directories.set(ROOT);
+    }
+
+    int getRoot() {
+        return ROOT;
+    }
+
+    /** Number of entries in snapshot including root. */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds new entry.
+     *
+     * @param parent
+     *         index of parent directory
+     * @param name
+     *         name of entry
+     * @param directory
+     *         {@code true} if entry is a directory
+     * @param modified
+     *         last modification time of entry or {@link #UNKNOWN}
+     * @return index of new entry
+     */
+    int add(int parent, String name, boolean directory, long modified) {
+        final int entry = allocate();
+        names[entry] = segments.intern(name);
+        parents[entry] = parent;
+        children[entry] = directory ? new HashMap<>() : null;
+        children[parent].put(names[entry], entry);
+        lastModified[entry] = modified;
+        lengths[entry] = 0;
+        directories.set(entry, directory);
+        size++;
+        return entry;
+    }
+
+    /** Removes entry together with all its descendants. */
+    void remove(int entry) {
+        for (int child : getChildren(entry)) {
+            remove(child);
+        }
+        children[parents[entry]].remove(names[entry]);
+        names[entry] = null;
+        children[entry] = null;
+        directories.clear(entry);
+        unwatched.clear(entry);
+        // parent of free entry links it to the next free one
+        parents[entry] = firstFree;
+        firstFree = entry;
+        size--;
+    }
+
+    /**
+     * Finds child entry by name.
+     *
+     * @return index of child entry or {@code -1} if there is no such entry
+     */
+    int find(int parent, String name) {
+        final Integer child = children[parent] == null ? null : children[parent].get(name);
+        return child == null ? NONE : child;
+    }
+
+    /**
+     * Finds entry by absolute path.
+     *
+     * @return index of entry or {@code -1} if there is no such entry or path is outside of the root
+     */
+    int find(Path path) {
+        if (!path.startsWith(root)) {
+            return NONE;
+        }
+        int entry = ROOT;
+        for (Path segment : root.relativize(path)) {
+            final String name = segment.toString();
+            if (name.isEmpty()) {
+                continue;
+            }
+            entry = find(entry, name);
+            if (entry == NONE) {
+                return NONE;
+            }
+        }
+        return entry;
+    }
+
+    /** Returns index of parent entry or {@code -1} for root. */
+    int getParent(int entry) {
+        return parents[entry];
+    }
+
+    /** Returns indexes of child entries. */
+    int[] getChildren(int entry) {
+        if (children[entry] == null) {
+            return new int[0];
+        }
+        final int[] result = new int[children[entry].size()];
+        int i = 0;
+        for (int child : children[entry].values()) {
+            result[i++] = child;
+        }
+        return result;
+    }
+
+    /** Returns map of names of child entries to their indexes, the map may be modified by caller. */
+    Map<String, Integer> getChildrenByName(int entry) {
+        return children[entry] == null ? new HashMap<>() : new HashMap<>(children[entry]);
+    }
+
+    String getName(int entry) {
+        return names[entry];
+    }
+
+    boolean isDirectory(int entry) {
+        return directories.get(entry);
+    }
+
+    long getLastModified(int entry) {
+        return lastModified[entry];
+    }
+
+    void setLastModified(int entry, long modified) {
+        lastModified[entry] = modified;
+    }
+
+    /** Length of file entry, it is {@code 0} for directories and for files which length is not set. */
+    long getLength(int entry) {
+        return lengths[entry];
+    }
+
+    void setLength(int entry, long length) {
+        lengths[entry] = length;
+    }
+
+    /** Marks directory entry which is not watched by file watcher, so its subtree has to be polled for changes. */
+    void setUnwatched(int entry) {
+        unwatched.set(entry);
+    }
+
+    boolean isUnwatched(int entry) {
+        return unwatched.get(entry);
+    }
+
+    /**
+     * Finds unwatched directory entry starting from given index, see {@link #setUnwatched(int)}.
+     *
+     * @return index of unwatched entry or {@code -1} if there are no more such entries
+     */
+    int nextUnwatched(int fromEntry) {
+        return unwatched.nextSetBit(fromEntry);
+    }
+
+    /** Creates absolute path of entry. */
+    Path toPath(int entry) {
+        final List<String> segments = new ArrayList<>();
+        for (int current = entry; current != ROOT; current = parents[current]) {
+            segments.add(names[current]);
+        }
+        Path path = root;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            path = path.resolve(segments.get(i));
+        }
+        return path;
+    }
+
+    private int allocate() {
+        if (firstFree != NONE) {
+            final int entry = firstFree;
+            firstFree = parents[entry];
+            return entry;
+        }
+        if (length == names.length) {
+            final int newLength = length + (length >> 1);
+            names = Arrays.copyOf(names, newLength);
+            parents = Arrays.copyOf(parents, newLength);
+            children = Arrays.copyOf(children, newLength);
+            lastModified = Arrays.copyOf(lastModified, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+        }
+        return length++;
+    }
+}
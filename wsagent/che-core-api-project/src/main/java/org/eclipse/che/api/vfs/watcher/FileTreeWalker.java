@@ -12,7 +12,8 @@ package org.eclipse.che.api.vfs.watcher;
 
 import com.google.inject.Inject;
 
-import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,31 +21,50 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
+import java.nio.file.DirectoryStream;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.eclipse.che.api.vfs.watcher.FileTreeSnapshot.UNKNOWN;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 
 /**
  * Walks a file system tree, register addition, update and removal of file system items.
  * On events runs corresponding consumers that can be registered in DI configuration modules.
+ * <p>
+ * Walker is driven by changes that {@link FileWatcherService} records in {@link FileChangeJournal}: only changed items are checked,
+ * every directory of the tree is registered in file watcher service for this purpose and unregistered when it is removed. If
+ * directory can't be registered, e.g. when limit of watches is reached, its subtree is polled for changes instead. Full walk of
+ * the tree is done on start, when journal is overflowed and periodically as a consistency check. Full walk lists every directory
+ * and compares files with {@link FileTreeSnapshot} by last modification time and length, so changes lost on overflow are found
+ * as well.
+ * <p>
+ * Consumers are run synchronously for each changed path, besides each change is published to {@link FileChangeEventBus} which
+ * delivers coalesced batches of changes to {@link FileChangeListener}s.
  */
 @Singleton
 public class FileTreeWalker {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
-    private final File root;
+    private static final int NONE = -1;
+
+    private final Path                root;
+    private final FileWatcherService  fileWatcherService;
+    private final FileChangeJournal   journal;
+    private final FileChangeEventBus  eventBus;
+    private final FileTreeSnapshot    snapshot;
 
     private final Set<Consumer<Path>> directoryUpdateConsumers;
     private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -56,11 +76,11 @@ public class FileTreeWalker {
     private final Set<Consumer<Path>> fileDeleteConsumers;
     private final Set<PathMatcher>    fileExcludes;
 
-    private final Map<Path, Long> files       = new HashMap<>();
-    private final Map<Path, Long> directories = new HashMap<>();
-
     @Inject
     public FileTreeWalker(@Named("che.user.workspaces.storage") File root,
+                          FileWatcherService fileWatcherService,
+                          FileChangeJournal journal,
+                          FileChangeEventBus eventBus,
 
                           @Named("che.fs.directory.update") Set<Consumer<Path>> directoryUpdateConsumers,
                           @Named("che.fs.directory.create") Set<Consumer<Path>> directoryCreateConsumers,
@@ -71,7 +91,11 @@ public class FileTreeWalker {
                           @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
                           @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
                           @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
-        this.root = root;
+        this.root = root.toPath().toAbsolutePath();
+        this.fileWatcherService = fileWatcherService;
+        this.journal = journal;
+        this.eventBus = eventBus;
+        this.snapshot = new FileTreeSnapshot(this.root);
 
         this.directoryUpdateConsumers = directoryUpdateConsumers;
         this.directoryCreateConsumers = directoryCreateConsumers;
@@ -85,66 +109,218 @@ public class FileTreeWalker {
         this.fileExcludes = fileExcludes;
     }
 
-    @ScheduleRate(period = 10)
-    void walk() {
+    /** Checks items recorded in the journal. Falls back to the full walk if tree is not walked yet or journal is overflowed. */
+    @ScheduleDelay(delay = 1)
+    synchronized void walkChanges() {
+        try {
+            if (journal.resetOverflow() || snapshot.getLastModified(snapshot.getRoot()) == UNKNOWN) {
+                walk();
+                return;
+            }
+            final Set<Path> changes = journal.drain();
+            if (!changes.isEmpty()) {
+                LOG.debug("Checking {} changed items", changes.size());
+                changes.forEach(this::checkChange);
+            }
+        } catch (Exception e) {
+            LOG.error("Error while walking file tree changes", e);
+        }
+    }
+
+    /**
+     * Walks the whole tree. Every directory is listed and every file is compared with the snapshot by last modification time and
+     * length, as in-place modification of a file doesn't change modification time of its directory, so changes which are missed
+     * by the file watcher (e.g. on overflow) can't be found by checking of modified directories only.
+     */
+    @ScheduleDelay(initialDelay = 10, delay = 10, unit = MINUTES)
+    synchronized void walk() {
         try {
             LOG.debug("Tree walk started");
 
-            Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-            fileDeleteConsumers.forEach(deletedFiles::forEach);
-            files.keySet().removeAll(deletedFiles);
+            journal.drain().forEach(this::checkChange);
 
-            Set<Path> deletedDirectories = directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-            directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-            directories.keySet().removeAll(deletedDirectories);
+            if (isExcluded(directoryExcludes, root)) {
+                return;
+            }
+            final BasicFileAttributes attrs = readAttributesOrNull(root);
+            if (attrs != null && attrs.isDirectory()) {
+                if (snapshot.getLastModified(snapshot.getRoot()) == UNKNOWN) {
+                    watch(snapshot.getRoot(), root);
+                }
+                checkDirectory(snapshot.getRoot(), root, attrs, true);
+            }
+            LOG.debug("Tree walk finished, {} items are tracked", snapshot.size());
+        } catch (Exception e) {
+            LOG.error("Error while walking file tree", e);
+        }
+    }
 
-            walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                    for (PathMatcher matcher : directoryExcludes) {
-                        if (matcher.matches(dir)) {
-                            return SKIP_SUBTREE;
-                        }
-                    }
+    /** Walks subtrees of directories which are not watched by file watcher service. */
+    @ScheduleDelay(initialDelay = 10, delay = 10)
+    synchronized void pollUnwatched() {
+        try {
+            for (int entry = snapshot.nextUnwatched(0); entry != NONE; entry = snapshot.nextUnwatched(entry + 1)) {
+                final Path dir = snapshot.toPath(entry);
+                final BasicFileAttributes attrs = readAttributesOrNull(dir);
+                if (entry != snapshot.getRoot()) {
+                    checkItem(snapshot.getParent(entry), entry, dir, attrs, true);
+                } else if (attrs != null && attrs.isDirectory()) {
+                    checkDirectory(entry, dir, attrs, true);
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Error while polling unwatched directories", e);
+        }
+    }
 
-                    updateFsTreeAndAcceptConsumables(directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
+    private void checkChange(Path path) {
+        if (path.equals(root)) {
+            return;
+        }
+        final int entry = snapshot.find(path);
+        final Path parent = path.getParent();
+        final int parentEntry = entry == NONE ? snapshot.find(parent) : NONE;
+        if (entry == NONE && (parentEntry == NONE || !snapshot.isDirectory(parentEntry))) {
+            // Parent is excluded or not walked yet, it is going to be checked on its own change or on the next full walk
+            return;
+        }
+        checkItem(entry == NONE ? parentEntry : NONE, entry, path, readAttributesOrNull(path), false);
+    }
 
-                    return CONTINUE;
-                }
+    /**
+     * Brings entry of file system item in line with actual state of the item.
+     *
+     * @param parent
+     *         entry of parent directory, it is used only if item is not known yet
+     * @param entry
+     *         entry of item or {@code -1} if item is not known yet
+     * @param path
+     *         path of item
+     * @param attrs
+     *         actual attributes of item or {@code null} if item doesn't exist
+     * @param deep
+     *         if {@code true} then all subdirectories are listed, otherwise only modified ones
+     */
+    private void checkItem(int parent, int entry, Path path, BasicFileAttributes attrs, boolean deep) {
+        if (entry != NONE && (attrs == null || snapshot.isDirectory(entry) != attrs.isDirectory())) {
+            parent = snapshot.getParent(entry);
+            removeEntry(entry, path);
+            entry = NONE;
+        }
+        if (attrs == null || parent == NONE && entry == NONE) {
+            return;
+        }
+        if (attrs.isDirectory()) {
+            if (isExcluded(directoryExcludes, path)) {
+                return;
+            }
+            if (entry == NONE) {
+                entry = snapshot.add(parent, path.getFileName().toString(), true, UNKNOWN);
+                watch(entry, path);
+            }
+            checkDirectory(entry, path, attrs, deep);
+        } else {
+            if (isExcluded(fileExcludes, path)) {
+                return;
+            }
+            final long lastModified = attrs.lastModifiedTime().toMillis();
+            if (entry == NONE) {
+                snapshot.setLength(snapshot.add(parent, path.getFileName().toString(), false, lastModified), attrs.size());
+                notify(fileCreateConsumers, path, CREATED, false);
+            } else if (snapshot.getLastModified(entry) != lastModified || snapshot.getLength(entry) != attrs.size()) {
+                snapshot.setLastModified(entry, lastModified);
+                snapshot.setLength(entry, attrs.size());
+                notify(fileUpdateConsumers, path, MODIFIED, false);
+            }
+        }
+    }
 
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    for (PathMatcher matcher : fileExcludes) {
-                        if (matcher.matches(file)) {
-                            return CONTINUE;
-                        }
-                    }
+    private void checkDirectory(int entry, Path dir, BasicFileAttributes attrs, boolean deep) {
+        final long lastModified = attrs.lastModifiedTime().toMillis();
+        final long lastModifiedStored = snapshot.getLastModified(entry);
+        if (lastModified != lastModifiedStored) {
+            snapshot.setLastModified(entry, lastModified);
+            if (lastModifiedStored == UNKNOWN) {
+                notify(directoryCreateConsumers, dir, CREATED, true);
+            } else {
+                notify(directoryUpdateConsumers, dir, MODIFIED, true);
+            }
+        } else if (!deep) {
+            return;
+        }
 
-                    updateFsTreeAndAcceptConsumables(files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+        final Map<String, Integer> knownChildren = snapshot.getChildrenByName(entry);
+        try (DirectoryStream<Path> children = newDirectoryStream(dir)) {
+            for (Path child : children) {
+                final Integer childEntry = knownChildren.remove(child.getFileName().toString());
+                checkItem(entry,
+                          childEntry == null ? NONE : childEntry,
+                          child,
+                          readAttributesOrNull(child),
+                          deep || childEntry == null);
+            }
+        } catch (IOException e) {
+            LOG.debug("Can't list directory {}: {}", dir, e.getMessage());
+            return;
+        }
+        for (int removed : knownChildren.values()) {
+            removeEntry(removed, dir.resolve(snapshot.getName(removed)));
+        }
+    }
 
-                    return CONTINUE;
-                }
-            });
-            LOG.debug("Tree walk finished");
-        } catch (Exception e) {
-            LOG.error("Error while walking file tree", e);
+    /**
+     * Registers directory in file watcher service unless it is in the subtree of unwatched directory which is polled anyway. If
+     * directory can't be registered then it becomes unwatched.
+     */
+    private void watch(int entry, Path dir) {
+        if (isWatched(snapshot.getParent(entry)) && !fileWatcherService.register(dir)) {
+            snapshot.setUnwatched(entry);
         }
     }
 
-    private void updateFsTreeAndAcceptConsumables(Map<Path, Long> items, Set<Consumer<Path>> updateConsumer,
-                                                  Set<Consumer<Path>> createConsumer,
-                                                  Path path, BasicFileAttributes attrs) {
-        Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+    /** Returns {@code true} if directory and all its ancestors are registered in file watcher service. */
+    private boolean isWatched(int entry) {
+        for (int current = entry; current != NONE; current = snapshot.getParent(current)) {
+            if (snapshot.isUnwatched(current)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeEntry(int entry, Path path) {
+        notifyRemoved(entry, path, isWatched(snapshot.getParent(entry)));
+        snapshot.remove(entry);
+    }
 
-        if (items.containsKey(path)) {
-            Long lastModifiedStored = items.get(path);
-            if (!lastModifiedActual.equals(lastModifiedStored)) {
-                updateConsumer.forEach(it -> it.accept(path));
-                items.put(path, lastModifiedActual);
+    private void notifyRemoved(int entry, Path path, boolean parentWatched) {
+        if (snapshot.isDirectory(entry)) {
+            final boolean watched = parentWatched && !snapshot.isUnwatched(entry);
+            for (int child : snapshot.getChildren(entry)) {
+                notifyRemoved(child, path.resolve(snapshot.getName(child)), watched);
             }
+            if (watched) {
+                fileWatcherService.unRegister(path);
+            }
+            notify(directoryDeleteConsumers, path, DELETED, true);
         } else {
-            createConsumer.forEach(it -> it.accept(path));
-            items.put(path, lastModifiedActual);
+            notify(fileDeleteConsumers, path, DELETED, false);
         }
     }
+
+    private static BasicFileAttributes readAttributesOrNull(Path path) {
+        try {
+            return readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.debug("Can't read attributes of {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void notify(Set<Consumer<Path>> consumers, Path path, FileWatcherEventType type, boolean directory) {
+        consumers.forEach(it -> it.accept(path));
+        eventBus.publish(new FileChangeEvent(path, type, directory));
+    }
 }
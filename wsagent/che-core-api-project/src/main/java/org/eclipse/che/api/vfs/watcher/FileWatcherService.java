@@ -62,14 +62,16 @@ import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 public class FileWatcherService {
     private static final Logger LOG = LoggerFactory.getLogger(FileWatcherService.class);
 
-    private final AtomicBoolean suspended = new AtomicBoolean(true);
-    private final AtomicBoolean running   = new AtomicBoolean();
+    private final AtomicBoolean suspended          = new AtomicBoolean(true);
+    private final AtomicBoolean running            = new AtomicBoolean();
+    private final AtomicBoolean watchLimitReported = new AtomicBoolean();
 
     private final Map<WatchKey, Path> keys          = new ConcurrentHashMap<>();
     private final Map<Path, Integer>  registrations = new ConcurrentHashMap<>();
 
     private final Set<PathMatcher>        excludes;
     private final FileWatcherEventHandler handler;
+    private final FileChangeJournal       journal;
     private final WatchService            service;
     private final Modifier[]              eventModifiers;
     private final Kind<?>[]               eventKinds;
@@ -78,9 +80,10 @@ public class FileWatcherService {
 
     @Inject
     public FileWatcherService(@Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes,
-                              FileWatcherEventHandler handler, WatchService service) {
+                              FileWatcherEventHandler handler, FileChangeJournal journal, WatchService service) {
         this.excludes = excludes;
         this.handler = handler;
+        this.journal = journal;
         this.service = service;
 
         this.eventModifiers = getWatchEventModifiers();
@@ -181,10 +184,12 @@ public class FileWatcherService {
      *
      * @param dir
      *         directory
+     * @return {@code true} if directory is watched, {@code false} if it can't be watched, e.g. when limit of watches of the
+     * underlying file system is reached
      */
-    public void register(Path dir) {
+    public boolean register(Path dir) {
         LOG.debug("Registering directory '{}'", dir);
-        if (keys.values().contains(dir)) {
+        if (registrations.containsKey(dir)) {
             int previous = registrations.get(dir);
             LOG.debug("Directory is already being watched, increasing watch counter, previous value: {}", previous);
             registrations.put(dir, previous + 1);
@@ -195,9 +200,22 @@ public class FileWatcherService {
                 keys.put(watchKey, dir);
                 registrations.put(dir, 1);
             } catch (IOException e) {
-                LOG.error("Can't register dir {} in file watch service", dir, e);
+                if (!isWatchLimitReached(e)) {
+                    LOG.warn("Can't register dir {} in file watch service: {}", dir, e.getMessage());
+                } else if (watchLimitReported.compareAndSet(false, true)) {
+                    // reported once, otherwise each directory of a big tree produces own warning
+                    LOG.warn("Can't register dir {} in file watch service: {}. Directories which are not registered are polled " +
+                             "for changes, consider increasing of fs.inotify.max_user_watches", dir, e.getMessage());
+                }
+                return false;
             }
         }
+        return true;
+    }
+
+    /** Linux watch service fails with ENOSPC when limit of inotify watches is reached. */
+    private static boolean isWatchLimitReached(IOException e) {
+        return e.getMessage() != null && e.getMessage().contains("inotify watches reached");
     }
 
     /**
@@ -212,8 +230,11 @@ public class FileWatcherService {
     void unRegister(Path dir) {
         LOG.debug("Canceling directory '{}' registration", dir);
 
-        int previous = registrations.get(dir);
-        if (previous == 1) {
+        Integer previous = registrations.get(dir);
+        if (previous == null) {
+            // watch key of removed directory is already invalidated
+            LOG.debug("Directory '{}' is not watched", dir);
+        } else if (previous == 1) {
             LOG.debug("Stopping watching directory '{}'", dir);
             registrations.remove(dir);
 
@@ -257,11 +278,9 @@ public class FileWatcherService {
                 WatchKey watchKey = service.take();
                 Path dir = keys.get(watchKey);
 
-                if (suspended.get()) {
-                    resetAndRemove(watchKey, dir);
-
+                boolean suspendedMode = suspended.get();
+                if (suspendedMode) {
                     LOG.debug("File watchers are running in suspended mode - skipping.");
-                    continue;
                 }
 
                 for (WatchEvent<?> event : watchKey.pollEvents()) {
@@ -269,6 +288,7 @@ public class FileWatcherService {
 
                     if (kind == OVERFLOW) {
                         LOG.warn("Detected file system events overflowing");
+                        journal.overflow();
                         continue;
                     }
 
@@ -281,7 +301,12 @@ public class FileWatcherService {
                         continue;
                     }
 
-                    handler.handle(path, kind);
+                    // Journal is filled even in suspended mode, tree walker must know about all changes
+                    journal.record(path);
+
+                    if (!suspendedMode) {
+                        handler.handle(path, kind);
+                    }
                 }
 
                 resetAndRemove(watchKey, dir);
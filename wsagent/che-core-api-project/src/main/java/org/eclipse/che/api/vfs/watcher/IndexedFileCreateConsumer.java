@@ -24,10 +24,12 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.nio.file.Path;
-import java.util.function.Consumer;
+import java.util.List;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 
 @Singleton
-public class IndexedFileCreateConsumer implements Consumer<Path> {
+public class IndexedFileCreateConsumer implements FileChangeListener {
     private static final Logger LOG = LoggerFactory.getLogger(IndexedFileCreateConsumer.class);
 
     private File                      root;
@@ -40,19 +42,30 @@ public class IndexedFileCreateConsumer implements Consumer<Path> {
     }
 
     @Override
-    public void accept(Path path) {
+    public void onChanges(List<FileChangeEvent> changes) {
         try {
             VirtualFileSystem virtualFileSystem = vfsProvider.getVirtualFileSystem();
             SearcherProvider searcherProvider = virtualFileSystem.getSearcherProvider();
             Searcher searcher = searcherProvider.getSearcher(virtualFileSystem);
-            Path innerPath = root.toPath().relativize(path);
-            org.eclipse.che.api.vfs.Path vfsPath = org.eclipse.che.api.vfs.Path.of(innerPath.toString());
-            VirtualFile child = virtualFileSystem.getRoot().getChild(vfsPath);
-            if (child != null) {
-                searcher.add(child);
+            for (FileChangeEvent change : changes) {
+                if (change.getType() != CREATED) {
+                    continue;
+                }
+                Path innerPath = root.toPath().relativize(change.getPath());
+                org.eclipse.che.api.vfs.Path vfsPath = org.eclipse.che.api.vfs.Path.of(innerPath.toString());
+                VirtualFile child = virtualFileSystem.getRoot().getChild(vfsPath);
+                if (child != null) {
+                    // Created directory covers its content, searcher adds folders recursively
+                    searcher.add(child);
+                }
             }
         } catch (ServerException e) {
             LOG.error("Issue happened during adding created file to index", e);
         }
     }
+
+    @Override
+    public boolean acceptsSubtreeEvents() {
+        return true;
+    }
 }
@@ -23,10 +23,12 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.nio.file.Path;
-import java.util.function.Consumer;
+import java.util.List;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 
 @Singleton
-public class IndexedFileDeleteConsumer implements Consumer<Path> {
+public class IndexedFileDeleteConsumer implements FileChangeListener {
     private static final Logger LOG = LoggerFactory.getLogger(IndexedFileDeleteConsumer.class);
 
     private File                      root;
@@ -39,15 +41,26 @@ public class IndexedFileDeleteConsumer implements Consumer<Path> {
     }
 
     @Override
-    public void accept(Path path) {
+    public void onChanges(List<FileChangeEvent> changes) {
         try {
             VirtualFileSystem virtualFileSystem = vfsProvider.getVirtualFileSystem();
             SearcherProvider searcherProvider = virtualFileSystem.getSearcherProvider();
             Searcher searcher = searcherProvider.getSearcher(virtualFileSystem);
-            Path innerPath = root.toPath().relativize(path);
-            searcher.delete("/" + innerPath.toString(), true);
+            for (FileChangeEvent change : changes) {
+                if (change.getType() != DELETED) {
+                    continue;
+                }
+                Path innerPath = root.toPath().relativize(change.getPath());
+                // Removed directory covers its content, all documents under the directory are removed at once
+                searcher.delete("/" + innerPath.toString(), !change.isDirectory());
+            }
         } catch (ServerException e) {
             LOG.error("Issue happened during removing deleted file from index", e);
         }
     }
+
+    @Override
+    public boolean acceptsSubtreeEvents() {
+        return true;
+    }
 }
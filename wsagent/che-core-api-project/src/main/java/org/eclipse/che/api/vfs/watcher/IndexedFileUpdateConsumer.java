@@ -24,11 +24,13 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.nio.file.Path;
-import java.util.function.Consumer;
+import java.util.List;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
 @Singleton
-public class IndexedFileUpdateConsumer implements Consumer<Path> {
-    private static final Logger LOG = LoggerFactory.getLogger(IndexedFileDeleteConsumer.class);
+public class IndexedFileUpdateConsumer implements FileChangeListener {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedFileUpdateConsumer.class);
 
     private File                      root;
     private VirtualFileSystemProvider vfsProvider;
@@ -40,19 +42,37 @@ public class IndexedFileUpdateConsumer implements Consumer<Path> {
     }
 
     @Override
-    public void accept(Path path) {
+    public void onChanges(List<FileChangeEvent> changes) {
         try {
             VirtualFileSystem virtualFileSystem = vfsProvider.getVirtualFileSystem();
             SearcherProvider searcherProvider = virtualFileSystem.getSearcherProvider();
             Searcher searcher = searcherProvider.getSearcher(virtualFileSystem);
-            Path innerPath = root.toPath().relativize(path);
-            org.eclipse.che.api.vfs.Path vfsPath = org.eclipse.che.api.vfs.Path.of(innerPath.toString());
-            VirtualFile child = virtualFileSystem.getRoot().getChild(vfsPath);
-            if (child != null) {
-                searcher.update(child);
+            for (FileChangeEvent change : changes) {
+                if (change.getType() != MODIFIED || (change.isDirectory() && !change.isSubtree())) {
+                    continue;
+                }
+                Path innerPath = root.toPath().relativize(change.getPath());
+                org.eclipse.che.api.vfs.Path vfsPath = org.eclipse.che.api.vfs.Path.of(innerPath.toString());
+                VirtualFile child = virtualFileSystem.getRoot().getChild(vfsPath);
+                if (change.isSubtree()) {
+                    // Any item of the subtree might be changed, index it from scratch
+                    if (!vfsPath.isRoot()) {
+                        searcher.delete(vfsPath.toString(), false);
+                    }
+                    if (child != null) {
+                        searcher.add(child);
+                    }
+                } else if (child != null) {
+                    searcher.update(child);
+                }
             }
         } catch (ServerException e) {
             LOG.error("Issue happened during updating modified file in index", e);
         }
     }
+
+    @Override
+    public boolean acceptsSubtreeEvents() {
+        return true;
+    }
 }
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.LinksHelper;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
+import org.eclipse.che.api.workspace.shared.dto.ExtendedMachineDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ServerConf2Dto;
+import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Compares generated streaming adapters of DTO implementations with reflective Gson serialization on
+ * a workspace, as it is returned by workspace service, and on a folder listing of project service.
+ * Benchmarks with {@code reflective} prefix run in JVM with {@code che.dto.generated_adapters=false}.
+ * <p>
+ * Benchmark is not run with tests, run {@link #main(String[])} with test classpath to get results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+    private static final String REFLECTIVE = "-Dche.dto.generated_adapters=false";
+    private static final int    ITEMS      = 100;
+
+    private DtoFactory          dtoFactory;
+    private WorkspaceDto        workspace;
+    private String              workspaceJson;
+    private List<ItemReference> items;
+    private String              itemsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dtoFactory = DtoFactory.getInstance();
+        workspace = createWorkspace();
+        workspaceJson = dtoFactory.toJson(workspace);
+        items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(createItem("/project/src/main/java/org/eclipse/che/File" + i + ".java"));
+        }
+        itemsJson = dtoFactory.getGson().toJson(items);
+    }
+
+    @Benchmark
+    public String writeWorkspace() {
+        return dtoFactory.toJson(workspace);
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = REFLECTIVE)
+    public String reflectiveWriteWorkspace() {
+        return dtoFactory.toJson(workspace);
+    }
+
+    @Benchmark
+    public WorkspaceDto readWorkspace() {
+        return dtoFactory.createDtoFromJson(workspaceJson, WorkspaceDto.class);
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = REFLECTIVE)
+    public WorkspaceDto reflectiveReadWorkspace() {
+        return dtoFactory.createDtoFromJson(workspaceJson, WorkspaceDto.class);
+    }
+
+    @Benchmark
+    public String writeItems() {
+        return dtoFactory.getGson().toJson(items);
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = REFLECTIVE)
+    public String reflectiveWriteItems() {
+        return dtoFactory.getGson().toJson(items);
+    }
+
+    @Benchmark
+    public List<ItemReference> readItems() {
+        return dtoFactory.createListDtoFromJson(itemsJson, ItemReference.class);
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = REFLECTIVE)
+    public List<ItemReference> reflectiveReadItems() {
+        return dtoFactory.createListDtoFromJson(itemsJson, ItemReference.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(DtoSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static WorkspaceDto createWorkspace() {
+        final Map<String, ServerConf2Dto> servers = new HashMap<>();
+        servers.put("ref1", newDto(ServerConf2Dto.class).withPort("8080/tcp").withProtocol("http")
+                                                        .withProperties(singletonMap("path", "/api")));
+        servers.put("ref2", newDto(ServerConf2Dto.class).withPort("4403/tcp").withProtocol("http"));
+        final ExtendedMachineDto machine = newDto(ExtendedMachineDto.class).withAgents(asList("org.eclipse.che.exec",
+                                                                                              "org.eclipse.che.terminal",
+                                                                                              "org.eclipse.che.ws-agent"))
+                                                                           .withServers(servers)
+                                                                           .withAttributes(singletonMap("memoryLimitBytes",
+                                                                                                        "2147483648"));
+        final EnvironmentDto environment = newDto(EnvironmentDto.class)
+                .withRecipe(newDto(EnvironmentRecipeDto.class).withType("dockerimage")
+                                                              .withLocation("eclipse/ubuntu_jdk8"))
+                .withMachines(singletonMap("dev-machine", machine));
+
+        final List<ProjectConfigDto> projects = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Map<String, List<String>> attributes = new HashMap<>();
+            attributes.put("language", singletonList("java"));
+            attributes.put("maven.artifactId", singletonList("project" + i));
+            attributes.put("maven.source.folder", singletonList("src/main/java"));
+            projects.add(newDto(ProjectConfigDto.class).withName("project" + i)
+                                                       .withPath("/project" + i)
+                                                       .withType("maven")
+                                                       .withMixins(singletonList("git"))
+                                                       .withAttributes(attributes)
+                                                       .withSource(newDto(SourceStorageDto.class)
+                                                                           .withType("git")
+                                                                           .withLocation("https://github.com/che-samples/project" + i)));
+        }
+
+        final WorkspaceConfigDto config = newDto(WorkspaceConfigDto.class).withName("workspace")
+                                                                          .withDefaultEnv("default")
+                                                                          .withEnvironments(singletonMap("default", environment))
+                                                                          .withProjects(projects);
+        return newDto(WorkspaceDto.class).withId("workspace123")
+                                         .withNamespace("che")
+                                         .withStatus(RUNNING)
+                                         .withConfig(config)
+                                         .withAttributes(singletonMap("created", "1490000000000"))
+                                         .withLinks(asList(createLink("self", "http://localhost:8080/api/workspace/workspace123"),
+                                                           createLink("ide url", "http://localhost:8080/che/workspace"),
+                                                           createLink("get workspace events channel",
+                                                                      "ws://localhost:8080/api/ws")));
+    }
+
+    private static ItemReference createItem(String path) {
+        final String href = "http://localhost:8080/api/project/file" + path;
+        return newDto(ItemReference.class).withName(path.substring(path.lastIndexOf('/') + 1))
+                                          .withPath(path)
+                                          .withProject("/project")
+                                          .withType("file")
+                                          .withModified(1490000000000L)
+                                          .withContentLength(4096)
+                                          .withAttributes(singletonMap("vcs.status", "untracked"))
+                                          .withLinks(asList(createLink("get content", href),
+                                                            createLink("update content", href),
+                                                            createLink("delete", href)));
+    }
+
+    private static Link createLink(String rel, String href) {
+        return LinksHelper.createLink("GET", href, "application/json", rel);
+    }
+}
@@ -129,6 +129,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 
 /**
  * @author andrew00x
@@ -898,6 +899,45 @@ public class ProjectServiceTest {
         assertEquals(new String(writer.getBody()), myContent);
     }
 
+    @Test
+    public void testGetFileContentRange() throws Exception {
+        String myContent = "to be or not to be";
+        pm.getProject("my_project").getBaseFolder().createFile("test.txt", myContent.getBytes(Charset.defaultCharset()));
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Range", singletonList("bytes=3-4"));
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/file/my_project/test.txt",
+                                                      "http://localhost:8080/api", headers, null, writer, null);
+        assertEquals(response.getStatus(), 206, "Error: " + response.getEntity());
+        assertEquals(response.getHttpHeaders().getFirst("Content-Range"), "bytes 3-4/" + myContent.length());
+        assertEquals(new String(writer.getBody()), "be");
+    }
+
+    @Test
+    public void testGetFileContentUnsatisfiableRange() throws Exception {
+        pm.getProject("my_project").getBaseFolder().createFile("test.txt", "to be".getBytes(Charset.defaultCharset()));
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Range", singletonList("bytes=100-"));
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/file/my_project/test.txt",
+                                                      "http://localhost:8080/api", headers, null, null);
+        assertEquals(response.getStatus(), 416);
+        assertEquals(response.getHttpHeaders().getFirst("Content-Range"), "bytes */5");
+    }
+
+    @Test
+    public void testParseRange() throws Exception {
+        assertEquals(ProjectService.parseRange("bytes=0-9", 100), new long[]{0, 9});
+        assertEquals(ProjectService.parseRange("bytes=90-", 100), new long[]{90, 99});
+        assertEquals(ProjectService.parseRange("bytes=90-200", 100), new long[]{90, 99});
+        assertEquals(ProjectService.parseRange("bytes=-10", 100), new long[]{90, 99});
+        assertTrue(ProjectService.parseRange("bytes=100-", 100) == ProjectService.UNSATISFIABLE_RANGE);
+        assertNull(ProjectService.parseRange("bytes=0-1,5-6", 100));
+        assertNull(ProjectService.parseRange("bytes=9-0", 100));
+        assertNull(ProjectService.parseRange("lines=0-9", 100));
+    }
+
     @Test
     public void testUpdateFileContent() throws Exception {
         String myContent = "<test>hello</test>";
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+
+import org.eclipse.che.api.vfs.watcher.FileChangeEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ContentHashCacheTest {
+    private static final byte[] CONTENT = "content".getBytes();
+
+    private File             root;
+    private ContentHashCache hashCache;
+    private VirtualFile      file;
+
+    @Before
+    public void setUp() throws Exception {
+        root = new File("/projects");
+        hashCache = new ContentHashCache(root);
+        file = mock(VirtualFile.class);
+        when(file.isFile()).thenReturn(true);
+        when(file.getPath()).thenReturn(Path.of("/a/file"));
+        when(file.getLength()).thenReturn((long)CONTENT.length);
+        when(file.getLastModificationDate()).thenReturn(1000L);
+        when(file.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(CONTENT));
+    }
+
+    @Test
+    public void readsFileOnceWhileItIsNotModified() throws Exception {
+        assertEquals(countMd5Sum(CONTENT), hashCache.getHash(file, Hashing.md5()));
+        assertEquals(countMd5Sum(CONTENT), hashCache.getHash(file, Hashing.md5()));
+
+        verify(file, times(1)).getContent();
+        assertEquals(1, hashCache.getHitCount());
+        assertEquals(1, hashCache.getMissCount());
+    }
+
+    @Test
+    public void readsFileAgainWhenItIsModified() throws Exception {
+        hashCache.getHash(file, Hashing.md5());
+        when(file.getLastModificationDate()).thenReturn(2000L);
+
+        hashCache.getHash(file, Hashing.md5());
+
+        verify(file, times(2)).getContent();
+        assertEquals(2, hashCache.getMissCount());
+    }
+
+    @Test
+    public void keepsHashSumsOfDifferentAlgorithmsSeparately() throws Exception {
+        hashCache.getHash(file, Hashing.md5());
+
+        assertEquals(ByteSource.wrap(CONTENT).hash(Hashing.sha1()).toString(), hashCache.getHash(file, Hashing.sha1()));
+        assertEquals(2, hashCache.getMissCount());
+    }
+
+    @Test
+    public void invalidatesHashSumsOfItemsUnderChangedFolder() throws Exception {
+        hashCache.getHash(file, Hashing.md5());
+
+        hashCache.onChanges(singletonList(new FileChangeEvent(root.toPath().resolve("a"), MODIFIED, true)));
+        hashCache.getHash(file, Hashing.md5());
+
+        verify(file, times(2)).getContent();
+        assertEquals(0, hashCache.getHitCount());
+    }
+
+    @Test
+    public void keepsHashSumsOfItemsWithCommonPathPrefixWhenFolderIsChanged() throws Exception {
+        final VirtualFile sibling = mock(VirtualFile.class);
+        when(sibling.getPath()).thenReturn(Path.of("/a-b/file"));
+        when(sibling.getLength()).thenReturn((long)CONTENT.length);
+        when(sibling.getLastModificationDate()).thenReturn(1000L);
+        when(sibling.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(CONTENT));
+        hashCache.getHash(file, Hashing.md5());
+        hashCache.getHash(sibling, Hashing.md5());
+
+        hashCache.invalidate(Path.of("/a"));
+        hashCache.getHash(file, Hashing.md5());
+        hashCache.getHash(sibling, Hashing.md5());
+
+        verify(file, times(2)).getContent();
+        verify(sibling, times(1)).getContent();
+    }
+
+    @Test
+    public void hashesDecodedTextOfFileAsEditorDoes() throws Exception {
+        final byte[] latin1Content = {'c', 'a', 'f', (byte)0xE9};
+        when(file.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(latin1Content));
+
+        final String editorText = new String(latin1Content, defaultCharset());
+        assertEquals(countMd5Sum(editorText.getBytes(UTF_8)), hashCache.getTextHash(file, Hashing.md5()));
+    }
+
+    @Test
+    public void keepsTextAndContentHashSumsSeparately() throws Exception {
+        hashCache.getHash(file, Hashing.md5());
+        hashCache.getTextHash(file, Hashing.md5());
+        hashCache.getTextHash(file, Hashing.md5());
+
+        verify(file, times(2)).getContent();
+        assertEquals(1, hashCache.getHitCount());
+    }
+
+    private String countMd5Sum(byte[] bytes) throws Exception {
+        return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
+    }
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Compares {@link PathLockFactory} with its previous implementation that kept all locks in one linked list guarded by single
+ * monitor. Threads acquire shared and exclusive locks of files in several folders, as concurrent saves of files do.
+ * <p>
+ * Benchmark is not run with tests, run {@link #main(String[])} with test classpath to get results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class PathLockFactoryBenchmark {
+    private static final int MAX_THREADS = 1024;
+
+    @Param({"striped", "linkedList"})
+    String implementation;
+
+    @Param({"10", "1000"})
+    int files;
+
+    private Locks  locks;
+    private Path[] paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        locks = "striped".equals(implementation) ? new StripedLocks() : new LinkedListLocks();
+        paths = new Path[files];
+        for (int i = 0; i < files; i++) {
+            paths[i] = Path.of("/project" + i % 4 + "/src/file" + i);
+        }
+    }
+
+    /** Mostly reads with occasional writes. */
+    @Benchmark
+    public void readMostly() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Path path = paths[random.nextInt(paths.length)];
+        final boolean exclusive = random.nextInt(10) == 0;
+        final Object lock = locks.acquire(path, exclusive);
+        locks.release(lock);
+    }
+
+    /** Writes only. */
+    @Benchmark
+    public void writeOnly() {
+        final Path path = paths[ThreadLocalRandom.current().nextInt(paths.length)];
+        final Object lock = locks.acquire(path, true);
+        locks.release(lock);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PathLockFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private interface Locks {
+        Object acquire(Path path, boolean exclusive);
+
+        void release(Object lock);
+    }
+
+    private static class StripedLocks implements Locks {
+        final PathLockFactory factory = new PathLockFactory(MAX_THREADS);
+
+        @Override
+        public Object acquire(Path path, boolean exclusive) {
+            return factory.getLock(path, exclusive).acquire(60_000);
+        }
+
+        @Override
+        public void release(Object lock) {
+            ((PathLockFactory.PathLock)lock).release();
+        }
+    }
+
+    /** Previous implementation of {@link PathLockFactory}. */
+    private static class LinkedListLocks implements Locks {
+        private final Node tail = new Node(null, 0, null);
+
+        @Override
+        public Object acquire(Path path, boolean exclusive) {
+            final int permits = exclusive ? MAX_THREADS : 1;
+            acquire(path, permits, 60_000);
+            return new Object[]{path, permits};
+        }
+
+        @Override
+        public void release(Object lock) {
+            final Object[] pathAndPermits = (Object[])lock;
+            release((Path)pathAndPermits[0], (Integer)pathAndPermits[1]);
+        }
+
+        private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
+            final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
+            long waitTime = timeoutMilliseconds;
+            while (!tryAcquire(path, permits)) {
+                try {
+                    wait(waitTime);
+                } catch (InterruptedException e) {
+                    notifyAll();
+                    throw new RuntimeException(e);
+                }
+                long now = System.currentTimeMillis();
+                if (now >= endTime) {
+                    throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                }
+                waitTime = endTime - now;
+            }
+        }
+
+        private synchronized void release(Path path, int permits) {
+            Node node = tail;
+            while (node != null) {
+                Node prev = node.prev;
+                if (prev == null) {
+                    break;
+                }
+                if (prev.path.equals(path)) {
+                    if (prev.threadDeep == 1) {
+                        prev.permits += permits;
+                        if (prev.permits >= MAX_THREADS) {
+                            node.prev = prev.prev;
+                            prev.prev = null;
+                        }
+                    } else {
+                        --prev.threadDeep;
+                    }
+                }
+                node = node.prev;
+            }
+            notifyAll();
+        }
+
+        private boolean tryAcquire(Path path, int permits) {
+            Node node = tail.prev;
+            final Thread current = Thread.currentThread();
+            while (node != null) {
+                if (node.path.equals(path)) {
+                    if (node.threadId == current.getId()) {
+                        ++node.threadDeep;
+                        return true;
+                    }
+                    if (node.permits > permits) {
+                        node.permits -= permits;
+                        return true;
+                    }
+                    return false;
+                } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
+                    if (node.threadId != current.getId()) {
+                        return false;
+                    }
+                }
+                node = node.prev;
+            }
+            tail.prev = new Node(path, MAX_THREADS - permits, tail.prev);
+            return true;
+        }
+
+        private static class Node {
+            final Path path;
+            final long threadId = Thread.currentThread().getId();
+            int  permits;
+            int  threadDeep;
+            Node prev;
+
+            Node(Path path, int permits, Node prev) {
+                this.path = path;
+                this.permits = permits;
+                this.prev = prev;
+                threadDeep = 1;
+            }
+        }
+    }
+}
@@ -14,9 +14,11 @@ import junit.framework.TestCase;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * @author <a href="mailto:andrew00x@gmail.com">Andrey Parfonov</a>
@@ -214,6 +216,91 @@ public class PathLockFactoryTest extends TestCase {
         }
     }
 
+    public void testChildLockBlocksExclusiveParentLock() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            pathLockFactory.getLock(path.getParent().getParent(), true).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        }
+        // Shared lock of parent doesn't conflict with shared lock of child
+        pathLockFactory.getLock(path.getParent(), false).acquire(100).release();
+
+        finisher.countDown();
+        t.join();
+        pathLockFactory.getLock(path.getParent().getParent(), true).acquire(100).release();
+    }
+
+    public void testConcurrentExclusiveLocksOfParentAndChildDoNotOverlap() throws Throwable {
+        // Siblings may be locked together, parent conflicts with all its children
+        final Path[] paths = {path.getParent().getParent(), path.getParent(), path, path.getParent().newPath("d")};
+        final AtomicIntegerArray acquired = new AtomicIntegerArray(paths.length);
+        final CountDownLatch waiter = new CountDownLatch(paths.length);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < paths.length; i++) {
+            final int index = i;
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int n = 0; n < 1000; n++) {
+                            PathLockFactory.PathLock lock = pathLockFactory.getLock(paths[index], true).acquire(5000);
+                            acquired.set(index, 1);
+                            try {
+                                for (int other = 0; other < paths.length; other++) {
+                                    if (other != index && paths[other].getParent().equals(paths[index].getParent())) {
+                                        continue;
+                                    }
+                                    assertEquals(other == index ? 1 : 0, acquired.get(other));
+                                }
+                            } finally {
+                                acquired.set(index, 0);
+                                lock.release();
+                            }
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    } finally {
+                        waiter.countDown();
+                    }
+                }
+            }.start();
+        }
+        waiter.await();
+        assertTrue(pathLockFactory.isClean());
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+    }
+
+    public void testLocksAreCleanedUpAfterRelease() throws Exception {
+        PathLockFactory.PathLock lock1 = pathLockFactory.getLock(path, true).acquire(100);
+        PathLockFactory.PathLock lock2 = pathLockFactory.getLock(path, false).acquire(100);
+        PathLockFactory.PathLock lock3 = pathLockFactory.getLock(path.getParent(), false).acquire(100);
+        lock3.release();
+        lock2.release();
+        lock1.release();
+
+        assertTrue(pathLockFactory.isClean());
+    }
+
     public void testLockSameThread() throws Exception {
         final AtomicInteger acquired = new AtomicInteger(0);
         final CountDownLatch waiter = new CountDownLatch(1);
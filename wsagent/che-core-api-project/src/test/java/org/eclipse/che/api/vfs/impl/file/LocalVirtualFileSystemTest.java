@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -22,7 +23,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -64,4 +69,52 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void readsChildrenFromCacheWhileFolderIsNotModified() throws Exception {
+        fileSystem = new LocalVirtualFileSystem(testDirectory, mock(ArchiverFactory.class), mock(SearcherProvider.class),
+                                                closeCallback, 10, null);
+        File folder = new File(testDirectory, "folder");
+        assertTrue(folder.mkdirs());
+        assertTrue(new File(folder, "a.txt").createNewFile());
+        long lastModified = System.currentTimeMillis() - 60_000;
+        assertTrue(folder.setLastModified(lastModified));
+        VirtualFile virtualFolder = fileSystem.getRoot().getChild(org.eclipse.che.api.vfs.Path.of("folder"));
+        assertEquals(1, virtualFolder.getChildren().size());
+
+        assertTrue(new File(folder, "b.txt").createNewFile());
+        assertTrue(folder.setLastModified(lastModified));
+        assertEquals(1, virtualFolder.getChildren().size());
+
+        assertTrue(folder.setLastModified(lastModified + 1000));
+        assertEquals(2, virtualFolder.getChildren().size());
+    }
+
+    @Test
+    public void listedChildrenKnowTheirType() throws Exception {
+        assertTrue(new File(testDirectory, "folder").mkdirs());
+        assertTrue(new File(testDirectory, "file.txt").createNewFile());
+
+        List<VirtualFile> children = fileSystem.getRoot().getChildren();
+
+        assertEquals(2, children.size());
+        assertTrue(children.get(0).isFolder());
+        assertFalse(children.get(0).isFile());
+        assertTrue(children.get(1).isFile());
+        assertFalse(children.get(1).isFolder());
+    }
+
+    @Test
+    public void typeOfListedChildFollowsFileSystemWhenItemIsReplaced() throws Exception {
+        File folder = new File(testDirectory, "item");
+        assertTrue(folder.mkdirs());
+        VirtualFile child = fileSystem.getRoot().getChildren().get(0);
+        assertTrue(child.isFolder());
+
+        assertTrue(folder.delete());
+        assertTrue(new File(testDirectory, "item").createNewFile());
+
+        assertTrue(child.isFile());
+        assertFalse(child.isFolder());
+    }
+}
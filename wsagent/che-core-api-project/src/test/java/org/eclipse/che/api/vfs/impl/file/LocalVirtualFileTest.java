@@ -24,6 +24,7 @@ import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileContent;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileVisitor;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -399,6 +400,52 @@ public class LocalVirtualFileTest {
         assertEquals(DEFAULT_CONTENT, new String(bytes));
     }
 
+    @Test
+    public void transfersContentToStream() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long transferred;
+        try (VirtualFileContent content = file.openContent()) {
+            transferred = content.transferTo(output, 0, Long.MAX_VALUE);
+        }
+
+        assertEquals(DEFAULT_CONTENT_BYTES.length, transferred);
+        assertEquals(DEFAULT_CONTENT, output.toString());
+    }
+
+    @Test
+    public void transfersRangeOfContentToStream() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        try (VirtualFileContent content = file.openContent()) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            long transferred = content.transferTo(output, 2, 3);
+
+            assertEquals(3, transferred);
+            assertEquals(DEFAULT_CONTENT.substring(2, 5), output.toString());
+            assertEquals(0, content.transferTo(new ByteArrayOutputStream(), DEFAULT_CONTENT_BYTES.length, 10));
+        }
+    }
+
+    @Test
+    public void transfersNoMoreThanSizeOfOpenedContentWhenFileIsUpdatedAfterOpening() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        try (VirtualFileContent content = file.openContent()) {
+            file.updateContent(DEFAULT_CONTENT + DEFAULT_CONTENT);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            long transferred = content.transferTo(output, 0, Long.MAX_VALUE);
+
+            assertEquals(DEFAULT_CONTENT_BYTES.length, content.size());
+            assertEquals(content.size(), transferred);
+            assertEquals(transferred, output.size());
+        }
+    }
+
     @Test
     public void getsContentAsBytes() throws Exception {
         VirtualFile root = getRoot();
@@ -1398,6 +1445,16 @@ public class LocalVirtualFileTest {
         verify(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
     }
 
+    @Test
+    public void compressesFolderToZipArchiveStream() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        Archiver archiver = mock(Archiver.class);
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+        OutputStream output = new ByteArrayOutputStream();
+        folder.zip(output);
+        verify(archiver).compress(eq(output), any(VirtualFileFilter.class));
+    }
+
     @Test
     public void failsZipFile() throws Exception {
         VirtualFile root = getRoot();
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file.event.detectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DelayedPathTaskScheduler}
+ */
+public class DelayedPathTaskSchedulerTest {
+    static final String GROUP    = "group";
+    static final long   NEVER_MS = 600_000;
+
+    DelayedPathTaskScheduler scheduler;
+    List<String>             executed;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = new DelayedPathTaskScheduler();
+        executed = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.stop();
+    }
+
+    @Test
+    public void shouldExecuteTaskAfterDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(GROUP, "/project/a.txt", 10, latch::countDown);
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(emptySet(), scheduler.getPendingPaths(GROUP));
+    }
+
+    @Test
+    public void shouldReplacePendingTaskOfTheSamePath() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(GROUP, "/project/a.txt", NEVER_MS, () -> executed.add("first"));
+        scheduler.schedule(GROUP, "/project/a.txt", 10, () -> {
+            executed.add("second");
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(singletonList("second"), executed);
+    }
+
+    @Test
+    public void shouldMergeTasksOfPathsUnderDirectoryIntoDirectoryTask() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(GROUP, "/project/dir/a.txt", NEVER_MS, () -> executed.add("/project/dir/a.txt"));
+        scheduler.schedule(GROUP, "/project/dir", 10, () -> {
+            executed.add("/project/dir");
+            latch.countDown();
+        });
+        scheduler.schedule(GROUP, "/project/dir/sub/b.txt", 10, () -> executed.add("/project/dir/sub/b.txt"));
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(singletonList("/project/dir"), executed);
+    }
+
+    @Test
+    public void shouldNotMergeTasksOfPathsWithCommonPrefix() throws Exception {
+        scheduler.schedule(GROUP, "/project/dir", NEVER_MS, () -> {});
+        scheduler.schedule(GROUP, "/project/dir2/a.txt", NEVER_MS, () -> {});
+        scheduler.schedule(GROUP, "/project/dir.txt", NEVER_MS, () -> {});
+
+        assertEquals(asList("/project/dir", "/project/dir.txt", "/project/dir2/a.txt"),
+                     asList(scheduler.getPendingPaths(GROUP).toArray()));
+        assertTrue(scheduler.cancel(GROUP, "/project/dir"));
+        assertEquals(2, scheduler.getPendingPaths(GROUP).size());
+    }
+
+    @Test
+    public void shouldNotMergeTasksOfDifferentGroups() throws Exception {
+        scheduler.schedule(GROUP, "/project/dir", NEVER_MS, () -> {});
+        scheduler.schedule("other", "/project/dir/a.txt", NEVER_MS, () -> {});
+
+        assertEquals(singletonList("/project/dir"), asList(scheduler.getPendingPaths(GROUP).toArray()));
+        assertEquals(singletonList("/project/dir/a.txt"), asList(scheduler.getPendingPaths("other").toArray()));
+    }
+
+    @Test
+    public void shouldCancelPendingTask() throws Exception {
+        scheduler.schedule(GROUP, "/project/a.txt", NEVER_MS, () -> {});
+
+        assertTrue(scheduler.cancel(GROUP, "/project/a.txt"));
+        assertFalse(scheduler.cancel(GROUP, "/project/a.txt"));
+        assertEquals(emptySet(), scheduler.getPendingPaths(GROUP));
+    }
+
+    @Test
+    public void shouldCancelAbsorbedTask() throws Exception {
+        scheduler.schedule(GROUP, "/project/dir", NEVER_MS, () -> {});
+        scheduler.schedule(GROUP, "/project/dir/a.txt", NEVER_MS, () -> {});
+
+        assertTrue(scheduler.cancel(GROUP, "/project/dir/a.txt"));
+        assertEquals(singletonList("/project/dir"), asList(scheduler.getPendingPaths(GROUP).toArray()));
+    }
+
+    @Test
+    public void shouldRescheduleAbsorbedTasksWhenDirectoryTaskIsCancelled() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule(GROUP, "/project/dir/a.txt", 10, () -> {
+            executed.add("/project/dir/a.txt");
+            latch.countDown();
+        });
+        scheduler.schedule(GROUP, "/project/dir", NEVER_MS, () -> executed.add("/project/dir"));
+
+        assertTrue(scheduler.cancel(GROUP, "/project/dir"));
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(singletonList("/project/dir/a.txt"), executed);
+    }
+}
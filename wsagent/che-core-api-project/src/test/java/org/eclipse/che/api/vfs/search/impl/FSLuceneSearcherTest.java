@@ -12,12 +12,21 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
@@ -28,8 +37,11 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.Matchers.any;
@@ -39,6 +51,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("Duplicates")
@@ -179,6 +192,73 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/xxx.txt"), paths);
     }
 
+    @Test
+    public void searchesBySubstringWithTrigramIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", "class RequestHandler implements Handler");
+        folder.createFile("yyy.txt", "handle the request");
+        folder.createFile("zzz.txt", "han and dle ndl ler");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("*Handler*")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+    }
+
+    @Test
+    public void searchesByRegexpWithTrigramIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", "getProjectName()");
+        folder.createFile("yyy.txt", "getName()");
+        folder.createFile("zzz.txt", "setProjectName()");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("/get.*name.*/")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt", "/folder/yyy.txt"), paths);
+    }
+
+    @Test
+    public void retrievesSearchResultWithPagesWithTrigramIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("*flight*").setMaxItems(8));
+        assertEquals(25, firstPage.getTotalHits());
+        assertEquals(8, firstPage.getFilePaths().size());
+
+        QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+        nextPageQueryExpression.setMaxItems(100);
+
+        SearchResult lastPage = searcher.search(nextPageQueryExpression);
+        assertEquals(17, lastPage.getFilePaths().size());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void checksContentOfCandidatesOnlyUntilPageIsFilledWithTrigramIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", "class RequestHandler implements Handler");
+        folder.createFile("zzz.txt", "han and dle ndl ler");
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("*Handler*").setMaxItems(1));
+        assertEquals(newArrayList("/folder/xxx.txt"), firstPage.getFilePaths());
+        // zzz.txt is a candidate which content is not checked yet
+        assertEquals(2, firstPage.getTotalHits());
+
+        SearchResult lastPage = searcher.search(firstPage.getNextPageQueryExpression().get());
+        assertTrue(lastPage.getFilePaths().isEmpty());
+        assertEquals(1, lastPage.getTotalHits());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+    }
+
     @Test
     public void searchesByTextAndFileName() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -246,6 +326,84 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder1/a/b/xxx.txt"), paths);
     }
 
+    @Test
+    public void reindexesOnlyChangedFilesWhenSearcherIsReopened() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile changed = folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        VirtualFile removed = folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        changed.updateContent(TEST_CONTENT[1]);
+        removed.delete();
+        folder.createFile("aaa.txt", TEST_CONTENT[1]);
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(newArrayList("/folder/aaa.txt", "/folder/yyy.txt"), paths);
+    }
+
+    @Test
+    public void indexesContentOfFileWhichIsTooBigToBufferIt() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        StringBuilder content = new StringBuilder();
+        while (content.length() <= 1024 * 1024) {
+            content.append(TEST_CONTENT[0]).append('\n');
+        }
+        content.append(TEST_CONTENT[2]);
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("folder").createFile("big.txt", content.toString());
+
+        searcher.add(file);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newArrayList("/folder/big.txt"), paths);
+        paths = searcher.search(new QueryExpression().setText("*ilesto*")).getFilePaths();
+        assertEquals(newArrayList("/folder/big.txt"), paths);
+    }
+
+    @Test
+    public void doesNotDuplicateFileWhichIsIndexedByWatcherWhileIndexIsInitialized() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile file = virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        AtomicBoolean updated = new AtomicBoolean();
+        when(filter.accept(any(VirtualFile.class))).thenAnswer(invocation -> {
+            // file is updated by watcher right before it is indexed by initialization
+            if (updated.compareAndSet(false, true)) {
+                searcher.update(file);
+            }
+            return false;
+        });
+
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+    }
+
+    @Test
+    public void rebuildsIndexWhenIndexVersionIsNotCompatible() throws Exception {
+        try (IndexWriter writer = new IndexWriter(FSDirectory.open(indexDirectory.toPath()),
+                                                  new IndexWriterConfig(new WhitespaceAnalyzer()))) {
+            Document document = new Document();
+            document.add(new StringField("path", "/folder/stale.txt", Field.Store.YES));
+            document.add(new TextField("text", TEST_CONTENT[1], Field.Store.NO));
+            writer.addDocument(document);
+        }
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(newArrayList("/folder/zzz.txt"), paths);
+    }
+
     @Test
     public void closesLuceneIndexWriterWhenSearcherClosed() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -336,6 +494,91 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesSearchResultWithPagesUsingPageCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(10));
+        QueryExpression secondPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+        assertNotNull(secondPageQueryExpression.getPageCursor());
+
+        SearchResult secondPage = searcher.search(secondPageQueryExpression);
+        QueryExpression lastPageQueryExpression = secondPage.getNextPageQueryExpression().get();
+        assertEquals(20, lastPageQueryExpression.getSkipCount());
+
+        SearchResult lastPage = searcher.search(lastPageQueryExpression);
+        assertEquals(5, lastPage.getFilePaths().size());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+
+        List<String> allPaths = newArrayList(firstPage.getFilePaths());
+        allPaths.addAll(secondPage.getFilePaths());
+        allPaths.addAll(lastPage.getFilePaths());
+        assertEquals(25, new HashSet<>(allPaths).size());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void failsWhenPageCursorIsMalformed() throws Exception {
+        searcher.init(virtualFileSystem());
+
+        searcher.search(new QueryExpression().setText("spaceflight").setPageCursor("malformed"));
+    }
+
+    @Test
+    public void findsOccurrencesOfSearchedText() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("a").createFile("xxx.txt", "To be\nor not to be");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertEquals(result.getResults().size(), 1);
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(occurrences.size(), 2);
+        assertEquals(occurrences.get(0).getPhrase(), "be");
+        assertEquals(occurrences.get(0).getLineNumber(), 1);
+        assertEquals(occurrences.get(0).getStartOffset(), 3);
+        assertEquals(occurrences.get(0).getEndOffset(), 5);
+        assertEquals(occurrences.get(0).getLineContent(), "To be");
+        assertEquals(occurrences.get(1).getLineNumber(), 2);
+        assertEquals(occurrences.get(1).getStartOffset(), 16);
+        assertEquals(occurrences.get(1).getEndOffset(), 18);
+        assertEquals(occurrences.get(1).getLineContent(), "or not to be");
+    }
+
+    @Test
+    public void findsOccurrencesOfSearchedTextWithTrigramIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("a").createFile("xxx.txt", "class RequestHandler\nimplements Handler");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("*handler"));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(occurrences.size(), 2);
+        assertEquals(occurrences.get(0).getPhrase(), "RequestHandler");
+        assertEquals(occurrences.get(1).getPhrase(), "Handler");
+        assertEquals(occurrences.get(1).getLineNumber(), 2);
+    }
+
+    @Test
+    public void passesFoundEntriesToConsumer() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> consumed = new ArrayList<>();
+        SearchResult result = searcher.search(new QueryExpression().setText("think"), entry -> consumed.add(entry.getFilePath()));
+
+        assertEquals(consumed, result.getFilePaths());
+        assertEquals(consumed.size(), 3);
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
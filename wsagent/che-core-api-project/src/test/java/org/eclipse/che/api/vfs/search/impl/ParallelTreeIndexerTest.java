@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class ParallelTreeIndexerTest {
+    private VirtualFileSystem virtualFileSystem;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        virtualFileSystem = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%d/a/b", i));
+            for (int j = 0; j < 20; j++) {
+                folder.createFile(String.format("file%02d.txt", j), "content");
+            }
+        }
+    }
+
+    @Test
+    public void indexesAllFilesInTree() throws Exception {
+        Set<String> indexed = ConcurrentHashMap.newKeySet();
+
+        ParallelTreeIndexer.Statistics statistics = new ParallelTreeIndexer(3, 3, 8).index(virtualFileSystem.getRoot(),
+                                                                                           file -> indexed.add(file.getPath().toString()));
+
+        assertEquals(indexed.size(), 200);
+        assertTrue(indexed.contains("/folder7/a/b/file13.txt"));
+        assertEquals(statistics.getFilesFound(), 200);
+        assertEquals(statistics.getFilesIndexed(), 200);
+        assertEquals(statistics.getFoldersWalked(), 31);
+        assertEquals(statistics.getBytesIndexed(), 200 * "content".length());
+    }
+
+    @Test
+    public void stopsIndexingAndRethrowsErrorWhenIndexingOfFileFails() throws Exception {
+        ServerException error = new ServerException("failed");
+        try {
+            new ParallelTreeIndexer(3, 3, 1).index(virtualFileSystem.getRoot(), file -> {
+                if (file.getName().equals("file05.txt")) {
+                    throw error;
+                }
+            });
+            fail("ServerException expected");
+        } catch (ServerException e) {
+            assertEquals(e, error);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TrigramQueryPlannerTest {
+    @DataProvider
+    public Object[][] notPlannedQueries() {
+        return new Object[][]{
+                {null},
+                {"think"},
+                {"*ab*"},
+                {"to be"},
+                {"+apollo *stone*"},
+                {"name:*stone*"},
+                {"/(get|set)name/"},
+                {"/a.b/"}
+        };
+    }
+
+    @Test(dataProvider = "notPlannedQueries")
+    public void doesNotPlanQueriesThatCanNotUseTrigramIndex(String text) throws Exception {
+        assertNull(TrigramQueryPlanner.plan(text));
+    }
+
+    @Test
+    public void plansWildcardQuery() throws Exception {
+        TrigramQueryPlanner.Plan plan = TrigramQueryPlanner.plan("*Handler*");
+
+        assertEquals(plan.getTrigrams(), newHashSet("han", "and", "ndl", "dle", "ler"));
+        assertTrue(plan.matches(new StringReader("public class RequestHandler {")));
+        assertFalse(plan.matches(new StringReader("handle handles")));
+    }
+
+    @Test
+    public void plansRegexpQuery() throws Exception {
+        TrigramQueryPlanner.Plan plan = TrigramQueryPlanner.plan("/get[a-z]*names?/");
+
+        assertEquals(plan.getTrigrams(), newHashSet("get", "nam", "ame"));
+        assertTrue(plan.matches(new StringReader("return getProjectNames")));
+        assertTrue(plan.matches(new StringReader("getname")));
+        assertFalse(plan.matches(new StringReader("getProject_Name")));
+    }
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.eclipse.che.api.vfs.watcher.FileChangeEventBus.SUBTREE_THRESHOLD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FileChangeEventBus}
+ */
+public class FileChangeEventBusTest {
+    static final Path ROOT = Paths.get("/projects");
+
+    FileChangeEventBus    eventBus;
+    RecordingListener     exactListener;
+    RecordingListener     subtreeListener;
+
+    @Before
+    public void setUp() throws Exception {
+        exactListener = new RecordingListener(false);
+        subtreeListener = new RecordingListener(true);
+        eventBus = new FileChangeEventBus(ROOT.toFile(), emptySet());
+        eventBus.subscribe(exactListener);
+        eventBus.subscribe(subtreeListener);
+    }
+
+    @Test
+    public void shouldMergeCreatedAndModifiedEventsOfSamePath() throws Exception {
+        Path file = ROOT.resolve("a.txt");
+        eventBus.publish(new FileChangeEvent(file, CREATED, false));
+        eventBus.publish(new FileChangeEvent(file, MODIFIED, false));
+        eventBus.publish(new FileChangeEvent(file, MODIFIED, false));
+
+        eventBus.dispatch();
+
+        assertEquals(singletonList(singletonList(new FileChangeEvent(file, CREATED, false))), exactListener.batches);
+    }
+
+    @Test
+    public void shouldDropItemThatIsCreatedAndDeletedInOneWindow() throws Exception {
+        Path file = ROOT.resolve("a.txt");
+        eventBus.publish(new FileChangeEvent(file, CREATED, false));
+        eventBus.publish(new FileChangeEvent(file, DELETED, false));
+
+        eventBus.dispatch();
+
+        assertTrue(exactListener.batches.isEmpty());
+        assertEquals(2, eventBus.getReceivedEvents());
+        assertEquals(0, eventBus.getDispatchedEvents());
+    }
+
+    @Test
+    public void shouldReportRecreatedFileAsModified() throws Exception {
+        Path file = ROOT.resolve("a.txt");
+        eventBus.publish(new FileChangeEvent(file, DELETED, false));
+        eventBus.publish(new FileChangeEvent(file, CREATED, false));
+
+        eventBus.dispatch();
+
+        assertEquals(singletonList(singletonList(new FileChangeEvent(file, MODIFIED, false))), exactListener.batches);
+    }
+
+    @Test
+    public void shouldDropEventsCoveredByDeletedDirectoryForSubtreeListeners() throws Exception {
+        Path dir = ROOT.resolve("target");
+        Path file = dir.resolve("a.class");
+        eventBus.publish(new FileChangeEvent(file, DELETED, false));
+        eventBus.publish(new FileChangeEvent(dir, DELETED, true));
+
+        eventBus.dispatch();
+
+        assertEquals(singletonList(asList(new FileChangeEvent(file, DELETED, false), new FileChangeEvent(dir, DELETED, true))),
+                     exactListener.batches);
+        assertEquals(singletonList(singletonList(new FileChangeEvent(dir, DELETED, true))), subtreeListener.batches);
+    }
+
+    @Test
+    public void shouldReplaceBurstUnderDirectoryWithSubtreeEvent() throws Exception {
+        Path dir = ROOT.resolve("project").resolve("target");
+        Path other = ROOT.resolve("project").resolve("pom.xml");
+        eventBus.publish(new FileChangeEvent(other, MODIFIED, false));
+        for (int i = 0; i < SUBTREE_THRESHOLD; i++) {
+            eventBus.publish(new FileChangeEvent(dir.resolve("classes").resolve(i + ".class"), MODIFIED, false));
+        }
+
+        eventBus.dispatch();
+
+        assertEquals(SUBTREE_THRESHOLD + 1, exactListener.batches.get(0).size());
+        assertEquals(singletonList(asList(new FileChangeEvent(other, MODIFIED, false),
+                                          FileChangeEvent.subtree(dir.resolve("classes")))),
+                     subtreeListener.batches);
+    }
+
+    @Test
+    public void shouldChooseCommonAncestorForBurstsInSeveralDirectories() throws Exception {
+        Path dir = ROOT.resolve("project");
+        for (int i = 0; i < SUBTREE_THRESHOLD; i++) {
+            eventBus.publish(new FileChangeEvent(dir.resolve("a").resolve(i + ".txt"), MODIFIED, false));
+            eventBus.publish(new FileChangeEvent(dir.resolve("b").resolve(i + ".txt"), MODIFIED, false));
+        }
+
+        eventBus.dispatch();
+
+        assertEquals(singletonList(asList(FileChangeEvent.subtree(dir.resolve("a")), FileChangeEvent.subtree(dir.resolve("b")))),
+                     subtreeListener.batches);
+    }
+
+    @Test
+    public void shouldKeepScatteredChangesAsIs() throws Exception {
+        Path project = ROOT.resolve("project");
+        List<FileChangeEvent> events = new ArrayList<>();
+        for (int i = 0; i < SUBTREE_THRESHOLD * 2; i++) {
+            FileChangeEvent event = new FileChangeEvent(project.resolve("module" + i).resolve("src").resolve("A.java"), MODIFIED, false);
+            events.add(event);
+            eventBus.publish(event);
+        }
+
+        eventBus.dispatch();
+
+        assertEquals(singletonList(events), subtreeListener.batches);
+    }
+
+    @Test
+    public void shouldNotReplaceProjectOrRootDirectoryWithSubtreeEvent() throws Exception {
+        List<FileChangeEvent> events = new ArrayList<>();
+        for (int i = 0; i < SUBTREE_THRESHOLD; i++) {
+            events.add(new FileChangeEvent(ROOT.resolve("project").resolve(i + ".txt"), MODIFIED, false));
+            events.add(new FileChangeEvent(ROOT.resolve("project" + i), CREATED, true));
+        }
+        events.forEach(eventBus::publish);
+
+        eventBus.dispatch();
+
+        assertEquals(singletonList(events), subtreeListener.batches);
+    }
+
+    @Test
+    public void shouldKeepQueueDepthMetric() throws Exception {
+        eventBus.publish(new FileChangeEvent(ROOT.resolve("a.txt"), MODIFIED, false));
+        eventBus.publish(new FileChangeEvent(ROOT.resolve("b.txt"), MODIFIED, false));
+
+        assertEquals(2, eventBus.getQueueDepth());
+
+        eventBus.dispatch();
+
+        assertEquals(0, eventBus.getQueueDepth());
+        assertEquals(2, eventBus.getDispatchedEvents());
+        assertEquals(1, eventBus.getDispatchedBatches());
+    }
+
+    static class RecordingListener implements FileChangeListener {
+        final boolean                     subtree;
+        final List<List<FileChangeEvent>> batches = new ArrayList<>();
+
+        RecordingListener(boolean subtree) {
+            this.subtree = subtree;
+        }
+
+        @Override
+        public void onChanges(List<FileChangeEvent> changes) {
+            batches.add(changes);
+        }
+
+        @Override
+        public boolean acceptsSubtreeEvents() {
+            return subtree;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FileTreeSnapshot}
+ */
+public class FileTreeSnapshotTest {
+    static final Path ROOT = Paths.get("/projects");
+
+    FileTreeSnapshot snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshot = new FileTreeSnapshot(ROOT);
+    }
+
+    @Test
+    public void shouldFindAddedEntriesByPath() throws Exception {
+        int directory = snapshot.add(snapshot.getRoot(), "src", true, 1);
+        int file = snapshot.add(directory, "Main.java", false, 2);
+
+        assertEquals(directory, snapshot.find(ROOT.resolve("src")));
+        assertEquals(file, snapshot.find(ROOT.resolve("src/Main.java")));
+        assertEquals(snapshot.getRoot(), snapshot.find(ROOT));
+        assertEquals(-1, snapshot.find(ROOT.resolve("src/Other.java")));
+        assertEquals(-1, snapshot.find(Paths.get("/other/src")));
+        assertTrue(snapshot.isDirectory(directory));
+        assertFalse(snapshot.isDirectory(file));
+        assertEquals(2, snapshot.getLastModified(file));
+    }
+
+    @Test
+    public void shouldCreatePathOfEntry() throws Exception {
+        int directory = snapshot.add(snapshot.getRoot(), "src", true, 1);
+        int file = snapshot.add(directory, "Main.java", false, 2);
+
+        assertEquals(ROOT.resolve("src/Main.java"), snapshot.toPath(file));
+    }
+
+    @Test
+    public void shouldRemoveEntryWithDescendants() throws Exception {
+        int directory = snapshot.add(snapshot.getRoot(), "src", true, 1);
+        snapshot.add(directory, "Main.java", false, 2);
+        int other = snapshot.add(snapshot.getRoot(), "pom.xml", false, 3);
+
+        snapshot.remove(directory);
+
+        assertEquals(2, snapshot.size());
+        assertEquals(-1, snapshot.find(ROOT.resolve("src/Main.java")));
+        assertEquals(other, snapshot.find(ROOT.resolve("pom.xml")));
+    }
+
+    @Test
+    public void shouldReuseIndexesOfRemovedEntries() throws Exception {
+        int removed = snapshot.add(snapshot.getRoot(), "a", false, 1);
+        snapshot.remove(removed);
+
+        int added = snapshot.add(snapshot.getRoot(), "b", false, 1);
+
+        assertEquals(removed, added);
+    }
+
+    @Test
+    public void shouldForgetUnwatchedDirectoryWhenItIsRemoved() throws Exception {
+        int directory = snapshot.add(snapshot.getRoot(), "src", true, 1);
+        snapshot.setUnwatched(directory);
+
+        assertTrue(snapshot.isUnwatched(directory));
+        assertEquals(directory, snapshot.nextUnwatched(0));
+
+        snapshot.remove(directory);
+
+        assertEquals(-1, snapshot.nextUnwatched(0));
+        assertFalse(snapshot.isUnwatched(snapshot.add(snapshot.getRoot(), "test", true, 1)));
+    }
+
+    @Test
+    public void shouldKeepSingleInstanceOfEqualNames() throws Exception {
+        int first = snapshot.add(snapshot.add(snapshot.getRoot(), "a", true, 1), new String("pom.xml"), false, 1);
+        int second = snapshot.add(snapshot.add(snapshot.getRoot(), "b", true, 1), new String("pom.xml"), false, 1);
+
+        assertSame(snapshot.getName(first), snapshot.getName(second));
+    }
+
+    @Test
+    public void shouldGrowWhenManyEntriesAreAdded() throws Exception {
+        for (int i = 0; i < 5000; i++) {
+            snapshot.add(snapshot.getRoot(), "file" + i, false, i);
+        }
+
+        assertEquals(5001, snapshot.size());
+        assertEquals(4999, snapshot.getLastModified(snapshot.find(ROOT.resolve("file4999"))));
+    }
+}
@@ -29,8 +29,13 @@ import java.util.function.Consumer;
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
 import static org.apache.commons.io.FileUtils.write;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link FileTreeWalker}
@@ -46,7 +51,8 @@ public class FileTreeWalkerTest {
     @Rule
     public TemporaryFolder rootFolder = new TemporaryFolder();
 
-    FileTreeWalker fileTreeWalker;
+    FileTreeWalker    fileTreeWalker;
+    FileChangeJournal journal = new FileChangeJournal();
 
     Set<Consumer<Path>> directoryCreateConsumers = new HashSet<>();
     Set<Consumer<Path>> directoryUpdateConsumers = new HashSet<>();
@@ -72,9 +78,18 @@ public class FileTreeWalkerTest {
     @Mock
     Consumer<Path> directoryDeleteConsumerMock;
 
+    @Mock
+    FileWatcherService fileWatcherService;
+    @Mock
+    FileChangeEventBus eventBus;
+
     @Before
     public void setUp() throws Exception {
+        when(fileWatcherService.register(any(Path.class))).thenReturn(true);
         fileTreeWalker = new FileTreeWalker(rootFolder.getRoot(),
+                                            fileWatcherService,
+                                            journal,
+                                            eventBus,
                                             directoryUpdateConsumers,
                                             directoryCreateConsumers,
                                             directoryDeleteConsumers,
@@ -115,10 +130,152 @@ public class FileTreeWalkerTest {
         sleep(FS_LATENCY_DELAY);
         fileTreeWalker.walk();
 
+        write(file, TEST_FILE_CONTENT);
+        sleep(FS_LATENCY_DELAY);
+        journal.record(file.toPath());
+        fileTreeWalker.walkChanges();
+
+        verify(fileUpdateConsumerMock).accept(file.toPath());
+    }
+
+    @Test
+    public void shouldRunFileCreatedConsumerForRecordedChange() throws Exception {
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+        fileTreeWalker.walk();
+
+        File file = rootFolder.newFile(TEST_FILE_NAME);
+        journal.record(file.toPath());
+        fileTreeWalker.walkChanges();
+
+        verify(fileCreatedConsumerMock).accept(file.toPath());
+    }
+
+    @Test
+    public void shouldPublishChangesToEventBus() throws Exception {
+        fileTreeWalker.walk();
+
+        File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+        File file = rootFolder.newFile(TEST_FILE_NAME);
+        journal.record(folder.toPath());
+        journal.record(file.toPath());
+        fileTreeWalker.walkChanges();
+
+        file.delete();
+        journal.record(file.toPath());
+        fileTreeWalker.walkChanges();
+
+        verify(eventBus).publish(new FileChangeEvent(folder.toPath(), CREATED, true));
+        verify(eventBus).publish(new FileChangeEvent(file.toPath(), CREATED, false));
+        verify(eventBus).publish(new FileChangeEvent(file.toPath(), DELETED, false));
+    }
+
+    @Test
+    public void shouldRunFileDeleteConsumerForRecordedChange() throws Exception {
+        fileDeleteConsumers.add(fileDeleteConsumerMock);
+
+        File file = rootFolder.newFile(TEST_FILE_NAME);
+        fileTreeWalker.walk();
+
+        file.delete();
+        journal.record(file.toPath());
+        fileTreeWalker.walkChanges();
+
+        verify(fileDeleteConsumerMock).accept(file.toPath());
+    }
+
+    @Test
+    public void shouldRunDeleteConsumersForContentOfDeletedDirectory() throws Exception {
+        fileDeleteConsumers.add(fileDeleteConsumerMock);
+        directoryDeleteConsumers.add(directoryDeleteConsumerMock);
+
+        File directory = rootFolder.newFolder(TEST_FOLDER_NAME);
+        File file = new File(directory, TEST_FILE_NAME);
+        write(file, TEST_FILE_CONTENT);
+        fileTreeWalker.walk();
+
+        file.delete();
+        directory.delete();
+        journal.record(directory.toPath());
+        fileTreeWalker.walkChanges();
+
+        verify(fileDeleteConsumerMock).accept(file.toPath());
+        verify(directoryDeleteConsumerMock).accept(directory.toPath());
+    }
+
+    @Test
+    public void shouldRegisterDirectoriesInFileWatcherService() throws Exception {
+        File directory = rootFolder.newFolder(TEST_FOLDER_NAME);
+
+        fileTreeWalker.walk();
+
+        verify(fileWatcherService).register(rootFolder.getRoot().toPath());
+        verify(fileWatcherService).register(directory.toPath());
+    }
+
+    @Test
+    public void shouldUnregisterRemovedDirectoriesInFileWatcherService() throws Exception {
+        File directory = rootFolder.newFolder(TEST_FOLDER_NAME);
+        File subdirectory = new File(directory, TEST_FOLDER_NAME);
+        subdirectory.mkdir();
+        fileTreeWalker.walk();
+
+        subdirectory.delete();
+        directory.delete();
+        journal.record(directory.toPath());
+        fileTreeWalker.walkChanges();
+
+        verify(fileWatcherService).unRegister(subdirectory.toPath());
+        verify(fileWatcherService).unRegister(directory.toPath());
+        verify(fileWatcherService, never()).unRegister(rootFolder.getRoot().toPath());
+    }
+
+    @Test
+    public void shouldPollSubtreeOfDirectoryWhichCanNotBeRegisteredInFileWatcherService() throws Exception {
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+        File directory = rootFolder.newFolder(TEST_FOLDER_NAME);
+        File subdirectory = new File(directory, TEST_FOLDER_NAME);
+        subdirectory.mkdir();
+        when(fileWatcherService.register(directory.toPath())).thenReturn(false);
+        fileTreeWalker.walk();
+
+        File file = new File(subdirectory, TEST_FILE_NAME);
+        write(file, TEST_FILE_CONTENT);
+        fileTreeWalker.pollUnwatched();
+
+        verify(fileCreatedConsumerMock).accept(file.toPath());
+        verify(fileWatcherService, never()).register(subdirectory.toPath());
+    }
+
+    @Test
+    public void shouldWalkWholeTreeWhenJournalIsOverflowed() throws Exception {
+        fileCreateConsumers.add(fileCreatedConsumerMock);
+        File directory = rootFolder.newFolder(TEST_FOLDER_NAME);
+        sleep(FS_LATENCY_DELAY);
+        fileTreeWalker.walk();
+
+        File file = new File(directory, TEST_FILE_NAME);
+        write(file, TEST_FILE_CONTENT);
+        journal.overflow();
+        fileTreeWalker.walkChanges();
+
+        verify(fileCreatedConsumerMock).accept(file.toPath());
+    }
+
+    @Test
+    public void shouldFindInPlaceFileModificationWhenJournalIsOverflowed() throws Exception {
+        fileUpdateConsumers.add(fileUpdateConsumerMock);
+        File directory = rootFolder.newFolder(TEST_FOLDER_NAME);
+        File file = new File(directory, TEST_FILE_NAME);
         write(file, TEST_FILE_CONTENT);
         sleep(FS_LATENCY_DELAY);
         fileTreeWalker.walk();
+        long directoryModified = directory.lastModified();
+
+        write(file, TEST_FILE_CONTENT + TEST_FILE_CONTENT);
+        journal.overflow();
+        fileTreeWalker.walkChanges();
 
+        assertEquals(directoryModified, directory.lastModified());
         verify(fileUpdateConsumerMock).accept(file.toPath());
     }
 
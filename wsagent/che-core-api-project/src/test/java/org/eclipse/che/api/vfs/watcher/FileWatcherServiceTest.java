@@ -33,6 +33,7 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.util.Collections.emptySet;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.reset;
@@ -63,7 +64,7 @@ public class FileWatcherServiceTest {
 
     @BeforeClass
     public void setUp() throws Exception {
-        service = new FileWatcherService(excludes, handler, watchService);
+        service = new FileWatcherService(excludes, handler, new FileChangeJournal(), watchService);
 
         service.start();
     }
@@ -258,4 +259,13 @@ public class FileWatcherServiceTest {
         createDirectory(path.resolve(FILE_NAME));
         verify(handler, timeout(TIMEOUT_VALUE).never()).handle(path, ENTRY_MODIFY);
     }
+
+    @Test
+    public void shouldNotRegisterFolderWhichCanNotBeWatched() throws Exception {
+        Path path = rootFolder.getRoot().toPath().resolve(FOLDER_NAME);
+
+        assertFalse(service.register(path));
+        // nothing to cancel, folder is not watched
+        service.unRegister(path);
+    }
 }
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Describes how long it took to launch an agent in a machine of workspace.
+ */
+@DTO
+public interface AgentLaunchTimeDto {
+
+    /** Returns the name of the machine in which the agent is launched. */
+    String getMachineName();
+
+    void setMachineName(String machineName);
+
+    AgentLaunchTimeDto withMachineName(String machineName);
+
+    /** Returns the id of the launched agent. */
+    String getAgentId();
+
+    void setAgentId(String agentId);
+
+    AgentLaunchTimeDto withAgentId(String agentId);
+
+    /** Returns time in milliseconds from the start of the agent launch until the agent is launched. */
+    long getLaunchTimeMs();
+
+    void setLaunchTimeMs(long launchTimeMs);
+
+    AgentLaunchTimeDto withLaunchTimeMs(long launchTimeMs);
+}
@@ -12,9 +12,12 @@ package org.eclipse.che.api.workspace.shared.dto.event;
 
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.api.workspace.shared.dto.AgentLaunchTimeDto;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.shared.DTO;
 
+import java.util.List;
+
 /**
  * Describes workspace status changes.
  *
@@ -73,4 +76,14 @@ public interface WorkspaceStatusEvent {
     void setError(String error);
 
     WorkspaceStatusEvent withError(String error);
+
+    /**
+     * Returns time of launching of each agent of the workspace machines,
+     * it is present if and only if the type of this event is {@link EventType#RUNNING}.
+     */
+    List<AgentLaunchTimeDto> getAgentsLaunchTime();
+
+    void setAgentsLaunchTime(List<AgentLaunchTimeDto> agentsLaunchTime);
+
+    WorkspaceStatusEvent withAgentsLaunchTime(List<AgentLaunchTimeDto> agentsLaunchTime);
 }
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -32,6 +33,7 @@ import org.eclipse.che.api.core.model.workspace.ServerConf2;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.AbstractLineConsumer;
+import org.eclipse.che.api.core.util.BatchingLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentCompositeLineConsumer;
@@ -66,7 +68,10 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.DependencyGraphRunner;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -77,14 +82,17 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
@@ -124,6 +132,8 @@ public class CheEnvironmentEngine {
     private final ContainerNameGenerator         containerNameGenerator;
     private final AgentRegistry                  agentRegistry;
     private final WorkspaceSharedPool            sharedPool;
+    private final int                            machinesStartParallelism;
+    private final ExecutorService                machinesStartExecutor;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -141,7 +151,11 @@ public class CheEnvironmentEngine {
                                 RecipeDownloader recipeDownloader,
                                 ContainerNameGenerator containerNameGenerator,
                                 AgentRegistry agentRegistry,
-                                WorkspaceSharedPool sharedPool) {
+                                WorkspaceSharedPool sharedPool,
+                                @Named("che.workspace.machines_start_parallelism") int machinesStartParallelism) {
+        if (machinesStartParallelism < 1) {
+            throw new IllegalArgumentException("Machines start parallelism must be positive, but it is " + machinesStartParallelism);
+        }
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -161,6 +175,14 @@ public class CheEnvironmentEngine {
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$)|(^/recipe/.*$)");
         this.containerNameGenerator = containerNameGenerator;
+        this.machinesStartParallelism = machinesStartParallelism;
+        // machines of different environments are started independently,
+        // so the number of threads is limited by the parallelism of each environment start
+        this.machinesStartExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EnvironmentMachineStarter-%d")
+                                                                                            .setUncaughtExceptionHandler(
+                                                                                                    LoggingUncaughtExceptionHandler.getInstance())
+                                                                                            .setDaemon(true)
+                                                                                            .build());
     }
 
     /**
@@ -264,12 +286,12 @@ public class CheEnvironmentEngine {
             throw new ServerException("Agent 'org.eclipse.che.ws-agent' is not found in any of environment machines");
         }
 
-        startEnvironmentQueue(namespace,
-                              workspaceId,
-                              devMachineName,
-                              networkId,
-                              recover,
-                              startedHandler);
+        startEnvironmentMachines(namespace,
+                                 workspaceId,
+                                 devMachineName,
+                                 networkId,
+                                 recover,
+                                 startedHandler);
 
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -577,11 +599,11 @@ public class CheEnvironmentEngine {
                   workspaceId,
                   internalEnv);
 
-        List<String> servicesOrder = startStrategy.order(internalEnv);
+        Map<String, Set<String>> servicesDependencies = startStrategy.dependencies(internalEnv);
 
         normalizeNames(internalEnv);
 
-        EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+        EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesDependencies,
                                                                     internalEnv,
                                                                     envConfig,
                                                                     messageConsumer,
@@ -721,21 +743,23 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Starts all machine from machine queue of environment.
+     * Starts all machines of environment, machines which don't depend on each other
+     * are started concurrently, see {@link DependencyGraphRunner}.
      */
-    private void startEnvironmentQueue(String namespace,
-                                       String workspaceId,
-                                       String devMachineName,
-                                       String networkId,
-                                       boolean recover,
-                                       MachineStartedHandler startedHandler)
+    private void startEnvironmentMachines(String namespace,
+                                          String workspaceId,
+                                          String devMachineName,
+                                          String networkId,
+                                          boolean recover,
+                                          MachineStartedHandler startedHandler)
             throws ServerException,
                    EnvironmentException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
+        // Machine is started only after all the machines it depends on are started,
+        // started machine is removed from the pending machines of environment.
+        // Pending machines don't exist only if environment was stopped during its start
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        Map<String, Set<String>> startGraph;
         String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -744,128 +768,53 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            startGraph = environmentHolder.startGraph;
         }
 
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-
-                CheServiceImpl service;
-                @Nullable ExtendedMachine extendedMachine;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
-                    }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                    extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
-                }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                checkInterruption(workspaceId, envName);
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-                checkInterruption(workspaceId, envName);
-
-                startedHandler.started(instance, extendedMachine);
-                checkInterruption(workspaceId, envName);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
-                }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
-                    }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+            ensurePendingMachinesExist(workspaceId);
+            try {
+                new DependencyGraphRunner<String>(command -> machinesStartExecutor.execute(ThreadLocalPropagateContext.wrap(command)),
+                                                  machinesStartParallelism)
+                        .run(startGraph, machineName -> {
+                            try {
+                                startMachine(namespace,
+                                             workspaceId,
+                                             envName,
+                                             envLogger,
+                                             creator,
+                                             devMachineName.equals(machineName),
+                                             machineName,
+                                             networkId,
+                                             recover,
+                                             startedHandler);
+                            } catch (RuntimeException | ServerException x) {
+                                // machine start may be interrupted in the starting thread
+                                if (Thread.interrupted()) {
+                                    throw new EnvironmentStartInterruptedException(workspaceId, envName);
+                                }
+                                throw x;
+                            }
+                        });
+            } catch (InterruptedException x) {
+                // keep the flag so the start is reported as interrupted
+                Thread.currentThread().interrupt();
+                throw new EnvironmentStartInterruptedException(workspaceId, envName);
+            } catch (ExecutionException x) {
+                // Environment start is failed when any machine start is failed
+                try {
+                    throw x.getCause();
+                } catch (RuntimeException | ServerException | EnvironmentException rethrow) {
+                    throw rethrow;
+                } catch (Throwable wrap) {
+                    throw new ServerException(wrap.getMessage(), wrap);
                 }
-
-                machineName = queuePeekOrFail(workspaceId);
             }
         } catch (RuntimeException | ServerException | EnvironmentStartInterruptedException e) {
+            // if any error occurs during machines creation then environment start fail is reported
+            // and start resources such as pending machines and descriptor must be cleaned up
             boolean interrupted = Thread.interrupted();
             EnvironmentHolder env;
             try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
@@ -891,6 +840,121 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts single machine of environment and removes it from the pending machines of environment.
+     */
+    private void startMachine(String namespace,
+                              String workspaceId,
+                              String envName,
+                              MessageConsumer<MachineLogMessage> envLogger,
+                              String creator,
+                              boolean isDev,
+                              String machineName,
+                              String networkId,
+                              boolean recover,
+                              MachineStartedHandler startedHandler) throws ServerException,
+                                                                           EnvironmentException {
+        CheServiceImpl service;
+        @Nullable ExtendedMachine extendedMachine;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null || !environmentHolder.pendingMachines.contains(machineName)) {
+                throw new ServerException("Environment start is interrupted.");
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+            extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+            return machineProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithNormalizedSource,
+                                                machineLogger);
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        checkInterruption(workspaceId, envName);
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+        checkInterruption(workspaceId, envName);
+
+        startedHandler.started(instance, extendedMachine);
+        checkInterruption(workspaceId, envName);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // removed flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine from the pending ones
+        boolean pendingRemoved;
+        try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            pendingRemoved = environmentHolder != null && environmentHolder.pendingMachines.remove(machineName);
+        }
+
+        // If machine is not removed from the pending ones
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!pendingRemoved) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+    }
+
     private void checkInterruption(String workspaceId, String envName) throws EnvironmentStartInterruptedException {
         if (Thread.interrupted()) {
             throw new EnvironmentStartInterruptedException(workspaceId, envName);
@@ -1115,29 +1179,22 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
+     * Fails if environment start was interrupted by stop(pending machines don't exist).
      *
-     * <p>Note that this method won't actually poll the queue.
-     *
-     * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
-     *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
      * @throws ServerException
-     *         if queue doesn't exist which means that {@link #stop(String)} executed
+     *         if pending machines don't exist which means that {@link #stop(String)} executed
      *         before all the machines started
      * @throws ServerException
-     *         if pre destroy has been invoked before peek config retrieved
+     *         if pre destroy has been invoked
      */
-    private String queuePeekOrFail(String workspaceId) throws ServerException {
+    private void ensurePendingMachinesExist(String workspaceId) throws ServerException {
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             ensurePreDestroyIsNotExecuted();
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
-            if (environmentHolder == null || environmentHolder.startQueue == null) {
+            if (environmentHolder == null) {
                 throw new ServerException("Workspace " + workspaceId +
                                           " start interrupted. Workspace was stopped before all its machines were started");
             }
-            return environmentHolder.startQueue.peek();
         }
     }
 
@@ -1201,6 +1258,8 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        // running starts fail when they are finished, as pre destroy is invoked
+        machinesStartExecutor.shutdown();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1223,8 +1282,10 @@ public class CheEnvironmentEngine {
             }
         };
         try {
-            return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
-                                                       lineConsumer);
+            // lines of machine output are sent and flushed to the file in batches
+            return new BatchingLineConsumer(
+                    new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
+                                                        lineConsumer));
         } catch (IOException e) {
             throw new MachineException(format("Unable create log file '%s' for machine '%s'.",
                                               e.getLocalizedMessage(),
@@ -1311,7 +1372,9 @@ public class CheEnvironmentEngine {
     }
 
     private static class EnvironmentHolder {
-        final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           startGraph;
+        /** Machines that are not started yet, modified only under write lock of workspace. */
+        final Set<String>                        pendingMachines;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1321,14 +1384,15 @@ public class CheEnvironmentEngine {
         List<Instance> machines;
         EnvStatus      status;
 
-        EnvironmentHolder(List<String> startQueue,
+        EnvironmentHolder(Map<String, Set<String>> startGraph,
                           CheServicesEnvironmentImpl environment,
                           Environment environmentConfig,
                           MessageConsumer<MachineLogMessage> envLogger,
                           EnvStatus envStatus,
                           String name,
                           String networkId) {
-            this.startQueue = new ArrayDeque<>(startQueue);
+            this.startGraph = startGraph;
+            this.pendingMachines = new LinkedHashSet<>(startGraph.keySet());
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -1343,7 +1407,7 @@ public class CheEnvironmentEngine {
             if (this == o) return true;
             if (!(o instanceof EnvironmentHolder)) return false;
             EnvironmentHolder that = (EnvironmentHolder)o;
-            return Objects.equals(startQueue, that.startQueue) &&
+            return Objects.equals(startGraph, that.startGraph) &&
                    Objects.equals(machines, that.machines) &&
                    status == that.status &&
                    Objects.equals(logger, that.logger) &&
@@ -1354,7 +1418,7 @@ public class CheEnvironmentEngine {
 
         @Override
         public int hashCode() {
-            return Objects.hash(startQueue, machines, status, logger, name, environmentConfig, environment);
+            return Objects.hash(startGraph, machines, status, logger, name, environmentConfig, environment);
         }
     }
 
@@ -18,6 +18,7 @@ import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -41,23 +42,38 @@ public class DefaultServicesStartStrategy {
      */
     public List<String> order(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
 
-        Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+        Map<String, Integer> weights = weightMachines(buildDependencyGraph(composeEnvironment.getServices()));
 
         return sortByWeight(weights);
     }
 
     /**
-     * Returns mapping of names of machines to its weights in dependency graph.
+     * Resolves dependencies of machines in an environment.
+     *
+     * <p>Returns mapping of names of machines to names of machines they depend on,
+     * machines are iterated in the same order as returned by {@link #order(CheServicesEnvironmentImpl)}.
+     * Machines which don't depend on each other can be started concurrently.
      *
      * @throws IllegalArgumentException
-     *         if weights of machines can not be calculated
+     *         if order of machines can not be calculated
      */
-    private Map<String, Integer> weightMachines(Map<String, CheServiceImpl> services)
-            throws IllegalArgumentException {
+    public Map<String, Set<String>> dependencies(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
+        Map<String, Set<String>> dependencies = buildDependencyGraph(composeEnvironment.getServices());
 
-        HashMap<String, Integer> weights = new HashMap<>();
+        Map<String, Set<String>> ordered = new LinkedHashMap<>();
+        for (String service : sortByWeight(weightMachines(dependencies))) {
+            ordered.put(service, dependencies.get(service));
+        }
+        return ordered;
+    }
 
-        // create machines dependency graph
+    /**
+     * Returns mapping of names of machines to names of machines they depend on.
+     *
+     * @throws IllegalArgumentException
+     *         if any dependency is invalid
+     */
+    private Map<String, Set<String>> buildDependencyGraph(Map<String, CheServiceImpl> services) throws IllegalArgumentException {
         Map<String, Set<String>> dependencies = new HashMap<>(services.size());
         for (Map.Entry<String, CheServiceImpl> serviceEntry : services.entrySet()) {
             CheServiceImpl service = serviceEntry.getValue();
@@ -85,6 +101,18 @@ public class DefaultServicesStartStrategy {
             }
             dependencies.put(serviceEntry.getKey(), machineDependencies);
         }
+        return dependencies;
+    }
+
+    /**
+     * Returns mapping of names of machines to its weights in dependency graph.
+     *
+     * @throws IllegalArgumentException
+     *         if weights of machines can not be calculated
+     */
+    private Map<String, Integer> weightMachines(Map<String, Set<String>> dependencyGraph) throws IllegalArgumentException {
+        HashMap<String, Integer> weights = new HashMap<>();
+        Map<String, Set<String>> dependencies = new HashMap<>(dependencyGraph);
 
         // Find weight of each machine in graph.
         // Weight of machine is calculated as sum of all weights of machines it depends on.
@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.BatchingLineConsumer;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
 import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
@@ -239,9 +240,9 @@ public class MachineProcessManager {
 
     private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
         if (outputChannel != null) {
-            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+            return new BatchingLineConsumer(new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel)));
         }
-        return fileLogger;
+        return new BatchingLineConsumer(fileLogger);
     }
 
     /**
@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -33,6 +34,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -316,6 +318,56 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets summaries of workspaces which user can read. Configurations of workspaces
+     * are not loaded, so it is much cheaper than {@link #getWorkspaces(String, boolean)}
+     * when there are a lot of workspaces.
+     *
+     * <p>Returned summaries have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by runtime of the workspace.
+     *
+     * @param user
+     *         the id of the user
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @param skipCount
+     *         the number of summaries to skip
+     * @return page of workspace summaries
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any server error occurs while getting summaries
+     */
+    public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(String user, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        return injectStatus(workspaceDao.getSummaries(user, maxItems, skipCount));
+    }
+
+    /**
+     * Gets summaries of workspaces which have given namespace.
+     * The same as {@link #getWorkspaceSummaries(String, int, long)} but for namespace.
+     *
+     * @param namespace
+     *         the namespace to find workspaces
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @param skipCount
+     *         the number of summaries to skip
+     * @return page of workspace summaries
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any server error occurs while getting summaries
+     */
+    public Page<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        return injectStatus(workspaceDao.getSummariesByNamespace(namespace, maxItems, skipCount));
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
@@ -938,6 +990,13 @@ public class WorkspaceManager {
         }
     }
 
+    private Page<WorkspaceSummaryImpl> injectStatus(Page<WorkspaceSummaryImpl> summaries) {
+        for (WorkspaceSummaryImpl summary : summaries.getItems()) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+        return summaries;
+    }
+
     /** Adds attributes that are not originally stored in workspace but should be published. */
     private void addExtraAttributes(WorkspaceImpl workspace) throws SnapshotException {
         // snapshotted_at
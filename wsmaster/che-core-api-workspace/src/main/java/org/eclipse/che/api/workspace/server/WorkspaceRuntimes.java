@@ -20,6 +20,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -45,10 +46,14 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.AgentLaunchTimeDto;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.DependencyGraphRunner;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
@@ -60,6 +65,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -68,7 +74,9 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -117,6 +125,7 @@ public class WorkspaceRuntimes {
     private final AgentRegistry                       agentRegistry;
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
+    private final ExecutorService                     agentsLaunchExecutor;
 
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
@@ -158,6 +167,11 @@ public class WorkspaceRuntimes {
         this.locks = new StripedLocks(16);
         this.sharedPool = sharedPool;
         this.states = states;
+        this.agentsLaunchExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineAgentsLauncher-%d")
+                                                                                           .setUncaughtExceptionHandler(
+                                                                                                   LoggingUncaughtExceptionHandler.getInstance())
+                                                                                           .setDaemon(true)
+                                                                                           .build());
     }
 
     /**
@@ -627,6 +641,8 @@ public class WorkspaceRuntimes {
                               .collect(Collectors.toList());
             states.clear();
         }
+        // running launches fail on their own, as environments are stopped
+        agentsLaunchExecutor.shutdown();
 
         if (!idsToStop.isEmpty()) {
             LOG.info("Shutdown running environments, environments to stop: '{}'", idsToStop.size());
@@ -686,19 +702,68 @@ public class WorkspaceRuntimes {
         return state;
     }
 
+    /**
+     * Launches agents in the machine, agents which don't depend on each other
+     * are launched concurrently, see {@link Agent#getDependencies()}.
+     * Installation of packages by scripts of agents is serialized by launchers,
+     * see {@link org.eclipse.che.api.agent.server.launcher.MachinePackageLocks}.
+     */
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException {
+        Map<String, Agent> agentsById = new LinkedHashMap<>();
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
         try {
             for (AgentKey agentKey : agentSorter.sort(agents)) {
-                if (!Thread.currentThread().isInterrupted()) {
-                    LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-                    Agent agent = agentRegistry.getAgent(agentKey);
-                    AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-                    launcher.launch(instance, agent);
+                Agent agent = agentRegistry.getAgent(agentKey);
+                Set<String> agentDependencies = new HashSet<>();
+                for (String dependency : agent.getDependencies()) {
+                    agentDependencies.add(AgentKeyImpl.parse(dependency).getId());
                 }
+                agentsById.put(agentKey.getId(), agent);
+                dependencies.put(agentKey.getId(), agentDependencies);
             }
         } catch (AgentException e) {
             throw new MachineException(e.getMessage(), e);
         }
+
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        try {
+            new DependencyGraphRunner<String>(command -> agentsLaunchExecutor.execute(ThreadLocalPropagateContext.wrap(command)),
+                                              Math.max(1, dependencies.size()))
+                    .run(dependencies, agentId -> launchAgent(instance, agentsById.get(agentId)));
+        } catch (InterruptedException e) {
+            // agents are not launched, machine start is interrupted by the caller
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            try {
+                throw e.getCause();
+            } catch (ServerException | RuntimeException rethrow) {
+                throw rethrow;
+            } catch (Throwable wrap) {
+                throw new MachineException(wrap.getMessage(), wrap);
+            }
+        }
+    }
+
+    private void launchAgent(Instance instance, Agent agent) throws ServerException {
+        LOG.info("Launching '{}' agent at workspace {}", agent.getId(), instance.getWorkspaceId());
+        AgentLauncher launcher = launcherFactory.find(agent.getId(), instance.getConfig().getType());
+        long launchStart = System.currentTimeMillis();
+        launcher.launch(instance, agent);
+        long launchTimeMs = System.currentTimeMillis() - launchStart;
+        LOG.info("Agent '{}' launched in {} ms at workspace {}", agent.getId(), launchTimeMs, instance.getWorkspaceId());
+
+        try (@SuppressWarnings("unused") Unlocker u = locks.readLock(instance.getWorkspaceId())) {
+            RuntimeState state = states.get(instance.getWorkspaceId());
+            // times of agents launched during workspace start are published with the RUNNING event
+            if (state != null && state.status == STARTING) {
+                state.agentsLaunchTime.add(DtoFactory.newDto(AgentLaunchTimeDto.class)
+                                                     .withMachineName(instance.getConfig().getName())
+                                                     .withAgentId(agent.getId())
+                                                     .withLaunchTimeMs(launchTimeMs));
+            }
+        }
     }
 
     /**
@@ -739,10 +804,12 @@ public class WorkspaceRuntimes {
 
         // disallow direct start cancellation, STARTING -> RUNNING
         WorkspaceStatus prevStatus;
+        List<AgentLaunchTimeDto> agentsLaunchTime;
         try (@SuppressWarnings("unused") Unlocker u = locks.writeLock(workspaceId)) {
             checkIsNotTerminated("finish workspace start");
             RuntimeState state = states.get(workspaceId);
             prevStatus = state.status;
+            agentsLaunchTime = new ArrayList<>(state.agentsLaunchTime);
             if (state.status == WorkspaceStatus.STARTING) {
                 state.status = WorkspaceStatus.RUNNING;
                 state.startTask = null;
@@ -769,7 +836,8 @@ public class WorkspaceRuntimes {
                                         .withWorkspaceId(workspaceId)
                                         .withStatus(WorkspaceStatus.RUNNING)
                                         .withEventType(EventType.RUNNING)
-                                        .withPrevStatus(WorkspaceStatus.STARTING));
+                                        .withPrevStatus(WorkspaceStatus.STARTING)
+                                        .withAgentsLaunchTime(agentsLaunchTime));
     }
 
     /** STOPPING -> remove runtime -> STOPPED. */
@@ -918,6 +986,8 @@ public class WorkspaceRuntimes {
     @VisibleForTesting
     static class RuntimeState {
 
+        final List<AgentLaunchTimeDto> agentsLaunchTime;
+
         WorkspaceStatus              status;
         String                       envName;
         StartTask                    startTask;
@@ -928,6 +998,7 @@ public class WorkspaceRuntimes {
             this.envName = state.envName;
             this.startFuture = state.startFuture;
             this.startTask = state.startTask;
+            this.agentsLaunchTime = state.agentsLaunchTime;
         }
 
         RuntimeState(WorkspaceStatus status,
@@ -938,6 +1009,7 @@ public class WorkspaceRuntimes {
             this.envName = envName;
             this.startTask = startTask;
             this.startFuture = startFuture;
+            this.agentsLaunchTime = new CopyOnWriteArrayList<>();
         }
     }
 
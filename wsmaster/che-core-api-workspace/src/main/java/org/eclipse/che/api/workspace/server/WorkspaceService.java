@@ -26,6 +26,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
@@ -37,11 +38,13 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -58,6 +61,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import java.util.List;
@@ -69,6 +74,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static org.eclipse.che.api.core.rest.CheBinaryDtoProvider.APPLICATION_BINARY_DTO;
 import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_AUTO_RESTORE;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_AUTO_SNAPSHOT;
@@ -173,26 +179,36 @@ public class WorkspaceService extends Service {
 
     @GET
     @Path("/{key:.*}")
-    @Produces(APPLICATION_JSON)
+    @Produces({APPLICATION_JSON, APPLICATION_BINARY_DTO})
     @ApiOperation(value = "Get the workspace by the composite key",
                   notes = "Composite key can be just workspace ID or in the " +
                           "namespace:workspace_name form, where namespace is optional (e.g :workspace_name is valid key too." +
-                          "namespace/workspace_name form, where namespace can contain '/' character.")
+                          "namespace/workspace_name form, where namespace can contain '/' character.",
+                  response = WorkspaceDto.class)
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested workspace entity"),
                    @ApiResponse(code = 404, message = "The workspace with specified id does not exist"),
                    @ApiResponse(code = 403, message = "The user is not workspace owner"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public WorkspaceDto getByKey(@ApiParam(value = "Composite key",
-                                           examples = @Example({@ExampleProperty("workspace12345678"),
-                                                                @ExampleProperty("namespace/workspace_name"),
-                                                                @ExampleProperty("namespace_part_1/namespace_part_2/workspace_name")}))
-                                 @PathParam("key") String key) throws NotFoundException,
-                                                                      ServerException,
-                                                                      ForbiddenException,
-                                                                      BadRequestException {
+    public Response getByKey(@ApiParam(value = "Composite key",
+                                       examples = @Example({@ExampleProperty("workspace12345678"),
+                                                            @ExampleProperty("namespace/workspace_name"),
+                                                            @ExampleProperty("namespace_part_1/namespace_part_2/workspace_name")}))
+                             @PathParam("key") String key,
+                             @Context Request request) throws NotFoundException,
+                                                              ServerException,
+                                                              ForbiddenException,
+                                                              BadRequestException {
         validateKey(key);
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(key);
-        return linksInjector.injectLinks(asDto(workspace), getServiceContext());
+        // Client already has this version, so there is no need to build and serialize the entity
+        final EntityTag version = getVersion(workspace);
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(version);
+        if (notModified != null) {
+            return notModified.tag(version).build();
+        }
+        return Response.ok(linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+                       .tag(version)
+                       .build();
     }
 
     @GET
@@ -246,6 +262,64 @@ public class WorkspaceService extends Service {
                                .collect(toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of workspaces which user can read",
+                  notes = "Summaries don't contain configurations and runtimes of workspaces. " +
+                          "This operation can be performed only by authorized user",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "Paging parameters are not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public Response getWorkspaceSummaries(@ApiParam("The number of the items to skip")
+                                          @DefaultValue("0")
+                                          @QueryParam("skipCount")
+                                          long skipCount,
+                                          @ApiParam("The limit of the items in the response, default is 30")
+                                          @DefaultValue("30")
+                                          @QueryParam("maxItems")
+                                          int maxItems) throws ServerException, BadRequestException {
+        checkPagingParameters(maxItems, skipCount);
+        final Page<WorkspaceSummaryImpl> page =
+                workspaceManager.getWorkspaceSummaries(EnvironmentContext.getCurrent().getSubject().getUserId(), maxItems, skipCount);
+        return Response.ok()
+                       .entity(page.getItems(DtoConverter::asDto))
+                       .header("Link", createLinkHeader(page))
+                       .build();
+    }
+
+    @GET
+    @Path("/summary/namespace/{namespace:.*}")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of workspaces by given namespace",
+                  notes = "Summaries don't contain configurations and runtimes of workspaces. " +
+                          "This operation can be performed only by authorized user",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "Paging parameters are not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public Response getSummariesByNamespace(@ApiParam("The namespace")
+                                            @PathParam("namespace")
+                                            String namespace,
+                                            @ApiParam("The number of the items to skip")
+                                            @DefaultValue("0")
+                                            @QueryParam("skipCount")
+                                            long skipCount,
+                                            @ApiParam("The limit of the items in the response, default is 30")
+                                            @DefaultValue("30")
+                                            @QueryParam("maxItems")
+                                            int maxItems) throws ServerException, BadRequestException {
+        checkPagingParameters(maxItems, skipCount);
+        final Page<WorkspaceSummaryImpl> page = workspaceManager.getSummariesByNamespace(namespace, maxItems, skipCount);
+        return Response.ok()
+                       .entity(page.getItems(DtoConverter::asDto))
+                       .header("Link", createLinkHeader(page))
+                       .build();
+    }
+
     @PUT
     @Path("/{id}")
     @Consumes(APPLICATION_JSON)
@@ -604,8 +678,8 @@ public class WorkspaceService extends Service {
 
     @POST
     @Path("/{id}/project")
-    @Consumes(APPLICATION_JSON)
-    @Produces(APPLICATION_JSON)
+    @Consumes({APPLICATION_JSON, APPLICATION_BINARY_DTO})
+    @Produces({APPLICATION_JSON, APPLICATION_BINARY_DTO})
     @ApiOperation(value = "Adds a new project to the workspace",
                   notes = "This operation can be performed only by the workspace owner")
     @ApiResponses({@ApiResponse(code = 200, message = "The project successfully added to the workspace"),
@@ -632,8 +706,8 @@ public class WorkspaceService extends Service {
 
     @PUT
     @Path("/{id}/project/{path:.*}")
-    @Consumes(APPLICATION_JSON)
-    @Produces(APPLICATION_JSON)
+    @Consumes({APPLICATION_JSON, APPLICATION_BINARY_DTO})
+    @Produces({APPLICATION_JSON, APPLICATION_BINARY_DTO})
     @ApiOperation(value = "Update the workspace project by replacing it with a new one",
                   notes = "This operation can be performed only by the workspace owner")
     @ApiResponses({@ApiResponse(code = 200, message = "The project successfully updated"),
@@ -763,6 +837,26 @@ public class WorkspaceService extends Service {
         }
     }
 
+    private static void checkPagingParameters(int maxItems, long skipCount) throws BadRequestException {
+        if (maxItems <= 0) {
+            throw new BadRequestException("The number of items to return must be positive");
+        }
+        if (skipCount < 0 || skipCount > Integer.MAX_VALUE) {
+            throw new BadRequestException("The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Version of the workspace that is used as weak entity tag. It changes when configuration, attributes,
+     * status or runtime of the workspace change, so it can be computed without serialization of the workspace.
+     */
+    private static EntityTag getVersion(WorkspaceImpl workspace) {
+        final Map<String, String> attributes = workspace.getAttributes();
+        final String modified = attributes.getOrDefault(WorkspaceManager.UPDATED_ATTRIBUTE_NAME,
+                                                        attributes.get(WorkspaceManager.CREATED_ATTRIBUTE_NAME));
+        return new EntityTag(workspace.getId() + '-' + modified + '-' + Integer.toHexString(workspace.hashCode()), true);
+    }
+
     /*
      * Validate composite key.
      *
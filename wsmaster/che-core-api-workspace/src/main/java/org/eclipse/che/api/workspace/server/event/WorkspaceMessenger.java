@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server.event;
 
+import org.eclipse.che.api.core.notification.EventOverflowPolicy;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
@@ -25,7 +26,9 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
- * Send workspace events using websocket channel to the clients
+ * Send workspace events using websocket channel to the clients.
+ * Events are sent asynchronously, so sending does not slow down
+ * workspace start and stop.
  *
  * @author Alexander Garagatyi
  */
@@ -33,6 +36,8 @@ import javax.inject.Singleton;
 public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(WorkspaceMessenger.class);
 
+    private static final int EVENTS_QUEUE_CAPACITY = 1000;
+
     private final EventService eventService;
 
     @Inject
@@ -54,7 +59,7 @@ public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent>
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        eventService.subscribeAsync(this, EVENTS_QUEUE_CAPACITY, EventOverflowPolicy.BLOCK);
     }
 
     @PreDestroy
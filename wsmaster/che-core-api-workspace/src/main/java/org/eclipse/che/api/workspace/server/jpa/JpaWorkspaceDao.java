@@ -15,6 +15,7 @@ import com.google.inject.persist.Transactional;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -22,6 +23,7 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -33,14 +35,18 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 /**
  * JPA based implementation of {@link WorkspaceDao}.
@@ -183,6 +189,70 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public Page<WorkspaceSummaryImpl> getSummaries(String userId, int maxItems, long skipCount) throws ServerException {
+        checkPagingArguments(maxItems, skipCount);
+        try {
+            final EntityManager manager = managerProvider.get();
+            return getSummaries(manager.createNamedQuery("Workspace.getAllSummaries", WorkspaceSummaryImpl.class),
+                                manager.createNamedQuery("Workspace.getAllCount", Long.class),
+                                maxItems,
+                                skipCount);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Page<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        checkPagingArguments(maxItems, skipCount);
+        try {
+            final EntityManager manager = managerProvider.get();
+            return getSummaries(manager.createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummaryImpl.class)
+                                       .setParameter("namespace", namespace),
+                                manager.createNamedQuery("Workspace.getCountByNamespace", Long.class)
+                                       .setParameter("namespace", namespace),
+                                maxItems,
+                                skipCount);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    /**
+     * Fetches the page of summaries and then attributes of all the workspaces
+     * of the page with a single query, so configurations are never loaded.
+     */
+    private Page<WorkspaceSummaryImpl> getSummaries(TypedQuery<WorkspaceSummaryImpl> summariesQuery,
+                                                    TypedQuery<Long> countQuery,
+                                                    int maxItems,
+                                                    long skipCount) {
+        final List<WorkspaceSummaryImpl> summaries = summariesQuery.setMaxResults(maxItems)
+                                                                   .setFirstResult((int)skipCount)
+                                                                   .getResultList();
+        if (!summaries.isEmpty()) {
+            final Map<String, WorkspaceSummaryImpl> byId = summaries.stream()
+                                                                    .collect(toMap(WorkspaceSummaryImpl::getId, identity()));
+            final List<Object[]> attributes = managerProvider.get()
+                                                             .createNamedQuery("Workspace.getAttributes", Object[].class)
+                                                             .setParameter("ids", byId.keySet())
+                                                             .getResultList();
+            for (Object[] attribute : attributes) {
+                byId.get((String)attribute[0]).getAttributes().put((String)attribute[1], (String)attribute[2]);
+            }
+        }
+        return new Page<>(summaries, skipCount, maxItems, countQuery.getSingleResult());
+    }
+
+    private static void checkPagingArguments(int maxItems, long skipCount) {
+        checkArgument(maxItems > 0, "The number of items to return must be positive.");
+        checkArgument(skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+                      "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
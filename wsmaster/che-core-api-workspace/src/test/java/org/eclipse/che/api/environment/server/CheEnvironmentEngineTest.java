@@ -70,6 +70,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -77,6 +78,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -156,7 +158,8 @@ public class CheEnvironmentEngineTest {
                                               recipeDownloader,
                                               containerNameGenerator,
                                               agentRegistry,
-                                              sharedPool));
+                                              sharedPool,
+                                              1));
 
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -268,6 +271,108 @@ public class CheEnvironmentEngineTest {
         }
     }
 
+    @Test
+    public void shouldStartIndependentMachinesConcurrently() throws Exception {
+        // given
+        CheEnvironmentEngine engine = new CheEnvironmentEngine(snapshotDao,
+                                                               machineInstanceProviders,
+                                                               System.getProperty("java.io.tmpdir"),
+                                                               DEFAULT_MACHINE_MEM_LIMIT_MB,
+                                                               eventService,
+                                                               environmentParser,
+                                                               new DefaultServicesStartStrategy(),
+                                                               machineProvider,
+                                                               infrastructureProvisioner,
+                                                               API_ENDPOINT,
+                                                               recipeDownloader,
+                                                               containerNameGenerator,
+                                                               agentRegistry,
+                                                               sharedPool,
+                                                               2);
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CountDownLatch allStarting = new CountDownLatch(env.getMachines().size());
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    // fails if machines are started one by one
+                    allStarting.countDown();
+                    if (!allStarting.await(10, SECONDS)) {
+                        throw new ServerException("Machines are not started concurrently");
+                    }
+                    Object[] arguments = invocationOnMock.getArguments();
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        List<Instance> machines = engine.start(workspaceId,
+                                               envName,
+                                               env,
+                                               false,
+                                               messageConsumer,
+                                               startedHandler);
+
+        // then
+        assertEquals(machines.size(), env.getMachines().size());
+        verify(startedHandler, times(env.getMachines().size())).started(any(Instance.class), any(ExtendedMachine.class));
+    }
+
+    @Test
+    public void shouldNotStartMachineIfStartOfMachineItDependsOnFailed() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+        cheServicesEnv.getServices().get("machine2").setDependsOn(singletonList("dev-machine"));
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          eq("dev-machine"),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenThrow(new ServerException("start failed"));
+        when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+
+        // when
+        try {
+            engine.start(workspaceId,
+                         envName,
+                         env,
+                         false,
+                         messageConsumer,
+                         startedHandler);
+            fail("environment must not be running");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "start failed");
+        }
+
+        // then
+        verify(machineProvider, never()).startService(anyString(),
+                                                      anyString(),
+                                                      anyString(),
+                                                      eq("machine2"),
+                                                      anyBoolean(),
+                                                      anyString(),
+                                                      any(CheServiceImpl.class),
+                                                      any(LineConsumer.class));
+        verify(machineProvider).destroyNetwork(anyString());
+    }
+
     @Test
     public void stopsTheEnvironmentWhileStartOfMachineIsInterrupted() throws Exception {
         // given
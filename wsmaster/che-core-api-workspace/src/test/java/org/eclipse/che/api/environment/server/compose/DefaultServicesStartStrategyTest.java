@@ -15,10 +15,15 @@ import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
@@ -49,6 +54,27 @@ public class DefaultServicesStartStrategyTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void shouldReturnDependenciesOfServicesInStartOrder() throws Exception {
+        // given
+        CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+        composeEnvironment.getServices().put("web", new CheServiceImpl().withDependsOn(singletonList("db"))
+                                                                        .withLinks(singletonList("cache:redis")));
+        composeEnvironment.getServices().put("db", new CheServiceImpl().withVolumesFrom(singletonList("data:ro")));
+        composeEnvironment.getServices().put("cache", new CheServiceImpl());
+        composeEnvironment.getServices().put("data", new CheServiceImpl());
+
+        // when
+        Map<String, Set<String>> actual = strategy.dependencies(composeEnvironment);
+
+        // then
+        assertEquals(new ArrayList<>(actual.keySet()), strategy.order(composeEnvironment));
+        assertEquals(actual.get("web"), new HashSet<>(asList("db", "cache")));
+        assertEquals(actual.get("db"), singleton("data"));
+        assertTrue(actual.get("cache").isEmpty());
+        assertTrue(actual.get("data").isEmpty());
+    }
+
     @Test
     public void shouldOrderServicesWithDependenciesWhereOrderIsStrict2() {
         // given
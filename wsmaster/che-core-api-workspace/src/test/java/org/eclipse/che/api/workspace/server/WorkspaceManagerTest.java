@@ -16,6 +16,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
@@ -37,6 +38,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -283,6 +285,34 @@ public class WorkspaceManagerTest {
         assertFalse(res1.isTemporary(), "Workspace must be permanent");
     }
 
+    @Test
+    public void shouldGetWorkspaceSummariesWithStatusesOfRuntimes() throws Exception {
+        final WorkspaceImpl workspace = createAndMockWorkspace();
+        mockRuntime(workspace, RUNNING);
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl(workspace);
+        when(workspaceDao.getSummaries(USER_ID, 30, 0)).thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+
+        final Page<WorkspaceSummaryImpl> result = workspaceManager.getWorkspaceSummaries(USER_ID, 30, 0);
+
+        assertEquals(result.getItems().size(), 1);
+        assertEquals(result.getItems().get(0).getStatus(), RUNNING, "Summary status wasn't changed to the runtime status");
+        verify(workspaceDao, never()).getWorkspaces(USER_ID);
+        verify(runtimes, never()).injectRuntime(any());
+    }
+
+    @Test
+    public void shouldGetWorkspaceSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace = createAndMockWorkspace();
+        when(runtimes.getStatus(workspace.getId())).thenReturn(STARTING);
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl(workspace);
+        when(workspaceDao.getSummariesByNamespace(NAMESPACE, 30, 0)).thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+
+        final Page<WorkspaceSummaryImpl> result = workspaceManager.getSummariesByNamespace(NAMESPACE, 30, 0);
+
+        assertEquals(result.getItems().get(0).getStatus(), STARTING);
+        verify(workspaceDao, never()).getByNamespace(anyString());
+    }
+
     @Test
     public void getWorkspaceByNameShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final WorkspaceImpl workspace = createAndMockWorkspace();
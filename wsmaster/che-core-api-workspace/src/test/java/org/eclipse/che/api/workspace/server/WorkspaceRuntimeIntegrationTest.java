@@ -122,7 +122,8 @@ public class WorkspaceRuntimeIntegrationTest {
                                                                           recipeDownloader,
                                                                           containerNameGenerator,
                                                                           agentRegistry,
-                                                                          sharedPool);
+                                                                          sharedPool,
+                                                                          1);
 
         runtimes = new WorkspaceRuntimes(eventService,
                                          environmentEngine,
@@ -16,7 +16,10 @@ import com.google.common.util.concurrent.Futures;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -47,6 +50,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.AgentLaunchTimeDto;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -55,6 +59,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.testng.MockitoTestNGListener;
+import org.mockito.stubbing.Answer;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
@@ -79,6 +84,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
@@ -87,6 +93,7 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -823,6 +830,68 @@ public class WorkspaceRuntimesTest {
         runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
     }
 
+    @Test
+    public void launchesIndependentAgentsConcurrentlyAndDependentAgentsAfterTheirDependencies() throws Exception {
+        setRuntime("workspace", WorkspaceStatus.STARTING);
+        Instance machine = newMachine("workspace", "env-name", "dev", true);
+        when(agentSorter.sort(any())).thenReturn(Arrays.asList(new AgentKeyImpl("terminal"),
+                                                                new AgentKeyImpl("exec"),
+                                                                new AgentKeyImpl("ws-agent")));
+        mockAgent("terminal");
+        mockAgent("exec");
+        mockAgent("ws-agent", "terminal", "exec:1.0.0");
+        // launch of an independent agent is finished only when another independent agent is launching
+        CountDownLatch independentLaunching = new CountDownLatch(2);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        Answer<Void> launch = inv -> {
+            String agentId = ((Agent)inv.getArguments()[1]).getId();
+            events.add("start " + agentId);
+            if (!agentId.equals("ws-agent")) {
+                independentLaunching.countDown();
+                if (!independentLaunching.await(10, TimeUnit.SECONDS)) {
+                    throw new ServerException("Agents are not launched concurrently");
+                }
+            }
+            events.add("end " + agentId);
+            return null;
+        };
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+        doAnswer(launch).when(launcher).launch(eq(machine), any(Agent.class));
+
+        runtimes.launchAgents(machine, Arrays.asList("terminal", "exec", "ws-agent"));
+
+        assertEquals(events.size(), 6);
+        assertEquals(Sets.newHashSet(events.subList(0, 2)), Sets.newHashSet("start terminal", "start exec"));
+        assertEquals(Sets.newHashSet(events.subList(2, 4)), Sets.newHashSet("end terminal", "end exec"));
+        assertEquals(events.subList(4, 6), Arrays.asList("start ws-agent", "end ws-agent"));
+        List<String> timedAgents = runtimeStates.get("workspace")
+                                                .agentsLaunchTime
+                                                .stream()
+                                                .map(AgentLaunchTimeDto::getAgentId)
+                                                .collect(Collectors.toList());
+        assertEquals(Sets.newHashSet(timedAgents), Sets.newHashSet("terminal", "exec", "ws-agent"));
+        assertEquals(timedAgents.get(2), "ws-agent");
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "terminal failed")
+    public void doesNotLaunchAgentIfLaunchOfAgentItDependsOnFailed() throws Exception {
+        Instance machine = newMachine("workspace", "env-name", "dev", true);
+        when(agentSorter.sort(any())).thenReturn(Arrays.asList(new AgentKeyImpl("terminal"),
+                                                                new AgentKeyImpl("ws-agent")));
+        Agent terminal = mockAgent("terminal");
+        Agent wsAgent = mockAgent("ws-agent", "terminal");
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+        doThrow(new ServerException("terminal failed")).when(launcher).launch(machine, terminal);
+
+        try {
+            runtimes.launchAgents(machine, Arrays.asList("terminal", "ws-agent"));
+        } finally {
+            verify(launcher, never()).launch(machine, wsAgent);
+        }
+    }
+
     private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
         verify(sharedPool).submit(taskCaptor.capture());
         taskCaptor.getValue().call();
@@ -975,6 +1044,14 @@ public class WorkspaceRuntimesTest {
         when(envEngine.getMachines(workspaceId)).thenReturn(machines);
     }
 
+    private Agent mockAgent(String id, String... dependencies) throws Exception {
+        Agent agent = mock(Agent.class);
+        when(agent.getId()).thenReturn(id);
+        when(agent.getDependencies()).thenReturn(Arrays.asList(dependencies));
+        when(agentRegistry.getAgent(new AgentKeyImpl(id))).thenReturn(agent);
+        return agent;
+    }
+
     private Instance newMachine(String workspaceId, String envName, String name, boolean isDev) {
         MachineImpl machine = MachineImpl.builder()
                                          .setConfig(MachineConfigImpl.builder()
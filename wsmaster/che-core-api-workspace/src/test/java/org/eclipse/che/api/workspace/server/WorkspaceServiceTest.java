@@ -20,6 +20,7 @@ import com.jayway.restassured.response.Response;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -46,11 +47,13 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -114,6 +117,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
@@ -308,6 +312,34 @@ public class WorkspaceServiceTest {
         assertEquals(new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class), TEST_ACCOUNT), workspace);
     }
 
+    @Test
+    public void shouldNotSendWorkspaceWhenItsVersionIsNotModified() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final String version = given().auth()
+                                      .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                      .when()
+                                      .get(SECURE_PATH + "/workspace/" + workspace.getId())
+                                      .getHeader("ETag");
+
+        final Response notModified = given().auth()
+                                            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                            .header("If-None-Match", version)
+                                            .when()
+                                            .get(SECURE_PATH + "/workspace/" + workspace.getId());
+        workspace.setStatus(STARTING);
+        final Response modified = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .header("If-None-Match", version)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspace.getId());
+
+        assertNotNull(version);
+        assertEquals(notModified.getStatusCode(), 304);
+        assertEquals(modified.getStatusCode(), 200);
+        assertNotEquals(modified.getHeader("ETag"), version);
+    }
+
     @Test
     public void shouldGetWorkspaceByKey() throws Exception {
         final WorkspaceImpl workspace = createWorkspace(createConfigDto());
@@ -359,6 +391,54 @@ public class WorkspaceServiceTest {
                      asList(workspace1, workspace2));
     }
 
+    @Test
+    public void shouldGetWorkspaceSummaries() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl(createWorkspace(createConfigDto()));
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl(createWorkspace(createConfigDto(), STARTING));
+        when(wsManager.getWorkspaceSummaries(USER_ID, 2, 2)).thenReturn(new Page<>(asList(summary1, summary2), 2, 2, 5));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary?maxItems=2&skipCount=2");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class).stream()
+                                                                       .map(WorkspaceSummaryDto::getId)
+                                                                       .collect(toList()),
+                     asList(summary1.getId(), summary2.getId()));
+        assertTrue(response.getHeader("Link").contains("rel=\"next\""));
+        verify(wsManager, never()).getWorkspaces(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void shouldGetWorkspaceSummariesByNamespace() throws Exception {
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl(createWorkspace(createConfigDto(), STARTING));
+        when(wsManager.getSummariesByNamespace(NAMESPACE, 30, 0)).thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary/namespace/" + NAMESPACE);
+
+        assertEquals(response.getStatusCode(), 200);
+        final List<WorkspaceSummaryDto> summaries = unwrapDtoList(response, WorkspaceSummaryDto.class);
+        assertEquals(summaries.size(), 1);
+        assertEquals(summaries.get(0).getId(), summary.getId());
+        assertEquals(summaries.get(0).getNamespace(), summary.getNamespace());
+        assertEquals(summaries.get(0).getStatus(), STARTING);
+    }
+
+    @Test
+    public void shouldNotGetWorkspaceSummariesWhenMaxItemsIsNotPositive() throws Exception {
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary?maxItems=0");
+
+        assertEquals(response.getStatusCode(), 400);
+    }
+
     @Test
     public void shouldGetWorkspacesByStatus() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
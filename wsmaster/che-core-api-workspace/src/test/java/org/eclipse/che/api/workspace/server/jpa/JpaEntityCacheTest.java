@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
+import org.eclipse.che.commons.test.tck.repository.TckRepository;
+import org.eclipse.che.core.db.jpa.eclipselink.CacheStatisticsProfiler;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheConfigurator;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests that reads of cached entities are served without going to the database.
+ */
+public class JpaEntityCacheTest {
+
+    private static final int READS = 10;
+
+    private JpaWorkspaceDao         workspaceDao;
+    private CacheStatisticsProfiler profiler;
+    private TckResourcesCleaner     cleaner;
+    private WorkspaceImpl           workspace;
+
+    @AfterMethod
+    private void cleanup() {
+        cleaner.clean();
+    }
+
+    @Test
+    public void shouldReadWorkspaceWithoutQueryingDatabaseWhenCacheIsEnabled() throws Exception {
+        setUp(true);
+        workspaceDao.get(workspace.getId());
+
+        profiler.reset();
+        for (int i = 0; i < READS; i++) {
+            workspaceDao.get(workspace.getId());
+        }
+
+        assertTrue(profiler.getStatements() < READS, "Executed statements: " + profiler.getStatements());
+    }
+
+    @Test
+    public void shouldQueryDatabaseOnEachWorkspaceReadWhenCacheIsDisabled() throws Exception {
+        setUp(false);
+        workspaceDao.get(workspace.getId());
+
+        profiler.reset();
+        for (int i = 0; i < READS; i++) {
+            workspaceDao.get(workspace.getId());
+        }
+
+        assertTrue(profiler.getStatements() >= READS, "Executed statements: " + profiler.getStatements());
+    }
+
+    @Test
+    public void shouldReadUpdatedWorkspaceWhenItIsCached() throws Exception {
+        setUp(true);
+        workspaceDao.get(workspace.getId());
+
+        final WorkspaceImpl update = workspaceDao.get(workspace.getId());
+        update.getConfig().setName("new-name");
+        workspaceDao.update(update);
+
+        assertEquals(workspaceDao.get(workspace.getId()).getConfig().getName(), "new-name");
+    }
+
+    @Test
+    public void shouldInvalidateCachedQueryResultsWhenWorkspaceIsUpdated() throws Exception {
+        setUp(true);
+        final String oldName = workspace.getConfig().getName();
+        workspaceDao.get(oldName, workspace.getNamespace());
+
+        final WorkspaceImpl update = workspaceDao.get(workspace.getId());
+        update.getConfig().setName("new-name");
+        workspaceDao.update(update);
+
+        assertEquals(workspaceDao.get("new-name", workspace.getNamespace()).getId(), workspace.getId());
+        try {
+            workspaceDao.get(oldName, workspace.getNamespace());
+            fail("Workspace must not be found by its old name");
+        } catch (NotFoundException ignored) {
+        }
+    }
+
+    private void setUp(boolean cacheEnabled) throws Exception {
+        final Injector injector = Guice.createInjector(new WorkspaceTckModule(), new AbstractModule() {
+            @Override
+            protected void configure() {
+                bindConstant().annotatedWith(Names.named("db.cache.enabled")).to(cacheEnabled);
+                bindConstant().annotatedWith(Names.named("db.cache.size")).to(100);
+                bindConstant().annotatedWith(Names.named("db.cache.ttl_ms")).to(60_000L);
+                bind(String[].class).annotatedWith(Names.named("db.cache.entities")).toInstance(new String[] {"Workspace"});
+                bind(String[].class).annotatedWith(Names.named("db.cache.queries")).toInstance(new String[] {"Workspace.getByName"});
+                bind(EntityCacheConfigurator.class).asEagerSingleton();
+            }
+        });
+        workspaceDao = injector.getInstance(JpaWorkspaceDao.class);
+        profiler = injector.getInstance(CacheStatisticsProfiler.class);
+        cleaner = injector.getInstance(TckResourcesCleaner.class);
+
+        final AccountImpl account = new AccountImpl("accountId", "namespace", "test");
+        injector.getInstance(Key.get(new TypeLiteral<TckRepository<AccountImpl>>() {})).createAll(singletonList(account));
+        workspace = createWorkspace("id", account, "name");
+        workspaceDao.create(workspace);
+    }
+}
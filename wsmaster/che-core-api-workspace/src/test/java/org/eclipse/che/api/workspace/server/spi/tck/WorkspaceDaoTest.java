@@ -16,6 +16,7 @@ import com.google.common.collect.ImmutableMap;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -29,6 +30,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -247,6 +249,47 @@ public class WorkspaceDaoTest {
         workspaceDao.getWorkspaces(true, -2, 0);
     }
 
+    @Test
+    public void shouldGetPageOfWorkspaceSummariesOrderedById() throws Exception {
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummaries("user123", 2, 1);
+
+        assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+        assertEquals(page.getItems(), asList(new WorkspaceSummaryImpl(workspaces[1]), new WorkspaceSummaryImpl(workspaces[2])));
+    }
+
+    @Test
+    public void shouldGetPageOfWorkspaceSummariesByNamespace() throws Exception {
+        final String namespace = workspaces[2].getNamespace();
+
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummariesByNamespace(namespace, 1, 1);
+
+        assertEquals(page.getTotalItemsCount(), 2);
+        assertEquals(page.getItems(), singletonList(new WorkspaceSummaryImpl(workspaces[3])));
+    }
+
+    @Test
+    public void shouldGetEmptyPageOfWorkspaceSummariesWhenThereAreNoWorkspacesInGivenNamespace() throws Exception {
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummariesByNamespace("non-existing-namespace", 30, 0);
+
+        assertTrue(page.isEmpty());
+        assertEquals(page.getTotalItemsCount(), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionOnNonPositiveMaxItemsOfSummaries() throws Exception {
+        workspaceDao.getSummaries("user123", 0, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionOnNegativeSkipCountOfSummaries() throws Exception {
+        workspaceDao.getSummariesByNamespace(workspaces[0].getNamespace(), 30, -1);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenGettingSummariesByNullNamespace() throws Exception {
+        workspaceDao.getSummariesByNamespace(null, 30, 0);
+    }
+
     @Test
     public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
         final boolean[] isNotified = new boolean[] {false};
@@ -0,0 +1,40 @@
+--
+-- Copyright (c) 2012-2017 Codenvy, S.A.
+-- All rights reserved. This program and the accompanying materials
+-- are made available under the terms of the Eclipse Public License v1.0
+-- which accompanies this distribution, and is available at
+-- http://www.eclipse.org/legal/epl-v10.html
+--
+-- Contributors:
+--   Codenvy, S.A. - initial API and implementation
+--
+
+-- Foreign key columns which are used for loading of the owned collections,
+-- unlike H2, PostgreSQL doesn't create indexes for them automatically
+CREATE INDEX index_user_aliases_user_id ON user_aliases (user_id);
+CREATE INDEX index_preference_preferences_preference_userid ON preference_preferences (preference_userid);
+CREATE INDEX index_workspace_config_id ON workspace (config_id);
+CREATE INDEX index_workspace_attributes_workspace_id ON workspace_attributes (workspace_id);
+CREATE INDEX index_sourcestorage_parameters_sourcestorage_id ON sourcestorage_parameters (sourcestorage_id);
+CREATE INDEX index_projectconfig_projects_id ON projectconfig (projects_id);
+CREATE INDEX index_projectconfig_source_id ON projectconfig (source_id);
+CREATE INDEX index_projectattribute_dbattributes_id ON projectattribute (dbattributes_id);
+CREATE INDEX index_projectattribute_values_projectattribute_id ON projectattribute_values (projectattribute_id);
+CREATE INDEX index_projectconfig_mixins_projectconfig_id ON projectconfig_mixins (projectconfig_id);
+CREATE INDEX index_command_commands_id ON command (commands_id);
+CREATE INDEX index_command_attributes_command_id ON command_attributes (command_id);
+CREATE INDEX index_environment_environments_id ON environment (environments_id);
+CREATE INDEX index_externalmachine_machines_id ON externalmachine (machines_id);
+CREATE INDEX index_externalmachine_agents_externalmachine_id ON externalmachine_agents (externalmachine_id);
+CREATE INDEX index_externalmachine_attributes_externalmachine_id ON externalmachine_attributes (externalmachine_id);
+CREATE INDEX index_serverconf_servers_id ON serverconf (servers_id);
+CREATE INDEX index_serverconf_properties_serverconf_id ON serverconf_properties (serverconf_id);
+CREATE INDEX index_recipe_tags_recipe_id ON recipe_tags (recipe_id);
+CREATE INDEX index_stack_workspaceconfig_id ON stack (workspaceconfig_id);
+CREATE INDEX index_stack_components_stack_id ON stack_components (stack_id);
+CREATE INDEX index_stack_tags_stack_id ON stack_tags (stack_id);
+CREATE INDEX index_che_factory_workspace_id ON che_factory (workspace_id);
+CREATE INDEX index_che_factory_image_factory_id ON che_factory_image (factory_id);
+
+-- Factories are searched by name without the creator
+CREATE INDEX index_che_factory_name ON che_factory (name);
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.schema;
+
+import org.eclipse.che.commons.test.db.H2DBTestServer;
+import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Seeds the schema with a large synthetic dataset and checks that lookups
+ * which are performed by the named queries and DAOs don't scan whole tables.
+ *
+ * <p>Queries mirror SQL generated by EclipseLink for the named queries, lookups
+ * by primary keys are not listed as they are always indexed.
+ */
+public class SchemaQueryPlanTest {
+
+    private static final int  ROWS              = 10_000;
+    private static final int  STACKS            = 1_000;
+    private static final int  RUNS              = 50;
+    private static final long LATENCY_BUDGET_MS = 10;
+
+    private H2DBTestServer server;
+    private DataSource     dataSource;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        server = H2DBTestServer.startDefault();
+        dataSource = server.getDataSource();
+        new FlywaySchemaInitializer(dataSource, "che-schema").init();
+        seed();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        server.shutdown();
+    }
+
+    @DataProvider
+    public Object[][] queries() {
+        return new Object[][] {
+                {"Account.getByName", "SELECT id, name, type FROM account WHERE name = ?", new Object[] {"namespace42"}},
+                {"User.getByName", "SELECT id, email, name FROM usr WHERE name = ?", new Object[] {"user42"}},
+                {"User.getByEmail", "SELECT id, email, name FROM usr WHERE email = ?", new Object[] {"user42@eclipse.org"}},
+                {"User.getByAlias",
+                 "SELECT t0.id, t0.email, t0.name FROM usr t0, user_aliases t1 WHERE t1.alias = ? AND t0.id = t1.user_id",
+                 new Object[] {"github:user42"}},
+                {"User.aliases", "SELECT alias FROM user_aliases WHERE user_id = ?", new Object[] {"user42"}},
+                {"Profile.attributes", "SELECT name, value FROM profile_attributes WHERE user_id = ?", new Object[] {"user42"}},
+                {"Preference.preferences",
+                 "SELECT name, value FROM preference_preferences WHERE preference_userid = ?",
+                 new Object[] {"user42"}},
+                {"SshKeyPair.getByOwner", "SELECT owner, service, name FROM sshkeypair WHERE owner = ?", new Object[] {"user42"}},
+                {"SshKeyPair.getByOwnerAndService",
+                 "SELECT owner, service, name FROM sshkeypair WHERE owner = ? AND service = ?",
+                 new Object[] {"user42", "machine"}},
+                {"Workspace.getByNamespace",
+                 "SELECT t1.id, t1.name, t1.istemporary FROM account t0, workspace t1 WHERE t0.name = ? AND t0.id = t1.accountid",
+                 new Object[] {"namespace42"}},
+                {"Workspace.getByName",
+                 "SELECT t1.id, t1.name, t1.istemporary FROM account t0, workspace t1 " +
+                 "WHERE t0.name = ? AND t1.name = ? AND t0.id = t1.accountid",
+                 new Object[] {"namespace42", "ws42"}},
+                {"Workspace.getByTemporary",
+                 "SELECT id, name, istemporary FROM workspace WHERE istemporary = ?",
+                 new Object[] {true}},
+                {"Workspace.getAttributes",
+                 "SELECT workspace_id, attributes_key, attributes FROM workspace_attributes WHERE workspace_id IN (?, ?, ?)",
+                 new Object[] {"workspace1", "workspace2", "workspace3"}},
+                {"Workspace.byConfig", "SELECT id FROM workspace WHERE config_id = ?", new Object[] {42L}},
+                {"Snapshot.findSnapshots", "SELECT id FROM snapshot WHERE workspaceid = ?", new Object[] {"workspace42"}},
+                {"Snapshot.getByMachine",
+                 "SELECT id FROM snapshot WHERE workspaceid = ? AND envname = ? AND machinename = ?",
+                 new Object[] {"workspace42", "default", "dev-machine"}},
+                {"Stack.getByTags",
+                 "SELECT t0.id FROM stack t0, stack_tags t1 WHERE t1.tag IN (?, ?) AND t0.id = t1.stack_id " +
+                 "GROUP BY t0.id HAVING COUNT(t0.id) = ?",
+                 new Object[] {"tag4", "tag5", 2}},
+                {"Stack.tags", "SELECT tag FROM stack_tags WHERE stack_id = ?", new Object[] {"stack42"}},
+                {"Stack.components", "SELECT name, version FROM stack_components WHERE stack_id = ?", new Object[] {"stack42"}},
+                {"Recipe.tags", "SELECT tag FROM recipe_tags WHERE recipe_id = ?", new Object[] {"recipe42"}},
+                {"Factory.getByCreator", "SELECT id, name FROM che_factory WHERE user_id = ?", new Object[] {"user42"}},
+                {"Factory.getByName", "SELECT id, name FROM che_factory WHERE name = ?", new Object[] {"factory42"}},
+                {"Factory.images", "SELECT name, media_type FROM che_factory_image WHERE factory_id = ?", new Object[] {"factory42"}}
+        };
+    }
+
+    @Test(dataProvider = "queries")
+    public void shouldNotScanTables(String name, String sql, Object[] params) throws Exception {
+        final String plan = explain(sql, params);
+
+        assertFalse(plan.contains(".tableScan"), "Query '" + name + "' scans table, plan: " + plan);
+    }
+
+    @Test(dataProvider = "queries")
+    public void shouldFitLatencyBudget(String name, String sql, Object[] params) throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement statement = conn.prepareStatement(sql)) {
+            setParameters(statement, params);
+            // warm up
+            execute(statement);
+
+            final long start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                execute(statement);
+            }
+            final long avgMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / RUNS;
+
+            assertTrue(avgMs <= LATENCY_BUDGET_MS,
+                       "Query '" + name + "' takes " + avgMs + "ms which exceeds budget of " + LATENCY_BUDGET_MS + "ms");
+        }
+    }
+
+    private String explain(String sql, Object[] params) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement statement = conn.prepareStatement("EXPLAIN " + sql)) {
+            setParameters(statement, params);
+            final StringBuilder plan = new StringBuilder();
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    plan.append(result.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static void setParameters(PreparedStatement statement, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+    }
+
+    private static void execute(PreparedStatement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                result.getObject(1);
+            }
+        }
+    }
+
+    private void seed() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            insert(conn, "INSERT INTO account (id, name, type) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {"account" + i, "namespace" + i, "personal"});
+            insert(conn, "INSERT INTO usr (id, email, name) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {"user" + i, "user" + i + "@eclipse.org", "user" + i});
+            insert(conn, "INSERT INTO user_aliases (user_id, alias) VALUES (?, ?)", ROWS,
+                   i -> new Object[] {"user" + i, "github:user" + i});
+            insert(conn, "INSERT INTO profile (userid) VALUES (?)", ROWS, i -> new Object[] {"user" + i});
+            insert(conn, "INSERT INTO profile_attributes (user_id, name, value) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {"user" + i, "firstName", "first" + i});
+            insert(conn, "INSERT INTO preference (userid) VALUES (?)", ROWS, i -> new Object[] {"user" + i});
+            insert(conn, "INSERT INTO preference_preferences (preference_userid, name, value) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {"user" + i, "theme", "dark"});
+            insert(conn, "INSERT INTO sshkeypair (owner, service, name) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {"user" + i, "machine", "key" + i});
+            insert(conn, "INSERT INTO workspaceconfig (id, defaultenv, name) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {(long)i, "default", "ws" + i});
+            insert(conn, "INSERT INTO workspace (id, istemporary, name, accountid, config_id) VALUES (?, ?, ?, ?, ?)", ROWS,
+                   i -> new Object[] {"workspace" + i, i % 100 == 0, "ws" + i, "account" + i, (long)i});
+            insert(conn, "INSERT INTO workspace_attributes (workspace_id, attributes_key, attributes) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {"workspace" + i, "created", Integer.toString(i)});
+            insert(conn, "INSERT INTO snapshot (id, envname, machinename, workspaceid) VALUES (?, ?, ?, ?)", ROWS,
+                   i -> new Object[] {"snapshot" + i, "default", "dev-machine", "workspace" + i});
+            insert(conn, "INSERT INTO recipe (id, name) VALUES (?, ?)", ROWS, i -> new Object[] {"recipe" + i, "recipe" + i});
+            insert(conn, "INSERT INTO recipe_tags (recipe_id, tag) VALUES (?, ?)", ROWS,
+                   i -> new Object[] {"recipe" + i, "tag" + i % 100});
+            insert(conn, "INSERT INTO stack (id, name) VALUES (?, ?)", STACKS, i -> new Object[] {"stack" + i, "stack" + i});
+            insert(conn, "INSERT INTO stack_tags (stack_id, tag) VALUES (?, ?)", STACKS * 3,
+                   i -> new Object[] {"stack" + i / 3, "tag" + i % 100});
+            insert(conn, "INSERT INTO stack_components (stack_id, name, version) VALUES (?, ?, ?)", STACKS * 3,
+                   i -> new Object[] {"stack" + i / 3, "component" + i % 3, "1.0"});
+            insert(conn, "INSERT INTO che_factory (id, name, version, user_id) VALUES (?, ?, ?, ?)", ROWS,
+                   i -> new Object[] {"factory" + i, "factory" + i, "4.0", "user" + i});
+            insert(conn, "INSERT INTO che_factory_image (factory_id, name, media_type) VALUES (?, ?, ?)", ROWS,
+                   i -> new Object[] {"factory" + i, "image" + i, "image/png"});
+            conn.commit();
+            try (Statement statement = conn.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+    }
+
+    private static void insert(Connection conn, String sql, int count, RowFactory rowFactory) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                setParameters(statement, rowFactory.create(i));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private interface RowFactory {
+        Object[] create(int index);
+    }
+}